@@ -18,6 +18,8 @@ package org.apache.nifi.registry.bundle.extract;
 
 import org.apache.nifi.registry.bundle.model.BundleDetails;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -33,4 +35,18 @@ public interface BundleExtractor {
      */
     BundleDetails extract(InputStream inputStream) throws IOException;
 
+    /**
+     * Extracts the bundle metadata from a bundle that is already on disk. Implementations that can take advantage of
+     * random access to the file should override this method, the default implementation reads the file as a stream.
+     *
+     * @param bundleFile the file containing the binary bundle
+     * @return the bundle metadata extracted from the file
+     * @throws IOException if an error occurs reading the file
+     */
+    default BundleDetails extract(final File bundleFile) throws IOException {
+        try (final InputStream inputStream = new FileInputStream(bundleFile)) {
+            return extract(inputStream);
+        }
+    }
+
 }
@@ -25,8 +25,8 @@ import org.apache.nifi.registry.bundle.model.BundleDetails;
 import org.apache.nifi.registry.extension.bundle.BuildInfo;
 import org.apache.nifi.registry.extension.component.manifest.ExtensionManifest;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -34,8 +34,10 @@ import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Enumeration;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
 import java.util.regex.Matcher;
@@ -67,31 +69,49 @@ public class NarBundleExtractor implements BundleExtractor {
      */
     static String NA = "N/A";
 
+    /**
+     * The parser is stateless and thread-safe, so a single instance is shared across extractions.
+     */
+    private final ExtensionManifestParser manifestParser = new JacksonExtensionManifestParser();
 
     @Override
     public BundleDetails extract(final InputStream inputStream) throws IOException {
         try (final JarInputStream jarInputStream = new JarInputStream(inputStream)) {
-            final Manifest manifest = jarInputStream.getManifest();
-            if (manifest == null) {
-                throw new BundleException("NAR bundles must contain a valid MANIFEST");
-            }
-
-            final Attributes attributes = manifest.getMainAttributes();
-            final BundleIdentifier bundleIdentifier = getBundleCoordinate(attributes);
-            final BundleIdentifier dependencyCoordinate = getDependencyBundleCoordinate(attributes);
-            final BuildInfo buildInfo = getBuildInfo(attributes);
-
-            final BundleDetails.Builder builder = new BundleDetails.Builder()
-                    .coordinate(bundleIdentifier)
-                    .addDependencyCoordinate(dependencyCoordinate)
-                    .buildInfo(buildInfo);
-
+            final BundleDetails.Builder builder = createBuilder(jarInputStream.getManifest());
             parseExtensionDocs(jarInputStream, builder);
+            return builder.build();
+        }
+    }
 
+    /**
+     * Extracts the bundle metadata using the central directory of the NAR, so that only the MANIFEST, the extension
+     * descriptor, and the additional details entries are inflated, rather than every entry of the bundle.
+     */
+    @Override
+    public BundleDetails extract(final File bundleFile) throws IOException {
+        try (final JarFile jarFile = new JarFile(bundleFile, false)) {
+            final BundleDetails.Builder builder = createBuilder(jarFile.getManifest());
+            parseExtensionDocs(jarFile, builder);
             return builder.build();
         }
     }
 
+    private BundleDetails.Builder createBuilder(final Manifest manifest) {
+        if (manifest == null) {
+            throw new BundleException("NAR bundles must contain a valid MANIFEST");
+        }
+
+        final Attributes attributes = manifest.getMainAttributes();
+        final BundleIdentifier bundleIdentifier = getBundleCoordinate(attributes);
+        final BundleIdentifier dependencyCoordinate = getDependencyBundleCoordinate(attributes);
+        final BuildInfo buildInfo = getBuildInfo(attributes);
+
+        return new BundleDetails.Builder()
+                .coordinate(bundleIdentifier)
+                .addDependencyCoordinate(dependencyCoordinate)
+                .buildInfo(buildInfo);
+    }
+
     private BundleIdentifier getBundleCoordinate(final Attributes attributes) {
         try {
             final String groupId = attributes.getValue(NarManifestEntry.NAR_GROUP.getManifestName());
@@ -161,19 +181,8 @@ public class NarBundleExtractor implements BundleExtractor {
         while((jarEntry = jarInputStream.getNextJarEntry()) != null) {
             final String jarEntryName = jarEntry.getName();
             if (EXTENSION_DESCRIPTOR_ENTRY.equals(jarEntryName)) {
-                try {
-                    final byte[] rawDocsContent = toByteArray(jarInputStream);
-                    final ExtensionManifestParser docsParser = new JacksonExtensionManifestParser();
-                    final InputStream inputStream = new NonCloseableInputStream(new ByteArrayInputStream(rawDocsContent));
-
-                    final ExtensionManifest extensionManifest = docsParser.parse(inputStream);
-                    builder.addExtensions(extensionManifest.getExtensions());
-                    builder.systemApiVersion(extensionManifest.getSystemApiVersion());
-
-                    foundExtensionDocs = true;
-                } catch (Exception e) {
-                    throw new BundleException("Unable to obtain extension info for bundle due to: " + e.getMessage(), e);
-                }
+                parseExtensionManifest(jarInputStream, builder);
+                foundExtensionDocs = true;
             } else {
                 final Matcher matcher = ADDITIONAL_DETAILS_ENTRY_PATTERN.matcher(jarEntryName);
                 if (matcher.matches()) {
@@ -185,11 +194,53 @@ public class NarBundleExtractor implements BundleExtractor {
         }
 
         if (!foundExtensionDocs) {
-            throw new BundleException("Unable to find descriptor at '" + EXTENSION_DESCRIPTOR_ENTRY + "'. " +
-                    "This NAR may need to be rebuilt with the latest version of the NiFi NAR Maven Plugin.");
+            throw missingExtensionDescriptor();
         }
     }
 
+    private void parseExtensionDocs(final JarFile jarFile, final BundleDetails.Builder builder) throws IOException {
+        final JarEntry descriptorEntry = jarFile.getJarEntry(EXTENSION_DESCRIPTOR_ENTRY);
+        if (descriptorEntry == null) {
+            throw missingExtensionDescriptor();
+        }
+
+        try (final InputStream descriptorInputStream = jarFile.getInputStream(descriptorEntry)) {
+            parseExtensionManifest(descriptorInputStream, builder);
+        }
+
+        // iterating the entries only walks the central directory, so the content of other entries is never inflated
+        final Enumeration<JarEntry> jarEntries = jarFile.entries();
+        while (jarEntries.hasMoreElements()) {
+            final JarEntry jarEntry = jarEntries.nextElement();
+            final Matcher matcher = ADDITIONAL_DETAILS_ENTRY_PATTERN.matcher(jarEntry.getName());
+            if (matcher.matches()) {
+                final String extensionName = matcher.group(1);
+                try (final InputStream additionalDetailsInputStream = jarFile.getInputStream(jarEntry)) {
+                    final String additionalDetailsContent = new String(toByteArray(additionalDetailsInputStream), StandardCharsets.UTF_8);
+                    builder.addAdditionalDetails(extensionName, additionalDetailsContent);
+                }
+            }
+        }
+    }
+
+    private void parseExtensionManifest(final InputStream entryInputStream, final BundleDetails.Builder builder) {
+        try {
+            // parse straight from the entry, but don't let the parser close the underlying jar stream
+            final InputStream inputStream = new NonCloseableInputStream(entryInputStream);
+
+            final ExtensionManifest extensionManifest = manifestParser.parse(inputStream);
+            builder.addExtensions(extensionManifest.getExtensions());
+            builder.systemApiVersion(extensionManifest.getSystemApiVersion());
+        } catch (Exception e) {
+            throw new BundleException("Unable to obtain extension info for bundle due to: " + e.getMessage(), e);
+        }
+    }
+
+    private BundleException missingExtensionDescriptor() {
+        return new BundleException("Unable to find descriptor at '" + EXTENSION_DESCRIPTOR_ENTRY + "'. " +
+                "This NAR may need to be rebuilt with the latest version of the NiFi NAR Maven Plugin.");
+    }
+
     private byte[] toByteArray(final InputStream input) throws IOException {
         final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
 
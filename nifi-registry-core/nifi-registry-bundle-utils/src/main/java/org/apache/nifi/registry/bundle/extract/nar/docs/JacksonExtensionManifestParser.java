@@ -18,6 +18,7 @@ package org.apache.nifi.registry.bundle.extract.nar.docs;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.module.jaxb.JaxbAnnotationModule;
 import org.apache.nifi.registry.bundle.extract.BundleException;
@@ -28,21 +29,25 @@ import java.io.InputStream;
 
 /**
  * Implementation of {@link ExtensionManifestParser} that uses Jackson XML to unmarshall the extension-manifest.xml content.
+ *
+ * Creating the XmlMapper and introspecting the JAXB annotations of the manifest model is expensive, so a single
+ * pre-configured ObjectReader is shared by all instances. ObjectReader is immutable and safe to use concurrently.
  */
 public class JacksonExtensionManifestParser implements ExtensionManifestParser {
 
-    private final ObjectMapper mapper;
+    private static final ObjectReader EXTENSION_MANIFEST_READER = createReader();
 
-    public JacksonExtensionManifestParser() {
-        this.mapper = new XmlMapper();
-        this.mapper.registerModule(new JaxbAnnotationModule());
-        this.mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+    private static ObjectReader createReader() {
+        final ObjectMapper mapper = new XmlMapper();
+        mapper.registerModule(new JaxbAnnotationModule());
+        mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+        return mapper.readerFor(ExtensionManifest.class);
     }
 
     @Override
     public ExtensionManifest parse(InputStream inputStream) {
         try {
-            return mapper.readValue(inputStream, ExtensionManifest.class);
+            return EXTENSION_MANIFEST_READER.readValue(inputStream);
         } catch (IOException e) {
             throw new BundleException("Unable to parse extension manifest due to: " + e.getMessage(), e);
         }
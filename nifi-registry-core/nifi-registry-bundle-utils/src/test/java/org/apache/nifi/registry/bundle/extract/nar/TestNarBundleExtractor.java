@@ -24,6 +24,7 @@ import org.apache.nifi.registry.extension.bundle.BuildInfo;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -151,4 +152,33 @@ public class TestNarBundleExtractor {
         }
     }
 
+    @Test
+    public void testExtractFromFileMatchesExtractFromInputStream() throws IOException {
+        final File narFile = new File("src/test/resources/nars/nifi-hadoop-nar.nar");
+
+        final BundleDetails streamDetails;
+        try (final InputStream in = new FileInputStream(narFile)) {
+            streamDetails = extractor.extract(in);
+        }
+
+        final BundleDetails fileDetails = extractor.extract(narFile);
+        assertNotNull(fileDetails);
+        assertEquals(streamDetails.getBundleIdentifier(), fileDetails.getBundleIdentifier());
+        assertEquals(streamDetails.getDependencies(), fileDetails.getDependencies());
+        assertEquals(streamDetails.getSystemApiVersion(), fileDetails.getSystemApiVersion());
+        assertEquals(streamDetails.getBuildInfo().getBuilt(), fileDetails.getBuildInfo().getBuilt());
+        assertEquals(streamDetails.getExtensions().size(), fileDetails.getExtensions().size());
+        assertEquals(streamDetails.getAdditionalDetails(), fileDetails.getAdditionalDetails());
+    }
+
+    @Test(expected = BundleException.class)
+    public void testExtractFromFileMissingManifest() throws IOException {
+        extractor.extract(new File("src/test/resources/nars/nifi-missing-manifest.nar"));
+    }
+
+    @Test(expected = BundleException.class)
+    public void testExtractFromFileMissingExtensionDescriptor() throws IOException {
+        extractor.extract(new File("src/test/resources/nars/nifi-foo-nar-missing-extension-descriptor.nar"));
+    }
+
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.bundle.extract.nar.docs;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.module.jaxb.JaxbAnnotationModule;
+import org.apache.nifi.registry.extension.component.manifest.ExtensionManifest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing an extension manifest with the shared parser, compared to building a new XmlMapper for every
+ * manifest as was previously done for each NAR.
+ *
+ * Run from the module directory with:
+ *
+ *   mvn test-compile exec:java -Dexec.mainClass=org.apache.nifi.registry.bundle.extract.nar.docs.JacksonExtensionManifestParserBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonExtensionManifestParserBenchmark {
+
+    @Param({"extension-manifest-hadoop-nar.xml", "extension-manifest-dbcp-service-nar.xml"})
+    private String manifest;
+
+    private byte[] manifestContent;
+
+    private ExtensionManifestParser sharedParser;
+
+    @Setup
+    public void setup() throws IOException {
+        manifestContent = Files.readAllBytes(Paths.get("src/test/resources/descriptors", manifest));
+        sharedParser = new JacksonExtensionManifestParser();
+    }
+
+    @Benchmark
+    public ExtensionManifest parseWithSharedParser() {
+        return sharedParser.parse(new ByteArrayInputStream(manifestContent));
+    }
+
+    @Benchmark
+    public ExtensionManifest parseWithNewMapper() throws IOException {
+        final ObjectMapper mapper = new XmlMapper();
+        mapper.registerModule(new JaxbAnnotationModule());
+        mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+        return mapper.readValue(new ByteArrayInputStream(manifestContent), ExtensionManifest.class);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(JacksonExtensionManifestParserBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
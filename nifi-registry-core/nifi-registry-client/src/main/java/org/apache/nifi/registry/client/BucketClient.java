@@ -18,8 +18,10 @@ package org.apache.nifi.registry.client;
 
 import org.apache.nifi.registry.bucket.Bucket;
 import org.apache.nifi.registry.field.Fields;
+import org.apache.nifi.registry.params.SortParameter;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -73,4 +75,16 @@ public interface BucketClient {
      */
     List<Bucket> getAll() throws NiFiRegistryException, IOException;
 
+    /**
+     * Iterates over all buckets.
+     *
+     * Results are requested pageSize at a time as the iterator is consumed. Errors retrieving pages after the first are thrown
+     * from the iterator as an UncheckedIOException for I/O errors, or as an IllegalStateException otherwise.
+     *
+     * @param pageSize the number of buckets to request at a time
+     * @param sort the sort to apply, one of name or created, or null to sort by name
+     * @return an iterator over all buckets
+     */
+    Iterator<Bucket> iterateAll(int pageSize, SortParameter sort) throws NiFiRegistryException, IOException;
+
 }
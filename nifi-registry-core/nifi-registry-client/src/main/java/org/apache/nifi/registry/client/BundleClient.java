@@ -18,8 +18,10 @@ package org.apache.nifi.registry.client;
 
 import org.apache.nifi.registry.extension.bundle.Bundle;
 import org.apache.nifi.registry.extension.bundle.BundleFilterParams;
+import org.apache.nifi.registry.params.SortParameter;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -48,6 +50,22 @@ public interface BundleClient {
      */
     List<Bundle> getAll(BundleFilterParams filterParams) throws IOException, NiFiRegistryException;
 
+    /**
+     * Iterates over all extension bundles matching the specified filters, regardless of bucket.
+     *
+     * Results are requested pageSize at a time as the iterator is consumed. Errors retrieving pages after the first are thrown
+     * from the iterator as an UncheckedIOException for I/O errors, or as an IllegalStateException otherwise.
+     *
+     * @param filterParams the filter params, or null
+     * @param pageSize the number of bundles to request at a time
+     * @param sort the sort to apply, one of groupId or modified, or null to sort by groupId and artifactId
+     * @return an iterator over the bundles matching the filters
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws NiFiRegistryException if an non I/O error occurs
+     */
+    Iterator<Bundle> iterateAll(BundleFilterParams filterParams, int pageSize, SortParameter sort) throws IOException, NiFiRegistryException;
+
     /**
      * Retrieves the extension bundles located in the given bucket.
      *
@@ -17,11 +17,14 @@
 package org.apache.nifi.registry.client;
 
 import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
+import org.apache.nifi.registry.extension.component.ExtensionMetadata;
 import org.apache.nifi.registry.extension.component.ExtensionMetadataContainer;
 import org.apache.nifi.registry.extension.component.TagCount;
 import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
+import org.apache.nifi.registry.params.SortParameter;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -40,6 +43,23 @@ public interface ExtensionClient {
      */
     ExtensionMetadataContainer findExtensions(ExtensionFilterParams filterParams) throws IOException, NiFiRegistryException;
 
+    /**
+     * Iterates over the extensions matching the given filter params.
+     *
+     * Results are requested pageSize at a time as the iterator is consumed. Errors retrieving pages after the first are thrown
+     * from the iterator as an UncheckedIOException for I/O errors, or as an IllegalStateException otherwise.
+     *
+     * @param filterParams the filter params, or null
+     * @param pageSize the number of extensions to request at a time
+     * @param sort the sort to apply, one of name or displayName, or null to sort by name
+     * @return an iterator over the metadata for the extensions matching the filter params
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws NiFiRegistryException if an non I/O error occurs
+     */
+    Iterator<ExtensionMetadata> iterateExtensions(ExtensionFilterParams filterParams, int pageSize, SortParameter sort)
+            throws IOException, NiFiRegistryException;
+
     /**
      * Retrieves extensions that provide the given service API.
      *
@@ -16,11 +16,14 @@
  */
 package org.apache.nifi.registry.client;
 
+import org.apache.nifi.registry.diff.ProcessGroupChange;
 import org.apache.nifi.registry.diff.VersionedFlowDifference;
 import org.apache.nifi.registry.field.Fields;
 import org.apache.nifi.registry.flow.VersionedFlow;
+import org.apache.nifi.registry.flow.VersionedFlowSnapshotMetadata;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -104,6 +107,29 @@ public interface FlowClient {
      */
     List<VersionedFlow> getByBucket(String bucketId) throws NiFiRegistryException, IOException;
 
+    /**
+     * Gets the metadata for the latest version of each of the given flows with a single request.
+     *
+     * Flows that don't exist, have no versions, or are located in a bucket the user is not authorized to read are not
+     * part of the response.
+     *
+     * @param flowIds the flow ids
+     * @return the metadata for the latest version of each flow, ordered by flow id
+     * @throws NiFiRegistryException if an error is encountered other than IOException
+     * @throws IOException if an I/O error is encountered
+     */
+    List<VersionedFlowSnapshotMetadata> getLatestVersionMetadata(Collection<String> flowIds) throws NiFiRegistryException, IOException;
+
+    /**
+     * Gets the metadata for the latest version of every flow in the given bucket with a single request.
+     *
+     * @param bucketId a bucket id
+     * @return the metadata for the latest version of each flow in the bucket that has versions, ordered by flow id
+     * @throws NiFiRegistryException if an error is encountered other than IOException
+     * @throws IOException if an I/O error is encountered
+     */
+    List<VersionedFlowSnapshotMetadata> getLatestVersionMetadataByBucket(String bucketId) throws NiFiRegistryException, IOException;
+
     /**
      *
      * @param bucketId a bucket id
@@ -116,4 +142,19 @@ public interface FlowClient {
      */
     VersionedFlowDifference diff(final String bucketId, final String flowId,
                                  final Integer versionA, final Integer versionB) throws NiFiRegistryException, IOException;
+
+    /**
+     * Determines whether a process group changed between two versions of a flow, without computing a full diff.
+     *
+     * @param bucketId a bucket id
+     * @param flowId the flow that is under inspection
+     * @param processGroupId the id of the process group within the flow
+     * @param versionA the first version to use in the comparison
+     * @param versionB the second version to use in the comparison
+     * @return whether the process group, or anything nested within it, changed between the 2 flow versions
+     * @throws NiFiRegistryException if an error is encountered other than IOException
+     * @throws IOException if an I/O error is encountered
+     */
+    ProcessGroupChange getProcessGroupChange(final String bucketId, final String flowId, final String processGroupId,
+                                             final Integer versionA, final Integer versionB) throws NiFiRegistryException, IOException;
 }
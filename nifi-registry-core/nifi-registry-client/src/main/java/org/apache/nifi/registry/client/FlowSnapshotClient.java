@@ -18,8 +18,11 @@ package org.apache.nifi.registry.client;
 
 import org.apache.nifi.registry.flow.VersionedFlowSnapshot;
 import org.apache.nifi.registry.flow.VersionedFlowSnapshotMetadata;
+import org.apache.nifi.registry.params.SortParameter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -105,6 +108,29 @@ public interface FlowSnapshotClient {
      */
     VersionedFlowSnapshotMetadata getLatestMetadata(String flowId) throws NiFiRegistryException, IOException;
 
+    /**
+     * Gets the latest snapshot metadata for each of the given flows with a single request.
+     *
+     * Flows that don't exist, have no versions, or are located in a bucket the user is not authorized to read are not
+     * part of the response.
+     *
+     * @param flowIds the flow ids
+     * @return the snapshot metadata for the latest version of each flow, ordered by flow id
+     * @throws NiFiRegistryException if an error is encountered other than IOException
+     * @throws IOException if an I/O error is encountered
+     */
+    List<VersionedFlowSnapshotMetadata> getLatestMetadata(Collection<String> flowIds) throws NiFiRegistryException, IOException;
+
+    /**
+     * Gets the latest snapshot metadata for every flow in the given bucket with a single request.
+     *
+     * @param bucketId the bucket id
+     * @return the snapshot metadata for the latest version of each flow in the bucket that has versions, ordered by flow id
+     * @throws NiFiRegistryException if an error is encountered other than IOException
+     * @throws IOException if an I/O error is encountered
+     */
+    List<VersionedFlowSnapshotMetadata> getLatestMetadataByBucket(String bucketId) throws NiFiRegistryException, IOException;
+
     /**
      * Gets a list of the metadata for all snapshots of a given flow.
      *
@@ -130,4 +156,37 @@ public interface FlowSnapshotClient {
      */
     List<VersionedFlowSnapshotMetadata> getSnapshotMetadata(String flowId) throws NiFiRegistryException, IOException;
 
+    /**
+     * Iterates over the metadata for all snapshots of a given flow.
+     *
+     * Results are requested pageSize at a time as the iterator is consumed. Errors retrieving pages after the first are thrown
+     * from the iterator as an UncheckedIOException for I/O errors, or as an IllegalStateException otherwise.
+     *
+     * @param bucketId the bucket id
+     * @param flowId the flow id
+     * @param pageSize the number of snapshots to request at a time
+     * @param sort the sort to apply, version:asc or version:desc, or null for newest to oldest
+     * @return an iterator over the snapshot metadata
+     * @throws NiFiRegistryException if an error is encountered other than IOException
+     * @throws IOException if an I/O error is encountered
+     */
+    Iterator<VersionedFlowSnapshotMetadata> iterateSnapshotMetadata(String bucketId, String flowId, int pageSize, SortParameter sort)
+            throws NiFiRegistryException, IOException;
+
+    /**
+     * Iterates over the metadata for all snapshots of a given flow.
+     *
+     * Results are requested pageSize at a time as the iterator is consumed. Errors retrieving pages after the first are thrown
+     * from the iterator as an UncheckedIOException for I/O errors, or as an IllegalStateException otherwise.
+     *
+     * @param flowId the flow id
+     * @param pageSize the number of snapshots to request at a time
+     * @param sort the sort to apply, version:asc or version:desc, or null for newest to oldest
+     * @return an iterator over the snapshot metadata
+     * @throws NiFiRegistryException if an error is encountered other than IOException
+     * @throws IOException if an I/O error is encountered
+     */
+    Iterator<VersionedFlowSnapshotMetadata> iterateSnapshotMetadata(String flowId, int pageSize, SortParameter sort)
+            throws NiFiRegistryException, IOException;
+
 }
@@ -18,8 +18,10 @@ package org.apache.nifi.registry.client;
 
 import org.apache.nifi.registry.bucket.BucketItem;
 import org.apache.nifi.registry.field.Fields;
+import org.apache.nifi.registry.params.SortParameter;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -52,6 +54,35 @@ public interface ItemsClient {
      */
     List<BucketItem> getByBucket(String bucketId) throws NiFiRegistryException, IOException;
 
+    /**
+     * Iterates over all bucket items in the registry.
+     *
+     * Results are requested pageSize at a time as the iterator is consumed. Errors retrieving pages after the first are thrown
+     * from the iterator as an UncheckedIOException for I/O errors, or as an IllegalStateException otherwise.
+     *
+     * @param pageSize the number of items to request at a time
+     * @param sort the sort to apply, one of name, created, or modified, or null to sort by name
+     * @return an iterator over all bucket items
+     * @throws NiFiRegistryException if an error is encountered other than IOException
+     * @throws IOException if an I/O error is encountered
+     */
+    Iterator<BucketItem> iterateAll(int pageSize, SortParameter sort) throws NiFiRegistryException, IOException;
+
+    /**
+     * Iterates over all bucket items for the given bucket.
+     *
+     * Results are requested pageSize at a time as the iterator is consumed. Errors retrieving pages after the first are thrown
+     * from the iterator as an UncheckedIOException for I/O errors, or as an IllegalStateException otherwise.
+     *
+     * @param bucketId the bucket id
+     * @param pageSize the number of items to request at a time
+     * @param sort the sort to apply, one of name, created, or modified, or null to sort by name
+     * @return an iterator over the items in the given bucket
+     * @throws NiFiRegistryException if an error is encountered other than IOException
+     * @throws IOException if an I/O error is encountered
+     */
+    Iterator<BucketItem> iterateByBucket(String bucketId, int pageSize, SortParameter sort) throws NiFiRegistryException, IOException;
+
     /**
      * Gets the field info for bucket items.
      *
@@ -17,15 +17,24 @@
 package org.apache.nifi.registry.client.impl;
 
 import org.apache.nifi.registry.client.NiFiRegistryException;
+import org.apache.nifi.registry.params.SortParameter;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Link;
 import javax.ws.rs.core.Response;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Base class for the client operations to share exception handling.
@@ -90,6 +99,61 @@ public class AbstractJerseyClient {
     }
 
 
+    /**
+     * Creates an iterator over all results of a paged list endpoint, following the Link header with rel="next" of each
+     * response to request the following page.
+     *
+     * @param errorMessage the message to use if a NiFiRegistryException is thrown
+     * @param target the target of the list endpoint
+     * @param pageSize the number of results to request per page
+     * @param sort the sort to request, or null for the endpoint's default
+     * @param entityReader reads the results out of a successful response
+     * @param <T> the type of the results
+     * @return the iterator, with the first page already retrieved
+     * @throws NiFiRegistryException if any exception other than IOException is encountered retrieving the first page
+     * @throws IOException if an I/O error occurs retrieving the first page
+     */
+    protected <T> Iterator<T> iteratePages(final String errorMessage, final WebTarget target, final int pageSize, final SortParameter sort,
+                                           final Function<Response, Collection<T>> entityReader) throws NiFiRegistryException, IOException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+
+        final WebTarget limitedTarget = target.queryParam("limit", pageSize);
+        final WebTarget pagedTarget = sort == null ? limitedTarget : limitedTarget.queryParam("sort", sort.toString());
+
+        return new PagedIterator<>(after -> executeAction(errorMessage, () -> {
+            final WebTarget pageTarget = after == null ? pagedTarget : pagedTarget.queryParam("after", after);
+            final Response response = getRequestBuilder(pageTarget).get();
+            if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+                throw new WebApplicationException(response);
+            }
+
+            final Collection<T> items = entityReader.apply(response);
+            final Link nextLink = response.getLink("next");
+            return new PagedIterator.Page<>(items, nextLink == null ? null : getQueryParameter(nextLink.getUri(), "after"));
+        }));
+    }
+
+    private static String getQueryParameter(final URI uri, final String name) {
+        final String rawQuery = uri.getRawQuery();
+        if (rawQuery == null) {
+            return null;
+        }
+
+        for (final String queryPart : rawQuery.split("&")) {
+            if (queryPart.startsWith(name + "=")) {
+                try {
+                    return URLDecoder.decode(queryPart.substring(name.length() + 1), StandardCharsets.UTF_8.name());
+                } catch (final UnsupportedEncodingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        return null;
+    }
+
     /**
      * An action to execute with the given return type.
      *
@@ -21,6 +21,7 @@ import org.apache.nifi.registry.bucket.Bucket;
 import org.apache.nifi.registry.client.BucketClient;
 import org.apache.nifi.registry.client.NiFiRegistryException;
 import org.apache.nifi.registry.field.Fields;
+import org.apache.nifi.registry.params.SortParameter;
 
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
@@ -28,6 +29,7 @@ import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -137,4 +139,10 @@ public class JerseyBucketClient extends AbstractJerseyClient implements BucketCl
         });
     }
 
+    @Override
+    public Iterator<Bucket> iterateAll(final int pageSize, final SortParameter sort) throws NiFiRegistryException, IOException {
+        return iteratePages("Error retrieving all buckets", bucketsTarget, pageSize, sort,
+                response -> Arrays.asList(response.readEntity(Bucket[].class)));
+    }
+
 }
@@ -21,11 +21,13 @@ import org.apache.nifi.registry.client.BundleClient;
 import org.apache.nifi.registry.client.NiFiRegistryException;
 import org.apache.nifi.registry.extension.bundle.Bundle;
 import org.apache.nifi.registry.extension.bundle.BundleFilterParams;
+import org.apache.nifi.registry.params.SortParameter;
 
 import javax.ws.rs.client.WebTarget;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -55,25 +57,38 @@ public class JerseyBundleClient extends AbstractJerseyClient implements BundleCl
     @Override
     public List<Bundle> getAll(final BundleFilterParams filterParams) throws IOException, NiFiRegistryException {
         return executeAction("Error getting extension bundles", () -> {
-            WebTarget target = extensionBundlesTarget;
-
-            if (filterParams != null) {
-                if (!StringUtils.isBlank(filterParams.getBucketName())) {
-                    target = target.queryParam("bucketName", filterParams.getBucketName());
-                }
-                if (!StringUtils.isBlank(filterParams.getGroupId())) {
-                    target = target.queryParam("groupId", filterParams.getGroupId());
-                }
-                if (!StringUtils.isBlank(filterParams.getArtifactId())) {
-                    target = target.queryParam("artifactId", filterParams.getArtifactId());
-                }
-            }
+            final WebTarget target = getFilteredTarget(filterParams);
 
             final Bundle[] bundles = getRequestBuilder(target).get(Bundle[].class);
             return  bundles == null ? Collections.emptyList() : Arrays.asList(bundles);
         });
     }
 
+    @Override
+    public Iterator<Bundle> iterateAll(final BundleFilterParams filterParams, final int pageSize, final SortParameter sort)
+            throws IOException, NiFiRegistryException {
+        return iteratePages("Error getting extension bundles", getFilteredTarget(filterParams), pageSize, sort,
+                response -> Arrays.asList(response.readEntity(Bundle[].class)));
+    }
+
+    private WebTarget getFilteredTarget(final BundleFilterParams filterParams) {
+        WebTarget target = extensionBundlesTarget;
+
+        if (filterParams != null) {
+            if (!StringUtils.isBlank(filterParams.getBucketName())) {
+                target = target.queryParam("bucketName", filterParams.getBucketName());
+            }
+            if (!StringUtils.isBlank(filterParams.getGroupId())) {
+                target = target.queryParam("groupId", filterParams.getGroupId());
+            }
+            if (!StringUtils.isBlank(filterParams.getArtifactId())) {
+                target = target.queryParam("artifactId", filterParams.getArtifactId());
+            }
+        }
+
+        return target;
+    }
+
     @Override
     public List<Bundle> getByBucket(final String bucketId) throws IOException, NiFiRegistryException {
         if (StringUtils.isBlank(bucketId)) {
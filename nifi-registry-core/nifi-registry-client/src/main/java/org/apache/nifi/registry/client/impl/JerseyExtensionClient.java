@@ -21,15 +21,19 @@ import org.apache.nifi.registry.client.ExtensionClient;
 import org.apache.nifi.registry.client.NiFiRegistryException;
 import org.apache.nifi.registry.extension.bundle.BundleType;
 import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
+import org.apache.nifi.registry.extension.component.ExtensionMetadata;
 import org.apache.nifi.registry.extension.component.ExtensionMetadataContainer;
+import org.apache.nifi.registry.extension.component.ExtensionMetadataPage;
 import org.apache.nifi.registry.extension.component.TagCount;
 import org.apache.nifi.registry.extension.component.manifest.ExtensionType;
 import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
+import org.apache.nifi.registry.params.SortParameter;
 
 import javax.ws.rs.client.WebTarget;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -52,29 +56,41 @@ public class JerseyExtensionClient extends AbstractJerseyClient implements Exten
             throws IOException, NiFiRegistryException {
 
         return executeAction("Error retrieving extensions", () -> {
-            WebTarget target = extensionsTarget;
+            final WebTarget target = getFilteredTarget(filterParams);
+            return getRequestBuilder(target).get(ExtensionMetadataContainer.class);
+        });
+    }
 
-            if (filterParams != null) {
-                final BundleType bundleType = filterParams.getBundleType();
-                if (bundleType != null) {
-                    target = target.queryParam("bundleType", bundleType.toString());
-                }
+    @Override
+    public Iterator<ExtensionMetadata> iterateExtensions(final ExtensionFilterParams filterParams, final int pageSize, final SortParameter sort)
+            throws IOException, NiFiRegistryException {
+        return iteratePages("Error retrieving extensions", getFilteredTarget(filterParams), pageSize, sort,
+                response -> response.readEntity(ExtensionMetadataPage.class).getExtensions());
+    }
 
-                final ExtensionType extensionType = filterParams.getExtensionType();
-                if (extensionType != null) {
-                    target = target.queryParam("extensionType", extensionType.toString());
-                }
+    private WebTarget getFilteredTarget(final ExtensionFilterParams filterParams) {
+        WebTarget target = extensionsTarget;
 
-                final Set<String> tags = filterParams.getTags();
-                if (tags != null) {
-                    for (final String tag : tags) {
-                        target = target.queryParam("tag", tag);
-                    }
+        if (filterParams != null) {
+            final BundleType bundleType = filterParams.getBundleType();
+            if (bundleType != null) {
+                target = target.queryParam("bundleType", bundleType.toString());
+            }
+
+            final ExtensionType extensionType = filterParams.getExtensionType();
+            if (extensionType != null) {
+                target = target.queryParam("extensionType", extensionType.toString());
+            }
+
+            final Set<String> tags = filterParams.getTags();
+            if (tags != null) {
+                for (final String tag : tags) {
+                    target = target.queryParam("tag", tag);
                 }
             }
+        }
 
-            return getRequestBuilder(target).get(ExtensionMetadataContainer.class);
-        });
+        return target;
     }
 
     @Override
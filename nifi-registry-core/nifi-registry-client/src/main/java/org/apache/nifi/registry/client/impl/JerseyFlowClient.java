@@ -19,15 +19,18 @@ package org.apache.nifi.registry.client.impl;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.nifi.registry.client.FlowClient;
 import org.apache.nifi.registry.client.NiFiRegistryException;
+import org.apache.nifi.registry.diff.ProcessGroupChange;
 import org.apache.nifi.registry.diff.VersionedFlowDifference;
 import org.apache.nifi.registry.field.Fields;
 import org.apache.nifi.registry.flow.VersionedFlow;
+import org.apache.nifi.registry.flow.VersionedFlowSnapshotMetadata;
 
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -180,6 +183,43 @@ public class JerseyFlowClient extends AbstractJerseyClient  implements FlowClien
         });
     }
 
+    @Override
+    public List<VersionedFlowSnapshotMetadata> getLatestVersionMetadata(final Collection<String> flowIds)
+            throws NiFiRegistryException, IOException {
+        if (flowIds == null) {
+            throw new IllegalArgumentException("Flow Identifiers cannot be null");
+        }
+
+        return executeAction("Error retrieving latest version metadata for flows", () -> {
+            final WebTarget target = flowsTarget.path("/versions/latest/metadata");
+
+            final VersionedFlowSnapshotMetadata[] snapshots = getRequestBuilder(target)
+                    .post(
+                            Entity.entity(flowIds, MediaType.APPLICATION_JSON),
+                            VersionedFlowSnapshotMetadata[].class
+                    );
+
+            return snapshots == null ? Collections.emptyList() : Arrays.asList(snapshots);
+        });
+    }
+
+    @Override
+    public List<VersionedFlowSnapshotMetadata> getLatestVersionMetadataByBucket(final String bucketId)
+            throws NiFiRegistryException, IOException {
+        if (StringUtils.isBlank(bucketId)) {
+            throw new IllegalArgumentException("Bucket Identifier cannot be blank");
+        }
+
+        return executeAction("Error retrieving latest version metadata for bucket", () -> {
+            final WebTarget target = bucketFlowsTarget
+                    .path("/versions/latest/metadata")
+                    .resolveTemplate("bucketId", bucketId);
+
+            final VersionedFlowSnapshotMetadata[] snapshots = getRequestBuilder(target).get(VersionedFlowSnapshotMetadata[].class);
+            return snapshots == null ? Collections.emptyList() : Arrays.asList(snapshots);
+        });
+    }
+
     @Override
     public VersionedFlowDifference diff(final String bucketId, final String flowId,
                                         final Integer versionA, final Integer versionB) throws NiFiRegistryException, IOException {
@@ -202,4 +242,32 @@ public class JerseyFlowClient extends AbstractJerseyClient  implements FlowClien
             return  getRequestBuilder(target).get(VersionedFlowDifference.class);
         });
     }
+
+    @Override
+    public ProcessGroupChange getProcessGroupChange(final String bucketId, final String flowId, final String processGroupId,
+                                                    final Integer versionA, final Integer versionB) throws NiFiRegistryException, IOException {
+        if (StringUtils.isBlank(bucketId)) {
+            throw new IllegalArgumentException("Bucket Identifier cannot be blank");
+        }
+
+        if (StringUtils.isBlank(flowId)) {
+            throw new IllegalArgumentException("Flow Identifier cannot be blank");
+        }
+
+        if (StringUtils.isBlank(processGroupId)) {
+            throw new IllegalArgumentException("Process Group Identifier cannot be blank");
+        }
+
+        return executeAction("Error retrieving process group change", () -> {
+            final WebTarget target = bucketFlowsTarget
+                    .path("/{flowId}/diff/{versionA}/{versionB}/process-groups/{processGroupId}")
+                    .resolveTemplate("bucketId", bucketId)
+                    .resolveTemplate("flowId", flowId)
+                    .resolveTemplate("versionA", versionA)
+                    .resolveTemplate("versionB", versionB)
+                    .resolveTemplate("processGroupId", processGroupId);
+
+            return getRequestBuilder(target).get(ProcessGroupChange.class);
+        });
+    }
 }
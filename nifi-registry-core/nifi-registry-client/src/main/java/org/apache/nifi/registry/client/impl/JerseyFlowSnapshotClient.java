@@ -21,13 +21,16 @@ import org.apache.nifi.registry.client.FlowSnapshotClient;
 import org.apache.nifi.registry.client.NiFiRegistryException;
 import org.apache.nifi.registry.flow.VersionedFlowSnapshot;
 import org.apache.nifi.registry.flow.VersionedFlowSnapshotMetadata;
+import org.apache.nifi.registry.params.SortParameter;
 
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +41,8 @@ public class JerseyFlowSnapshotClient extends AbstractJerseyClient implements Fl
 
     final WebTarget bucketFlowSnapshotTarget;
     final WebTarget flowsFlowSnapshotTarget;
+    final WebTarget bucketLatestMetadataTarget;
+    final WebTarget flowsLatestMetadataTarget;
 
     public JerseyFlowSnapshotClient(final WebTarget baseTarget) {
         this(baseTarget, Collections.emptyMap());
@@ -47,6 +52,8 @@ public class JerseyFlowSnapshotClient extends AbstractJerseyClient implements Fl
         super(headers);
         this.bucketFlowSnapshotTarget = baseTarget.path("/buckets/{bucketId}/flows/{flowId}/versions");
         this.flowsFlowSnapshotTarget = baseTarget.path("/flows/{flowId}/versions");
+        this.bucketLatestMetadataTarget = baseTarget.path("/buckets/{bucketId}/flows/versions/latest/metadata");
+        this.flowsLatestMetadataTarget = baseTarget.path("/flows/versions/latest/metadata");
     }
 
     @Override
@@ -199,6 +206,37 @@ public class JerseyFlowSnapshotClient extends AbstractJerseyClient implements Fl
         });
     }
 
+    @Override
+    public List<VersionedFlowSnapshotMetadata> getLatestMetadata(final Collection<String> flowIds) throws NiFiRegistryException, IOException {
+        if (flowIds == null) {
+            throw new IllegalArgumentException("Flow Identifiers cannot be null");
+        }
+
+        return executeAction("Error retrieving latest snapshot metadata", () -> {
+            final VersionedFlowSnapshotMetadata[] snapshots = getRequestBuilder(flowsLatestMetadataTarget)
+                    .post(
+                            Entity.entity(flowIds, MediaType.APPLICATION_JSON),
+                            VersionedFlowSnapshotMetadata[].class
+                    );
+
+            return snapshots == null ? Collections.emptyList() : Arrays.asList(snapshots);
+        });
+    }
+
+    @Override
+    public List<VersionedFlowSnapshotMetadata> getLatestMetadataByBucket(final String bucketId) throws NiFiRegistryException, IOException {
+        if (StringUtils.isBlank(bucketId)) {
+            throw new IllegalArgumentException("Bucket Identifier cannot be blank");
+        }
+
+        return executeAction("Error retrieving latest snapshot metadata", () -> {
+            final WebTarget target = bucketLatestMetadataTarget.resolveTemplate("bucketId", bucketId);
+
+            final VersionedFlowSnapshotMetadata[] snapshots = getRequestBuilder(target).get(VersionedFlowSnapshotMetadata[].class);
+            return snapshots == null ? Collections.emptyList() : Arrays.asList(snapshots);
+        });
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public List<VersionedFlowSnapshotMetadata> getSnapshotMetadata(final String bucketId, final String flowId)
@@ -243,4 +281,37 @@ public class JerseyFlowSnapshotClient extends AbstractJerseyClient implements Fl
         });
     }
 
+    @Override
+    public Iterator<VersionedFlowSnapshotMetadata> iterateSnapshotMetadata(final String bucketId, final String flowId, final int pageSize,
+                                                                           final SortParameter sort) throws NiFiRegistryException, IOException {
+        if (StringUtils.isBlank(bucketId)) {
+            throw new IllegalArgumentException("Bucket Identifier cannot be blank");
+        }
+
+        if (StringUtils.isBlank(flowId)) {
+            throw new IllegalArgumentException("Flow Identifier cannot be blank");
+        }
+
+        final WebTarget target = bucketFlowSnapshotTarget
+                .resolveTemplate("bucketId", bucketId)
+                .resolveTemplate("flowId", flowId);
+
+        return iteratePages("Error retrieving snapshot metadata", target, pageSize, sort,
+                response -> Arrays.asList(response.readEntity(VersionedFlowSnapshotMetadata[].class)));
+    }
+
+    @Override
+    public Iterator<VersionedFlowSnapshotMetadata> iterateSnapshotMetadata(final String flowId, final int pageSize, final SortParameter sort)
+            throws NiFiRegistryException, IOException {
+        if (StringUtils.isBlank(flowId)) {
+            throw new IllegalArgumentException("Flow Identifier cannot be blank");
+        }
+
+        final WebTarget target = flowsFlowSnapshotTarget
+                .resolveTemplate("flowId", flowId);
+
+        return iteratePages("Error retrieving snapshot metadata", target, pageSize, sort,
+                response -> Arrays.asList(response.readEntity(VersionedFlowSnapshotMetadata[].class)));
+    }
+
 }
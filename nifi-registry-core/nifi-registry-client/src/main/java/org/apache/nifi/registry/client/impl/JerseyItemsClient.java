@@ -21,11 +21,13 @@ import org.apache.nifi.registry.bucket.BucketItem;
 import org.apache.nifi.registry.client.ItemsClient;
 import org.apache.nifi.registry.client.NiFiRegistryException;
 import org.apache.nifi.registry.field.Fields;
+import org.apache.nifi.registry.params.SortParameter;
 
 import javax.ws.rs.client.WebTarget;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -73,6 +75,27 @@ public class JerseyItemsClient extends AbstractJerseyClient implements ItemsClie
         });
     }
 
+    @Override
+    public Iterator<BucketItem> iterateAll(final int pageSize, final SortParameter sort) throws NiFiRegistryException, IOException {
+        return iteratePages("Error retrieving bucket items", itemsTarget, pageSize, sort,
+                response -> Arrays.asList(response.readEntity(BucketItem[].class)));
+    }
+
+    @Override
+    public Iterator<BucketItem> iterateByBucket(final String bucketId, final int pageSize, final SortParameter sort)
+            throws NiFiRegistryException, IOException {
+        if (StringUtils.isBlank(bucketId)) {
+            throw new IllegalArgumentException("Bucket Identifier cannot be blank");
+        }
+
+        final WebTarget target = itemsTarget
+                .path("/{bucketId}")
+                .resolveTemplate("bucketId", bucketId);
+
+        return iteratePages("Error retrieving bucket items", target, pageSize, sort,
+                response -> Arrays.asList(response.readEntity(BucketItem[].class)));
+    }
+
     @Override
     public Fields getFields() throws NiFiRegistryException, IOException {
         return executeAction("", () -> {
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.client.impl;
+
+import org.apache.nifi.registry.client.NiFiRegistryException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the results of a paged list endpoint, requesting the next page only once the current page has been
+ * consumed.
+ *
+ * The first page is requested when the iterator is created so that errors reaching the registry are reported as
+ * checked exceptions. Errors requesting later pages are thrown from {@link #hasNext()} as an UncheckedIOException
+ * for I/O errors, or as an IllegalStateException caused by the NiFiRegistryException otherwise.
+ *
+ * @param <T> the type of the results
+ */
+class PagedIterator<T> implements Iterator<T> {
+
+    private final PageReader<T> pageReader;
+
+    private Iterator<T> currentPage;
+    private String nextCursor;
+
+    PagedIterator(final PageReader<T> pageReader) throws NiFiRegistryException, IOException {
+        this.pageReader = pageReader;
+        readPage(null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        // loop in case the registry returns an empty page that still links to a next page
+        while (!currentPage.hasNext() && nextCursor != null) {
+            try {
+                readPage(nextCursor);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (final NiFiRegistryException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        return currentPage.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentPage.next();
+    }
+
+    private void readPage(final String after) throws NiFiRegistryException, IOException {
+        final Page<T> page = pageReader.read(after);
+        currentPage = page.items.iterator();
+        nextCursor = page.nextCursor;
+    }
+
+    /**
+     * Reads the page of results after the given cursor, or the first page if the cursor is null.
+     *
+     * @param <T> the type of the results
+     */
+    interface PageReader<T> {
+
+        Page<T> read(String after) throws NiFiRegistryException, IOException;
+
+    }
+
+    /**
+     * A page of results and the cursor of the page after it, if there is one.
+     *
+     * @param <T> the type of the results
+     */
+    static class Page<T> {
+
+        private final List<T> items;
+        private final String nextCursor;
+
+        Page(final Collection<T> items, final String nextCursor) {
+            this.items = items == null ? new ArrayList<>() : new ArrayList<>(items);
+            this.nextCursor = nextCursor;
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.client.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.nifi.registry.client.NiFiRegistryException;
+import org.apache.nifi.registry.params.SortOrder;
+import org.apache.nifi.registry.params.SortParameter;
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.WebTarget;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestAbstractJerseyClient {
+
+    private static final String FIRST_PAGE = "";
+
+    private final Map<String, Page> pages = new HashMap<>();
+    private final List<String> requestedQueries = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private Client client;
+    private WebTarget itemsTarget;
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", this::handleItemsRequest);
+        server.start();
+
+        client = ClientBuilder.newClient().register(JacksonFeature.class);
+        itemsTarget = client.target("http://localhost:" + server.getAddress().getPort()).path("items");
+    }
+
+    @After
+    public void teardown() {
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testIteratePagesFollowsNextLinks() throws IOException, NiFiRegistryException {
+        pages.put(FIRST_PAGE, new Page("b", "a", "b"));
+        pages.put("b", new Page("d", "c", "d"));
+        pages.put("d", new Page(null, "e"));
+
+        final Iterator<String> items = new ItemsClient().iterate(itemsTarget, 2, new SortParameter("name", SortOrder.ASC));
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), toList(items));
+
+        assertEquals(Arrays.asList(null, "b", "d"), getRequestedValues("after"));
+        assertEquals(Arrays.asList("2", "2", "2"), getRequestedValues("limit"));
+        assertEquals(Arrays.asList("name:asc", "name:asc", "name:asc"), getRequestedValues("sort"));
+    }
+
+    @Test
+    public void testIteratePagesWithSinglePage() throws IOException, NiFiRegistryException {
+        pages.put(FIRST_PAGE, new Page(null, "a", "b"));
+
+        final Iterator<String> items = new ItemsClient().iterate(itemsTarget, 10, null);
+        assertEquals(Arrays.asList("a", "b"), toList(items));
+
+        assertEquals(1, requestedQueries.size());
+        assertEquals(Collections.singletonList(null), getRequestedValues("sort"));
+    }
+
+    @Test
+    public void testIteratePagesSkipsEmptyPageWithNextLink() throws IOException, NiFiRegistryException {
+        pages.put(FIRST_PAGE, new Page("x"));
+        pages.put("x", new Page("y"));
+        pages.put("y", new Page(null, "a"));
+
+        final Iterator<String> items = new ItemsClient().iterate(itemsTarget, 1, null);
+        assertEquals(Collections.singletonList("a"), toList(items));
+        assertEquals(Arrays.asList(null, "x", "y"), getRequestedValues("after"));
+    }
+
+    @Test
+    public void testIteratePagesDecodesCursor() throws IOException, NiFiRegistryException {
+        pages.put(FIRST_PAGE, new Page("a b&c=d", "a"));
+        pages.put("a b&c=d", new Page(null, "b"));
+
+        final Iterator<String> items = new ItemsClient().iterate(itemsTarget, 1, null);
+        assertEquals(Arrays.asList("a", "b"), toList(items));
+        assertEquals(Arrays.asList(null, "a b&c=d"), getRequestedValues("after"));
+    }
+
+    @Test
+    public void testIteratePagesDoesNotRequestNextPageUntilNeeded() throws IOException, NiFiRegistryException {
+        pages.put(FIRST_PAGE, new Page("a", "a"));
+        pages.put("a", new Page(null, "b"));
+
+        final Iterator<String> items = new ItemsClient().iterate(itemsTarget, 1, null);
+        assertEquals(1, requestedQueries.size());
+
+        assertEquals("a", items.next());
+        assertEquals(1, requestedQueries.size());
+
+        assertTrue(items.hasNext());
+        assertEquals(2, requestedQueries.size());
+    }
+
+    @Test(expected = NiFiRegistryException.class)
+    public void testIteratePagesWhenFirstPageFails() throws IOException, NiFiRegistryException {
+        new ItemsClient().iterate(itemsTarget, 1, null);
+    }
+
+    @Test
+    public void testIteratePagesWhenLaterPageFails() throws IOException, NiFiRegistryException {
+        pages.put(FIRST_PAGE, new Page("missing", "a"));
+
+        final Iterator<String> items = new ItemsClient().iterate(itemsTarget, 1, null);
+        assertEquals("a", items.next());
+
+        try {
+            items.hasNext();
+            fail("Should have thrown an exception reading the missing page");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getCause() instanceof NiFiRegistryException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIteratePagesWithInvalidPageSize() throws IOException, NiFiRegistryException {
+        new ItemsClient().iterate(itemsTarget, 0, null);
+    }
+
+    private void handleItemsRequest(final HttpExchange exchange) throws IOException {
+        final String query = exchange.getRequestURI().getRawQuery();
+        requestedQueries.add(query);
+
+        final String after = getQueryParameter(query, "after");
+        final Page page = pages.get(after == null ? FIRST_PAGE : after);
+        if (page == null) {
+            sendResponse(exchange, 404, "text/plain", "No page after " + after);
+            return;
+        }
+
+        if (page.nextCursor != null) {
+            final String nextUri = "http://localhost:" + server.getAddress().getPort() + "/items?limit="
+                    + getQueryParameter(query, "limit") + "&after=" + URLEncoder.encode(page.nextCursor, StandardCharsets.UTF_8.name());
+            exchange.getResponseHeaders().add("Link", "<" + nextUri + ">; rel=\"next\"");
+        }
+
+        final String body = page.items.stream().map(item -> "\"" + item + "\"").collect(Collectors.joining(",", "[", "]"));
+        sendResponse(exchange, 200, "application/json", body);
+    }
+
+    private static void sendResponse(final HttpExchange exchange, final int status, final String contentType, final String body)
+            throws IOException {
+        final byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bodyBytes.length);
+        try (final OutputStream out = exchange.getResponseBody()) {
+            out.write(bodyBytes);
+        }
+    }
+
+    private List<String> getRequestedValues(final String name) {
+        return requestedQueries.stream().map(query -> getQueryParameter(query, name)).collect(Collectors.toList());
+    }
+
+    private static String getQueryParameter(final String rawQuery, final String name) {
+        if (rawQuery == null) {
+            return null;
+        }
+
+        for (final String queryPart : rawQuery.split("&")) {
+            if (queryPart.startsWith(name + "=")) {
+                try {
+                    return URLDecoder.decode(queryPart.substring(name.length() + 1), StandardCharsets.UTF_8.name());
+                } catch (final UnsupportedEncodingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static List<String> toList(final Iterator<String> items) {
+        final List<String> list = new ArrayList<>();
+        items.forEachRemaining(list::add);
+        return list;
+    }
+
+    /**
+     * The items of a page served by the test server and the cursor its next link points to, if any.
+     */
+    private static class Page {
+
+        private final String nextCursor;
+        private final List<String> items;
+
+        Page(final String nextCursor, final String... items) {
+            this.nextCursor = nextCursor;
+            this.items = Arrays.asList(items);
+        }
+    }
+
+    /**
+     * Exposes the paging of the base client over an endpoint that returns a JSON array of strings.
+     */
+    private static class ItemsClient extends AbstractJerseyClient {
+
+        ItemsClient() {
+            super(null);
+        }
+
+        Iterator<String> iterate(final WebTarget target, final int pageSize, final SortParameter sort)
+                throws IOException, NiFiRegistryException {
+            return iteratePages("Error retrieving items", target, pageSize, sort,
+                    response -> Arrays.asList(response.readEntity(String[].class)));
+        }
+    }
+
+}
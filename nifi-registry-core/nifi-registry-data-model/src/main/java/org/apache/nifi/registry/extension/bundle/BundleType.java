@@ -16,6 +16,8 @@
  */
 package org.apache.nifi.registry.extension.bundle;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
 import io.swagger.annotations.ApiModel;
 
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
@@ -38,6 +40,7 @@ public enum BundleType {
     }
 
     // Note: This method must be name fromString for JAX-RS/Jersey to use it on query and path params
+    @JsonCreator
     public static BundleType fromString(String value) {
         if (value == null) {
             throw new IllegalArgumentException("Value cannot be null");
@@ -54,6 +57,7 @@ public enum BundleType {
 
 
     @Override
+    @JsonValue
     public String toString() {
         return displayName;
     }
@@ -16,6 +16,7 @@
  */
 package org.apache.nifi.registry.extension.bundle;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import org.apache.nifi.registry.bucket.Bucket;
@@ -82,6 +83,7 @@ public class BundleVersion extends LinkableEntity {
     }
 
     @XmlTransient
+    @JsonIgnore
     public String getFilename() {
         final String filename = bundle.getArtifactId() + "-" + versionMetadata.getVersion();
 
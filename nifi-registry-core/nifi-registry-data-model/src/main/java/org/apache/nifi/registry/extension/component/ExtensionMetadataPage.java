@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.extension.component;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.List;
+
+/**
+ * A page of extension metadata, holding the extensions in the order they were requested to be sorted in.
+ */
+@ApiModel
+public class ExtensionMetadataPage {
+
+    private int numResults;
+    private ExtensionFilterParams filterParams;
+    private List<ExtensionMetadata> extensions;
+
+    @ApiModelProperty("The number of extensions in the page")
+    public int getNumResults() {
+        return numResults;
+    }
+
+    public void setNumResults(int numResults) {
+        this.numResults = numResults;
+    }
+
+    @ApiModelProperty("The filter parameters submitted for the request")
+    public ExtensionFilterParams getFilterParams() {
+        return filterParams;
+    }
+
+    public void setFilterParams(ExtensionFilterParams filterParams) {
+        this.filterParams = filterParams;
+    }
+
+    @ApiModelProperty("The metadata for the extensions in the page, in the requested sort order")
+    public List<ExtensionMetadata> getExtensions() {
+        return extensions;
+    }
+
+    public void setExtensions(List<ExtensionMetadata> extensions) {
+        this.extensions = extensions;
+    }
+}
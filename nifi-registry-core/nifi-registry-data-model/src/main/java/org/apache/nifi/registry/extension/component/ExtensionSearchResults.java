@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.extension.component;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.List;
+import java.util.Map;
+
+@ApiModel
+public class ExtensionSearchResults {
+
+    private String query;
+    private ExtensionFilterParams filterParams;
+    private int offset;
+    private int limit;
+    private int totalResults;
+    private List<ExtensionSearchResult> results;
+    private Map<String, Integer> bundleTypeCounts;
+    private Map<String, Integer> extensionTypeCounts;
+    private Map<String, Integer> tagCounts;
+
+    @ApiModelProperty("The search query submitted for the request")
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    @ApiModelProperty("The filter parameters submitted for the request")
+    public ExtensionFilterParams getFilterParams() {
+        return filterParams;
+    }
+
+    public void setFilterParams(ExtensionFilterParams filterParams) {
+        this.filterParams = filterParams;
+    }
+
+    @ApiModelProperty("The index of the first result in this page")
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    @ApiModelProperty("The maximum number of results in this page")
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    @ApiModelProperty("The total number of extensions matching the query and filter parameters")
+    public int getTotalResults() {
+        return totalResults;
+    }
+
+    public void setTotalResults(int totalResults) {
+        this.totalResults = totalResults;
+    }
+
+    @ApiModelProperty("The matching extensions in this page, ordered by relevance")
+    public List<ExtensionSearchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ExtensionSearchResult> results) {
+        this.results = results;
+    }
+
+    @ApiModelProperty("The number of matching extensions for each bundle type")
+    public Map<String, Integer> getBundleTypeCounts() {
+        return bundleTypeCounts;
+    }
+
+    public void setBundleTypeCounts(Map<String, Integer> bundleTypeCounts) {
+        this.bundleTypeCounts = bundleTypeCounts;
+    }
+
+    @ApiModelProperty("The number of matching extensions for each extension type")
+    public Map<String, Integer> getExtensionTypeCounts() {
+        return extensionTypeCounts;
+    }
+
+    public void setExtensionTypeCounts(Map<String, Integer> extensionTypeCounts) {
+        this.extensionTypeCounts = extensionTypeCounts;
+    }
+
+    @ApiModelProperty("The number of matching extensions for each tag")
+    public Map<String, Integer> getTagCounts() {
+        return tagCounts;
+    }
+
+    public void setTagCounts(Map<String, Integer> tagCounts) {
+        this.tagCounts = tagCounts;
+    }
+}
@@ -16,6 +16,9 @@
  */
 package org.apache.nifi.registry.extension.component.manifest;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 
@@ -27,12 +30,15 @@ import java.util.List;
 
 @ApiModel
 @XmlAccessorType(XmlAccessType.FIELD)
+@JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE,
+        isGetterVisibility = Visibility.NONE, setterVisibility = Visibility.NONE)
 public class DeprecationNotice {
 
     private String reason;
 
     @XmlElementWrapper
     @XmlElement(name = "alternative")
+    @JsonProperty("alternative")
     private List<String> alternatives;
 
     @ApiModelProperty(value = "The reason for the deprecation")
@@ -16,6 +16,9 @@
  */
 package org.apache.nifi.registry.extension.component.manifest;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 
@@ -29,14 +32,18 @@ import java.util.Objects;
 
 @ApiModel
 @XmlAccessorType(XmlAccessType.FIELD)
+@JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE,
+        isGetterVisibility = Visibility.NONE, setterVisibility = Visibility.NONE)
 public class Extension {
 
     @Valid
     @XmlElement(required = true)
+    @JsonProperty(required = true)
     private String name;
 
     @Valid
     @XmlElement(required = true)
+    @JsonProperty(required = true)
     private ExtensionType type;
 
     private DeprecationNotice deprecationNotice;
@@ -45,28 +52,34 @@ public class Extension {
 
     @XmlElementWrapper
     @XmlElement(name = "tag")
+    @JsonProperty("tag")
     private List<String> tags;
 
     @XmlElementWrapper
     @XmlElement(name = "property")
+    @JsonProperty("property")
     private List<Property> properties;
 
     @XmlElementWrapper
     @XmlElement(name = "dynamicProperty")
+    @JsonProperty("dynamicProperty")
     private List<DynamicProperty> dynamicProperties;
 
     @XmlElementWrapper
     @XmlElement(name = "relationship")
+    @JsonProperty("relationship")
     private List<Relationship> relationships;
 
     private DynamicRelationship dynamicRelationship;
 
     @XmlElementWrapper
     @XmlElement(name = "readsAttribute")
+    @JsonProperty("readsAttribute")
     private List<Attribute> readsAttributes;
 
     @XmlElementWrapper
     @XmlElement(name = "writesAttribute")
+    @JsonProperty("writesAttribute")
     private List<Attribute> writesAttributes;
 
     private Stateful stateful;
@@ -78,15 +91,18 @@ public class Extension {
 
     @XmlElementWrapper
     @XmlElement(name = "systemResourceConsideration")
+    @JsonProperty("systemResourceConsideration")
     private List<SystemResourceConsideration> systemResourceConsiderations;
 
     @XmlElementWrapper
     @XmlElement(name = "see")
+    @JsonProperty("see")
     private List<String> seeAlso;
 
     @Valid
     @XmlElementWrapper
     @XmlElement(name = "providedServiceAPI")
+    @JsonProperty("providedServiceAPI")
     private List<ProvidedServiceAPI> providedServiceAPIs;
 
 
@@ -16,6 +16,9 @@
  */
 package org.apache.nifi.registry.extension.component.manifest;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.annotations.ApiModel;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -28,13 +31,17 @@ import java.util.List;
 @ApiModel
 @XmlRootElement(name = "extensionManifest")
 @XmlAccessorType(XmlAccessType.FIELD)
+@JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE,
+        isGetterVisibility = Visibility.NONE, setterVisibility = Visibility.NONE)
 public class ExtensionManifest {
 
     @XmlElement(required = true)
+    @JsonProperty(required = true)
     private String systemApiVersion;
 
     @XmlElementWrapper
     @XmlElement(name = "extension")
+    @JsonProperty("extension")
     private List<Extension> extensions;
 
     public ExtensionManifest() {
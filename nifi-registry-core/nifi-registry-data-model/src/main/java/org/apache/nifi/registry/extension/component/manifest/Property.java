@@ -16,6 +16,9 @@
  */
 package org.apache.nifi.registry.extension.component.manifest;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 
@@ -27,6 +30,8 @@ import java.util.List;
 
 @ApiModel
 @XmlAccessorType(XmlAccessType.FIELD)
+@JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE,
+        isGetterVisibility = Visibility.NONE, setterVisibility = Visibility.NONE)
 public class Property {
 
     private String name;
@@ -37,6 +42,7 @@ public class Property {
 
     @XmlElementWrapper
     @XmlElement(name = "allowableValue")
+    @JsonProperty("allowableValue")
     private List<AllowableValue> allowableValues;
 
     private boolean required;
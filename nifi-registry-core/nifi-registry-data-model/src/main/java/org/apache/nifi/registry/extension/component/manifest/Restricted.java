@@ -16,6 +16,9 @@
  */
 package org.apache.nifi.registry.extension.component.manifest;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 
@@ -28,6 +31,8 @@ import java.util.List;
 
 @ApiModel
 @XmlAccessorType(XmlAccessType.FIELD)
+@JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE,
+        isGetterVisibility = Visibility.NONE, setterVisibility = Visibility.NONE)
 public class Restricted {
 
     private String generalRestrictionExplanation;
@@ -35,6 +40,7 @@ public class Restricted {
     @Valid
     @XmlElementWrapper
     @XmlElement(name = "restriction")
+    @JsonProperty("restriction")
     private List<Restriction> restrictions;
 
     @ApiModelProperty(value = "The general restriction for the extension, or null if only specific restrictions exist")
@@ -17,6 +17,7 @@
 
 package org.apache.nifi.registry.flow;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import org.apache.nifi.registry.bucket.Bucket;
@@ -135,6 +136,7 @@ public class VersionedFlowSnapshot {
      * @return true if flow is populated and if this snapshot is the latest version for the flow at the time of retrieval
      */
     @XmlTransient
+    @JsonIgnore
     public boolean isLatest() {
         return flow != null && snapshotMetadata != null && flow.getVersionCount() == getSnapshotMetadata().getVersion();
     }
@@ -16,6 +16,7 @@
  */
 package org.apache.nifi.registry.link;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 
@@ -66,6 +67,7 @@ public class JaxbLink {
      * @return underlying URI.
      */
     @XmlAttribute(name = "href")
+    @JsonProperty("href")
     @ApiModelProperty(name = "href", value = "The href for the link")
     public URI getUri() {
         return uri;
@@ -19,8 +19,19 @@ package org.apache.nifi.registry.flow.diff;
 
 import org.apache.nifi.registry.flow.VersionedProcessGroup;
 
+import java.util.Collections;
+import java.util.Map;
+
 public interface ComparableDataFlow {
     String getName();
 
     VersionedProcessGroup getContents();
+
+    /**
+     * @return content hashes of the process groups in this flow keyed by process group id, or an empty map if unknown.
+     * When both flows being compared have the same hash for a process group, that group is not compared any further.
+     */
+    default Map<String, String> getProcessGroupHashes() {
+        return Collections.emptyMap();
+    }
 }
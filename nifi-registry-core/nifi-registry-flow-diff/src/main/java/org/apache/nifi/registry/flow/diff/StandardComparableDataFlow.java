@@ -19,13 +19,22 @@ package org.apache.nifi.registry.flow.diff;
 
 import org.apache.nifi.registry.flow.VersionedProcessGroup;
 
+import java.util.Collections;
+import java.util.Map;
+
 public class StandardComparableDataFlow implements ComparableDataFlow {
     private final String name;
     private final VersionedProcessGroup contents;
+    private final Map<String, String> processGroupHashes;
 
     public StandardComparableDataFlow(final String name, final VersionedProcessGroup contents) {
+        this(name, contents, Collections.emptyMap());
+    }
+
+    public StandardComparableDataFlow(final String name, final VersionedProcessGroup contents, final Map<String, String> processGroupHashes) {
         this.name = name;
         this.contents = contents;
+        this.processGroupHashes = processGroupHashes == null ? Collections.emptyMap() : processGroupHashes;
     }
 
     @Override
@@ -38,4 +47,9 @@ public class StandardComparableDataFlow implements ComparableDataFlow {
         return contents;
     }
 
+    @Override
+    public Map<String, String> getProcessGroupHashes() {
+        return processGroupHashes;
+    }
+
 }
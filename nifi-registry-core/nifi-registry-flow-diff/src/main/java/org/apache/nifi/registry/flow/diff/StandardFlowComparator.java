@@ -31,14 +31,13 @@ import org.apache.nifi.registry.flow.VersionedRemoteGroupPort;
 import org.apache.nifi.registry.flow.VersionedRemoteProcessGroup;
 
 import java.util.Collection;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class StandardFlowComparator implements FlowComparator {
     private static final String DEFAULT_LOAD_BALANCE_STRATEGY = "DO_NOT_LOAD_BALANCE";
@@ -78,29 +77,31 @@ public class StandardFlowComparator implements FlowComparator {
     }
 
 
-    private <T extends VersionedComponent> Set<FlowDifference> compareComponents(final Set<T> componentsA, final Set<T> componentsB, final ComponentComparator<T> comparator) {
-        final Map<String, T> componentMapA = byId(componentsA == null ? Collections.emptySet() : componentsA);
-        final Map<String, T> componentMapB = byId(componentsB == null ? Collections.emptySet() : componentsB);
-
-        final Set<FlowDifference> differences = new HashSet<>();
-
-        componentMapA.forEach((key, componentA) -> {
-            final T componentB = componentMapB.get(key);
-            comparator.compare(componentA, componentB, differences);
-        });
-
-        componentMapB.forEach((key, componentB) -> {
-            final T componentA = componentMapA.get(key);
+    private <T extends VersionedComponent> void compareComponents(final Set<T> componentsA, final Set<T> componentsB, final ComponentComparator<T> comparator,
+        final Set<FlowDifference> differences) {
+        // Only the components of B are indexed. Each id of A is marked as visited in the index by mapping it to null, so
+        // an id of A that was already visited is a duplicate, and the components still mapped afterwards are missing from
+        // Flow A but present in Flow B, which compare() will handle as additions.
+        final Map<String, T> componentMapB = byId(componentsB);
+
+        if (componentsA != null) {
+            for (final T componentA : componentsA) {
+                final String identifier = componentA.getIdentifier();
+                final boolean indexed = componentMapB.containsKey(identifier);
+                final T componentB = componentMapB.put(identifier, null);
+                if (indexed && componentB == null) {
+                    throw new IllegalStateException("Found multiple components with identifier " + identifier);
+                }
 
-            // if component A is not null, it has already been compared above. If component A
-            // is null, then it is missing from Flow A but present in Flow B, so we will just call
-            // compare(), which will handle this for us.
-            if (componentA == null) {
                 comparator.compare(componentA, componentB, differences);
             }
-        });
+        }
 
-        return differences;
+        for (final T componentB : componentMapB.values()) {
+            if (componentB != null) {
+                comparator.compare(null, componentB, differences);
+            }
+        }
     }
 
 
@@ -259,6 +260,11 @@ public class StandardFlowComparator implements FlowComparator {
 
 
     private boolean isParameterReference(final String propertyValue) {
+        // Most property values are not parameter references, so avoid running the regex unless the value could be one
+        if (propertyValue.length() < 4 || !propertyValue.startsWith("#{") || propertyValue.charAt(propertyValue.length() - 1) != '}') {
+            return false;
+        }
+
         return PARAMETER_REFERENCE_PATTERN.matcher(propertyValue).matches();
     }
 
@@ -300,8 +306,8 @@ public class StandardFlowComparator implements FlowComparator {
         addIfDifferent(differences, DifferenceType.RPG_TRANSPORT_PROTOCOL_CHANGED, rpgA, rpgB, VersionedRemoteProcessGroup::getTransportProtocol);
         addIfDifferent(differences, DifferenceType.YIELD_DURATION_CHANGED, rpgA, rpgB, VersionedRemoteProcessGroup::getYieldDuration);
 
-        differences.addAll(compareComponents(rpgA.getInputPorts(), rpgB.getInputPorts(), this::compare));
-        differences.addAll(compareComponents(rpgA.getOutputPorts(), rpgB.getOutputPorts(), this::compare));
+        compareComponents(rpgA.getInputPorts(), rpgB.getInputPorts(), this::compare, differences);
+        compareComponents(rpgA.getOutputPorts(), rpgB.getOutputPorts(), this::compare, differences);
     }
 
     private void compare(final VersionedRemoteGroupPort portA, final VersionedRemoteGroupPort portB, final Set<FlowDifference> differences) {
@@ -316,6 +322,10 @@ public class StandardFlowComparator implements FlowComparator {
 
 
     private void compare(final VersionedProcessGroup groupA, final VersionedProcessGroup groupB, final Set<FlowDifference> differences, final boolean compareNamePos) {
+        if (isUnchanged(groupA, groupB)) {
+            return;
+        }
+
         if (compareComponents(groupA, groupB, differences, compareNamePos, compareNamePos, true)) {
             return;
         }
@@ -337,16 +347,29 @@ public class StandardFlowComparator implements FlowComparator {
 
         if ((groupACoordinates == null && groupBCoordinates == null)
                 || (groupACoordinates != null && groupBCoordinates != null && !groupACoordinates.equals(groupBCoordinates)) ) {
-            differences.addAll(compareComponents(groupA.getConnections(), groupB.getConnections(), this::compare));
-            differences.addAll(compareComponents(groupA.getProcessors(), groupB.getProcessors(), this::compare));
-            differences.addAll(compareComponents(groupA.getControllerServices(), groupB.getControllerServices(), this::compare));
-            differences.addAll(compareComponents(groupA.getFunnels(), groupB.getFunnels(), this::compare));
-            differences.addAll(compareComponents(groupA.getInputPorts(), groupB.getInputPorts(), this::compare));
-            differences.addAll(compareComponents(groupA.getLabels(), groupB.getLabels(), this::compare));
-            differences.addAll(compareComponents(groupA.getOutputPorts(), groupB.getOutputPorts(), this::compare));
-            differences.addAll(compareComponents(groupA.getProcessGroups(), groupB.getProcessGroups(), (a, b, diffs) -> compare(a, b, diffs, true)));
-            differences.addAll(compareComponents(groupA.getRemoteProcessGroups(), groupB.getRemoteProcessGroups(), this::compare));
+            compareComponents(groupA.getConnections(), groupB.getConnections(), this::compare, differences);
+            compareComponents(groupA.getProcessors(), groupB.getProcessors(), this::compare, differences);
+            compareComponents(groupA.getControllerServices(), groupB.getControllerServices(), this::compare, differences);
+            compareComponents(groupA.getFunnels(), groupB.getFunnels(), this::compare, differences);
+            compareComponents(groupA.getInputPorts(), groupB.getInputPorts(), this::compare, differences);
+            compareComponents(groupA.getLabels(), groupB.getLabels(), this::compare, differences);
+            compareComponents(groupA.getOutputPorts(), groupB.getOutputPorts(), this::compare, differences);
+            compareComponents(groupA.getProcessGroups(), groupB.getProcessGroups(), (a, b, diffs) -> compare(a, b, diffs, true), differences);
+            compareComponents(groupA.getRemoteProcessGroups(), groupB.getRemoteProcessGroups(), this::compare, differences);
+        }
+    }
+
+
+    /**
+     * Determines whether the given groups are known to have identical contents because both flows provided the same content hash.
+     */
+    private boolean isUnchanged(final VersionedProcessGroup groupA, final VersionedProcessGroup groupB) {
+        if (groupA == null || groupB == null || groupA.getIdentifier() == null || !groupA.getIdentifier().equals(groupB.getIdentifier())) {
+            return false;
         }
+
+        final String hashA = flowA.getProcessGroupHashes().get(groupA.getIdentifier());
+        return hashA != null && hashA.equals(flowB.getProcessGroupHashes().get(groupB.getIdentifier()));
     }
 
 
@@ -376,7 +399,17 @@ public class StandardFlowComparator implements FlowComparator {
 
 
     private <T extends VersionedComponent> Map<String, T> byId(final Set<T> components) {
-        return components.stream().collect(Collectors.toMap(VersionedComponent::getIdentifier, Function.identity()));
+        if (components == null || components.isEmpty()) {
+            return new HashMap<>(0);
+        }
+
+        final Map<String, T> componentsById = new HashMap<>((int) (components.size() / 0.75f) + 1);
+        for (final T component : components) {
+            if (componentsById.put(component.getIdentifier(), component) != null) {
+                throw new IllegalStateException("Found multiple components with identifier " + component.getIdentifier());
+            }
+        }
+        return componentsById;
     }
 
     private <T extends VersionedComponent> void addIfDifferent(final Set<FlowDifference> differences, final DifferenceType type, final T componentA, final T componentB,
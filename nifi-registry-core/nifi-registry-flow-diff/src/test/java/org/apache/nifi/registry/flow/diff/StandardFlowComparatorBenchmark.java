@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.flow.diff;
+
+import org.apache.nifi.registry.flow.Bundle;
+import org.apache.nifi.registry.flow.ConnectableComponent;
+import org.apache.nifi.registry.flow.ConnectableComponentType;
+import org.apache.nifi.registry.flow.Position;
+import org.apache.nifi.registry.flow.VersionedConnection;
+import org.apache.nifi.registry.flow.VersionedProcessGroup;
+import org.apache.nifi.registry.flow.VersionedProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures comparing two versions of a generated flow with a large number of processors spread over nested process groups.
+ *
+ * Run from the module directory with:
+ *
+ *   mvn test-compile exec:java -Dexec.mainClass=org.apache.nifi.registry.flow.diff.StandardFlowComparatorBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StandardFlowComparatorBenchmark {
+
+    private static final int PROPERTIES_PER_PROCESSOR = 10;
+
+    @Param({"2000", "20000"})
+    private int processorCount;
+
+    @Param({"20"})
+    private int processorsPerGroup;
+
+    /**
+     * The percentage of processors whose properties differ between the two versions.
+     */
+    @Param({"1"})
+    private int changedPercentage;
+
+    private ComparableDataFlow flowA;
+    private ComparableDataFlow flowB;
+
+    @Setup
+    public void setup() {
+        flowA = new StandardComparableDataFlow("Flow A", generateFlow(0));
+        flowB = new StandardComparableDataFlow("Flow B", generateFlow(changedPercentage));
+    }
+
+    @Benchmark
+    public FlowComparison compare() {
+        return new StandardFlowComparator(flowA, flowB, Collections.emptySet(), new StaticDifferenceDescriptor()).compare();
+    }
+
+    private VersionedProcessGroup generateFlow(final int percentChanged) {
+        final VersionedProcessGroup root = createGroup("root", null);
+
+        // arrange the child groups three levels deep so that the comparator recurses as it would for a real flow
+        final int groupCount = Math.max(1, processorCount / processorsPerGroup);
+        final VersionedProcessGroup[] parents = new VersionedProcessGroup[] {root, root, root};
+        int processorIndex = 0;
+
+        for (int g = 0; g < groupCount; g++) {
+            final VersionedProcessGroup parent = parents[g % parents.length];
+            final VersionedProcessGroup group = createGroup("group-" + g, parent.getIdentifier());
+            parent.getProcessGroups().add(group);
+            parents[g % parents.length] = (g % 7 == 0) ? group : parent;
+
+            VersionedProcessor previous = null;
+            for (int p = 0; p < processorsPerGroup; p++, processorIndex++) {
+                final boolean changed = percentChanged > 0 && processorIndex % Math.max(1, 100 / percentChanged) == 0;
+                final VersionedProcessor processor = createProcessor("processor-" + processorIndex, group.getIdentifier(), changed);
+                group.getProcessors().add(processor);
+
+                if (previous != null) {
+                    group.getConnections().add(createConnection(previous, processor));
+                }
+                previous = processor;
+            }
+        }
+
+        return root;
+    }
+
+    private VersionedProcessGroup createGroup(final String id, final String parentId) {
+        final VersionedProcessGroup group = new VersionedProcessGroup();
+        group.setIdentifier(id);
+        group.setGroupIdentifier(parentId);
+        group.setName(id);
+        group.setPosition(new Position(0, 0));
+        return group;
+    }
+
+    private VersionedProcessor createProcessor(final String id, final String groupId, final boolean changed) {
+        final Bundle bundle = new Bundle();
+        bundle.setGroup("org.apache.nifi");
+        bundle.setArtifact("nifi-standard-nar");
+        bundle.setVersion("1.10.0");
+
+        final Map<String, String> properties = new HashMap<>();
+        for (int i = 0; i < PROPERTIES_PER_PROCESSOR; i++) {
+            properties.put("property-" + i, (i % 3 == 0 ? "#{param-" + i + "}" : "value-" + i) + (changed ? "-changed" : ""));
+        }
+
+        final VersionedProcessor processor = new VersionedProcessor();
+        processor.setIdentifier(id);
+        processor.setGroupIdentifier(groupId);
+        processor.setName(id);
+        processor.setType("org.apache.nifi.processors.standard.UpdateAttribute");
+        processor.setBundle(bundle);
+        processor.setPosition(new Position(0, 0));
+        processor.setProperties(properties);
+        processor.setPropertyDescriptors(new HashMap<>());
+        processor.setSchedulingPeriod("0 sec");
+        processor.setSchedulingStrategy("TIMER_DRIVEN");
+        processor.setConcurrentlySchedulableTaskCount(1);
+        processor.setAutoTerminatedRelationships(new HashSet<>(Collections.singleton("failure")));
+        return processor;
+    }
+
+    private VersionedConnection createConnection(final VersionedProcessor source, final VersionedProcessor destination) {
+        final VersionedConnection connection = new VersionedConnection();
+        connection.setIdentifier(source.getIdentifier() + "-" + destination.getIdentifier());
+        connection.setGroupIdentifier(source.getGroupIdentifier());
+        connection.setSource(createConnectable(source));
+        connection.setDestination(createConnectable(destination));
+        connection.setSelectedRelationships(new HashSet<>(Collections.singleton("success")));
+        connection.setBackPressureObjectThreshold(10000L);
+        connection.setBackPressureDataSizeThreshold("1 GB");
+        return connection;
+    }
+
+    private ConnectableComponent createConnectable(final VersionedProcessor processor) {
+        final ConnectableComponent connectable = new ConnectableComponent();
+        connectable.setId(processor.getIdentifier());
+        connectable.setGroupId(processor.getGroupIdentifier());
+        connectable.setName(processor.getName());
+        connectable.setType(ConnectableComponentType.PROCESSOR);
+        return connectable;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(StandardFlowComparatorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
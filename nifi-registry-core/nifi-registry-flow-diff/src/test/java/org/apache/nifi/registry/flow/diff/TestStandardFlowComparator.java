@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.flow.diff;
+
+import org.apache.nifi.registry.flow.Bundle;
+import org.apache.nifi.registry.flow.Position;
+import org.apache.nifi.registry.flow.VersionedProcessGroup;
+import org.apache.nifi.registry.flow.VersionedProcessor;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestStandardFlowComparator {
+
+    @Test
+    public void testComparesGroupsWithoutHashes() {
+        final Set<FlowDifference> differences = compare(createFlow("value"), Collections.emptyMap(),
+                createFlow("changed"), Collections.emptyMap());
+
+        assertEquals(1, differences.size());
+        final FlowDifference difference = differences.iterator().next();
+        assertEquals(DifferenceType.PROPERTY_CHANGED, difference.getDifferenceType());
+        assertEquals("processor", difference.getComponentA().getIdentifier());
+    }
+
+    @Test
+    public void testComparesGroupsWithDifferentHashes() {
+        final Set<FlowDifference> differences = compare(createFlow("value"), hashes("root-a", "child-a"),
+                createFlow("changed"), hashes("root-b", "child-b"));
+
+        assertEquals(1, differences.size());
+        assertEquals(DifferenceType.PROPERTY_CHANGED, differences.iterator().next().getDifferenceType());
+    }
+
+    @Test
+    public void testComparesGroupsWithHashInOnlyOneFlow() {
+        final Set<FlowDifference> differences = compare(createFlow("value"), hashes("root", "child"),
+                createFlow("changed"), Collections.emptyMap());
+
+        assertEquals(1, differences.size());
+    }
+
+    @Test
+    public void testSkipsSubtreeWithMatchingHashes() {
+        // the hashes are trusted, so a child group whose hashes match is not looked into even though its contents differ
+        final Set<FlowDifference> differences = compare(createFlow("value"), hashes("root-a", "child"),
+                createFlow("changed"), hashes("root-b", "child"));
+
+        assertTrue(differences.isEmpty());
+    }
+
+    @Test
+    public void testSkipsFlowWithMatchingRootHash() {
+        final VersionedProcessGroup flowB = createFlow("changed");
+        flowB.setComments("changed comments");
+
+        final Set<FlowDifference> differences = compare(createFlow("value"), hashes("root", "child-a"),
+                flowB, hashes("root", "child-b"));
+
+        assertTrue(differences.isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailsOnDuplicateIdentifierInFlowA() {
+        final VersionedProcessGroup flowA = createFlow("value");
+        setProcessors(flowA, createProcessor("processor", "child", "value"), createProcessor("processor", "child", "changed"));
+
+        compare(flowA, Collections.emptyMap(), createFlow("value"), Collections.emptyMap());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailsOnDuplicateIdentifierOnlyInFlowA() {
+        final VersionedProcessGroup flowA = createFlow("value");
+        setProcessors(flowA, createProcessor("processor", "child", "value"),
+                createProcessor("removed", "child", "value"), createProcessor("removed", "child", "changed"));
+
+        compare(flowA, Collections.emptyMap(), createFlow("value"), Collections.emptyMap());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailsOnDuplicateIdentifierInFlowB() {
+        final VersionedProcessGroup flowB = createFlow("value");
+        setProcessors(flowB, createProcessor("processor", "child", "value"), createProcessor("processor", "child", "changed"));
+
+        compare(createFlow("value"), Collections.emptyMap(), flowB, Collections.emptyMap());
+    }
+
+    private static Set<FlowDifference> compare(final VersionedProcessGroup contentsA, final Map<String, String> hashesA,
+                                               final VersionedProcessGroup contentsB, final Map<String, String> hashesB) {
+        final ComparableDataFlow flowA = new StandardComparableDataFlow("Flow A", contentsA, hashesA);
+        final ComparableDataFlow flowB = new StandardComparableDataFlow("Flow B", contentsB, hashesB);
+        return new StandardFlowComparator(flowA, flowB, Collections.emptySet(), new StaticDifferenceDescriptor()).compare().getDifferences();
+    }
+
+    private static Map<String, String> hashes(final String rootHash, final String childHash) {
+        final Map<String, String> hashes = new HashMap<>();
+        hashes.put("root", rootHash);
+        hashes.put("child", childHash);
+        return hashes;
+    }
+
+    private static VersionedProcessGroup createFlow(final String propertyValue) {
+        final VersionedProcessGroup root = createGroup("root", null);
+        final VersionedProcessGroup child = createGroup("child", root.getIdentifier());
+        root.getProcessGroups().add(child);
+        child.getProcessors().add(createProcessor("processor", child.getIdentifier(), propertyValue));
+        return root;
+    }
+
+    private static void setProcessors(final VersionedProcessGroup flow, final VersionedProcessor... processors) {
+        // components are equal by identifier, so hold them by identity to get duplicate identifiers into the group
+        final Set<VersionedProcessor> processorSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        processorSet.addAll(Arrays.asList(processors));
+        flow.getProcessGroups().iterator().next().setProcessors(processorSet);
+    }
+
+    private static VersionedProcessGroup createGroup(final String id, final String parentId) {
+        final VersionedProcessGroup group = new VersionedProcessGroup();
+        group.setIdentifier(id);
+        group.setGroupIdentifier(parentId);
+        group.setName(id);
+        group.setPosition(new Position(0, 0));
+        return group;
+    }
+
+    private static VersionedProcessor createProcessor(final String id, final String groupId, final String propertyValue) {
+        final Bundle bundle = new Bundle();
+        bundle.setGroup("org.apache.nifi");
+        bundle.setArtifact("nifi-standard-nar");
+        bundle.setVersion("1.10.0");
+
+        final VersionedProcessor processor = new VersionedProcessor();
+        processor.setIdentifier(id);
+        processor.setGroupIdentifier(groupId);
+        processor.setName(id);
+        processor.setType("org.apache.nifi.processors.standard.UpdateAttribute");
+        processor.setBundle(bundle);
+        processor.setPosition(new Position(0, 0));
+        processor.setProperties(Collections.singletonMap("property", propertyValue));
+        processor.setPropertyDescriptors(new HashMap<>());
+        return processor;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package db.migration.common;
+
+import org.apache.nifi.registry.db.migration.ExtensionSummaryBackfill;
+import org.apache.nifi.registry.serialization.ExtensionSerializer;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Populates the summary added by V8 for the extensions that existed before it. The summary is derived from the
+ * serialized content, which SQL alone cannot do, so this migration is in Java and shared by every database type.
+ */
+public class V11__BackfillExtensionSummary extends BaseJavaMigration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(V11__BackfillExtensionSummary.class);
+
+    @Override
+    public void migrate(final Context context) {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        final int count = new ExtensionSummaryBackfill(jdbcTemplate, new ExtensionSerializer()).backfill();
+        LOGGER.info("Populated the summary of {} existing extensions", new Object[] {count});
+    }
+
+}
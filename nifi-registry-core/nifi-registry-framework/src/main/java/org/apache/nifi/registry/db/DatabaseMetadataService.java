@@ -45,12 +45,19 @@ import org.apache.nifi.registry.extension.bundle.BundleVersionFilterParams;
 import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
 import org.apache.nifi.registry.extension.component.manifest.ExtensionType;
 import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
+import org.apache.nifi.registry.params.SortOrder;
 import org.apache.nifi.registry.service.MetadataService;
+import org.apache.nifi.registry.service.QueryParameters;
+import org.apache.nifi.registry.service.ResultPage;
+import org.flywaydb.core.internal.jdbc.DatabaseType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -65,19 +72,32 @@ import java.util.Set;
 @Repository
 public class DatabaseMetadataService implements MetadataService {
 
+    static final int BATCH_SIZE = 1000;
+
     private final JdbcTemplate jdbcTemplate;
 
+    // whether keyset pages can be selected with a row value comparison the database is able to seek on
+    private final boolean rowValueComparisons;
+
     @Autowired
     public DatabaseMetadataService(final JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
+        this.rowValueComparisons = supportsRowValueComparisons(jdbcTemplate);
+    }
+
+    private static boolean supportsRowValueComparisons(final JdbcTemplate jdbcTemplate) {
+        final DatabaseType databaseType = jdbcTemplate.execute((ConnectionCallback<DatabaseType>) DatabaseType::fromJdbcConnection);
+        return databaseType == DatabaseType.MYSQL || databaseType == DatabaseType.POSTGRESQL;
     }
 
     //----------------- Buckets ---------------------------------
 
+    private static final String CREATE_BUCKET_SQL =
+            "INSERT INTO BUCKET (ID, NAME, DESCRIPTION, CREATED, ALLOW_EXTENSION_BUNDLE_REDEPLOY, ALLOW_PUBLIC_READ) VALUES (?, ?, ?, ?, ?, ?)";
+
     @Override
     public BucketEntity createBucket(final BucketEntity b) {
-        final String sql = "INSERT INTO BUCKET (ID, NAME, DESCRIPTION, CREATED, ALLOW_EXTENSION_BUNDLE_REDEPLOY, ALLOW_PUBLIC_READ) VALUES (?, ?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql,
+        jdbcTemplate.update(CREATE_BUCKET_SQL,
                 b.getId(),
                 b.getName(),
                 b.getDescription(),
@@ -87,6 +107,18 @@ public class DatabaseMetadataService implements MetadataService {
         return b;
     }
 
+    @Override
+    public void createBuckets(final Collection<BucketEntity> buckets) {
+        jdbcTemplate.batchUpdate(CREATE_BUCKET_SQL, buckets, BATCH_SIZE, (ps, b) -> {
+            ps.setString(1, b.getId());
+            ps.setString(2, b.getName());
+            ps.setString(3, b.getDescription());
+            ps.setTimestamp(4, new Timestamp(b.getCreated().getTime()));
+            ps.setInt(5, b.isAllowExtensionBundleRedeploy() ? 1 : 0);
+            ps.setInt(6, b.isAllowPublicRead() ? 1 : 0);
+        });
+    }
+
     @Override
     public BucketEntity getBucketById(final String bucketIdentifier) {
         final String sql = "SELECT * FROM BUCKET WHERE id = ?";
@@ -142,6 +174,31 @@ public class DatabaseMetadataService implements MetadataService {
         return jdbcTemplate.query(sqlBuilder.toString(), bucketIds.toArray(), new BucketEntityRowMapper());
     }
 
+    private static final KeysetPagination<BucketEntity> BUCKET_PAGINATION = KeysetPagination.<BucketEntity>builder()
+            .column("name", KeysetPagination.ColumnType.STRING, BucketEntity::getName)
+            .column("id", KeysetPagination.ColumnType.STRING, BucketEntity::getId)
+            .sortField("name")
+            .column("created", KeysetPagination.ColumnType.TIMESTAMP, BucketEntity::getCreated)
+            .column("id", KeysetPagination.ColumnType.STRING, BucketEntity::getId)
+            .sortField("created")
+            .defaultSort("name", SortOrder.ASC)
+            .build();
+
+    @Override
+    public ResultPage<BucketEntity> getBuckets(final Set<String> bucketIds, final QueryParameters queryParameters) {
+        if (bucketIds == null || bucketIds.isEmpty()) {
+            return new ResultPage<>(Collections.emptyList(), null);
+        }
+
+        final List<Object> args = new ArrayList<>(bucketIds);
+        final StringBuilder sqlBuilder = new StringBuilder("SELECT * FROM BUCKET WHERE ");
+        addIdentifiersInClause(sqlBuilder, "id", bucketIds);
+        BUCKET_PAGINATION.appendTo(sqlBuilder, args, queryParameters, rowValueComparisons);
+
+        final List<BucketEntity> buckets = jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new BucketEntityRowMapper());
+        return BUCKET_PAGINATION.toPage(buckets, queryParameters);
+    }
+
     @Override
     public List<BucketEntity> getAllBuckets() {
         final String sql = "SELECT * FROM BUCKET ORDER BY name ASC";
@@ -150,8 +207,7 @@ public class DatabaseMetadataService implements MetadataService {
 
     //----------------- BucketItems ---------------------------------
 
-    private static final String BASE_BUCKET_ITEMS_SQL =
-            "SELECT " +
+    private static final String BASE_BUCKET_ITEMS_COLUMNS =
                 "item.id as ID, " +
                 "item.name as NAME, " +
                 "item.description as DESCRIPTION, " +
@@ -162,11 +218,15 @@ public class DatabaseMetadataService implements MetadataService {
                 "b.name as BUCKET_NAME ," +
                 "eb.bundle_type as BUNDLE_TYPE, " +
                 "eb.group_id as BUNDLE_GROUP_ID, " +
-                "eb.artifact_id as BUNDLE_ARTIFACT_ID " +
+                "eb.artifact_id as BUNDLE_ARTIFACT_ID ";
+
+    private static final String BASE_BUCKET_ITEMS_TABLES =
             "FROM BUCKET_ITEM item " +
             "INNER JOIN BUCKET b ON item.bucket_id = b.id " +
             "LEFT JOIN BUNDLE eb ON item.id = eb.id ";
 
+    private static final String BASE_BUCKET_ITEMS_SQL = "SELECT " + BASE_BUCKET_ITEMS_COLUMNS + BASE_BUCKET_ITEMS_TABLES;
+
     @Override
     public List<BucketItemEntity> getBucketItems(final String bucketIdentifier) {
         final String sql = BASE_BUCKET_ITEMS_SQL + " WHERE item.bucket_id = ?";
@@ -193,6 +253,34 @@ public class DatabaseMetadataService implements MetadataService {
         return getItemsWithCounts(items);
     }
 
+    private static final KeysetPagination<BucketItemEntity> BUCKET_ITEM_PAGINATION = KeysetPagination.<BucketItemEntity>builder()
+            .column("item.name", KeysetPagination.ColumnType.STRING, BucketItemEntity::getName)
+            .column("item.id", KeysetPagination.ColumnType.STRING, BucketItemEntity::getId)
+            .sortField("name")
+            .column("item.created", KeysetPagination.ColumnType.TIMESTAMP, BucketItemEntity::getCreated)
+            .column("item.id", KeysetPagination.ColumnType.STRING, BucketItemEntity::getId)
+            .sortField("created")
+            .column("item.modified", KeysetPagination.ColumnType.TIMESTAMP, BucketItemEntity::getModified)
+            .column("item.id", KeysetPagination.ColumnType.STRING, BucketItemEntity::getId)
+            .sortField("modified")
+            .defaultSort("name", SortOrder.ASC)
+            .build();
+
+    @Override
+    public ResultPage<BucketItemEntity> getBucketItems(final Set<String> bucketIds, final QueryParameters queryParameters) {
+        if (bucketIds == null || bucketIds.isEmpty()) {
+            return new ResultPage<>(Collections.emptyList(), null);
+        }
+
+        final List<Object> args = new ArrayList<>(bucketIds);
+        final StringBuilder sqlBuilder = new StringBuilder(BASE_BUCKET_ITEMS_SQL + " WHERE ");
+        addIdentifiersInClause(sqlBuilder, "item.bucket_id", bucketIds);
+        BUCKET_ITEM_PAGINATION.appendTo(sqlBuilder, args, queryParameters, rowValueComparisons);
+
+        final List<BucketItemEntity> items = jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new BucketItemEntityRowMapper());
+        return BUCKET_ITEM_PAGINATION.toPage(getItemsWithCounts(items), queryParameters);
+    }
+
     private List<BucketItemEntity> getItemsWithCounts(final Iterable<BucketItemEntity> items) {
         final Map<String,Long> snapshotCounts = getFlowSnapshotCounts();
         final Map<String,Long> extensionBundleVersionCounts = getExtensionBundleVersionCounts();
@@ -257,11 +345,14 @@ public class DatabaseMetadataService implements MetadataService {
 
     //----------------- Flows ---------------------------------
 
+    private static final String CREATE_BUCKET_ITEM_SQL =
+            "INSERT INTO BUCKET_ITEM (ID, NAME, DESCRIPTION, CREATED, MODIFIED, ITEM_TYPE, BUCKET_ID) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CREATE_FLOW_SQL = "INSERT INTO FLOW (ID) VALUES (?)";
+
     @Override
     public FlowEntity createFlow(final FlowEntity flow) {
-        final String itemSql = "INSERT INTO BUCKET_ITEM (ID, NAME, DESCRIPTION, CREATED, MODIFIED, ITEM_TYPE, BUCKET_ID) VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        jdbcTemplate.update(itemSql,
+        jdbcTemplate.update(CREATE_BUCKET_ITEM_SQL,
                 flow.getId(),
                 flow.getName(),
                 flow.getDescription(),
@@ -270,13 +361,26 @@ public class DatabaseMetadataService implements MetadataService {
                 flow.getType().toString(),
                 flow.getBucketId());
 
-        final String flowSql = "INSERT INTO FLOW (ID) VALUES (?)";
-
-        jdbcTemplate.update(flowSql, flow.getId());
+        jdbcTemplate.update(CREATE_FLOW_SQL, flow.getId());
 
         return flow;
     }
 
+    @Override
+    public void createFlows(final Collection<FlowEntity> flows) {
+        jdbcTemplate.batchUpdate(CREATE_BUCKET_ITEM_SQL, flows, BATCH_SIZE, (ps, flow) -> {
+            ps.setString(1, flow.getId());
+            ps.setString(2, flow.getName());
+            ps.setString(3, flow.getDescription());
+            ps.setTimestamp(4, new Timestamp(flow.getCreated().getTime()));
+            ps.setTimestamp(5, new Timestamp(flow.getModified().getTime()));
+            ps.setString(6, flow.getType().toString());
+            ps.setString(7, flow.getBucketId());
+        });
+
+        jdbcTemplate.batchUpdate(CREATE_FLOW_SQL, flows, BATCH_SIZE, (ps, flow) -> ps.setString(1, flow.getId()));
+    }
+
     @Override
     public FlowEntity getFlowById(final String flowIdentifier) {
         final String sql = "SELECT * FROM FLOW f, BUCKET_ITEM item WHERE f.id = ? AND item.id = f.id";
@@ -348,11 +452,11 @@ public class DatabaseMetadataService implements MetadataService {
 
     //----------------- Flow Snapshots ---------------------------------
 
+    private static final String CREATE_FLOW_SNAPSHOT_SQL = "INSERT INTO FLOW_SNAPSHOT (FLOW_ID, VERSION, CREATED, CREATED_BY, COMMENTS) VALUES (?, ?, ?, ?, ?)";
+
     @Override
     public FlowSnapshotEntity createFlowSnapshot(final FlowSnapshotEntity flowSnapshot) {
-        final String sql = "INSERT INTO FLOW_SNAPSHOT (FLOW_ID, VERSION, CREATED, CREATED_BY, COMMENTS) VALUES (?, ?, ?, ?, ?)";
-
-        jdbcTemplate.update(sql,
+        jdbcTemplate.update(CREATE_FLOW_SNAPSHOT_SQL,
                 flowSnapshot.getFlowId(),
                 flowSnapshot.getVersion(),
                 flowSnapshot.getCreated(),
@@ -362,6 +466,17 @@ public class DatabaseMetadataService implements MetadataService {
         return flowSnapshot;
     }
 
+    @Override
+    public void createFlowSnapshots(final Collection<FlowSnapshotEntity> flowSnapshots) {
+        jdbcTemplate.batchUpdate(CREATE_FLOW_SNAPSHOT_SQL, flowSnapshots, BATCH_SIZE, (ps, flowSnapshot) -> {
+            ps.setString(1, flowSnapshot.getFlowId());
+            ps.setInt(2, flowSnapshot.getVersion());
+            ps.setTimestamp(3, new Timestamp(flowSnapshot.getCreated().getTime()));
+            ps.setString(4, flowSnapshot.getCreatedBy());
+            ps.setString(5, flowSnapshot.getComments());
+        });
+    }
+
     @Override
     public FlowSnapshotEntity getFlowSnapshot(final String flowIdentifier, final Integer version) {
         final String sql =
@@ -401,25 +516,107 @@ public class DatabaseMetadataService implements MetadataService {
     }
 
     @Override
-    public List<FlowSnapshotEntity> getSnapshots(final String flowIdentifier) {
-        final String sql =
+    public Map<String, List<FlowSnapshotEntity>> getLatestSnapshots(final Set<String> bucketIdentifiers, final Set<String> flowIdentifiers) {
+        if (bucketIdentifiers == null || bucketIdentifiers.isEmpty() || (flowIdentifiers != null && flowIdentifiers.isEmpty())) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, List<FlowSnapshotEntity>> snapshotsByBucket = new HashMap<>();
+        if (flowIdentifiers == null) {
+            addLatestSnapshots(bucketIdentifiers, null, snapshotsByBucket);
+            return snapshotsByBucket;
+        }
+
+        // query the flows in batches so the number of bind parameters stays well below the limits of the databases
+        final Set<String> flowIdentifiersBatch = new LinkedHashSet<>();
+        for (final String flowIdentifier : flowIdentifiers) {
+            flowIdentifiersBatch.add(flowIdentifier);
+            if (flowIdentifiersBatch.size() == BATCH_SIZE) {
+                addLatestSnapshots(bucketIdentifiers, flowIdentifiersBatch, snapshotsByBucket);
+                flowIdentifiersBatch.clear();
+            }
+        }
+
+        if (!flowIdentifiersBatch.isEmpty()) {
+            addLatestSnapshots(bucketIdentifiers, flowIdentifiersBatch, snapshotsByBucket);
+        }
+        return snapshotsByBucket;
+    }
+
+    private void addLatestSnapshots(final Set<String> bucketIdentifiers, final Set<String> flowIdentifiers,
+                                    final Map<String, List<FlowSnapshotEntity>> snapshotsByBucket) {
+        // find the latest version of every requested flow in one pass, then join back to pick up the rest of the snapshot
+        final List<Object> args = new ArrayList<>(bucketIdentifiers);
+        final StringBuilder sqlBuilder = new StringBuilder(
                 "SELECT " +
                         "fs.flow_id, " +
                         "fs.version, " +
                         "fs.created, " +
                         "fs.created_by, " +
-                        "fs.comments " +
+                        "fs.comments, " +
+                        "latest.bucket_id " +
                 "FROM " +
                         "FLOW_SNAPSHOT fs, " +
-                        "FLOW f, " +
-                        "BUCKET_ITEM item " +
-                "WHERE " +
-                        "item.id = f.id AND " +
-                        "f.id = ? AND " +
-                        "f.id = fs.flow_id";
+                        "(SELECT s.flow_id, item.bucket_id, MAX(s.version) AS max_version " +
+                        "FROM FLOW_SNAPSHOT s, BUCKET_ITEM item " +
+                        "WHERE s.flow_id = item.id AND ");
+        addIdentifiersInClause(sqlBuilder, "item.bucket_id", bucketIdentifiers);
+
+        if (flowIdentifiers != null) {
+            sqlBuilder.append("AND ");
+            addIdentifiersInClause(sqlBuilder, "s.flow_id", flowIdentifiers);
+            args.addAll(flowIdentifiers);
+        }
+
+        sqlBuilder.append("GROUP BY s.flow_id, item.bucket_id) latest ");
+        sqlBuilder.append("WHERE fs.flow_id = latest.flow_id AND fs.version = latest.max_version");
 
+        final FlowSnapshotEntityRowMapper rowMapper = new FlowSnapshotEntityRowMapper();
+        jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), (RowCallbackHandler) rs -> {
+            final FlowSnapshotEntity snapshot = rowMapper.mapRow(rs, rs.getRow());
+            snapshotsByBucket.computeIfAbsent(rs.getString("BUCKET_ID"), k -> new ArrayList<>()).add(snapshot);
+        });
+    }
+
+    private static final String BASE_SNAPSHOTS_SQL =
+            "SELECT " +
+                    "fs.flow_id, " +
+                    "fs.version, " +
+                    "fs.created, " +
+                    "fs.created_by, " +
+                    "fs.comments " +
+            "FROM " +
+                    "FLOW_SNAPSHOT fs, " +
+                    "FLOW f, " +
+                    "BUCKET_ITEM item " +
+            "WHERE " +
+                    "item.id = f.id AND " +
+                    "f.id = ? AND " +
+                    "f.id = fs.flow_id";
+
+    // versions are unique within a flow so the version alone is the key
+    private static final KeysetPagination<FlowSnapshotEntity> SNAPSHOT_PAGINATION = KeysetPagination.<FlowSnapshotEntity>builder()
+            .column("fs.version", KeysetPagination.ColumnType.NUMBER, FlowSnapshotEntity::getVersion)
+            .sortField("version")
+            .defaultSort("version", SortOrder.DESC)
+            .build();
+
+    @Override
+    public List<FlowSnapshotEntity> getSnapshots(final String flowIdentifier) {
         final Object[] args = new Object[] { flowIdentifier };
-        return jdbcTemplate.query(sql, args, new FlowSnapshotEntityRowMapper());
+        return jdbcTemplate.query(BASE_SNAPSHOTS_SQL, args, new FlowSnapshotEntityRowMapper());
+    }
+
+    @Override
+    public ResultPage<FlowSnapshotEntity> getSnapshots(final String flowIdentifier, final QueryParameters queryParameters) {
+        final List<Object> args = new ArrayList<>();
+        args.add(flowIdentifier);
+
+        final StringBuilder sqlBuilder = new StringBuilder(BASE_SNAPSHOTS_SQL);
+        SNAPSHOT_PAGINATION.appendTo(sqlBuilder, args, queryParameters, rowValueComparisons);
+
+        final List<FlowSnapshotEntity> snapshots = jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new FlowSnapshotEntityRowMapper());
+        return SNAPSHOT_PAGINATION.toPage(snapshots, queryParameters);
     }
 
     @Override
@@ -428,6 +625,39 @@ public class DatabaseMetadataService implements MetadataService {
         jdbcTemplate.update(sql, flowSnapshot.getFlowId(), flowSnapshot.getVersion());
     }
 
+    @Override
+    public void createFlowSnapshotGroupHashes(final String flowIdentifier, final Integer version, final Map<String, String> groupHashes) {
+        final String sql = "INSERT INTO FLOW_SNAPSHOT_GROUP_HASH (FLOW_ID, VERSION, GROUP_ID, CONTENT_HASH) VALUES (?, ?, ?, ?)";
+
+        jdbcTemplate.batchUpdate(sql, groupHashes.entrySet(), BATCH_SIZE, (ps, entry) -> {
+            ps.setString(1, flowIdentifier);
+            ps.setInt(2, version);
+            ps.setString(3, entry.getKey());
+            ps.setString(4, entry.getValue());
+        });
+    }
+
+    @Override
+    public Map<String, String> getFlowSnapshotGroupHashes(final String flowIdentifier, final Integer version) {
+        final String sql = "SELECT group_id, content_hash FROM FLOW_SNAPSHOT_GROUP_HASH WHERE flow_id = ? AND version = ?";
+
+        final Map<String, String> results = new HashMap<>();
+        jdbcTemplate.query(sql, new Object[] {flowIdentifier, version}, (rs) -> {
+            results.put(rs.getString(1), rs.getString(2));
+        });
+        return results;
+    }
+
+    @Override
+    public String getFlowSnapshotGroupHash(final String flowIdentifier, final Integer version, final String groupIdentifier) {
+        final String sql = "SELECT content_hash FROM FLOW_SNAPSHOT_GROUP_HASH WHERE flow_id = ? AND version = ? AND group_id = ?";
+        try {
+            return jdbcTemplate.queryForObject(sql, String.class, flowIdentifier, version, groupIdentifier);
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
     //----------------- Extension Bundles ---------------------------------
 
     @Override
@@ -529,6 +759,17 @@ public class DatabaseMetadataService implements MetadataService {
         }
     }
 
+    private static final KeysetPagination<BundleEntity> BUNDLE_PAGINATION = KeysetPagination.<BundleEntity>builder()
+            .column("eb.group_id", KeysetPagination.ColumnType.STRING, BundleEntity::getGroupId)
+            .column("eb.artifact_id", KeysetPagination.ColumnType.STRING, BundleEntity::getArtifactId)
+            .column("eb.id", KeysetPagination.ColumnType.STRING, BundleEntity::getId)
+            .sortField("groupId")
+            .column("item.modified", KeysetPagination.ColumnType.TIMESTAMP, BundleEntity::getModified)
+            .column("item.id", KeysetPagination.ColumnType.STRING, BundleEntity::getId)
+            .sortField("modified")
+            .defaultSort("groupId", SortOrder.ASC)
+            .build();
+
     @Override
     public List<BundleEntity> getBundles(final Set<String> bucketIds, final BundleFilterParams filterParams) {
         if (bucketIds == null || bucketIds.isEmpty()) {
@@ -536,7 +777,28 @@ public class DatabaseMetadataService implements MetadataService {
         }
 
         final List<Object> args = new ArrayList<>();
+        final StringBuilder sqlBuilder = createBundlesQuery(bucketIds, filterParams, args);
+        sqlBuilder.append("ORDER BY eb.group_id ASC, eb.artifact_id ASC");
+
+        final List<BundleEntity> bundleEntities = jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new BundleEntityRowMapper());
+        return populateVersionCounts(bundleEntities);
+    }
+
+    @Override
+    public ResultPage<BundleEntity> getBundles(final Set<String> bucketIds, final BundleFilterParams filterParams, final QueryParameters queryParameters) {
+        if (bucketIds == null || bucketIds.isEmpty()) {
+            return new ResultPage<>(Collections.emptyList(), null);
+        }
+
+        final List<Object> args = new ArrayList<>();
+        final StringBuilder sqlBuilder = createBundlesQuery(bucketIds, filterParams, args);
+        BUNDLE_PAGINATION.appendTo(sqlBuilder, args, queryParameters, rowValueComparisons);
 
+        final List<BundleEntity> bundleEntities = jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new BundleEntityRowMapper());
+        return BUNDLE_PAGINATION.toPage(populateVersionCounts(bundleEntities), queryParameters);
+    }
+
+    private StringBuilder createBundlesQuery(final Set<String> bucketIds, final BundleFilterParams filterParams, final List<Object> args) {
         final StringBuilder sqlBuilder = new StringBuilder(
                 "SELECT " +
                     "item.id as ID, " +
@@ -580,12 +842,9 @@ public class DatabaseMetadataService implements MetadataService {
 
         sqlBuilder.append(" AND ");
         addIdentifiersInClause(sqlBuilder, "item.bucket_id", bucketIds);
-        sqlBuilder.append("ORDER BY eb.group_id ASC, eb.artifact_id ASC");
-
         args.addAll(bucketIds);
 
-        final List<BundleEntity> bundleEntities = jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new BundleEntityRowMapper());
-        return populateVersionCounts(bundleEntities);
+        return sqlBuilder;
     }
 
     @Override
@@ -738,6 +997,39 @@ public class DatabaseMetadataService implements MetadataService {
         }
 
         final List<Object> args = new ArrayList<>();
+        final StringBuilder sqlBuilder = createBundleVersionsQuery(bucketIdentifiers, filterParams, args);
+
+        final List<BundleVersionEntity> bundleVersionEntities = jdbcTemplate.query(
+                sqlBuilder.toString(), args.toArray(), new BundleVersionEntityRowMapper());
+
+        return bundleVersionEntities;
+    }
+
+    private static final KeysetPagination<BundleVersionEntity> BUNDLE_VERSION_PAGINATION = KeysetPagination.<BundleVersionEntity>builder()
+            .column("ebv.bundle_id", KeysetPagination.ColumnType.STRING, BundleVersionEntity::getBundleId)
+            .column("ebv.version", KeysetPagination.ColumnType.STRING, BundleVersionEntity::getVersion)
+            .sortField("bundleId")
+            .defaultSort("bundleId", SortOrder.ASC)
+            .build();
+
+    @Override
+    public ResultPage<BundleVersionEntity> getBundleVersions(final Set<String> bucketIdentifiers, final BundleVersionFilterParams filterParams,
+                                                             final QueryParameters queryParameters) {
+        if (bucketIdentifiers == null || bucketIdentifiers.isEmpty()) {
+            return new ResultPage<>(Collections.emptyList(), null);
+        }
+
+        final List<Object> args = new ArrayList<>();
+        final StringBuilder sqlBuilder = createBundleVersionsQuery(bucketIdentifiers, filterParams, args);
+        BUNDLE_VERSION_PAGINATION.appendTo(sqlBuilder, args, queryParameters, rowValueComparisons);
+
+        final List<BundleVersionEntity> bundleVersionEntities = jdbcTemplate.query(
+                sqlBuilder.toString(), args.toArray(), new BundleVersionEntityRowMapper());
+        return BUNDLE_VERSION_PAGINATION.toPage(bundleVersionEntities, queryParameters);
+    }
+
+    private StringBuilder createBundleVersionsQuery(final Set<String> bucketIdentifiers, final BundleVersionFilterParams filterParams,
+                                                    final List<Object> args) {
         final StringBuilder sqlBuilder = new StringBuilder(BASE_EXTENSION_BUNDLE_VERSION_SQL);
 
         if (filterParams != null) {
@@ -764,10 +1056,7 @@ public class DatabaseMetadataService implements MetadataService {
         addIdentifiersInClause(sqlBuilder, "eb.bucket_id", bucketIdentifiers);
         args.addAll(bucketIdentifiers);
 
-        final List<BundleVersionEntity> bundleVersionEntities = jdbcTemplate.query(
-                sqlBuilder.toString(), args.toArray(), new BundleVersionEntityRowMapper());
-
-        return bundleVersionEntities;
+        return sqlBuilder;
     }
 
     private void addIdentifiersInClause(StringBuilder sqlBuilder, String idFieldName, Set<String> identifiers) {
@@ -823,18 +1112,18 @@ public class DatabaseMetadataService implements MetadataService {
 
     //------------ Extension Bundle Version Dependencies ------------
 
+    private static final String CREATE_DEPENDENCY_SQL =
+            "INSERT INTO BUNDLE_VERSION_DEPENDENCY (" +
+                "ID, " +
+                "BUNDLE_VERSION_ID, " +
+                "GROUP_ID, " +
+                "ARTIFACT_ID, " +
+                "VERSION " +
+            ") VALUES (?, ?, ?, ?, ?)";
+
     @Override
     public BundleVersionDependencyEntity createDependency(final BundleVersionDependencyEntity dependencyEntity) {
-        final String dependencySql =
-                "INSERT INTO BUNDLE_VERSION_DEPENDENCY (" +
-                    "ID, " +
-                    "BUNDLE_VERSION_ID, " +
-                    "GROUP_ID, " +
-                    "ARTIFACT_ID, " +
-                    "VERSION " +
-                ") VALUES (?, ?, ?, ?, ?)";
-
-        jdbcTemplate.update(dependencySql,
+        jdbcTemplate.update(CREATE_DEPENDENCY_SQL,
                 dependencyEntity.getId(),
                 dependencyEntity.getExtensionBundleVersionId(),
                 dependencyEntity.getGroupId(),
@@ -844,6 +1133,17 @@ public class DatabaseMetadataService implements MetadataService {
         return dependencyEntity;
     }
 
+    @Override
+    public void createDependencies(final Collection<BundleVersionDependencyEntity> dependencyEntities) {
+        jdbcTemplate.batchUpdate(CREATE_DEPENDENCY_SQL, dependencyEntities, BATCH_SIZE, (ps, d) -> {
+            ps.setString(1, d.getId());
+            ps.setString(2, d.getExtensionBundleVersionId());
+            ps.setString(3, d.getGroupId());
+            ps.setString(4, d.getArtifactId());
+            ps.setString(5, d.getVersion());
+        });
+    }
+
     @Override
     public List<BundleVersionDependencyEntity> getDependenciesForBundleVersion(final String extensionBundleVersionId) {
         final String sql = "SELECT * FROM BUNDLE_VERSION_DEPENDENCY WHERE bundle_version_id = ?";
@@ -854,14 +1154,12 @@ public class DatabaseMetadataService implements MetadataService {
 
     //----------------- Extensions ---------------------------------
 
-    private static String BASE_EXTENSION_SQL =
-            "SELECT " +
+    private static final String BASE_EXTENSION_COLUMNS =
                 "e.id AS ID, " +
                 "e.bundle_version_id AS BUNDLE_VERSION_ID, " +
                 "e.name AS NAME, " +
                 "e.display_name AS DISPLAY_NAME, " +
                 "e.type AS TYPE, " +
-                "e.content AS CONTENT," +
                 "e.has_additional_details AS HAS_ADDITIONAL_DETAILS, " +
                 "eb.id AS BUNDLE_ID, " +
                 "eb.group_id AS GROUP_ID, " +
@@ -870,7 +1168,9 @@ public class DatabaseMetadataService implements MetadataService {
                 "ebv.version AS VERSION, " +
                 "ebv.system_api_version AS SYSTEM_API_VERSION, " +
                 "b.id AS BUCKET_ID, " +
-                "b.name as BUCKET_NAME " +
+                "b.name as BUCKET_NAME ";
+
+    private static final String BASE_EXTENSION_TABLES =
             "FROM " +
                     "EXTENSION e, " +
                     "BUNDLE_VERSION ebv, " +
@@ -881,44 +1181,52 @@ public class DatabaseMetadataService implements MetadataService {
                     "ebv.bundle_id = eb.id AND " +
                     "eb.bucket_id = b.id ";
 
+    private static final String BASE_EXTENSION_SQL =
+            "SELECT " +
+                "e.content AS CONTENT, " +
+                "e.summary AS SUMMARY, " +
+                BASE_EXTENSION_COLUMNS +
+            BASE_EXTENSION_TABLES;
+
+    // listings only need the summary, which V11 populated for the extensions created before summaries existed
+    private static final String BASE_EXTENSION_SUMMARY_SQL =
+            "SELECT " +
+                "e.summary AS SUMMARY, " +
+                BASE_EXTENSION_COLUMNS +
+            BASE_EXTENSION_TABLES;
+
+    private static final String CREATE_EXTENSION_SQL =
+            "INSERT INTO EXTENSION (" +
+                "ID, " +
+                "BUNDLE_VERSION_ID, " +
+                "NAME, " +
+                "DISPLAY_NAME, " +
+                "TYPE, " +
+                "CONTENT, " +
+                "SUMMARY, " +
+                "ADDITIONAL_DETAILS, " +
+                "HAS_ADDITIONAL_DETAILS " +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CREATE_EXTENSION_TAG_SQL = "INSERT INTO EXTENSION_TAG (EXTENSION_ID, TAG) VALUES (?, ?)";
+
     @Override
     public ExtensionEntity createExtension(final ExtensionEntity extension) {
-        final String insertExtensionSql =
-                "INSERT INTO EXTENSION (" +
-                    "ID, " +
-                    "BUNDLE_VERSION_ID, " +
-                    "NAME, " +
-                    "DISPLAY_NAME, " +
-                    "TYPE, " +
-                    "CONTENT, " +
-                    "ADDITIONAL_DETAILS, " +
-                    "HAS_ADDITIONAL_DETAILS " +
-                ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-
-        jdbcTemplate.update(insertExtensionSql,
+        jdbcTemplate.update(CREATE_EXTENSION_SQL,
                 extension.getId(),
                 extension.getBundleVersionId(),
                 extension.getName(),
                 extension.getDisplayName(),
                 extension.getExtensionType().name(),
                 extension.getContent(),
+                extension.getSummary(),
                 extension.getAdditionalDetails(),
                 extension.getAdditionalDetails() != null ? 1 : 0
         );
 
         // insert tags...
-        final String insertTagSql = "INSERT INTO EXTENSION_TAG (EXTENSION_ID, TAG) VALUES (?, ?);";
-
-        final Set<String> tags = extension.getTags();
-        if (tags != null) {
-            for (final String tag : tags) {
-                if (tag != null) {
-                    final String normalizedTag = tag.trim().toLowerCase();
-                    if (!normalizedTag.isEmpty()) {
-                        jdbcTemplate.update(insertTagSql, extension.getId(), normalizedTag);
-                    }
-                }
-            }
+        for (final String normalizedTag : getNormalizedTags(extension.getTags())) {
+            jdbcTemplate.update(CREATE_EXTENSION_TAG_SQL, extension.getId(), normalizedTag);
         }
 
         // insert provided service APIs...
@@ -936,6 +1244,84 @@ public class DatabaseMetadataService implements MetadataService {
         return extension;
     }
 
+    @Override
+    public void createExtensions(final Collection<ExtensionEntity> extensions) {
+        jdbcTemplate.batchUpdate(CREATE_EXTENSION_SQL, extensions, BATCH_SIZE, (ps, e) -> {
+            ps.setString(1, e.getId());
+            ps.setString(2, e.getBundleVersionId());
+            ps.setString(3, e.getName());
+            ps.setString(4, e.getDisplayName());
+            ps.setString(5, e.getExtensionType().name());
+            ps.setString(6, e.getContent());
+            ps.setString(7, e.getSummary());
+            ps.setString(8, e.getAdditionalDetails());
+            ps.setInt(9, e.getAdditionalDetails() != null ? 1 : 0);
+        });
+
+        // gather the rows of the child tables so each table is written with batched statements
+        final List<Object[]> tagRows = new ArrayList<>();
+        final List<ExtensionProvidedServiceApiEntity> providedServiceApis = new ArrayList<>();
+        final List<ExtensionRestrictionEntity> restrictions = new ArrayList<>();
+
+        for (final ExtensionEntity extension : extensions) {
+            for (final String normalizedTag : getNormalizedTags(extension.getTags())) {
+                tagRows.add(new Object[] {extension.getId(), normalizedTag});
+            }
+
+            if (extension.getProvidedServiceApis() != null) {
+                providedServiceApis.addAll(extension.getProvidedServiceApis());
+            }
+
+            if (extension.getRestrictions() != null) {
+                restrictions.addAll(extension.getRestrictions());
+            }
+        }
+
+        jdbcTemplate.batchUpdate(CREATE_EXTENSION_TAG_SQL, tagRows, BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, (String) row[0]);
+            ps.setString(2, (String) row[1]);
+        });
+
+        jdbcTemplate.batchUpdate(CREATE_PROVIDED_SERVICE_API_SQL, providedServiceApis, BATCH_SIZE, (ps, p) -> {
+            ps.setString(1, p.getId());
+            ps.setString(2, p.getExtensionId());
+            ps.setString(3, p.getClassName());
+            ps.setString(4, p.getGroupId());
+            ps.setString(5, p.getArtifactId());
+            ps.setString(6, p.getVersion());
+        });
+
+        jdbcTemplate.batchUpdate(CREATE_RESTRICTION_SQL, restrictions, BATCH_SIZE, (ps, r) -> {
+            ps.setString(1, r.getId());
+            ps.setString(2, r.getExtensionId());
+            ps.setString(3, r.getRequiredPermission());
+            ps.setString(4, r.getExplanation());
+        });
+    }
+
+    /**
+     * Tags are stored trimmed and lower case so that filtering on tags is case-insensitive.
+     *
+     * @param tags the tags of an extension, may be null
+     * @return the distinct normalized tags, without blank tags
+     */
+    public static Set<String> getNormalizedTags(final Collection<String> tags) {
+        if (tags == null) {
+            return Collections.emptySet();
+        }
+
+        final Set<String> normalizedTags = new LinkedHashSet<>();
+        for (final String tag : tags) {
+            if (tag != null) {
+                final String normalizedTag = tag.trim().toLowerCase();
+                if (!normalizedTag.isEmpty()) {
+                    normalizedTags.add(normalizedTag);
+                }
+            }
+        }
+        return normalizedTags;
+    }
+
     @Override
     public ExtensionEntity getExtensionById(final String id) {
         final String selectSql = BASE_EXTENSION_SQL + " AND e.id = ?";
@@ -972,6 +1358,16 @@ public class DatabaseMetadataService implements MetadataService {
         }
     }
 
+    private static final KeysetPagination<ExtensionEntity> EXTENSION_PAGINATION = KeysetPagination.<ExtensionEntity>builder()
+            .column("e.name", KeysetPagination.ColumnType.STRING, ExtensionEntity::getName)
+            .column("e.id", KeysetPagination.ColumnType.STRING, ExtensionEntity::getId)
+            .sortField("name")
+            .column("e.display_name", KeysetPagination.ColumnType.STRING, ExtensionEntity::getDisplayName)
+            .column("e.id", KeysetPagination.ColumnType.STRING, ExtensionEntity::getId)
+            .sortField("displayName")
+            .defaultSort("name", SortOrder.ASC)
+            .build();
+
     @Override
     public List<ExtensionEntity> getExtensions(final Set<String> bucketIdentifiers, final ExtensionFilterParams filterParams) {
         if (bucketIdentifiers == null || bucketIdentifiers.isEmpty()) {
@@ -979,8 +1375,29 @@ public class DatabaseMetadataService implements MetadataService {
         }
 
         final List<Object> args = new ArrayList<>();
+        final StringBuilder sqlBuilder = createExtensionsQuery(bucketIdentifiers, filterParams, args);
+        sqlBuilder.append(" ORDER BY e.name ASC");
+        return jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new ExtensionEntityRowMapper(false));
+    }
 
-        final StringBuilder sqlBuilder = new StringBuilder(BASE_EXTENSION_SQL);
+    @Override
+    public ResultPage<ExtensionEntity> getExtensions(final Set<String> bucketIdentifiers, final ExtensionFilterParams filterParams,
+                                                     final QueryParameters queryParameters) {
+        if (bucketIdentifiers == null || bucketIdentifiers.isEmpty()) {
+            return new ResultPage<>(Collections.emptyList(), null);
+        }
+
+        final List<Object> args = new ArrayList<>();
+        final StringBuilder sqlBuilder = createExtensionsQuery(bucketIdentifiers, filterParams, args);
+        EXTENSION_PAGINATION.appendTo(sqlBuilder, args, queryParameters, rowValueComparisons);
+
+        final List<ExtensionEntity> extensions = jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new ExtensionEntityRowMapper(false));
+        return EXTENSION_PAGINATION.toPage(extensions, queryParameters);
+    }
+
+    private StringBuilder createExtensionsQuery(final Set<String> bucketIdentifiers, final ExtensionFilterParams filterParams,
+                                                final List<Object> args) {
+        final StringBuilder sqlBuilder = new StringBuilder(BASE_EXTENSION_SUMMARY_SQL);
         sqlBuilder.append(" AND ");
         addIdentifiersInClause(sqlBuilder, "eb.bucket_id", bucketIdentifiers);
         args.addAll(bucketIdentifiers);
@@ -1017,8 +1434,7 @@ public class DatabaseMetadataService implements MetadataService {
             }
         }
 
-        sqlBuilder.append(" ORDER BY e.name ASC");
-        return jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new ExtensionEntityRowMapper());
+        return sqlBuilder;
     }
 
     @Override
@@ -1029,7 +1445,7 @@ public class DatabaseMetadataService implements MetadataService {
 
         final List<Object> args = new ArrayList<>();
 
-        final StringBuilder sqlBuilder = new StringBuilder(BASE_EXTENSION_SQL);
+        final StringBuilder sqlBuilder = new StringBuilder(BASE_EXTENSION_SUMMARY_SQL);
         sqlBuilder.append(" AND ");
         addIdentifiersInClause(sqlBuilder, "eb.bucket_id", bucketIdentifiers);
         args.addAll(bucketIdentifiers);
@@ -1048,14 +1464,28 @@ public class DatabaseMetadataService implements MetadataService {
         args.add(providedServiceAPI.getArtifactId());
         args.add(providedServiceAPI.getVersion());
 
-        return jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new ExtensionEntityRowMapper());
+        return jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new ExtensionEntityRowMapper(false));
     }
 
     @Override
     public List<ExtensionEntity> getExtensionsByBundleVersionId(final String bundleVersionId) {
-        final String selectSql = BASE_EXTENSION_SQL + " AND e.bundle_version_id = ?";
+        final String selectSql = BASE_EXTENSION_SUMMARY_SQL + " AND e.bundle_version_id = ?";
         final Object[] args = { bundleVersionId };
-        return jdbcTemplate.query(selectSql, args, new ExtensionEntityRowMapper());
+        return jdbcTemplate.query(selectSql, args, new ExtensionEntityRowMapper(false));
+    }
+
+    @Override
+    public List<ExtensionEntity> getExtensionsWithContent(final String afterExtensionId, final int limit) {
+        final List<Object> args = new ArrayList<>();
+        final StringBuilder sqlBuilder = new StringBuilder(BASE_EXTENSION_SQL);
+        if (afterExtensionId != null) {
+            sqlBuilder.append(" AND e.id > ?");
+            args.add(afterExtensionId);
+        }
+        sqlBuilder.append(" ORDER BY e.id ASC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sqlBuilder.toString(), args.toArray(), new ExtensionEntityRowMapper());
     }
 
     @Override
@@ -1078,18 +1508,18 @@ public class DatabaseMetadataService implements MetadataService {
 
     //----------------- Extension Provided Service APIs --------------------
 
-    private ExtensionProvidedServiceApiEntity createProvidedServiceApi(final ExtensionProvidedServiceApiEntity providedServiceApi) {
-        final String sql =
-                "INSERT INTO EXTENSION_PROVIDED_SERVICE_API (" +
-                    "ID, " +
-                    "EXTENSION_ID, " +
-                    "CLASS_NAME, " +
-                    "GROUP_ID, " +
-                    "ARTIFACT_ID, " +
-                    "VERSION) " +
-                "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String CREATE_PROVIDED_SERVICE_API_SQL =
+            "INSERT INTO EXTENSION_PROVIDED_SERVICE_API (" +
+                "ID, " +
+                "EXTENSION_ID, " +
+                "CLASS_NAME, " +
+                "GROUP_ID, " +
+                "ARTIFACT_ID, " +
+                "VERSION) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
 
-        jdbcTemplate.update(sql,
+    private ExtensionProvidedServiceApiEntity createProvidedServiceApi(final ExtensionProvidedServiceApiEntity providedServiceApi) {
+        jdbcTemplate.update(CREATE_PROVIDED_SERVICE_API_SQL,
                 providedServiceApi.getId(),
                 providedServiceApi.getExtensionId(),
                 providedServiceApi.getClassName(),
@@ -1103,16 +1533,16 @@ public class DatabaseMetadataService implements MetadataService {
 
     //----------------- Extension Restrictions --------------------
 
-    private ExtensionRestrictionEntity createRestriction(final ExtensionRestrictionEntity restriction) {
-        final String sql =
-                "INSERT INTO EXTENSION_RESTRICTION (" +
-                    "ID, " +
-                    "EXTENSION_ID, " +
-                    "REQUIRED_PERMISSION, " +
-                    "EXPLANATION) " +
-                "VALUES (?, ?, ?, ?)";
+    private static final String CREATE_RESTRICTION_SQL =
+            "INSERT INTO EXTENSION_RESTRICTION (" +
+                "ID, " +
+                "EXTENSION_ID, " +
+                "REQUIRED_PERMISSION, " +
+                "EXPLANATION) " +
+            "VALUES (?, ?, ?, ?)";
 
-        jdbcTemplate.update(sql,
+    private ExtensionRestrictionEntity createRestriction(final ExtensionRestrictionEntity restriction) {
+        jdbcTemplate.update(CREATE_RESTRICTION_SQL,
                 restriction.getId(),
                 restriction.getExtensionId(),
                 restriction.getRequiredPermission(),
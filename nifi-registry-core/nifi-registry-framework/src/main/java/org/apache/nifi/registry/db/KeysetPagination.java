@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.db;
+
+import org.apache.nifi.registry.params.SortOrder;
+import org.apache.nifi.registry.params.SortParameter;
+import org.apache.nifi.registry.service.QueryParameters;
+import org.apache.nifi.registry.service.ResultPage;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination for a list query.
+ *
+ * Each sortable field maps to an ordered list of columns that together identify a row, the last of which is always
+ * the row's unique id so the ordering is total. A page is selected with a predicate on the key of the last row of the
+ * previous page rather than an offset, and the cursor handed back to callers is the encoded key of that last row.
+ *
+ * When an index on the key columns exists, the database can seek into it at the previous key and read rows in order
+ * until the page is full, so the cost of a page does not grow with its position. Without one, every page still has to
+ * sort the whole filtered set. The predicate is written as a row value comparison for databases that can seek on one,
+ * and otherwise as the equivalent expanded comparison with an extra bound on the leading column to seek on.
+ *
+ * @param <E> the type of entity returned by the query
+ */
+class KeysetPagination<E> {
+
+    static final int MAX_LIMIT = 1000;
+
+    private static final String CURSOR_SEPARATOR = ".";
+
+    private final Map<String, List<KeyColumn<E>>> sortFields;
+    private final SortParameter defaultSort;
+
+    private KeysetPagination(final Builder<E> builder) {
+        this.sortFields = Collections.unmodifiableMap(new LinkedHashMap<>(builder.sortFields));
+        this.defaultSort = builder.defaultSort;
+    }
+
+    /**
+     * Appends the keyset predicate, ordering, and limit for the given parameters to a query that already has a WHERE
+     * clause, adding any arguments to the given list.
+     *
+     * @param sqlBuilder the query to append to
+     * @param args the arguments of the query
+     * @param queryParameters the paging parameters
+     * @param rowValues whether the database supports row value comparisons, such as (c1, c2) > (?, ?)
+     */
+    void appendTo(final StringBuilder sqlBuilder, final List<Object> args, final QueryParameters queryParameters, final boolean rowValues) {
+        final SortParameter sort = getSort(queryParameters);
+        final List<KeyColumn<E>> columns = sortFields.get(sort.getFieldName());
+        final String operator = sort.getOrder() == SortOrder.DESC ? "<" : ">";
+
+        final String after = queryParameters.getAfter();
+        if (after != null) {
+            final List<Object> key = decodeCursor(after, sort, columns);
+            if (rowValues) {
+                appendRowValuePredicate(sqlBuilder, args, columns, key, operator);
+            } else {
+                appendExpandedPredicate(sqlBuilder, args, columns, key, operator);
+            }
+        }
+
+        sqlBuilder.append(" ORDER BY ");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sqlBuilder.append(", ");
+            }
+            sqlBuilder.append(columns.get(i).column).append(" ").append(sort.getOrder().name());
+        }
+
+        // fetch one extra row to find out if there is another page without a second query
+        sqlBuilder.append(" LIMIT ?");
+        args.add(getLimit(queryParameters) + 1);
+    }
+
+    // (c1, c2, c3) > (?, ?, ?)
+    private void appendRowValuePredicate(final StringBuilder sqlBuilder, final List<Object> args, final List<KeyColumn<E>> columns,
+                                         final List<Object> key, final String operator) {
+        sqlBuilder.append(" AND (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sqlBuilder.append(", ");
+            }
+            sqlBuilder.append(columns.get(i).column);
+        }
+
+        sqlBuilder.append(") ").append(operator).append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sqlBuilder.append(", ");
+            }
+            sqlBuilder.append("?");
+            args.add(key.get(i));
+        }
+        sqlBuilder.append(")");
+    }
+
+    // c1 >= ? AND ((c1 > ?) OR (c1 = ? AND c2 > ?) OR (c1 = ? AND c2 = ? AND c3 > ?) ...)
+    private void appendExpandedPredicate(final StringBuilder sqlBuilder, final List<Object> args, final List<KeyColumn<E>> columns,
+                                         final List<Object> key, final String operator) {
+        // the OR terms cannot be used to seek into an index, so bound the leading column on its own as well
+        sqlBuilder.append(" AND ").append(columns.get(0).column).append(" ").append(operator).append("= ?");
+        args.add(key.get(0));
+
+        sqlBuilder.append(" AND (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sqlBuilder.append(" OR ");
+            }
+            sqlBuilder.append("(");
+            for (int j = 0; j < i; j++) {
+                sqlBuilder.append(columns.get(j).column).append(" = ? AND ");
+                args.add(key.get(j));
+            }
+            sqlBuilder.append(columns.get(i).column).append(" ").append(operator).append(" ?)");
+            args.add(key.get(i));
+        }
+        sqlBuilder.append(")");
+    }
+
+    /**
+     * Trims the rows returned by a query built with {@link #appendTo} down to the requested page and creates the
+     * cursor for the page that follows it.
+     *
+     * @param rows the rows returned by the query
+     * @param queryParameters the paging parameters
+     * @return the page of results
+     */
+    ResultPage<E> toPage(final List<E> rows, final QueryParameters queryParameters) {
+        final int limit = getLimit(queryParameters);
+        if (rows.size() <= limit) {
+            return new ResultPage<>(rows, null);
+        }
+
+        final List<E> items = rows.subList(0, limit);
+        final SortParameter sort = getSort(queryParameters);
+        return new ResultPage<>(items, encodeCursor(items.get(limit - 1), sort, sortFields.get(sort.getFieldName())));
+    }
+
+    private int getLimit(final QueryParameters queryParameters) {
+        final Integer limit = queryParameters.getNumRows();
+        if (limit == null) {
+            throw new IllegalArgumentException("Limit must be specified");
+        }
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        return limit;
+    }
+
+    private SortParameter getSort(final QueryParameters queryParameters) {
+        final List<SortParameter> sorts = queryParameters.getSortParameters();
+        if (sorts.isEmpty()) {
+            return defaultSort;
+        }
+
+        if (sorts.size() > 1) {
+            throw new IllegalArgumentException("Only one sort field may be specified");
+        }
+
+        final SortParameter sort = sorts.get(0);
+        if (!sortFields.containsKey(sort.getFieldName())) {
+            throw new IllegalArgumentException("Unable to sort by '" + sort.getFieldName() + "', must be one of " + sortFields.keySet());
+        }
+
+        return sort;
+    }
+
+    private String encodeCursor(final E entity, final SortParameter sort, final List<KeyColumn<E>> columns) {
+        final StringBuilder cursor = new StringBuilder(encode(sort.toString()));
+        for (final KeyColumn<E> column : columns) {
+            final Object value = column.extractor.apply(entity);
+            if (value == null) {
+                throw new IllegalStateException("Unable to page on column " + column.column + " because it has a null value");
+            }
+
+            final String stringValue = value instanceof Date ? String.valueOf(((Date) value).getTime()) : value.toString();
+            cursor.append(CURSOR_SEPARATOR).append(encode(stringValue));
+        }
+        return cursor.toString();
+    }
+
+    private List<Object> decodeCursor(final String cursor, final SortParameter sort, final List<KeyColumn<E>> columns) {
+        final List<String> parts = Arrays.asList(cursor.split("\\" + CURSOR_SEPARATOR, -1));
+        if (parts.size() != columns.size() + 1 || !parts.get(0).equals(encode(sort.toString()))) {
+            throw new IllegalArgumentException("The cursor is not valid for a query sorted by " + sort);
+        }
+
+        try {
+            final List<Object> key = new ArrayList<>(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                final String value = decode(parts.get(i + 1));
+                switch (columns.get(i).type) {
+                    case NUMBER:
+                        key.add(Long.valueOf(value));
+                        break;
+                    case TIMESTAMP:
+                        key.add(new Timestamp(Long.parseLong(value)));
+                        break;
+                    default:
+                        key.add(value);
+                }
+            }
+            return key;
+        } catch (final IllegalArgumentException e) {
+            // NumberFormatException and invalid base64 both extend IllegalArgumentException
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private static String encode(final String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(final String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+    static <E> Builder<E> builder() {
+        return new Builder<>();
+    }
+
+    enum ColumnType {
+        STRING,
+        NUMBER,
+        TIMESTAMP
+    }
+
+    private static class KeyColumn<E> {
+
+        private final String column;
+        private final ColumnType type;
+        private final Function<E, Object> extractor;
+
+        KeyColumn(final String column, final ColumnType type, final Function<E, Object> extractor) {
+            this.column = column;
+            this.type = type;
+            this.extractor = extractor;
+        }
+    }
+
+    /**
+     * Builder for KeysetPagination.
+     *
+     * @param <E> the type of entity returned by the query
+     */
+    static class Builder<E> {
+
+        private final Map<String, List<KeyColumn<E>>> sortFields = new LinkedHashMap<>();
+        private final List<KeyColumn<E>> currentColumns = new ArrayList<>();
+        private SortParameter defaultSort;
+
+        /**
+         * Adds a column to the key of the next sort field.
+         */
+        Builder<E> column(final String column, final ColumnType type, final Function<E, Object> extractor) {
+            currentColumns.add(new KeyColumn<>(column, type, extractor));
+            return this;
+        }
+
+        /**
+         * Completes a sort field made up of the columns added since the previous field.
+         */
+        Builder<E> sortField(final String fieldName) {
+            if (currentColumns.isEmpty()) {
+                throw new IllegalStateException("Sort field " + fieldName + " must have at least one column");
+            }
+            sortFields.put(fieldName, new ArrayList<>(currentColumns));
+            currentColumns.clear();
+            return this;
+        }
+
+        Builder<E> defaultSort(final String fieldName, final SortOrder order) {
+            this.defaultSort = new SortParameter(fieldName, order);
+            return this;
+        }
+
+        KeysetPagination<E> build() {
+            if (defaultSort == null || !sortFields.containsKey(defaultSort.getFieldName())) {
+                throw new IllegalStateException("Default sort must be one of the sort fields");
+            }
+            return new KeysetPagination<>(this);
+        }
+    }
+
+}
@@ -29,9 +29,12 @@ public class ExtensionEntity {
     private String displayName;
     private ExtensionType extensionType;
 
-    // serialized content of Extension
+    // serialized content of Extension, not populated when listing extensions
     private String content;
 
+    // serialized Extension holding only the fields needed for ExtensionMetadata
+    private String summary;
+
     // populated during creation if provided, but typically won't be populated on retrieval
     private String additionalDetails;
 
@@ -103,6 +106,14 @@ public class ExtensionEntity {
         this.content = content;
     }
 
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
     public String getAdditionalDetails() {
         return additionalDetails;
     }
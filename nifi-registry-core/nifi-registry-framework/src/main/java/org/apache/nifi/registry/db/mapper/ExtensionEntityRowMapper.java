@@ -26,6 +26,19 @@ import java.sql.SQLException;
 
 public class ExtensionEntityRowMapper implements RowMapper<ExtensionEntity> {
 
+    private final boolean includeContent;
+
+    public ExtensionEntityRowMapper() {
+        this(true);
+    }
+
+    /**
+     * @param includeContent false if the query only selected the SUMMARY column and not the full CONTENT column
+     */
+    public ExtensionEntityRowMapper(final boolean includeContent) {
+        this.includeContent = includeContent;
+    }
+
     @Override
     public ExtensionEntity mapRow(ResultSet rs, int i) throws SQLException {
         final ExtensionEntity entity = new ExtensionEntity();
@@ -36,7 +49,10 @@ public class ExtensionEntityRowMapper implements RowMapper<ExtensionEntity> {
         entity.setName(rs.getString("NAME"));
         entity.setDisplayName(rs.getString("DISPLAY_NAME"));
         entity.setExtensionType(ExtensionType.valueOf(rs.getString("TYPE")));
-        entity.setContent(rs.getString("CONTENT"));
+        entity.setSummary(rs.getString("SUMMARY"));
+        if (includeContent) {
+            entity.setContent(rs.getString("CONTENT"));
+        }
         entity.setHasAdditionalDetails(rs.getInt("HAS_ADDITIONAL_DETAILS") == 1 ? true : false);
 
         // fields from joined tables that we know will be there...
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.db.migration;
+
+import org.apache.nifi.registry.extension.component.manifest.Extension;
+import org.apache.nifi.registry.serialization.Serializer;
+import org.apache.nifi.registry.service.mapper.ExtensionMappings;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Populates the SUMMARY column of extensions created before summaries were stored, so that listings only ever need to
+ * read the summary. The content is read and the summaries are written a page at a time.
+ */
+public class ExtensionSummaryBackfill {
+
+    static final int DEFAULT_PAGE_SIZE = 500;
+
+    private static final String SELECT_SQL = "SELECT ID, CONTENT FROM EXTENSION WHERE SUMMARY IS NULL ORDER BY ID LIMIT ?";
+    private static final String UPDATE_SQL = "UPDATE EXTENSION SET SUMMARY = ? WHERE ID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Serializer<Extension> extensionSerializer;
+    private final int pageSize;
+
+    public ExtensionSummaryBackfill(final JdbcTemplate jdbcTemplate, final Serializer<Extension> extensionSerializer) {
+        this(jdbcTemplate, extensionSerializer, DEFAULT_PAGE_SIZE);
+    }
+
+    ExtensionSummaryBackfill(final JdbcTemplate jdbcTemplate, final Serializer<Extension> extensionSerializer, final int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.extensionSerializer = extensionSerializer;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @return the number of extensions whose summary was populated
+     */
+    public int backfill() {
+        int count = 0;
+        List<Object[]> summaries;
+        do {
+            // each updated row no longer matches the query, so the next page starts with the remaining rows
+            summaries = new ArrayList<>();
+            for (final Object[] row : jdbcTemplate.query(SELECT_SQL, new Object[] {pageSize},
+                    (rs, i) -> new Object[] {rs.getString("ID"), rs.getString("CONTENT")})) {
+                final String summary = ExtensionMappings.mapToSummary((String) row[1], extensionSerializer);
+                summaries.add(new Object[] {summary, row[0]});
+            }
+
+            if (!summaries.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, summaries);
+                count += summaries.size();
+            }
+        } while (summaries.size() == pageSize);
+
+        return count;
+    }
+
+}
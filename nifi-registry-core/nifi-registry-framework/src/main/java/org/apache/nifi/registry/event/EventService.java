@@ -16,6 +16,9 @@
  */
 package org.apache.nifi.registry.event;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
 import org.apache.nifi.registry.hook.Event;
 import org.apache.nifi.registry.hook.EventHookProvider;
 import org.slf4j.Logger;
@@ -47,12 +50,20 @@ public class EventService implements DisposableBean {
     private final BlockingQueue<Event> eventQueue;
     private final ExecutorService scheduledExecutorService;
     private final List<EventHookProvider> eventHookProviders;
+    private final Counter droppedEvents;
 
     @Autowired
     public EventService(final List<EventHookProvider> eventHookProviders) {
         this.eventQueue = new LinkedBlockingQueue<>(EVENT_QUEUE_SIZE);
         this.scheduledExecutorService = Executors.newSingleThreadExecutor();
         this.eventHookProviders = new ArrayList<>(eventHookProviders);
+
+        Gauge.builder("nifi.registry.event.queue.size", eventQueue, BlockingQueue::size)
+                .description("Number of events waiting to be passed to the hook providers")
+                .register(Metrics.globalRegistry);
+        this.droppedEvents = Counter.builder("nifi.registry.event.dropped")
+                .description("Number of events dropped because the queue was full")
+                .register(Metrics.globalRegistry);
     }
 
     @PostConstruct
@@ -105,6 +116,7 @@ public class EventService implements DisposableBean {
 
             final boolean queued = eventQueue.offer(event);
             if (!queued) {
+                droppedEvents.increment();
                 LOGGER.error("Unable to queue event because queue is full");
             }
         } catch (IllegalStateException e) {
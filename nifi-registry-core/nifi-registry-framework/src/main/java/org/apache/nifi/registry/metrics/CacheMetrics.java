@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hit, miss and size meters for an in-memory cache, named after Micrometer's cache conventions so that hit rates can be
+ * computed the same way as for any other instrumented cache.
+ */
+public class CacheMetrics {
+
+    public static final String CACHE_GETS = "cache.gets";
+    public static final String CACHE_SIZE = "cache.size";
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private CacheMetrics(final String cacheName, final MeterRegistry meterRegistry) {
+        this.hits = Counter.builder(CACHE_GETS).tag("cache", cacheName).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(CACHE_GETS).tag("cache", cacheName).tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Registers the meters of the given cache with the global meter registry.
+     *
+     * @param cacheName the name of the cache
+     * @param cache the cache, which is only weakly referenced by the size gauge
+     * @param sizeFunction returns the number of entries in the cache
+     * @return the metrics to record gets with
+     */
+    public static <T> CacheMetrics register(final String cacheName, final T cache, final ToDoubleFunction<T> sizeFunction) {
+        final MeterRegistry meterRegistry = Metrics.globalRegistry;
+        Gauge.builder(CACHE_SIZE, cache, sizeFunction).tag("cache", cacheName).register(meterRegistry);
+        return new CacheMetrics(cacheName, meterRegistry);
+    }
+
+    /**
+     * @param value the value returned by the cache
+     * @return the given value, after counting a hit if it is not null or a miss otherwise
+     */
+    public <V> V recordGet(final V value) {
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.nifi.registry.tracing.OperationTrace;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An invocation handler that records the latency of every interface method called on a target in a timer tagged with
+ * the name of the method and the simple name of the exception it threw, or "none". When a phase is given, the latency
+ * is also added to that phase of the operation being traced.
+ *
+ * The proxy implements every interface of the target, so type checks against any of them keep working.
+ */
+public class MeteredProxy implements InvocationHandler {
+
+    public static final String OPERATION_TAG = "operation";
+    public static final String EXCEPTION_TAG = "exception";
+    private static final String NO_EXCEPTION = "none";
+
+    private final Object target;
+    private final String metricName;
+    private final Tags tags;
+    private final MeterRegistry meterRegistry;
+    private final OperationTrace.Phase phase;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    private MeteredProxy(final Object target, final String metricName, final Tags tags, final MeterRegistry meterRegistry,
+                         final OperationTrace.Phase phase) {
+        this.target = target;
+        this.metricName = metricName;
+        this.tags = tags;
+        this.meterRegistry = meterRegistry;
+        this.phase = phase;
+    }
+
+    /**
+     * Wraps the target in a proxy that records its operations with the global meter registry.
+     *
+     * @param target the object to measure
+     * @param metricName the name of the timer
+     * @param tags the tags that identify the target
+     * @param phase the phase of a traced operation that calls to the target belong to
+     * @return a proxy implementing all interfaces of the target
+     */
+    public static Object create(final Object target, final String metricName, final Tags tags, final OperationTrace.Phase phase) {
+        return create(target, metricName, tags, Metrics.globalRegistry, phase);
+    }
+
+    public static Object create(final Object target, final String metricName, final Tags tags, final MeterRegistry meterRegistry) {
+        return create(target, metricName, tags, meterRegistry, null);
+    }
+
+    /**
+     * Wraps the target in a proxy that records its operations with the given meter registry.
+     *
+     * @param target the object to measure
+     * @param metricName the name of the timer
+     * @param tags the tags that identify the target
+     * @param meterRegistry the registry to record with
+     * @param phase the phase of a traced operation that calls to the target belong to, or null
+     * @return a proxy implementing all interfaces of the target
+     */
+    public static Object create(final Object target, final String metricName, final Tags tags, final MeterRegistry meterRegistry,
+                                final OperationTrace.Phase phase) {
+        // implement the interfaces of the user class rather than those Spring adds to its own proxies
+        final Class<?> targetClass = ClassUtils.getUserClass(target.getClass());
+        final ClassLoader classLoader = targetClass.getClassLoader();
+        final Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(targetClass, classLoader);
+        return Proxy.newProxyInstance(classLoader, interfaces, new MeteredProxy(target, metricName, tags, meterRegistry, phase));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeTarget(method, args);
+        }
+
+        final long start = System.nanoTime();
+        try {
+            final Object result = invokeTarget(method, args);
+            timers.computeIfAbsent(method, m -> timer(m, NO_EXCEPTION)).record(recordPhase(start), TimeUnit.NANOSECONDS);
+            return result;
+        } catch (final Throwable t) {
+            timer(method, t.getClass().getSimpleName()).record(recordPhase(start), TimeUnit.NANOSECONDS);
+            throw t;
+        }
+    }
+
+    private long recordPhase(final long start) {
+        final long nanos = System.nanoTime() - start;
+        if (phase != null) {
+            OperationTrace.record(phase, nanos);
+        }
+        return nanos;
+    }
+
+    private Object invokeTarget(final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Timer timer(final Method method, final String exception) {
+        return Timer.builder(metricName)
+                .tags(tags)
+                .tag(OPERATION_TAG, method.getName())
+                .tag(EXCEPTION_TAG, exception)
+                .register(meterRegistry);
+    }
+
+}
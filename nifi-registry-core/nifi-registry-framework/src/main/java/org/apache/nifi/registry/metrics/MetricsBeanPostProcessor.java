@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import org.apache.nifi.registry.extension.BundlePersistenceProvider;
+import org.apache.nifi.registry.flow.FlowPersistenceProvider;
+import org.apache.nifi.registry.service.MetadataService;
+import org.apache.nifi.registry.tracing.OperationTrace.Phase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wraps the metadata service and the persistence providers in a {@link MeteredProxy} so that the latency of each of
+ * their operations is recorded without the implementations, some of which are extensions, having to be aware of it.
+ */
+@Component
+public class MetricsBeanPostProcessor implements BeanPostProcessor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsBeanPostProcessor.class);
+
+    public static final String METADATA_OPERATIONS = "nifi.registry.metadata.operations";
+    public static final String PROVIDER_OPERATIONS = "nifi.registry.provider.operations";
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsBeanPostProcessor() {
+        this(Metrics.globalRegistry);
+    }
+
+    MetricsBeanPostProcessor(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (bean instanceof MetadataService) {
+            return wrap(bean, METADATA_OPERATIONS, Tags.empty(), Phase.METADATA, beanName);
+        } else if (bean instanceof FlowPersistenceProvider) {
+            return wrap(bean, PROVIDER_OPERATIONS, Tags.of("provider", "flow"), Phase.PROVIDER, beanName);
+        } else if (bean instanceof BundlePersistenceProvider) {
+            return wrap(bean, PROVIDER_OPERATIONS, Tags.of("provider", "bundle"), Phase.PROVIDER, beanName);
+        }
+        return bean;
+    }
+
+    private Object wrap(final Object bean, final String metricName, final Tags tags, final Phase phase, final String beanName) {
+        LOGGER.debug("Recording {} for bean {}", metricName, beanName);
+        return MeteredProxy.create(bean, metricName, tags.and("class", ClassUtils.getUserClass(bean).getSimpleName()), meterRegistry, phase);
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.apache.nifi.registry.tracing.OperationTrace;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A lock that records how long callers wait to acquire it, both as a metric and in the lock wait phase of the
+ * operation being traced.
+ */
+public class TimedLock implements Lock {
+
+    public static final String LOCK_WAIT = "nifi.registry.lock.wait";
+
+    private final Lock lock;
+    private final Timer waitTimer;
+
+    /**
+     * @param lock the lock to delegate to
+     * @param name the name of the lock, used as the value of the lock tag
+     */
+    public TimedLock(final Lock lock, final String name) {
+        this(lock, name, Metrics.globalRegistry);
+    }
+
+    public TimedLock(final Lock lock, final String name, final MeterRegistry meterRegistry) {
+        this.lock = lock;
+        this.waitTimer = Timer.builder(LOCK_WAIT)
+                .description("Time spent waiting to acquire a lock")
+                .tag("lock", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void lock() {
+        final long start = System.nanoTime();
+        lock.lock();
+        recordWait(start);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        final long start = System.nanoTime();
+        lock.lockInterruptibly();
+        recordWait(start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        return lock.tryLock();
+    }
+
+    @Override
+    public boolean tryLock(final long time, final TimeUnit unit) throws InterruptedException {
+        final long start = System.nanoTime();
+        final boolean acquired = lock.tryLock(time, unit);
+        recordWait(start);
+        return acquired;
+    }
+
+    @Override
+    public void unlock() {
+        lock.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return lock.newCondition();
+    }
+
+    private void recordWait(final long start) {
+        final long waitNanos = System.nanoTime() - start;
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        OperationTrace.record(OperationTrace.Phase.LOCK_WAIT, waitNanos);
+    }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.nifi.registry.provider.extension;
 
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.nifi.registry.extension.BundleCoordinate;
@@ -39,22 +41,44 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * An {@link BundlePersistenceProvider} that uses local file-system for storage.
+ *
+ * When an Extension Bundle Content Directory is configured, the content of each bundle is stored once in that directory
+ * keyed by its SHA-256, and the file for each bucket-group-artifact-version is a hard link to that content along with a
+ * small reference file holding the SHA-256. The content is removed once the last bundle version referencing it is deleted.
  */
 public class FileSystemBundlePersistenceProvider implements BundlePersistenceProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemBundlePersistenceProvider.class);
 
     static final String BUNDLE_STORAGE_DIR_PROP = "Extension Bundle Storage Directory";
+    static final String BUNDLE_CONTENT_DIR_PROP = "Extension Bundle Content Directory";
 
     static final String NAR_EXTENSION = ".nar";
     static final String CPP_EXTENSION = ".cpp";
+    static final String CONTENT_REFERENCE_EXTENSION = ".sha256";
 
     private File bundleStorageDir;
 
+    /**
+     * The directory of content stored by SHA-256, or null if content is not de-duplicated.
+     */
+    private File bundleContentDir;
+
     @Override
     public void onConfigured(final ProviderConfigurationContext configurationContext)
             throws ProviderCreationException {
@@ -76,6 +100,45 @@ public class FileSystemBundlePersistenceProvider implements BundlePersistencePro
         } catch (IOException e) {
             throw new ProviderCreationException(e);
         }
+
+        final String bundleContentDirValue = props.get(BUNDLE_CONTENT_DIR_PROP);
+        if (!StringUtils.isBlank(bundleContentDirValue)) {
+            try {
+                final File contentDir = new File(bundleContentDirValue);
+                FileUtils.ensureDirectoryExistAndCanReadAndWrite(contentDir);
+
+                if (supportsLinkCounting(contentDir, bundleStorageDir)) {
+                    bundleContentDir = contentDir;
+                    LOGGER.info("Configured BundlePersistenceProvider to de-duplicate content in Extension Bundle Content Directory {}",
+                            new Object[] {bundleContentDir.getAbsolutePath()});
+                } else {
+                    LOGGER.warn("Unable to create hard links from {} to {}, extension bundle content will not be de-duplicated",
+                            new Object[] {contentDir.getAbsolutePath(), bundleStorageDir.getAbsolutePath()});
+                }
+            } catch (IOException e) {
+                throw new ProviderCreationException(e);
+            }
+        }
+    }
+
+    /**
+     * De-duplication relies on hard links between the two directories and on reading the link count of a file,
+     * so verify both are available before enabling it.
+     */
+    private static boolean supportsLinkCounting(final File contentDir, final File storageDir) {
+        final File probeFile = new File(contentDir, "link-probe-" + UUID.randomUUID().toString());
+        final File probeLink = new File(storageDir, probeFile.getName());
+        try {
+            Files.createFile(probeFile.toPath());
+            Files.createLink(probeLink.toPath(), probeFile.toPath());
+            return getLinkCount(probeFile) == 2;
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.debug("Hard links are not supported: {}", new Object[] {e.getMessage()});
+            return false;
+        } finally {
+            probeLink.delete();
+            probeFile.delete();
+        }
     }
 
     @Override
@@ -89,8 +152,155 @@ public class FileSystemBundlePersistenceProvider implements BundlePersistencePro
         saveOrUpdateBundleVersion(context, contentStream, true);
     }
 
+    @Override
+    public synchronized void createBundleVersion(final BundlePersistenceContext context, final File contentFile) throws BundlePersistenceException {
+        moveBundleVersion(context, contentFile, false);
+    }
+
+    @Override
+    public synchronized void updateBundleVersion(final BundlePersistenceContext context, final File contentFile) throws BundlePersistenceException {
+        moveBundleVersion(context, contentFile, true);
+    }
+
     private synchronized void saveOrUpdateBundleVersion(final BundlePersistenceContext context, final InputStream contentStream,
                                                        final boolean overwrite) throws BundlePersistenceException {
+        final File bundleFile = getBundleFileForWrite(context, overwrite);
+
+        if (bundleContentDir == null) {
+            final File tempFile = getTempFile(bundleFile);
+            try {
+                try (final OutputStream out = new FileOutputStream(tempFile)) {
+                    IOUtils.copy(contentStream, out);
+                    out.flush();
+                }
+                replaceBundleFile(bundleFile, tempFile, null);
+            } catch (Exception e) {
+                tempFile.delete();
+                throw new FlowPersistenceException("Unable to write bundle file to disk due to " + e.getMessage(), e);
+            }
+            return;
+        }
+
+        // write to a temporary file in the content directory while computing the digest that identifies the content
+        final File tempFile = new File(bundleContentDir, UUID.randomUUID().toString() + ".tmp");
+        final MessageDigest sha256Digest = DigestUtils.getSha256Digest();
+        try (final OutputStream out = new DigestOutputStream(new FileOutputStream(tempFile), sha256Digest)) {
+            IOUtils.copy(contentStream, out);
+            out.flush();
+        } catch (Exception e) {
+            tempFile.delete();
+            throw new FlowPersistenceException("Unable to write bundle file to disk due to " + e.getMessage(), e);
+        }
+
+        linkBundleFile(bundleFile, tempFile, Hex.encodeHexString(sha256Digest.digest()));
+    }
+
+    /**
+     * Moves a file that was already written to local disk into place, which avoids copying the content again when the
+     * file is on the same file system as the storage directory.
+     */
+    private synchronized void moveBundleVersion(final BundlePersistenceContext context, final File contentFile,
+                                                final boolean overwrite) throws BundlePersistenceException {
+        final File bundleFile = getBundleFileForWrite(context, overwrite);
+
+        try {
+            if (bundleContentDir == null) {
+                // move next to the bundle file first, so the existing bundle file is replaced in one step
+                final File tempFile = getTempFile(bundleFile);
+                moveFile(contentFile, tempFile);
+                try {
+                    replaceBundleFile(bundleFile, tempFile, null);
+                } catch (IOException e) {
+                    tempFile.delete();
+                    throw e;
+                }
+                return;
+            }
+
+            final String sha256 = StringUtils.isBlank(context.getSha256()) ? computeSha256(contentFile) : context.getSha256().toLowerCase();
+            linkBundleFile(bundleFile, contentFile, sha256);
+        } catch (IOException e) {
+            throw new FlowPersistenceException("Unable to write bundle file to disk due to " + e.getMessage(), e);
+        }
+    }
+
+    private static void moveFile(final File source, final File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            LOGGER.debug("Unable to atomically move {} to {}, moving by copy instead",
+                    new Object[]{source.getAbsolutePath(), target.getAbsolutePath()});
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String computeSha256(final File file) throws IOException {
+        try (final InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return DigestUtils.sha256Hex(in);
+        }
+    }
+
+    /**
+     * Makes the given bundle file a reference to the stored content with the given SHA-256, storing the content from
+     * the given file if it is not already stored, otherwise the given file is discarded.
+     */
+    private void linkBundleFile(final File bundleFile, final File contentFile, final String sha256) {
+        final File blobFile = getBlobFile(bundleContentDir, sha256);
+        final File tempLink = getTempFile(bundleFile);
+        try {
+            if (blobFile.exists()) {
+                LOGGER.debug("Extension bundle content {} is already stored, adding reference from {}",
+                        new Object[]{sha256, bundleFile.getAbsolutePath()});
+                Files.delete(contentFile.toPath());
+            } else {
+                FileUtils.ensureDirectoryExistAndCanReadAndWrite(blobFile.getParentFile());
+                moveFile(contentFile, blobFile);
+            }
+
+            Files.createLink(tempLink.toPath(), blobFile.toPath());
+            replaceBundleFile(bundleFile, tempLink, blobFile);
+        } catch (IOException e) {
+            tempLink.delete();
+            releaseBlob(blobFile);
+            throw new FlowPersistenceException("Unable to write bundle file to disk due to " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces the bundle file with the given file from the same directory in a single rename, so an existing version
+     * stays readable until the new content is in place, and then releases the content the replaced file referenced.
+     *
+     * @param blobFile the stored content the new file links to, or null if the content is not de-duplicated
+     */
+    private void replaceBundleFile(final File bundleFile, final File newBundleFile, final File blobFile) throws IOException {
+        final File referenceFile = getContentReferenceFile(bundleFile);
+        final File previousBlobFile = getReferencedBlobFile(referenceFile);
+
+        moveFile(newBundleFile, bundleFile);
+
+        if (blobFile == null) {
+            if (referenceFile.exists() && !referenceFile.delete()) {
+                LOGGER.warn("Unable to delete extension bundle content reference at {}", new Object[] {referenceFile.getAbsolutePath()});
+            }
+        } else {
+            // the SHA-256 followed by the location of the content, so the content can still be released if the content
+            // directory is no longer configured
+            final String reference = blobFile.getName() + "\n" + blobFile.getAbsolutePath() + "\n";
+            final File tempReferenceFile = getTempFile(referenceFile);
+            Files.write(tempReferenceFile.toPath(), reference.getBytes(StandardCharsets.UTF_8));
+            moveFile(tempReferenceFile, referenceFile);
+        }
+
+        if (previousBlobFile != null) {
+            releaseBlob(previousBlobFile);
+        }
+    }
+
+    private static File getTempFile(final File file) {
+        return new File(file.getParentFile(), file.getName() + "." + UUID.randomUUID().toString() + ".tmp");
+    }
+
+    private File getBundleFileForWrite(final BundlePersistenceContext context, final boolean overwrite) throws BundlePersistenceException {
         final BundleVersionCoordinate versionCoordinate = context.getCoordinate();
         final File bundleVersionDir = getBundleVersionDirectory(bundleStorageDir, versionCoordinate);
         try {
@@ -106,16 +316,13 @@ public class FileSystemBundlePersistenceProvider implements BundlePersistencePro
             throw new BundlePersistenceException("Unable to save because a bundle versions already exists at " + existingPath);
         }
 
+        // an existing file is never written through, since it may be a link to content shared with other versions,
+        // instead the new content is written next to it and then replaces it
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Writing extension bundle to {}", new Object[]{bundleFile.getAbsolutePath()});
         }
 
-        try (final OutputStream out = new FileOutputStream(bundleFile)) {
-            IOUtils.copy(contentStream, out);
-            out.flush();
-        } catch (Exception e) {
-            throw new FlowPersistenceException("Unable to write bundle file to disk due to " + e.getMessage(), e);
-        }
+        return bundleFile;
     }
 
     @Override
@@ -146,10 +353,7 @@ public class FileSystemBundlePersistenceProvider implements BundlePersistencePro
             return;
         }
 
-        final boolean deleted = bundleFile.delete();
-        if (!deleted) {
-            throw new BundlePersistenceException("Unable to delete extension bundle content at " + bundleFile.getAbsolutePath());
-        }
+        removeBundleFile(bundleFile);
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Deleted extension bundle content at {}", new Object[] {bundleFile.getAbsolutePath()});
@@ -164,6 +368,17 @@ public class FileSystemBundlePersistenceProvider implements BundlePersistencePro
             return;
         }
 
+        // gather the content referenced by the versions of the bundle so it can be released once the links are removed
+        final Set<File> blobFiles = new HashSet<>();
+        final Collection<File> referenceFiles = org.apache.commons.io.FileUtils.listFiles(
+                bundleDir, new String[] {CONTENT_REFERENCE_EXTENSION.substring(1)}, true);
+        for (final File referenceFile : referenceFiles) {
+            final File blobFile = getReferencedBlobFile(referenceFile);
+            if (blobFile != null) {
+                blobFiles.add(blobFile);
+            }
+        }
+
         // delete everything under the bundle directory
         try {
             org.apache.commons.io.FileUtils.cleanDirectory(bundleDir);
@@ -171,6 +386,8 @@ public class FileSystemBundlePersistenceProvider implements BundlePersistencePro
             throw new FlowPersistenceException("Error deleting extension bundles at " + bundleDir.getAbsolutePath(), e);
         }
 
+        blobFiles.forEach(this::releaseBlob);
+
         // delete the directory for the bundle
         final boolean bundleDirDeleted = bundleDir.delete();
         if (!bundleDirDeleted) {
@@ -197,6 +414,102 @@ public class FileSystemBundlePersistenceProvider implements BundlePersistencePro
         }
     }
 
+    /**
+     * Deletes the given bundle file and its content reference, and releases the referenced content.
+     */
+    private void removeBundleFile(final File bundleFile) {
+        final File referenceFile = getContentReferenceFile(bundleFile);
+        final File blobFile = getReferencedBlobFile(referenceFile);
+
+        final boolean deleted = bundleFile.delete();
+        if (!deleted) {
+            throw new BundlePersistenceException("Unable to delete extension bundle content at " + bundleFile.getAbsolutePath());
+        }
+
+        if (referenceFile.exists() && !referenceFile.delete()) {
+            LOGGER.warn("Unable to delete extension bundle content reference at {}", new Object[] {referenceFile.getAbsolutePath()});
+        }
+
+        if (blobFile != null) {
+            releaseBlob(blobFile);
+        }
+    }
+
+    /**
+     * Deletes the given stored content if no bundle file links to it anymore.
+     */
+    private void releaseBlob(final File blobFile) {
+        if (!blobFile.exists()) {
+            return;
+        }
+
+        try {
+            if (getLinkCount(blobFile) == 1) {
+                Files.delete(blobFile.toPath());
+                LOGGER.debug("Deleted unreferenced extension bundle content {}", new Object[] {blobFile.getName()});
+
+                // remove the prefix directory if this was the last content in it
+                blobFile.getParentFile().delete();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to release extension bundle content at " + blobFile.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Finds the stored content referenced by the given reference file. The content is looked up in the configured
+     * content directory, or at the location recorded in the reference if the content directory is no longer configured
+     * or has moved.
+     *
+     * @return the stored content, or null if there is no reference or the content cannot be found
+     */
+    private File getReferencedBlobFile(final File referenceFile) {
+        if (!referenceFile.exists()) {
+            return null;
+        }
+
+        final List<String> reference;
+        try {
+            reference = Files.readAllLines(referenceFile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read extension bundle content reference at " + referenceFile.getAbsolutePath(), e);
+            return null;
+        }
+
+        final String sha256 = reference.isEmpty() ? "" : reference.get(0).trim();
+        if (sha256.isEmpty()) {
+            return null;
+        }
+
+        if (bundleContentDir != null) {
+            final File blobFile = getBlobFile(bundleContentDir, sha256);
+            if (blobFile.exists()) {
+                return blobFile;
+            }
+        }
+
+        // only trust a recorded location that is named by the referenced SHA-256, like all stored content
+        if (reference.size() > 1 && StringUtils.isNotBlank(reference.get(1))) {
+            final File recordedBlobFile = new File(reference.get(1).trim());
+            if (recordedBlobFile.getName().equals(sha256) && recordedBlobFile.exists()) {
+                return recordedBlobFile;
+            }
+        } else if (bundleContentDir == null) {
+            LOGGER.warn("Extension bundle content {} referenced by {} does not record its location and the Extension Bundle "
+                    + "Content Directory is no longer configured, so it must be removed from that directory manually",
+                    new Object[] {sha256, referenceFile.getAbsolutePath()});
+        }
+        return null;
+    }
+
+    private static int getLinkCount(final File file) throws IOException {
+        try {
+            return ((Number) Files.getAttribute(file.toPath(), "unix:nlink")).intValue();
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
     private File getBundleFile(final BundleVersionCoordinate coordinate) {
         final File bundleVersionDir = getBundleVersionDirectory(bundleStorageDir, coordinate);
         return getBundleFile(bundleVersionDir, coordinate);
@@ -230,6 +543,14 @@ public class FileSystemBundlePersistenceProvider implements BundlePersistencePro
         return new File(parentDir, bundleFilename);
     }
 
+    static File getContentReferenceFile(final File bundleFile) {
+        return new File(bundleFile.getParentFile(), bundleFile.getName() + CONTENT_REFERENCE_EXTENSION);
+    }
+
+    static File getBlobFile(final File bundleContentDir, final String sha256) {
+        return new File(bundleContentDir, sha256.substring(0, 2) + "/" + sha256);
+    }
+
     static String sanitize(final String input) {
         return FileUtils.sanitizeFilename(input).trim().toLowerCase();
     }
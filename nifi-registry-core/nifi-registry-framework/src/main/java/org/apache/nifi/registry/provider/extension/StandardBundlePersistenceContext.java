@@ -26,12 +26,14 @@ public class StandardBundlePersistenceContext implements BundlePersistenceContex
     private final String author;
     private final long timestamp;
     private final long bundleSize;
+    private final String sha256;
 
     private StandardBundlePersistenceContext(final Builder builder) {
         this.coordinate = builder.coordinate;
         this.bundleSize = builder.bundleSize;
         this.author = builder.author;
         this.timestamp = builder.timestamp;
+        this.sha256 = builder.sha256;
         Validate.notNull(this.coordinate);
         Validate.notBlank(this.author);
     }
@@ -47,6 +49,11 @@ public class StandardBundlePersistenceContext implements BundlePersistenceContex
         return bundleSize;
     }
 
+    @Override
+    public String getSha256() {
+        return sha256;
+    }
+
     @Override
     public long getTimestamp() {
         return timestamp;
@@ -63,6 +70,7 @@ public class StandardBundlePersistenceContext implements BundlePersistenceContex
         private String author;
         private long timestamp;
         private long bundleSize;
+        private String sha256;
 
         public Builder coordinate(final BundleVersionCoordinate identifier) {
             this.coordinate = identifier;
@@ -84,6 +92,11 @@ public class StandardBundlePersistenceContext implements BundlePersistenceContex
             return this;
         }
 
+        public Builder sha256(final String sha256) {
+            this.sha256 = sha256;
+            return this;
+        }
+
         public StandardBundlePersistenceContext build() {
             return new StandardBundlePersistenceContext(this);
         }
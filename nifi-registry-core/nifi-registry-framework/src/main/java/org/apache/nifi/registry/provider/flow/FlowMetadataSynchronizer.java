@@ -32,9 +32,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class FlowMetadataSynchronizer {
@@ -51,7 +54,13 @@ public class FlowMetadataSynchronizer {
         this.persistenceProvider = persistenceProvider;
     }
 
+    /**
+     * Populates an empty metadata database from a metadata-aware provider. All rows are written with batched
+     * statements in a single transaction, so a failure leaves the database empty and synchronization is retried
+     * on the next start.
+     */
     @EventListener(ContextRefreshedEvent.class)
+    @Transactional(rollbackFor = Exception.class)
     public void synchronize() {
         LOGGER.info("**************************************************");
 
@@ -75,21 +84,35 @@ public class FlowMetadataSynchronizer {
         final List<BucketMetadata> metadata = metadataAwareFlowPersistenceProvider.getMetadata();
         LOGGER.info("*  Synchronizing {} bucket(s)", new Object[]{metadata.size()});
 
+        final List<BucketEntity> bucketEntities = new ArrayList<>();
+        final List<FlowEntity> flowEntities = new ArrayList<>();
+        final List<FlowSnapshotEntity> snapshotEntities = new ArrayList<>();
+
         for (final BucketMetadata bucketMetadata : metadata) {
             final BucketEntity bucketEntity = new BucketEntity();
             bucketEntity.setId(bucketMetadata.getIdentifier());
             bucketEntity.setName(bucketMetadata.getName());
             bucketEntity.setDescription(bucketMetadata.getDescription());
             bucketEntity.setCreated(new Date());
-            metadataService.createBucket(bucketEntity);
-            createFlows(bucketMetadata);
+            bucketEntities.add(bucketEntity);
+            createFlows(bucketMetadata, flowEntities, snapshotEntities);
         }
 
+        final long startNanos = System.nanoTime();
+        metadataService.createBuckets(bucketEntities);
+        metadataService.createFlows(flowEntities);
+        metadataService.createFlowSnapshots(snapshotEntities);
+
+        final long millis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), 1L);
+        final int rows = bucketEntities.size() + flowEntities.size() + snapshotEntities.size();
+        LOGGER.info("*  Inserted {} bucket(s), {} flow(s) and {} version(s) in {} ms ({} rows/second)",
+                new Object[]{bucketEntities.size(), flowEntities.size(), snapshotEntities.size(), millis, rows * 1000L / millis});
+
         LOGGER.info("*  Done synchronizing metadata!");
         LOGGER.info("**************************************************");
     }
 
-    private void createFlows(final BucketMetadata bucketMetadata) {
+    private void createFlows(final BucketMetadata bucketMetadata, final List<FlowEntity> flowEntities, final List<FlowSnapshotEntity> snapshotEntities) {
         LOGGER.info("*  Synchronizing {} flow(s) for bucket {}",
                 new Object[]{bucketMetadata.getFlowMetadata().size(), bucketMetadata.getIdentifier()});
 
@@ -102,14 +125,14 @@ public class FlowMetadataSynchronizer {
             flowEntity.setBucketId(bucketMetadata.getIdentifier());
             flowEntity.setCreated(new Date());
             flowEntity.setModified(new Date());
-            metadataService.createFlow(flowEntity);
+            flowEntities.add(flowEntity);
 
-            createFlowSnapshots(flowMetadata);
+            createFlowSnapshots(flowMetadata, snapshotEntities);
         }
     }
 
-    private void createFlowSnapshots(final FlowMetadata flowMetadata) {
-        LOGGER.info("*  Synchronizing {} version(s) for flow {}",
+    private void createFlowSnapshots(final FlowMetadata flowMetadata, final List<FlowSnapshotEntity> snapshotEntities) {
+        LOGGER.debug("*  Synchronizing {} version(s) for flow {}",
                 new Object[]{flowMetadata.getFlowSnapshotMetadata().size(),
                         flowMetadata.getIdentifier()});
 
@@ -131,7 +154,7 @@ public class FlowMetadataSynchronizer {
             }
             snapshotEntity.setCreated(new Date(created));
 
-            metadataService.createFlowSnapshot(snapshotEntity);
+            snapshotEntities.add(snapshotEntity);
         }
     }
 
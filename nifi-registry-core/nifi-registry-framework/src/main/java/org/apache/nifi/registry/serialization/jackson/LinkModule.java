@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.serialization.jackson;
+
+import com.fasterxml.jackson.databind.deser.std.StdDelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdDelegatingSerializer;
+import com.fasterxml.jackson.databind.util.StdConverter;
+import org.apache.nifi.registry.link.JaxbLink;
+import org.apache.nifi.registry.link.LinkAdapter;
+
+import javax.ws.rs.core.Link;
+
+/**
+ * Reads and writes JAX-RS links in the form of {@link JaxbLink}, the same representation {@link LinkAdapter} gives them
+ * when marshalling through JAXB, so links do not need JAXB annotation support in the mapper.
+ */
+public class LinkModule extends SimpleModule {
+
+    public LinkModule() {
+        super(LinkModule.class.getSimpleName());
+
+        final LinkAdapter linkAdapter = new LinkAdapter();
+
+        addSerializer(Link.class, new StdDelegatingSerializer(new StdConverter<Link, JaxbLink>() {
+            @Override
+            public JaxbLink convert(final Link link) {
+                return linkAdapter.marshal(link);
+            }
+        }));
+
+        addDeserializer(Link.class, new StdDelegatingDeserializer<>(new StdConverter<JaxbLink, Link>() {
+            @Override
+            public Link convert(final JaxbLink jaxbLink) {
+                return linkAdapter.unmarshal(jaxbLink);
+            }
+        }));
+    }
+
+}
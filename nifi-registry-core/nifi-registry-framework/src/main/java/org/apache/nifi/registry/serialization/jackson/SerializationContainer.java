@@ -17,6 +17,7 @@
 
 package org.apache.nifi.registry.serialization.jackson;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import io.swagger.annotations.ApiModelProperty;
 
 import javax.xml.bind.annotation.XmlRootElement;
@@ -25,6 +26,7 @@ import java.util.Map;
 
 @XmlRootElement
 @XmlType(propOrder = {"header", "content"})
+@JsonPropertyOrder({"header", "content"})
 public class SerializationContainer<T> {
 
     private Map<String, String> header;
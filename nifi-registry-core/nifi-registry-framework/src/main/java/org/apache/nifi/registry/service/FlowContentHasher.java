@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.nifi.registry.flow.VersionedComponent;
+import org.apache.nifi.registry.flow.VersionedProcessGroup;
+import org.apache.nifi.registry.serialization.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes Merkle-style content hashes for the process groups of a flow.
+ *
+ * Every component is hashed from its serialized form. The hash of a process group covers the group's own fields plus the
+ * identifiers and hashes of all of its components and child groups, so two groups with the same hash have identical contents,
+ * and a change anywhere in a flow changes the hash of every group on the path up to the root.
+ */
+public class FlowContentHasher {
+
+    /**
+     * Hashes are stored, so the serialized form must not change when the mapper used for REST responses is reconfigured.
+     * This mapper is only used for hashing and pins every setting that affects its output.
+     */
+    private static final ObjectMapper HASH_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL))
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, true)
+            .configure(SerializationFeature.WRITE_ENUMS_USING_TO_STRING, false)
+            .configure(SerializationFeature.INDENT_OUTPUT, false);
+
+    private static final Comparator<VersionedComponent> BY_IDENTIFIER =
+            Comparator.comparing(VersionedComponent::getIdentifier, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /**
+     * @param processGroup the root process group of a flow
+     * @return the content hash of the given group and every nested group, keyed by process group id
+     */
+    public Map<String, String> hashProcessGroups(final VersionedProcessGroup processGroup) {
+        final Map<String, String> groupHashes = new HashMap<>();
+        if (processGroup != null) {
+            hashProcessGroup(processGroup, groupHashes);
+        }
+        return groupHashes;
+    }
+
+    /**
+     * @param component a component of a flow that is not a process group
+     * @return the content hash of the component
+     */
+    public String hashComponent(final VersionedComponent component) {
+        try {
+            return DigestUtils.sha256Hex(HASH_MAPPER.writeValueAsBytes(component));
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Unable to serialize component " + component.getIdentifier() + " for hashing", e);
+        }
+    }
+
+    private String hashProcessGroup(final VersionedProcessGroup group, final Map<String, String> groupHashes) {
+        final MessageDigest digest = DigestUtils.getSha256Digest();
+        digest.update(hashComponent(copyGroupFields(group)).getBytes(StandardCharsets.UTF_8));
+
+        updateWithComponents(digest, "connection", group.getConnections());
+        updateWithComponents(digest, "controller-service", group.getControllerServices());
+        updateWithComponents(digest, "funnel", group.getFunnels());
+        updateWithComponents(digest, "input-port", group.getInputPorts());
+        updateWithComponents(digest, "label", group.getLabels());
+        updateWithComponents(digest, "output-port", group.getOutputPorts());
+        updateWithComponents(digest, "processor", group.getProcessors());
+        updateWithComponents(digest, "remote-process-group", group.getRemoteProcessGroups());
+
+        if (group.getProcessGroups() != null) {
+            final List<VersionedProcessGroup> childGroups = new ArrayList<>(group.getProcessGroups());
+            childGroups.sort(BY_IDENTIFIER);
+            for (final VersionedProcessGroup childGroup : childGroups) {
+                update(digest, "process-group", childGroup.getIdentifier(), hashProcessGroup(childGroup, groupHashes));
+            }
+        }
+
+        final String hash = Hex.encodeHexString(digest.digest());
+        if (group.getIdentifier() != null) {
+            groupHashes.put(group.getIdentifier(), hash);
+        }
+        return hash;
+    }
+
+    private void updateWithComponents(final MessageDigest digest, final String type, final Collection<? extends VersionedComponent> components) {
+        if (components == null || components.isEmpty()) {
+            return;
+        }
+
+        final List<VersionedComponent> sortedComponents = new ArrayList<>(components);
+        sortedComponents.sort(BY_IDENTIFIER);
+        for (final VersionedComponent component : sortedComponents) {
+            update(digest, type, component.getIdentifier(), hashComponent(component));
+        }
+    }
+
+    private void update(final MessageDigest digest, final String type, final String identifier, final String hash) {
+        digest.update((type + ":" + identifier + ":" + hash + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Copies the fields that belong to the group itself, leaving out its components which are hashed separately.
+     */
+    private VersionedProcessGroup copyGroupFields(final VersionedProcessGroup group) {
+        final VersionedProcessGroup copy = new VersionedProcessGroup();
+        copy.setIdentifier(group.getIdentifier());
+        copy.setGroupIdentifier(group.getGroupIdentifier());
+        copy.setName(group.getName());
+        copy.setComments(group.getComments());
+        copy.setPosition(group.getPosition());
+        copy.setVersionedFlowCoordinates(group.getVersionedFlowCoordinates());
+        copy.setVariables(group.getVariables());
+        copy.setParameterContextName(group.getParameterContextName());
+        return copy;
+    }
+}
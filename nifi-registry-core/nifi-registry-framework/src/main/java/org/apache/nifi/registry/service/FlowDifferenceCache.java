@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service;
+
+import org.apache.nifi.registry.db.entity.FlowSnapshotEntity;
+import org.apache.nifi.registry.diff.ComponentDifference;
+import org.apache.nifi.registry.diff.ComponentDifferenceGroup;
+import org.apache.nifi.registry.diff.VersionedFlowDifference;
+import org.apache.nifi.registry.metrics.CacheMetrics;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A bounded, least-recently-used cache of computed differences between two versions of a flow.
+ *
+ * The contents of a flow version never change once created, so a difference only has to be evicted when one of its
+ * versions, or the flow itself, is deleted. Entries are keyed on the creation time of both snapshots as well, so a
+ * difference computed for a version that is concurrently deleted and re-created is never returned for the new version.
+ *
+ * The cache is bounded by both the number of differences and their estimated size, since a single difference between
+ * two large flows may hold many thousands of component differences. Differences are copied when they are put and
+ * when they are returned, so callers may modify them without affecting the cached difference.
+ */
+public class FlowDifferenceCache {
+
+    // rough per-object overhead of a difference, group or component difference including its set entry
+    private static final long OBJECT_SIZE = 64;
+    private static final long STRING_SIZE = 40;
+
+    private final int maxEntries;
+    private final long maxSize;
+    private final LinkedHashMap<Key, CachedDifference> differences = new LinkedHashMap<>(16, 0.75f, true);
+    private final CacheMetrics metrics;
+    private long size;
+
+    public FlowDifferenceCache(final int maxEntries, final long maxSize) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be greater than zero");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be greater than zero");
+        }
+
+        this.maxEntries = maxEntries;
+        this.maxSize = maxSize;
+        this.metrics = CacheMetrics.register("flow-differences", this, FlowDifferenceCache::size);
+    }
+
+    /**
+     * @param olderSnapshot the snapshot of the lower of the two versions
+     * @param newerSnapshot the snapshot of the higher of the two versions
+     * @return a copy of the cached difference, or null if the difference is not cached
+     */
+    public VersionedFlowDifference get(final FlowSnapshotEntity olderSnapshot, final FlowSnapshotEntity newerSnapshot) {
+        final CachedDifference cached;
+        synchronized (this) {
+            cached = metrics.recordGet(differences.get(new Key(olderSnapshot, newerSnapshot)));
+        }
+
+        // cached differences are never modified, so they can be copied outside of the lock
+        return cached == null ? null : copy(cached.difference);
+    }
+
+    /**
+     * Caches a copy of the given difference, evicting the least recently used differences until the cache is within its
+     * bounds. A difference that is larger than the whole cache is not cached.
+     */
+    public void put(final FlowSnapshotEntity olderSnapshot, final FlowSnapshotEntity newerSnapshot,
+                    final VersionedFlowDifference difference) {
+        final long differenceSize = estimateSize(difference);
+        if (differenceSize > maxSize) {
+            return;
+        }
+
+        final CachedDifference cached = new CachedDifference(copy(difference), differenceSize);
+        synchronized (this) {
+            final CachedDifference replaced = differences.put(new Key(olderSnapshot, newerSnapshot), cached);
+            if (replaced != null) {
+                size -= replaced.size;
+            }
+            size += cached.size;
+
+            final Iterator<CachedDifference> eldest = differences.values().iterator();
+            while (differences.size() > maxEntries || size > maxSize) {
+                size -= eldest.next().size;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Evicts every difference that involves the given version of the given flow.
+     */
+    public synchronized void invalidate(final String flowIdentifier, final Integer version) {
+        remove(key -> key.flowIdentifier.equals(flowIdentifier)
+                && (key.olderVersion.equals(version) || key.newerVersion.equals(version)));
+    }
+
+    /**
+     * Evicts every difference that involves the given flow.
+     */
+    public synchronized void invalidate(final String flowIdentifier) {
+        remove(key -> key.flowIdentifier.equals(flowIdentifier));
+    }
+
+    public synchronized int size() {
+        return differences.size();
+    }
+
+    /**
+     * @return the estimated memory, in bytes, used by the cached differences
+     */
+    public synchronized long estimatedSize() {
+        return size;
+    }
+
+    private void remove(final Predicate<Key> predicate) {
+        final Iterator<Map.Entry<Key, CachedDifference>> entries = differences.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<Key, CachedDifference> entry = entries.next();
+            if (predicate.test(entry.getKey())) {
+                size -= entry.getValue().size;
+                entries.remove();
+            }
+        }
+    }
+
+    static long estimateSize(final VersionedFlowDifference difference) {
+        long estimate = OBJECT_SIZE + estimateSize(difference.getBucketId()) + estimateSize(difference.getFlowId());
+        if (difference.getComponentDifferenceGroups() != null) {
+            for (final ComponentDifferenceGroup group : difference.getComponentDifferenceGroups()) {
+                estimate += OBJECT_SIZE
+                        + estimateSize(group.getComponentId())
+                        + estimateSize(group.getComponentName())
+                        + estimateSize(group.getComponentType())
+                        + estimateSize(group.getProcessGroupId());
+
+                if (group.getDifferences() != null) {
+                    for (final ComponentDifference componentDifference : group.getDifferences()) {
+                        estimate += OBJECT_SIZE
+                                + estimateSize(componentDifference.getValueA())
+                                + estimateSize(componentDifference.getValueB())
+                                + estimateSize(componentDifference.getChangeDescription())
+                                + estimateSize(componentDifference.getDifferenceType())
+                                + estimateSize(componentDifference.getDifferenceTypeDescription());
+                    }
+                }
+            }
+        }
+        return estimate;
+    }
+
+    private static long estimateSize(final String value) {
+        return value == null ? 0 : STRING_SIZE + 2L * value.length();
+    }
+
+    private static VersionedFlowDifference copy(final VersionedFlowDifference difference) {
+        final VersionedFlowDifference copy = new VersionedFlowDifference();
+        copy.setBucketId(difference.getBucketId());
+        copy.setFlowId(difference.getFlowId());
+        copy.setVersionA(difference.getVersionA());
+        copy.setVersionB(difference.getVersionB());
+
+        if (difference.getComponentDifferenceGroups() != null) {
+            final Set<ComponentDifferenceGroup> groups = new HashSet<>();
+            for (final ComponentDifferenceGroup group : difference.getComponentDifferenceGroups()) {
+                groups.add(copy(group));
+            }
+            copy.setComponentDifferenceGroups(groups);
+        }
+        return copy;
+    }
+
+    private static ComponentDifferenceGroup copy(final ComponentDifferenceGroup group) {
+        final ComponentDifferenceGroup copy = new ComponentDifferenceGroup();
+        copy.setComponentId(group.getComponentId());
+        copy.setComponentName(group.getComponentName());
+        copy.setComponentType(group.getComponentType());
+        copy.setProcessGroupId(group.getProcessGroupId());
+
+        if (group.getDifferences() == null) {
+            copy.setDifferences(null);
+        } else {
+            for (final ComponentDifference componentDifference : group.getDifferences()) {
+                copy.getDifferences().add(copy(componentDifference));
+            }
+        }
+        return copy;
+    }
+
+    private static ComponentDifference copy(final ComponentDifference componentDifference) {
+        final ComponentDifference copy = new ComponentDifference();
+        copy.setValueA(componentDifference.getValueA());
+        copy.setValueB(componentDifference.getValueB());
+        copy.setChangeDescription(componentDifference.getChangeDescription());
+        copy.setDifferenceType(componentDifference.getDifferenceType());
+        copy.setDifferenceTypeDescription(componentDifference.getDifferenceTypeDescription());
+        return copy;
+    }
+
+    private static class CachedDifference {
+        private final VersionedFlowDifference difference;
+        private final long size;
+
+        private CachedDifference(final VersionedFlowDifference difference, final long size) {
+            this.difference = difference;
+            this.size = size;
+        }
+    }
+
+    private static class Key {
+        private final String flowIdentifier;
+        private final Integer olderVersion;
+        private final long olderCreated;
+        private final Integer newerVersion;
+        private final long newerCreated;
+
+        private Key(final FlowSnapshotEntity olderSnapshot, final FlowSnapshotEntity newerSnapshot) {
+            this.flowIdentifier = Objects.requireNonNull(olderSnapshot.getFlowId());
+            this.olderVersion = Objects.requireNonNull(olderSnapshot.getVersion());
+            this.olderCreated = olderSnapshot.getCreated().getTime();
+            this.newerVersion = Objects.requireNonNull(newerSnapshot.getVersion());
+            this.newerCreated = newerSnapshot.getCreated().getTime();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return flowIdentifier.equals(key.flowIdentifier)
+                    && olderVersion.equals(key.olderVersion)
+                    && olderCreated == key.olderCreated
+                    && newerVersion.equals(key.newerVersion)
+                    && newerCreated == key.newerCreated;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(flowIdentifier, olderVersion, olderCreated, newerVersion, newerCreated);
+        }
+    }
+}
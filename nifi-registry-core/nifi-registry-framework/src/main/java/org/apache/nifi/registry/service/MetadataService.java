@@ -31,7 +31,9 @@ import org.apache.nifi.registry.extension.bundle.BundleVersionFilterParams;
 import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
 import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -48,6 +50,13 @@ public interface MetadataService {
      */
     BucketEntity createBucket(BucketEntity bucket);
 
+    /**
+     * Creates the given buckets using batched statements.
+     *
+     * @param buckets the buckets to create
+     */
+    void createBuckets(Collection<BucketEntity> buckets);
+
     /**
      * Retrieves the bucket with the given id.
      *
@@ -87,6 +96,15 @@ public interface MetadataService {
      */
     List<BucketEntity> getBuckets(Set<String> bucketIds);
 
+    /**
+     * Retrieves a page of the buckets with the given ids.
+     *
+     * @param bucketIds the ids of the buckets to retrieve
+     * @param queryParameters the limit, sort, and cursor for the page
+     * @return the page of buckets
+     */
+    ResultPage<BucketEntity> getBuckets(Set<String> bucketIds, QueryParameters queryParameters);
+
     /**
      * Retrieves all buckets.
      *
@@ -112,6 +130,15 @@ public interface MetadataService {
      */
     List<BucketItemEntity> getBucketItems(Set<String> bucketIds);
 
+    /**
+     * Retrieves a page of the items for the given buckets.
+     *
+     * @param bucketIds the ids of buckets to retrieve items for
+     * @param queryParameters the limit, sort, and cursor for the page
+     * @return the page of items
+     */
+    ResultPage<BucketItemEntity> getBucketItems(Set<String> bucketIds, QueryParameters queryParameters);
+
     // --------------------------------------------------------------------------------------------
 
     /**
@@ -123,6 +150,14 @@ public interface MetadataService {
      */
     FlowEntity createFlow(FlowEntity flow);
 
+    /**
+     * Creates the given versioned flows using batched statements.
+     *
+     * @param flows the versioned flows to create
+     * @throws IllegalStateException if no bucket exists for one of the given flows
+     */
+    void createFlows(Collection<FlowEntity> flows);
+
     /**
      * Retrieves the versioned flow with the given id and DOES NOT populate the versionCount.
      *
@@ -190,6 +225,14 @@ public interface MetadataService {
      */
     FlowSnapshotEntity createFlowSnapshot(FlowSnapshotEntity flowSnapshot);
 
+    /**
+     * Creates the given versioned flow snapshots using batched statements.
+     *
+     * @param flowSnapshots the snapshots to create
+     * @throws IllegalStateException if the versioned flow for one of the given snapshots does not exist
+     */
+    void createFlowSnapshots(Collection<FlowSnapshotEntity> flowSnapshots);
+
     /**
      * Retrieves the snapshot for the given flow identifier and snapshot version.
      *
@@ -207,6 +250,15 @@ public interface MetadataService {
      */
     FlowSnapshotEntity getLatestSnapshot(String flowIdentifier);
 
+    /**
+     * Retrieves the snapshot with the latest version number for each flow in the given buckets with a single query.
+     *
+     * @param bucketIdentifiers the ids of the buckets the flows must belong to
+     * @param flowIdentifiers the ids of the flows to retrieve the latest snapshots for, or null for all flows in the buckets
+     * @return the latest snapshots keyed by the id of the bucket the flow belongs to, flows without snapshots are not included
+     */
+    Map<String, List<FlowSnapshotEntity>> getLatestSnapshots(Set<String> bucketIdentifiers, Set<String> flowIdentifiers);
+
     /**
      * Retrieves the snapshots for the given flow in the given bucket.
      *
@@ -215,6 +267,15 @@ public interface MetadataService {
      */
     List<FlowSnapshotEntity> getSnapshots(String flowIdentifier);
 
+    /**
+     * Retrieves a page of the snapshots for the given flow.
+     *
+     * @param flowIdentifier the id of the flow
+     * @param queryParameters the limit, sort, and cursor for the page
+     * @return the page of snapshots
+     */
+    ResultPage<FlowSnapshotEntity> getSnapshots(String flowIdentifier, QueryParameters queryParameters);
+
     /**
      * Deletes the flow snapshot.
      *
@@ -222,6 +283,34 @@ public interface MetadataService {
      */
     void deleteFlowSnapshot(FlowSnapshotEntity flowSnapshot);
 
+    /**
+     * Stores the content hashes of the process groups in the given flow snapshot.
+     *
+     * @param flowIdentifier the id of the flow the snapshot belongs to
+     * @param version the version of the snapshot
+     * @param groupHashes the content hashes, keyed by process group id
+     */
+    void createFlowSnapshotGroupHashes(String flowIdentifier, Integer version, Map<String, String> groupHashes);
+
+    /**
+     * Retrieves the content hashes of all process groups in the given flow snapshot.
+     *
+     * @param flowIdentifier the id of the flow the snapshot belongs to
+     * @param version the version of the snapshot
+     * @return the content hashes keyed by process group id, or an empty map if none were stored for the snapshot
+     */
+    Map<String, String> getFlowSnapshotGroupHashes(String flowIdentifier, Integer version);
+
+    /**
+     * Retrieves the content hash of a single process group in the given flow snapshot.
+     *
+     * @param flowIdentifier the id of the flow the snapshot belongs to
+     * @param version the version of the snapshot
+     * @param groupIdentifier the id of the process group
+     * @return the content hash, or null if none was stored
+     */
+    String getFlowSnapshotGroupHash(String flowIdentifier, Integer version, String groupIdentifier);
+
     // --------------------------------------------------------------------------------------------
 
     /**
@@ -256,6 +345,16 @@ public interface MetadataService {
      */
     List<BundleEntity> getBundles(Set<String> bucketIds, BundleFilterParams filterParams);
 
+    /**
+     * Retrieves a page of the extension bundles in the buckets with the given bucket ids.
+     *
+     * @param bucketIds the bucket ids
+     * @param filterParams the optional filter params
+     * @param queryParameters the limit, sort, and cursor for the page
+     * @return the page of extension bundles
+     */
+    ResultPage<BundleEntity> getBundles(Set<String> bucketIds, BundleFilterParams filterParams, QueryParameters queryParameters);
+
     /**
      * Retrieves the extension bundles for the given bucket.
      *
@@ -326,6 +425,17 @@ public interface MetadataService {
      */
     List<BundleVersionEntity> getBundleVersions(Set<String> bucketIdentifiers, BundleVersionFilterParams filterParams);
 
+    /**
+     * Retrieves a page of the extension bundle versions in the given buckets, matching the optional filter parameters.
+     *
+     * @param bucketIdentifiers the bucket identifiers
+     * @param filterParams the optional filter params
+     * @param queryParameters the limit, sort, and cursor for the page
+     * @return the page of extension bundle versions
+     */
+    ResultPage<BundleVersionEntity> getBundleVersions(Set<String> bucketIdentifiers, BundleVersionFilterParams filterParams,
+                                                      QueryParameters queryParameters);
+
     /**
      * Retrieves the extension bundle versions for the given extension bundle id.
      *
@@ -378,6 +488,13 @@ public interface MetadataService {
      */
     BundleVersionDependencyEntity createDependency(BundleVersionDependencyEntity dependencyEntity);
 
+    /**
+     * Creates the given extension bundle version dependencies using batched statements.
+     *
+     * @param dependencyEntities the dependency entities
+     */
+    void createDependencies(Collection<BundleVersionDependencyEntity> dependencyEntities);
+
     /**
      * Retrieves the bundle dependencies for the given bundle version.
      *
@@ -396,6 +513,13 @@ public interface MetadataService {
      */
     ExtensionEntity createExtension(ExtensionEntity extension);
 
+    /**
+     * Creates the given extensions, along with their tags, restrictions, and provided service APIs, using batched statements.
+     *
+     * @param extensions the extensions to create
+     */
+    void createExtensions(Collection<ExtensionEntity> extensions);
+
     /**
      * Retrieves the extension with the given id.
      *
@@ -427,16 +551,26 @@ public interface MetadataService {
      *
      * @param bucketIdentifiers the bucket identifiers to retrieve extensions from
      * @param filterParams the filter params
-     * @return the list of all extensions in the given buckets
+     * @return the list of all extensions in the given buckets, with the summary populated instead of the full content
      */
     List<ExtensionEntity> getExtensions(Set<String> bucketIdentifiers, ExtensionFilterParams filterParams);
 
+    /**
+     * Retrieves a page of the extensions in the given buckets.
+     *
+     * @param bucketIdentifiers the bucket identifiers to retrieve extensions from
+     * @param filterParams the filter params
+     * @param queryParameters the limit, sort, and cursor for the page
+     * @return the page of extensions, with the summary populated instead of the full content
+     */
+    ResultPage<ExtensionEntity> getExtensions(Set<String> bucketIdentifiers, ExtensionFilterParams filterParams, QueryParameters queryParameters);
+
     /**
      * Retrieves the extensions in the given buckets that provide the given service API.
      *
      * @param bucketIdentifiers the identifiers of the buckets
      * @param providedServiceAPI the provided service API
-     * @return the extensions that provided the service API
+     * @return the extensions that provided the service API, with the summary populated instead of the full content
      */
     List<ExtensionEntity> getExtensionsByProvidedServiceApi(Set<String> bucketIdentifiers, ProvidedServiceAPI providedServiceAPI);
 
@@ -444,10 +578,19 @@ public interface MetadataService {
      * Retrieves the extensions for the given extension bundle version.
      *
      * @param extensionBundleVersionId the id of the extension bundle version
-     * @return the extensions in the given bundle
+     * @return the extensions in the given bundle, with the summary populated instead of the full content
      */
     List<ExtensionEntity> getExtensionsByBundleVersionId(String extensionBundleVersionId);
 
+    /**
+     * Retrieves a page of extensions including their full content, ordered by id, used to build the extension search index.
+     *
+     * @param afterExtensionId the id of the last extension of the previous page, or null to start from the first extension
+     * @param limit the maximum number of extensions to retrieve
+     * @return the extensions with an id greater than the given id
+     */
+    List<ExtensionEntity> getExtensionsWithContent(String afterExtensionId, int limit);
+
     /**
      * Retrieves the set of all extension tags.
      *
@@ -37,10 +37,13 @@ public class QueryParameters {
 
     private final List<SortParameter> sortParameters;
 
+    private final String after;
+
     private QueryParameters(final Builder builder) {
         this.pageNum = builder.pageNum;
         this.numRows = builder.numRows;
         this.sortParameters = Collections.unmodifiableList(new ArrayList<>(builder.sortParameters));
+        this.after = builder.after;
 
         if (this.pageNum != null && this.numRows != null) {
             if (this.pageNum < 0) {
@@ -51,6 +54,10 @@ public class QueryParameters {
                 throw new IllegalStateException("Number of rows cannot be negative");
             }
         }
+
+        if (this.pageNum != null && this.after != null) {
+            throw new IllegalStateException("Page number and cursor cannot both be specified");
+        }
     }
 
     public Integer getPageNum() {
@@ -65,6 +72,13 @@ public class QueryParameters {
         return sortParameters;
     }
 
+    /**
+     * @return the opaque cursor returned with the previous page, results start immediately after the row it identifies
+     */
+    public String getAfter() {
+        return after;
+    }
+
     /**
      * Builder for QueryParameters.
      */
@@ -73,6 +87,7 @@ public class QueryParameters {
         private Integer pageNum;
         private Integer numRows;
         private List<SortParameter> sortParameters = new ArrayList<>();
+        private String after;
 
         public Builder pageNum(Integer pageNum) {
             this.pageNum = pageNum;
@@ -84,6 +99,11 @@ public class QueryParameters {
             return this;
         }
 
+        public Builder after(String after) {
+            this.after = after;
+            return this;
+        }
+
         public Builder addSort(final SortParameter sort) {
             this.sortParameters.add(sort);
             return this;
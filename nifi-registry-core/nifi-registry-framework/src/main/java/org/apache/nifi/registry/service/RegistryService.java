@@ -16,6 +16,7 @@
  */
 package org.apache.nifi.registry.service;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
@@ -27,6 +28,7 @@ import org.apache.nifi.registry.db.entity.BundleEntity;
 import org.apache.nifi.registry.db.entity.FlowEntity;
 import org.apache.nifi.registry.db.entity.FlowSnapshotEntity;
 import org.apache.nifi.registry.diff.ComponentDifferenceGroup;
+import org.apache.nifi.registry.diff.ProcessGroupChange;
 import org.apache.nifi.registry.diff.VersionedFlowDifference;
 import org.apache.nifi.registry.exception.ResourceNotFoundException;
 import org.apache.nifi.registry.extension.BundleCoordinate;
@@ -39,6 +41,7 @@ import org.apache.nifi.registry.extension.bundle.BundleVersionFilterParams;
 import org.apache.nifi.registry.extension.bundle.BundleVersionMetadata;
 import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
 import org.apache.nifi.registry.extension.component.ExtensionMetadata;
+import org.apache.nifi.registry.extension.component.ExtensionSearchResults;
 import org.apache.nifi.registry.extension.component.TagCount;
 import org.apache.nifi.registry.extension.component.manifest.Extension;
 import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
@@ -60,6 +63,8 @@ import org.apache.nifi.registry.flow.diff.FlowComparison;
 import org.apache.nifi.registry.flow.diff.FlowDifference;
 import org.apache.nifi.registry.flow.diff.StandardComparableDataFlow;
 import org.apache.nifi.registry.flow.diff.StandardFlowComparator;
+import org.apache.nifi.registry.metrics.TimedLock;
+import org.apache.nifi.registry.properties.NiFiRegistryProperties;
 import org.apache.nifi.registry.provider.extension.StandardBundleCoordinate;
 import org.apache.nifi.registry.provider.flow.StandardFlowSnapshotContext;
 import org.apache.nifi.registry.serialization.FlowContent;
@@ -69,6 +74,7 @@ import org.apache.nifi.registry.service.extension.ExtensionService;
 import org.apache.nifi.registry.service.mapper.BucketMappings;
 import org.apache.nifi.registry.service.mapper.ExtensionMappings;
 import org.apache.nifi.registry.service.mapper.FlowMappings;
+import org.apache.nifi.registry.tracing.OperationTrace;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -85,13 +91,17 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -117,9 +127,13 @@ public class RegistryService {
     private final Validator validator;
     private final RegistryUrlAliasService registryUrlAliasService;
 
+    private final FlowContentHasher flowContentHasher = new FlowContentHasher();
+    private final FlowDifferenceCache flowDifferenceCache;
+
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Lock readLock = lock.readLock();
-    private final Lock writeLock = lock.writeLock();
+    private final Lock readLock = new TimedLock(lock.readLock(), "registry-read");
+    private final Lock writeLock = new TimedLock(lock.writeLock(), "registry-write");
+    private final Set<String> storingGroupHashes = ConcurrentHashMap.newKeySet();
 
     @Autowired
     public RegistryService(final MetadataService metadataService,
@@ -128,7 +142,8 @@ public class RegistryService {
                            final FlowContentSerializer flowContentSerializer,
                            final ExtensionService extensionService,
                            final Validator validator,
-                           final RegistryUrlAliasService registryUrlAliasService) {
+                           final RegistryUrlAliasService registryUrlAliasService,
+                           final NiFiRegistryProperties properties) {
         this.metadataService = Validate.notNull(metadataService);
         this.flowPersistenceProvider = Validate.notNull(flowPersistenceProvider);
         this.bundlePersistenceProvider = Validate.notNull(bundlePersistenceProvider);
@@ -136,6 +151,7 @@ public class RegistryService {
         this.extensionService = Validate.notNull(extensionService);
         this.validator = Validate.notNull(validator);
         this.registryUrlAliasService = Validate.notNull(registryUrlAliasService);
+        this.flowDifferenceCache = new FlowDifferenceCache(properties.getFlowDiffCacheMaxEntries(), properties.getFlowDiffCacheMaxSize());
     }
 
     private <T>  void validate(T t, String invalidMessage) {
@@ -238,6 +254,15 @@ public class RegistryService {
         }
     }
 
+    public ResultPage<Bucket> getBuckets(final Set<String> bucketIds, final QueryParameters queryParameters) {
+        readLock.lock();
+        try {
+            return metadataService.getBuckets(bucketIds, queryParameters).map(b -> BucketMappings.map(b));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     public Bucket updateBucket(final Bucket bucket) {
         if (bucket == null) {
             throw new IllegalArgumentException("Bucket cannot be null");
@@ -315,6 +340,7 @@ public class RegistryService {
             // for each flow in the bucket, delete all snapshots from the flow persistence provider
             for (final FlowEntity flowEntity : metadataService.getFlowsByBucket(existingBucket.getId())) {
                 flowPersistenceProvider.deleteAllFlowContent(bucketIdentifier, flowEntity.getId());
+                flowDifferenceCache.invalidate(flowEntity.getId());
             }
 
             // for each bundle in the bucket, delete all versions from the bundle persistence provider
@@ -326,6 +352,7 @@ public class RegistryService {
                         .build();
                 bundlePersistenceProvider.deleteAllBundleVersions(bundleCoordinate);
             }
+            extensionService.evictBucket(existingBucket.getId());
 
             // now delete the bucket from the metadata provider, which deletes all flows referencing it
             metadataService.deleteBucket(existingBucket);
@@ -374,16 +401,63 @@ public class RegistryService {
         }
     }
 
+    public ResultPage<BucketItem> getBucketItems(final String bucketIdentifier, final QueryParameters queryParameters) {
+        if (bucketIdentifier == null) {
+            throw new IllegalArgumentException("Bucket identifier cannot be null");
+        }
+
+        readLock.lock();
+        try {
+            final BucketEntity bucket = metadataService.getBucketById(bucketIdentifier);
+            if (bucket == null) {
+                LOGGER.warn("The specified bucket id [{}] does not exist.", bucketIdentifier);
+                throw new ResourceNotFoundException("The specified bucket ID does not exist in this registry.");
+            }
+
+            return getBucketItemsPage(Collections.singleton(bucket.getId()), queryParameters);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public ResultPage<BucketItem> getBucketItems(final Set<String> bucketIdentifiers, final QueryParameters queryParameters) {
+        if (bucketIdentifiers == null || bucketIdentifiers.isEmpty()) {
+            throw new IllegalArgumentException("Bucket identifiers cannot be null or empty");
+        }
+
+        readLock.lock();
+        try {
+            return getBucketItemsPage(bucketIdentifiers, queryParameters);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private ResultPage<BucketItem> getBucketItemsPage(final Set<String> bucketIdentifiers, final QueryParameters queryParameters) {
+        final ResultPage<BucketItemEntity> itemEntities = metadataService.getBucketItems(bucketIdentifiers, queryParameters);
+        final List<BucketItem> bucketItems = new ArrayList<>();
+        itemEntities.getItems().forEach(b -> addBucketItem(bucketItems, b));
+        return new ResultPage<>(bucketItems, itemEntities.getNextCursor());
+    }
+
     private void addBucketItem(final List<BucketItem> bucketItems, final BucketItemEntity itemEntity) {
+        final BucketItem bucketItem = mapBucketItem(itemEntity);
+        if (bucketItem != null) {
+            bucketItems.add(bucketItem);
+        }
+    }
+
+    private BucketItem mapBucketItem(final BucketItemEntity itemEntity) {
         // Currently we don't populate the bucket name for items so we pass in null in the map methods
         if (itemEntity instanceof FlowEntity) {
             final FlowEntity flowEntity = (FlowEntity) itemEntity;
-            bucketItems.add(FlowMappings.map(null, flowEntity));
+            return FlowMappings.map(null, flowEntity);
         } else if (itemEntity instanceof BundleEntity) {
             final BundleEntity bundleEntity = (BundleEntity) itemEntity;
-            bucketItems.add(ExtensionMappings.map(null, bundleEntity));
+            return ExtensionMappings.map(null, bundleEntity);
         } else {
             LOGGER.error("Unknown type of BucketItemEntity: " + itemEntity.getClass().getCanonicalName());
+            return null;
         }
     }
 
@@ -615,6 +689,7 @@ public class RegistryService {
 
             // now delete the flow from the metadata provider
             metadataService.deleteFlow(existingFlow);
+            flowDifferenceCache.invalidate(existingFlow.getId());
 
             return FlowMappings.map(existingBucket, existingFlow);
         } finally {
@@ -695,9 +770,13 @@ public class RegistryService {
             }
 
             // serialize the snapshot
+            final long serializationStart = System.nanoTime();
             final ByteArrayOutputStream out = new ByteArrayOutputStream();
             registryUrlAliasService.setInternal(flowSnapshot.getFlowContents());
 
+            // hash the internal form of the contents so the hashes match what is read back from the persistence provider
+            final Map<String, String> groupHashes = flowContentHasher.hashProcessGroups(flowSnapshot.getFlowContents());
+
             final FlowContent flowContent = new FlowContent();
             flowContent.setFlowSnapshot(flowSnapshot);
 
@@ -705,6 +784,7 @@ public class RegistryService {
             flowSnapshot.setSnapshotMetadata(null);
             flowContentSerializer.serializeFlowContent(flowContent, out);
             flowSnapshot.setSnapshotMetadata(snapshotMetadata);
+            OperationTrace.recordSince(OperationTrace.Phase.SERIALIZATION, serializationStart);
 
             // save the serialized snapshot to the persistence provider
             final Bucket bucket = BucketMappings.map(existingBucket);
@@ -714,6 +794,7 @@ public class RegistryService {
 
             // create snapshot in the metadata provider
             metadataService.createFlowSnapshot(FlowMappings.map(snapshotMetadata));
+            metadataService.createFlowSnapshotGroupHashes(snapshotMetadata.getFlowIdentifier(), snapshotMetadata.getVersion(), groupHashes);
 
             // update the modified date on the flow
             metadataService.updateFlow(existingFlow);
@@ -772,6 +853,94 @@ public class RegistryService {
         }
     }
 
+    /**
+     * Returns a tag that identifies the representation of a version of a flow without loading its content. The content
+     * of a version never changes, so the tag is derived from the content hashes stored with the version, plus the bucket
+     * and flow metadata that are returned along with it. Versions stored before content hashes existed are identified
+     * by the time they were created instead.
+     *
+     * @param bucketIdentifier the id of the bucket the flow exists in
+     * @param flowIdentifier the id of the flow
+     * @param version the version of the flow
+     * @return a tag for the version of the flow
+     */
+    public String getFlowSnapshotTag(final String bucketIdentifier, final String flowIdentifier, final Integer version) {
+        if (StringUtils.isBlank(bucketIdentifier)) {
+            throw new IllegalArgumentException("Bucket identifier cannot be null or blank");
+        }
+
+        if (StringUtils.isBlank(flowIdentifier)) {
+            throw new IllegalArgumentException("Flow identifier cannot be null or blank");
+        }
+
+        if (version == null) {
+            throw new IllegalArgumentException("Version cannot be null or blank");
+        }
+
+        readLock.lock();
+        try {
+            final BucketEntity existingBucket = metadataService.getBucketById(bucketIdentifier);
+            if (existingBucket == null) {
+                LOGGER.warn("The specified bucket id [{}] does not exist.", bucketIdentifier);
+                throw new ResourceNotFoundException("The specified bucket ID does not exist in this registry.");
+            }
+
+            final FlowEntity flowEntityWithCount = metadataService.getFlowByIdWithSnapshotCounts(flowIdentifier);
+            if (flowEntityWithCount == null) {
+                LOGGER.warn("The specified flow id [{}] does not exist.", flowIdentifier);
+                throw new ResourceNotFoundException("The specified flow ID does not exist in this bucket.");
+            }
+
+            if (!existingBucket.getId().equals(flowEntityWithCount.getBucketId())) {
+                throw new IllegalStateException("The requested flow is not located in the given bucket");
+            }
+
+            final FlowSnapshotEntity snapshotEntity = metadataService.getFlowSnapshot(flowIdentifier, version);
+            if (snapshotEntity == null) {
+                LOGGER.warn("The specified flow snapshot id [{}] does not exist for version [{}].", flowIdentifier, version);
+                throw new ResourceNotFoundException("The specified versioned flow snapshot does not exist for this flow.");
+            }
+
+            final StringBuilder tag = new StringBuilder()
+                    .append(existingBucket.getId()).append(':')
+                    .append(existingBucket.getName()).append(':')
+                    .append(existingBucket.getDescription()).append(':')
+                    .append(existingBucket.isAllowExtensionBundleRedeploy()).append(':')
+                    .append(existingBucket.isAllowPublicRead()).append(':')
+                    .append(flowEntityWithCount.getId()).append(':')
+                    .append(flowEntityWithCount.getName()).append(':')
+                    .append(flowEntityWithCount.getDescription()).append(':')
+                    .append(flowEntityWithCount.getModified().getTime()).append(':')
+                    .append(flowEntityWithCount.getSnapshotCount()).append(':')
+                    .append(version).append(':')
+                    .append(snapshotEntity.getCreated().getTime());
+
+            // the group hashes are keyed by group id, sort them so the tag does not depend on the order they were read in
+            final Map<String, String> groupHashes = new TreeMap<>(metadataService.getFlowSnapshotGroupHashes(flowIdentifier, version));
+            groupHashes.forEach((groupId, hash) -> tag.append(':').append(groupId).append('=').append(hash));
+
+            return DigestUtils.sha256Hex(tag.toString());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a tag for the metadata of a version of a flow. The metadata of a version never changes, so the tag only
+     * changes when a different version becomes the one described, or the version is deleted and re-created.
+     *
+     * @param snapshotMetadata the metadata of the version
+     * @return a tag for the metadata of the version
+     */
+    public String getFlowSnapshotMetadataTag(final VersionedFlowSnapshotMetadata snapshotMetadata) {
+        if (snapshotMetadata == null) {
+            throw new IllegalArgumentException("Snapshot metadata cannot be null");
+        }
+
+        return DigestUtils.sha256Hex(snapshotMetadata.getBucketIdentifier() + ":" + snapshotMetadata.getFlowIdentifier()
+                + ":" + snapshotMetadata.getVersion() + ":" + snapshotMetadata.getTimestamp());
+    }
+
     private VersionedFlowSnapshot getVersionedFlowSnapshot(final BucketEntity bucketEntity, final FlowEntity flowEntity, final Integer version) {
         // ensure the snapshot exists
         final FlowSnapshotEntity snapshotEntity = metadataService.getFlowSnapshot(flowEntity.getId(), version);
@@ -806,18 +975,23 @@ public class RegistryService {
     }
 
     private VersionedFlowSnapshot deserializeFlowContent(final InputStream input) {
-        // attempt to read the version header from the serialized content
-        final int dataModelVersion = flowContentSerializer.readDataModelVersion(input);
-
-        // determine how to do deserialize based on the data model version
-        if (flowContentSerializer.isProcessGroupVersion(dataModelVersion)) {
-            final VersionedProcessGroup processGroup = flowContentSerializer.deserializeProcessGroup(dataModelVersion, input);
-            final VersionedFlowSnapshot snapshot = new VersionedFlowSnapshot();
-            snapshot.setFlowContents(processGroup);
-            return snapshot;
-        } else {
-            final FlowContent flowContent = flowContentSerializer.deserializeFlowContent(dataModelVersion, input);
-            return flowContent.getFlowSnapshot();
+        final long deserializationStart = System.nanoTime();
+        try {
+            // attempt to read the version header from the serialized content
+            final int dataModelVersion = flowContentSerializer.readDataModelVersion(input);
+
+            // determine how to do deserialize based on the data model version
+            if (flowContentSerializer.isProcessGroupVersion(dataModelVersion)) {
+                final VersionedProcessGroup processGroup = flowContentSerializer.deserializeProcessGroup(dataModelVersion, input);
+                final VersionedFlowSnapshot snapshot = new VersionedFlowSnapshot();
+                snapshot.setFlowContents(processGroup);
+                return snapshot;
+            } else {
+                final FlowContent flowContent = flowContentSerializer.deserializeFlowContent(dataModelVersion, input);
+                return flowContent.getFlowSnapshot();
+            }
+        } finally {
+            OperationTrace.recordSince(OperationTrace.Phase.SERIALIZATION, deserializationStart);
         }
     }
 
@@ -871,6 +1045,50 @@ public class RegistryService {
         }
     }
 
+    /**
+     * Returns a page of the versions of a flow, sorted newest to oldest unless the query parameters specify otherwise.
+     *
+     * @param bucketIdentifier the id of the bucket to search for the flowIdentifier
+     * @param flowIdentifier the id of the flow to retrieve from the specified bucket
+     * @param queryParameters the limit, sort, and cursor for the page
+     * @return the page of versions of the specified flow
+     */
+    public ResultPage<VersionedFlowSnapshotMetadata> getFlowSnapshots(final String bucketIdentifier, final String flowIdentifier,
+                                                                      final QueryParameters queryParameters) {
+        if (StringUtils.isBlank(bucketIdentifier)) {
+            throw new IllegalArgumentException("Bucket identifier cannot be null or blank");
+        }
+
+        if (StringUtils.isBlank(flowIdentifier)) {
+            throw new IllegalArgumentException("Flow identifier cannot be null or blank");
+        }
+
+        readLock.lock();
+        try {
+            // ensure the bucket exists
+            final BucketEntity existingBucket = metadataService.getBucketById(bucketIdentifier);
+            if (existingBucket == null) {
+                LOGGER.warn("The specified bucket id [{}] does not exist.", bucketIdentifier);
+                throw new ResourceNotFoundException("The specified bucket ID does not exist in this registry.");
+            }
+
+            // ensure the flow exists
+            final FlowEntity existingFlow = metadataService.getFlowById(flowIdentifier);
+            if (existingFlow == null) {
+                LOGGER.warn("The specified flow id [{}] does not exist.", flowIdentifier);
+                throw new ResourceNotFoundException("The specified flow ID does not exist in this bucket.");
+            }
+
+            if (!existingBucket.getId().equals(existingFlow.getBucketId())) {
+                throw new IllegalStateException("The requested flow is not located in the given bucket");
+            }
+
+            return metadataService.getSnapshots(existingFlow.getId(), queryParameters).map(s -> FlowMappings.map(existingBucket, s));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     public VersionedFlowSnapshotMetadata getLatestFlowSnapshotMetadata(final String bucketIdentifier, final String flowIdentifier) {
         if (StringUtils.isBlank(bucketIdentifier)) {
             throw new IllegalArgumentException("Bucket identifier cannot be null or blank");
@@ -945,6 +1163,57 @@ public class RegistryService {
         }
     }
 
+    public List<VersionedFlowSnapshotMetadata> getLatestFlowSnapshotMetadataForBucket(final String bucketIdentifier) {
+        if (StringUtils.isBlank(bucketIdentifier)) {
+            throw new IllegalArgumentException("Bucket identifier cannot be null or blank");
+        }
+
+        readLock.lock();
+        try {
+            // ensure the bucket exists
+            final BucketEntity existingBucket = metadataService.getBucketById(bucketIdentifier);
+            if (existingBucket == null) {
+                LOGGER.warn("The specified bucket id [{}] does not exist.", bucketIdentifier);
+                throw new ResourceNotFoundException("The specified bucket ID does not exist in this registry.");
+            }
+
+            return getLatestFlowSnapshotMetadataUnlocked(Collections.singleton(existingBucket.getId()), null);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the metadata of the latest version of many flows at once, so that clients polling for changes to a large
+     * number of flows don't need a request per flow. Flows that don't exist, have no versions, or are not located in one of
+     * the given buckets are left out of the result rather than failing the whole request.
+     *
+     * @param bucketIdentifiers the buckets the flows may be located in, typically the buckets the user is authorized to read
+     * @param flowIdentifiers the flows to retrieve the latest version for
+     * @return the metadata of the latest version of each flow, ordered by flow identifier
+     */
+    public List<VersionedFlowSnapshotMetadata> getLatestFlowSnapshotMetadata(final Set<String> bucketIdentifiers, final Set<String> flowIdentifiers) {
+        if (flowIdentifiers == null) {
+            throw new IllegalArgumentException("Flow identifiers cannot be null");
+        }
+
+        readLock.lock();
+        try {
+            return getLatestFlowSnapshotMetadataUnlocked(bucketIdentifiers, flowIdentifiers);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private List<VersionedFlowSnapshotMetadata> getLatestFlowSnapshotMetadataUnlocked(final Set<String> bucketIdentifiers, final Set<String> flowIdentifiers) {
+        final List<VersionedFlowSnapshotMetadata> latestMetadata = new ArrayList<>();
+        metadataService.getLatestSnapshots(bucketIdentifiers, flowIdentifiers).forEach((bucketId, snapshots) ->
+                snapshots.forEach(snapshot -> latestMetadata.add(FlowMappings.map(bucketId, snapshot))));
+
+        latestMetadata.sort(Comparator.comparing(VersionedFlowSnapshotMetadata::getFlowIdentifier));
+        return latestMetadata;
+    }
+
     public VersionedFlowSnapshotMetadata deleteFlowSnapshot(final String bucketIdentifier, final String flowIdentifier, final Integer version) {
         if (StringUtils.isBlank(bucketIdentifier)) {
             throw new IllegalArgumentException("Bucket identifier cannot be null or blank");
@@ -990,6 +1259,7 @@ public class RegistryService {
 
             // delete the snapshot itself
             metadataService.deleteFlowSnapshot(snapshotEntity);
+            flowDifferenceCache.invalidate(flowIdentifier, version);
             return FlowMappings.map(existingBucket, snapshotEntity);
         } finally {
             writeLock.unlock();
@@ -1024,6 +1294,39 @@ public class RegistryService {
 
         readLock.lock();
         try {
+            // ensure the bucket exists
+            final BucketEntity existingBucket = metadataService.getBucketById(bucketIdentifier);
+            if (existingBucket == null) {
+                LOGGER.warn("The specified bucket id [{}] does not exist.", bucketIdentifier);
+                throw new ResourceNotFoundException("The specified bucket ID does not exist in this registry.");
+            }
+
+            // ensure the flow exists
+            final FlowEntity existingFlow = metadataService.getFlowById(flowIdentifier);
+            if (existingFlow == null) {
+                LOGGER.warn("The specified flow id [{}] does not exist.", flowIdentifier);
+                throw new ResourceNotFoundException("The specified flow ID does not exist in this bucket.");
+            }
+
+            if (!existingBucket.getId().equals(existingFlow.getBucketId())) {
+                throw new IllegalStateException("The requested flow is not located in the given bucket");
+            }
+
+            // ensure both snapshots exist
+            final FlowSnapshotEntity snapshotEntityA = metadataService.getFlowSnapshot(flowIdentifier, older);
+            final FlowSnapshotEntity snapshotEntityB = metadataService.getFlowSnapshot(flowIdentifier, newer);
+            if (snapshotEntityA == null || snapshotEntityB == null) {
+                throw new ResourceNotFoundException("Versioned flow snapshot does not exist for flow "
+                        + flowIdentifier + " and version " + (snapshotEntityA == null ? older : newer));
+            }
+
+            // the contents of a version never change, so a previously computed difference can be returned as is; the
+            // cache is keyed on the creation time of each snapshot so a version that was deleted and re-created misses
+            final VersionedFlowDifference cachedResult = flowDifferenceCache.get(snapshotEntityA, snapshotEntityB);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+
             // Get the content for both versions of the flow
             final byte[] serializedSnapshotA = flowPersistenceProvider.getFlowContent(bucketIdentifier, flowIdentifier, older);
             if (serializedSnapshotA == null || serializedSnapshotA.length == 0) {
@@ -1046,8 +1349,11 @@ public class RegistryService {
             final VersionedFlowSnapshot snapshotB = deserializeFlowContent(inputB);
             final VersionedProcessGroup flowContentsB = snapshotB.getFlowContents();
 
-            final ComparableDataFlow comparableFlowA = new StandardComparableDataFlow(String.format("Version %d", older), flowContentsA);
-            final ComparableDataFlow comparableFlowB = new StandardComparableDataFlow(String.format("Version %d", newer), flowContentsB);
+            final Map<String, String> groupHashesA = getProcessGroupHashes(flowIdentifier, older, flowContentsA);
+            final Map<String, String> groupHashesB = getProcessGroupHashes(flowIdentifier, newer, flowContentsB);
+
+            final ComparableDataFlow comparableFlowA = new StandardComparableDataFlow(String.format("Version %d", older), flowContentsA, groupHashesA);
+            final ComparableDataFlow comparableFlowB = new StandardComparableDataFlow(String.format("Version %d", newer), flowContentsB, groupHashesB);
 
             // Compare the two versions of the flow
             final FlowComparator flowComparator = new StandardFlowComparator(comparableFlowA, comparableFlowB,
@@ -1063,12 +1369,197 @@ public class RegistryService {
             final Set<ComponentDifferenceGroup> differenceGroups = getStringComponentDifferenceGroupMap(flowComparison.getDifferences());
             result.setComponentDifferenceGroups(differenceGroups);
 
+            flowDifferenceCache.put(snapshotEntityA, snapshotEntityB, result);
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a tag that identifies the differences between two specified versions of a flow without computing them.
+     * Since the contents of a version never change, the tag only changes if one of the versions is deleted and re-created.
+     *
+     * @param bucketIdentifier the id of the bucket the flow exists in
+     * @param flowIdentifier the flow to be examined
+     * @param versionA the first version of the comparison
+     * @param versionB the second version of the comparison
+     * @return a tag for the differences between the two specified versions
+     */
+    public String getFlowDiffTag(final String bucketIdentifier, final String flowIdentifier,
+                                 final Integer versionA, final Integer versionB) {
+        if (StringUtils.isBlank(bucketIdentifier)) {
+            throw new IllegalArgumentException("Bucket identifier cannot be null or blank");
+        }
+
+        if (StringUtils.isBlank(flowIdentifier)) {
+            throw new IllegalArgumentException("Flow identifier cannot be null or blank");
+        }
+
+        if (versionA == null || versionB == null) {
+            throw new IllegalArgumentException("Version cannot be null or blank");
+        }
+        final Integer older = Math.min(versionA, versionB);
+        final Integer newer = Math.max(versionA, versionB);
+
+        readLock.lock();
+        try {
+            // ensure the bucket exists
+            final BucketEntity existingBucket = metadataService.getBucketById(bucketIdentifier);
+            if (existingBucket == null) {
+                LOGGER.warn("The specified bucket id [{}] does not exist.", bucketIdentifier);
+                throw new ResourceNotFoundException("The specified bucket ID does not exist in this registry.");
+            }
+
+            // ensure the flow exists
+            final FlowEntity existingFlow = metadataService.getFlowById(flowIdentifier);
+            if (existingFlow == null) {
+                LOGGER.warn("The specified flow id [{}] does not exist.", flowIdentifier);
+                throw new ResourceNotFoundException("The specified flow ID does not exist in this bucket.");
+            }
+
+            if (!existingBucket.getId().equals(existingFlow.getBucketId())) {
+                throw new IllegalStateException("The requested flow is not located in the given bucket");
+            }
+
+            // ensure both snapshots exist
+            final FlowSnapshotEntity snapshotEntityA = metadataService.getFlowSnapshot(flowIdentifier, older);
+            final FlowSnapshotEntity snapshotEntityB = metadataService.getFlowSnapshot(flowIdentifier, newer);
+            if (snapshotEntityA == null || snapshotEntityB == null) {
+                throw new ResourceNotFoundException("Versioned flow snapshot does not exist for flow "
+                        + flowIdentifier + " and version " + (snapshotEntityA == null ? older : newer));
+            }
+
+            return DigestUtils.sha256Hex(bucketIdentifier + ":" + flowIdentifier
+                    + ":" + older + ":" + snapshotEntityA.getCreated().getTime()
+                    + ":" + newer + ":" + snapshotEntityB.getCreated().getTime());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Determines whether a process group changed between two versions of a flow, using only the content hashes stored
+     * with each snapshot. Snapshots created before content hashes were stored are loaded and hashed on demand.
+     *
+     * @param bucketIdentifier the id of the bucket the flow exists in
+     * @param flowIdentifier the flow to be examined
+     * @param groupIdentifier the id of the process group within the flow
+     * @param versionA the first version of the comparison
+     * @param versionB the second version of the comparison
+     * @return whether the process group changed between the two versions
+     */
+    public ProcessGroupChange getProcessGroupChange(final String bucketIdentifier, final String flowIdentifier, final String groupIdentifier,
+                                                    final Integer versionA, final Integer versionB) {
+        if (StringUtils.isBlank(bucketIdentifier)) {
+            throw new IllegalArgumentException("Bucket identifier cannot be null or blank");
+        }
+
+        if (StringUtils.isBlank(flowIdentifier)) {
+            throw new IllegalArgumentException("Flow identifier cannot be null or blank");
+        }
+
+        if (StringUtils.isBlank(groupIdentifier)) {
+            throw new IllegalArgumentException("Process group identifier cannot be null or blank");
+        }
+
+        if (versionA == null || versionB == null) {
+            throw new IllegalArgumentException("Version cannot be null or blank");
+        }
+        final Integer older = Math.min(versionA, versionB);
+        final Integer newer = Math.max(versionA, versionB);
+
+        readLock.lock();
+        try {
+            final BucketEntity existingBucket = metadataService.getBucketById(bucketIdentifier);
+            if (existingBucket == null) {
+                LOGGER.warn("The specified bucket id [{}] does not exist.", bucketIdentifier);
+                throw new ResourceNotFoundException("The specified bucket ID does not exist in this registry.");
+            }
+
+            final FlowEntity existingFlow = metadataService.getFlowById(flowIdentifier);
+            if (existingFlow == null) {
+                LOGGER.warn("The specified flow id [{}] does not exist.", flowIdentifier);
+                throw new ResourceNotFoundException("The specified flow ID does not exist in this bucket.");
+            }
+
+            if (!existingBucket.getId().equals(existingFlow.getBucketId())) {
+                throw new IllegalStateException("The requested flow is not located in the given bucket");
+            }
+
+            final String hashA = getProcessGroupHash(existingBucket, existingFlow, older, groupIdentifier);
+            final String hashB = getProcessGroupHash(existingBucket, existingFlow, newer, groupIdentifier);
+            if (hashA == null && hashB == null) {
+                throw new ResourceNotFoundException("The specified process group does not exist in either version of this flow.");
+            }
+
+            final ProcessGroupChange result = new ProcessGroupChange();
+            result.setBucketId(bucketIdentifier);
+            result.setFlowId(flowIdentifier);
+            result.setProcessGroupId(groupIdentifier);
+            result.setVersionA(older);
+            result.setVersionB(newer);
+            result.setChanged(!Objects.equals(hashA, hashB));
             return result;
         } finally {
             readLock.unlock();
         }
     }
 
+    private String getProcessGroupHash(final BucketEntity bucketEntity, final FlowEntity flowEntity, final Integer version, final String groupIdentifier) {
+        final String storedHash = metadataService.getFlowSnapshotGroupHash(flowEntity.getId(), version, groupIdentifier);
+        if (storedHash != null) {
+            return storedHash;
+        }
+
+        final FlowSnapshotEntity snapshotEntity = metadataService.getFlowSnapshot(flowEntity.getId(), version);
+        if (snapshotEntity == null) {
+            throw new ResourceNotFoundException("The specified versioned flow snapshot does not exist for this flow.");
+        }
+
+        // the snapshot may pre-date stored hashes, or the group may not exist in this version
+        final Map<String, String> storedHashes = metadataService.getFlowSnapshotGroupHashes(flowEntity.getId(), version);
+        if (!storedHashes.isEmpty()) {
+            return null;
+        }
+
+        final byte[] serializedSnapshot = flowPersistenceProvider.getFlowContent(bucketEntity.getId(), flowEntity.getId(), version);
+        if (serializedSnapshot == null || serializedSnapshot.length == 0) {
+            throw new IllegalStateException("No serialized content found for snapshot with flow identifier "
+                    + flowEntity.getId() + " and version " + version);
+        }
+
+        final VersionedFlowSnapshot snapshot = deserializeFlowContent(new ByteArrayInputStream(serializedSnapshot));
+        return storeProcessGroupHashes(flowEntity.getId(), version, snapshot.getFlowContents()).get(groupIdentifier);
+    }
+
+    private Map<String, String> getProcessGroupHashes(final String flowIdentifier, final Integer version, final VersionedProcessGroup flowContents) {
+        final Map<String, String> storedHashes = metadataService.getFlowSnapshotGroupHashes(flowIdentifier, version);
+        if (storedHashes != null && !storedHashes.isEmpty()) {
+            return storedHashes;
+        }
+
+        return storeProcessGroupHashes(flowIdentifier, version, flowContents);
+    }
+
+    /**
+     * Computes the group hashes of a snapshot created before content hashes were stored, and stores them so that they
+     * are only computed the first time the snapshot is compared.
+     */
+    private Map<String, String> storeProcessGroupHashes(final String flowIdentifier, final Integer version, final VersionedProcessGroup flowContents) {
+        final Map<String, String> groupHashes = flowContentHasher.hashProcessGroups(flowContents);
+        if (groupHashes.isEmpty()) {
+            return groupHashes;
+        }
+
+        // comparisons only hold the read lock, so only the first comparison of a snapshot stores its hashes; the others
+        // may not see them until that comparison's transaction commits, and just use the hashes they computed
+        if (storingGroupHashes.add(flowIdentifier + ":" + version)) {
+            metadataService.createFlowSnapshotGroupHashes(flowIdentifier, version, groupHashes);
+        }
+        return groupHashes;
+    }
+
     /**
      * Group the differences in the comparison by component
      * @param flowDifferences The differences to group together by component
@@ -1112,6 +1603,16 @@ public class RegistryService {
         }
     }
 
+    public ResultPage<Bundle> getBundles(final Set<String> bucketIdentifiers, final BundleFilterParams filterParams,
+                                         final QueryParameters queryParameters) {
+        readLock.lock();
+        try {
+            return extensionService.getBundles(bucketIdentifiers, filterParams, queryParameters);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     public List<Bundle> getBundlesByBucket(final String bucketIdentifier) {
         readLock.lock();
         try {
@@ -1148,6 +1649,15 @@ public class RegistryService {
         }
     }
 
+    public ResultPage<BundleVersionMetadata> getBundleVersions(final Set<String> bucketIdentifiers, final BundleVersionFilterParams filterParams,
+                                                               final QueryParameters queryParameters) {
+        readLock.lock();
+        try {
+            return extensionService.getBundleVersions(bucketIdentifiers, filterParams, queryParameters);
+        } finally {
+            readLock.unlock();
+        }
+    }
 
     public SortedSet<BundleVersionMetadata> getBundleVersions(final String extensionBundleIdentifier) {
         readLock.lock();
@@ -1205,6 +1715,16 @@ public class RegistryService {
         }
     }
 
+    public ResultPage<ExtensionMetadata> getExtensionMetadata(final Set<String> bucketIdentifiers, final ExtensionFilterParams filterParams,
+                                                              final QueryParameters queryParameters) {
+        readLock.lock();
+        try {
+            return extensionService.getExtensionMetadata(bucketIdentifiers, filterParams, queryParameters);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     public SortedSet<ExtensionMetadata> getExtensionMetadata(final Set<String> bucketIdentifiers, final ProvidedServiceAPI serviceAPI) {
         readLock.lock();
         try {
@@ -1214,6 +1734,16 @@ public class RegistryService {
         }
     }
 
+    public ExtensionSearchResults searchExtensions(final Set<String> bucketIdentifiers, final String query,
+                                                   final ExtensionFilterParams filterParams, final int offset, final int limit) {
+        readLock.lock();
+        try {
+            return extensionService.searchExtensions(bucketIdentifiers, query, filterParams, offset, limit);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     public SortedSet<ExtensionMetadata> getExtensionMetadata(final BundleVersion bundleVersion) {
         readLock.lock();
         try {
@@ -1242,6 +1772,38 @@ public class RegistryService {
         }
     }
 
+    public void writeGzippedExtensionDocs(final BundleVersion bundleVersion, final String name, final OutputStream outputStream)
+            throws IOException {
+        readLock.lock();
+        try {
+            extensionService.writeGzippedExtensionDocs(bundleVersion, name, outputStream);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a tag that identifies the documentation of an extension in the given bundle version. The documentation
+     * never changes for a bundle version, and re-deploying a version creates a new bundle version, so the tag is derived
+     * from the bundle version identifier and the time it was created.
+     *
+     * @param bundleVersion the bundle version
+     * @param name the name of the extension
+     * @return a tag for the documentation of the extension
+     */
+    public String getExtensionDocsTag(final BundleVersion bundleVersion, final String name) {
+        if (bundleVersion == null || bundleVersion.getVersionMetadata() == null) {
+            throw new IllegalArgumentException("Bundle version must contain a version metadata");
+        }
+
+        if (StringUtils.isBlank(name)) {
+            throw new IllegalArgumentException("Extension name cannot be null or blank");
+        }
+
+        final BundleVersionMetadata versionMetadata = bundleVersion.getVersionMetadata();
+        return DigestUtils.sha256Hex(versionMetadata.getId() + ":" + versionMetadata.getTimestamp() + ":" + name);
+    }
+
     public void writeAdditionalDetailsDocs(final BundleVersion bundleVersion, final String name, final OutputStream outputStream)
             throws IOException {
         readLock.lock();
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A single page of results from a paged query, along with the cursor to pass as the 'after' value of the
+ * {@link QueryParameters} for the next page.
+ *
+ * @param <T> the type of the results
+ */
+public class ResultPage<T> {
+
+    private final List<T> items;
+
+    private final String nextCursor;
+
+    public ResultPage(final List<T> items, final String nextCursor) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the cursor for the next page, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Maps the items of this page, keeping the same cursor.
+     *
+     * @param mapper the function to apply to each item
+     * @param <R> the type of the mapped items
+     * @return a page of the mapped items
+     */
+    public <R> ResultPage<R> map(final Function<T, R> mapper) {
+        final List<R> mapped = new ArrayList<>(items.size());
+        items.forEach(i -> mapped.add(mapper.apply(i)));
+        return new ResultPage<>(mapped, nextCursor);
+    }
+
+}
@@ -26,12 +26,15 @@ import org.apache.nifi.registry.extension.bundle.BundleVersionMetadata;
 import org.apache.nifi.registry.extension.component.manifest.Extension;
 import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
 import org.apache.nifi.registry.extension.component.ExtensionMetadata;
+import org.apache.nifi.registry.extension.component.ExtensionSearchResults;
 import org.apache.nifi.registry.extension.component.TagCount;
 import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
 import org.apache.nifi.registry.extension.repo.ExtensionRepoArtifact;
 import org.apache.nifi.registry.extension.repo.ExtensionRepoBucket;
 import org.apache.nifi.registry.extension.repo.ExtensionRepoGroup;
 import org.apache.nifi.registry.extension.repo.ExtensionRepoVersionSummary;
+import org.apache.nifi.registry.service.QueryParameters;
+import org.apache.nifi.registry.service.ResultPage;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -71,6 +74,16 @@ public interface ExtensionService {
      */
     List<Bundle> getBundles(Set<String> bucketIdentifiers, BundleFilterParams filterParams);
 
+    /**
+     * Retrieves a page of the extension bundles in the given buckets.
+     *
+     * @param bucketIdentifiers the bucket identifiers
+     * @param filterParams the optional filter params
+     * @param queryParameters the limit, sort, and cursor for the page
+     * @return the page of bundles in the given buckets
+     */
+    ResultPage<Bundle> getBundles(Set<String> bucketIdentifiers, BundleFilterParams filterParams, QueryParameters queryParameters);
+
     /**
      * Retrieves the extension bundles in the given bucket.
      *
@@ -106,6 +119,17 @@ public interface ExtensionService {
      */
     SortedSet<BundleVersionMetadata> getBundleVersions(Set<String> bucketIdentifiers, BundleVersionFilterParams filterParams);
 
+    /**
+     * Retrieves a page of the extension bundle versions in the given buckets, ordered by bundle and then version.
+     *
+     * @param bucketIdentifiers the bucket identifiers
+     * @param filterParams the optional filter params
+     * @param queryParameters the limit, sort, and cursor for the page
+     * @return the page of extension bundle versions
+     */
+    ResultPage<BundleVersionMetadata> getBundleVersions(Set<String> bucketIdentifiers, BundleVersionFilterParams filterParams,
+                                                        QueryParameters queryParameters);
+
     /**
      * Retrieves the versions of the given extension bundle.
      *
@@ -161,6 +185,17 @@ public interface ExtensionService {
      */
     SortedSet<ExtensionMetadata> getExtensionMetadata(Set<String> bucketIdentifiers, ExtensionFilterParams filterParams);
 
+    /**
+     * Retrieves a page of the extensions in the given buckets, in the order given by the query parameters.
+     *
+     * @param bucketIdentifiers the identifiers of the buckets
+     * @param filterParams the filter params
+     * @param queryParameters the limit, sort, and cursor for the page
+     * @return the page of extensions in the given buckets matching the filter params
+     */
+    ResultPage<ExtensionMetadata> getExtensionMetadata(Set<String> bucketIdentifiers, ExtensionFilterParams filterParams,
+                                                       QueryParameters queryParameters);
+
     /**
      * Retrieves the extensions in the given buckets that provided the given service API.
      *
@@ -172,6 +207,27 @@ public interface ExtensionService {
      */
     SortedSet<ExtensionMetadata> getExtensionMetadata(Set<String> bucketIdentifiers, ProvidedServiceAPI providedServiceAPI);
 
+    /**
+     * Searches the names, display names, descriptions, tags, property names, and provided service APIs of the
+     * extensions in the given buckets, ordering the results by relevance to the query.
+     *
+     * @param bucketIdentifiers the identifiers of the buckets
+     * @param query the text to search for, or blank to return all extensions matching the filter params
+     * @param filterParams the optional filter params
+     * @param offset the index of the first result to return
+     * @param limit the maximum number of results to return
+     * @return the requested page of results, along with facet counts over all matching extensions
+     */
+    ExtensionSearchResults searchExtensions(Set<String> bucketIdentifiers, String query, ExtensionFilterParams filterParams, int offset, int limit);
+
+    /**
+     * Removes any state held in memory about the extensions of the given bucket, such as the search index and tag counts,
+     * called when a bucket is deleted. The state is removed once the surrounding transaction commits.
+     *
+     * @param bucketIdentifier the identifier of the deleted bucket
+     */
+    void evictBucket(String bucketIdentifier);
+
     /**
      * Retrieves the set of extensions for the given bundle version.
      *
@@ -199,6 +255,16 @@ public interface ExtensionService {
      */
     void writeExtensionDocs(BundleVersion bundleVersion, String name, OutputStream outputStream) throws IOException;
 
+    /**
+     * Writes the gzip compressed documentation for the extension with the given name and bundle to the given output stream.
+     *
+     * @param bundleVersion the bundle version
+     * @param name the name of the extension
+     * @param outputStream the output stream to write to
+     * @throws IOException if an error occurs writing to the output stream
+     */
+    void writeGzippedExtensionDocs(BundleVersion bundleVersion, String name, OutputStream outputStream) throws IOException;
+
     /**
      * Writes the additional details documentation for the extension with the given name and bundle to the given output stream.
      *
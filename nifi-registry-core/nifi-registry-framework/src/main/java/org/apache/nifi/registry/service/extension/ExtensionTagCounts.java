@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service.extension;
+
+import org.apache.nifi.registry.db.DatabaseMetadataService;
+import org.apache.nifi.registry.db.entity.TagCountEntity;
+import org.apache.nifi.registry.extension.component.TagCount;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The number of extensions with each tag, held in memory so that listing tags does not aggregate the whole tag table.
+ *
+ * The counts are loaded from the database on first use and incremented as bundle versions are created. Deleting
+ * extensions unloads the counts so that they are reloaded on next use, since deletes are rare and may cascade from
+ * the deletion of a bundle or bucket. Callers apply changes once the transaction making them commits, so that the
+ * counts never include uncommitted or rolled back extensions.
+ */
+public class ExtensionTagCounts {
+
+    private final Map<String, Integer> counts = new TreeMap<>();
+    private boolean loaded;
+    private long generation;
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replaces the counts with the given counts from the database.
+     */
+    public synchronized void load(final List<TagCountEntity> tagCounts) {
+        counts.clear();
+        tagCounts.forEach(tc -> counts.put(tc.getTag(), tc.getCount()));
+        loaded = true;
+        generation++;
+    }
+
+    /**
+     * Counts the tags of a newly created extension, normalized the same way they are stored. Has no effect if the
+     * counts are not loaded, since they will include the extension when they are loaded.
+     */
+    public synchronized void add(final Collection<String> tags) {
+        if (!loaded || tags == null) {
+            return;
+        }
+
+        DatabaseMetadataService.getNormalizedTags(tags).forEach(tag -> counts.merge(tag, 1, Integer::sum));
+    }
+
+    /**
+     * Counts the tags of newly created extensions if the counts have not been loaded again since the given generation,
+     * otherwise unloads the counts because it is unknown whether the loaded counts already include the extensions.
+     *
+     * @param extensionTags the tags of each new extension
+     * @param expectedGeneration the generation of the counts before the extensions were committed
+     */
+    public synchronized void add(final Collection<? extends Collection<String>> extensionTags, final long expectedGeneration) {
+        if (generation != expectedGeneration) {
+            unload();
+            return;
+        }
+
+        extensionTags.forEach(this::add);
+    }
+
+    /**
+     * @return a number that changes each time the counts are loaded
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public synchronized void unload() {
+        counts.clear();
+        loaded = false;
+    }
+
+    /**
+     * @return the tag counts sorted by tag
+     */
+    public synchronized SortedSet<TagCount> getTagCounts() {
+        final SortedSet<TagCount> tagCounts = new TreeSet<>();
+        counts.forEach((tag, count) -> {
+            final TagCount tagCount = new TagCount();
+            tagCount.setTag(tag);
+            tagCount.setCount(count);
+            tagCounts.add(tagCount);
+        });
+        return tagCounts;
+    }
+}
@@ -40,6 +40,7 @@ import org.apache.nifi.registry.extension.BundleVersionType;
 import org.apache.nifi.registry.extension.bundle.BuildInfo;
 import org.apache.nifi.registry.extension.bundle.Bundle;
 import org.apache.nifi.registry.extension.bundle.BundleFilterParams;
+import org.apache.nifi.registry.extension.bundle.BundleInfo;
 import org.apache.nifi.registry.extension.bundle.BundleType;
 import org.apache.nifi.registry.extension.bundle.BundleVersion;
 import org.apache.nifi.registry.extension.bundle.BundleVersionDependency;
@@ -47,6 +48,7 @@ import org.apache.nifi.registry.extension.bundle.BundleVersionFilterParams;
 import org.apache.nifi.registry.extension.bundle.BundleVersionMetadata;
 import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
 import org.apache.nifi.registry.extension.component.ExtensionMetadata;
+import org.apache.nifi.registry.extension.component.ExtensionSearchResults;
 import org.apache.nifi.registry.extension.component.TagCount;
 import org.apache.nifi.registry.extension.component.manifest.Extension;
 import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
@@ -61,8 +63,12 @@ import org.apache.nifi.registry.provider.extension.StandardBundleVersionCoordina
 import org.apache.nifi.registry.security.authorization.user.NiFiUserUtils;
 import org.apache.nifi.registry.serialization.Serializer;
 import org.apache.nifi.registry.service.MetadataService;
+import org.apache.nifi.registry.service.QueryParameters;
+import org.apache.nifi.registry.service.ResultPage;
 import org.apache.nifi.registry.service.extension.docs.DocumentationConstants;
 import org.apache.nifi.registry.service.extension.docs.ExtensionDocWriter;
+import org.apache.nifi.registry.service.extension.docs.ExtensionDocsCache;
+import org.apache.nifi.registry.service.extension.search.ExtensionSearchIndex;
 import org.apache.nifi.registry.service.mapper.BucketMappings;
 import org.apache.nifi.registry.service.mapper.ExtensionMappings;
 import org.apache.nifi.registry.util.FileUtils;
@@ -70,13 +76,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -84,16 +92,20 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 public class StandardExtensionService implements ExtensionService {
@@ -102,6 +114,10 @@ public class StandardExtensionService implements ExtensionService {
 
     static final String SNAPSHOT_VERSION_SUFFIX = "SNAPSHOT";
 
+    static final int MAX_SEARCH_RESULTS_LIMIT = 1000;
+
+    static final int SEARCH_INDEX_LOAD_PAGE_SIZE = 500;
+
     private final Serializer<Extension> extensionSerializer;
     private final ExtensionDocWriter extensionDocWriter;
     private final MetadataService metadataService;
@@ -109,6 +125,9 @@ public class StandardExtensionService implements ExtensionService {
     private final BundlePersistenceProvider bundlePersistenceProvider;
     private final Validator validator;
     private final File extensionsWorkingDir;
+    private final ExtensionSearchIndex searchIndex = new ExtensionSearchIndex();
+    private final ExtensionDocsCache extensionDocsCache = new ExtensionDocsCache();
+    private final ExtensionTagCounts tagCounts = new ExtensionTagCounts();
 
     @Autowired
     public StandardExtensionService(final Serializer<Extension> extensionSerializer,
@@ -186,11 +205,8 @@ public class StandardExtensionService implements ExtensionService {
             }
 
             // extract the details of the bundle from the temp file in the working directory
-            final BundleDetails bundleDetails;
-            try (final InputStream in = new FileInputStream(extensionWorkingFile)) {
-                final BundleExtractor extractor = extractors.get(bundleType);
-                bundleDetails = extractor.extract(in);
-            }
+            final BundleExtractor extractor = extractors.get(bundleType);
+            final BundleDetails bundleDetails = extractor.extract(extensionWorkingFile);
 
             final BundleIdentifier bundleIdentifier = bundleDetails.getBundleIdentifier();
             final BuildInfo buildInfo = bundleDetails.getBuildInfo();
@@ -225,6 +241,9 @@ public class StandardExtensionService implements ExtensionService {
                 if (overwriteBundleVersion) {
                     LOGGER.debug("Bundle overwriting allowed, deleting existing version...");
                     metadataService.deleteBundleVersion(existingVersion);
+                    afterCommit(() -> searchIndex.applyChange(index -> index.removeBundleVersion(existingVersion.getId())));
+                    afterCommit(() -> extensionDocsCache.invalidateBundleVersion(existingVersion.getId()));
+                    afterCommit(tagCounts::unload);
                 } else {
                     LOGGER.warn("The specified version [{}] already exists for extension bundle [{}].", new Object[]{version, bundleEntity.getId()});
                     throw new IllegalStateException("The specified version already exists for the given extension bundle");
@@ -254,11 +273,11 @@ public class StandardExtensionService implements ExtensionService {
 
             // create and persist the version dependencies in the metadata db
             final Set<BundleVersionDependencyEntity> dependencyEntities = getDependencyEntities(versionEntity, bundleDetails);
-            dependencyEntities.forEach(d -> metadataService.createDependency(d));
+            metadataService.createDependencies(dependencyEntities);
 
             // create and persist extensions in the metadata db
             final Set<ExtensionEntity> extensionEntities = getExtensionEntities(versionEntity, bundleDetails);
-            extensionEntities.forEach(e -> metadataService.createExtension(e));
+            metadataService.createExtensions(extensionEntities);
 
             // persist the content of the bundle to the persistence provider
             persistBundleVersionContent(bundleType, bundleEntity, versionEntity, extensionWorkingFile, overwriteBundleVersion);
@@ -266,6 +285,11 @@ public class StandardExtensionService implements ExtensionService {
             // get the updated extension bundle so it contains the correct version count
             final BundleEntity updatedBundle = metadataService.getBundle(bucketIdentifier, groupId, artifactId);
 
+            // add the extensions to the search index, unless it has not been loaded yet in which case they will be loaded with everything else
+            afterCommit(() -> searchIndex.applyChange(index ->
+                    addToSearchIndex(index, existingBucket, updatedBundle, versionEntity, extensionEntities, bundleDetails.getExtensions())));
+            addTagCountsAfterCommit(extensionEntities);
+
             // create the full BundleVersion instance to return
             final BundleVersion bundleVersion = new BundleVersion();
             bundleVersion.setVersionMetadata(versionMetadata);
@@ -357,6 +381,61 @@ public class StandardExtensionService implements ExtensionService {
     }
 
 
+    private void addToSearchIndex(final ExtensionSearchIndex index, final BucketEntity bucket, final BundleEntity bundle,
+                                  final BundleVersionEntity bundleVersion, final Set<ExtensionEntity> extensionEntities,
+                                  final Set<Extension> extensions) {
+        final Map<String, Extension> extensionsByName = extensions == null ? Collections.emptyMap() : extensions.stream()
+                .collect(Collectors.toMap(Extension::getName, e -> e, (e1, e2) -> e1));
+
+        for (final ExtensionEntity extensionEntity : extensionEntities) {
+            extensionEntity.setBucketId(bucket.getId());
+            extensionEntity.setBucketName(bucket.getName());
+            extensionEntity.setBundleId(bundle.getId());
+            extensionEntity.setGroupId(bundle.getGroupId());
+            extensionEntity.setArtifactId(bundle.getArtifactId());
+            extensionEntity.setBundleType(bundle.getBundleType());
+            extensionEntity.setVersion(bundleVersion.getVersion());
+            extensionEntity.setSystemApiVersion(bundleVersion.getSystemApiVersion());
+
+            final ExtensionMetadata metadata = ExtensionMappings.mapToMetadata(extensionEntity, extensionSerializer);
+            index.add(extensionEntity.getId(), bundleVersion.getId(), metadata, extensionsByName.get(extensionEntity.getName()));
+        }
+    }
+
+    private void loadSearchIndex() {
+        synchronized (searchIndex) {
+            if (searchIndex.isLoaded()) {
+                return;
+            }
+
+            final long startTime = System.currentTimeMillis();
+            searchIndex.startLoad();
+
+            // only the terms of each extension are kept, so read the full content a page at a time rather than all at once;
+            // bundle versions created or deleted meanwhile are applied by the index once the load finishes
+            try {
+                String lastExtensionId = null;
+                List<ExtensionEntity> page;
+                do {
+                    page = metadataService.getExtensionsWithContent(lastExtensionId, SEARCH_INDEX_LOAD_PAGE_SIZE);
+                    for (final ExtensionEntity extensionEntity : page) {
+                        final Extension extension = ExtensionMappings.map(extensionEntity, extensionSerializer);
+                        final ExtensionMetadata metadata = ExtensionMappings.mapToMetadata(extensionEntity, extensionSerializer);
+                        searchIndex.add(extensionEntity.getId(), extensionEntity.getBundleVersionId(), metadata, extension);
+                        lastExtensionId = extensionEntity.getId();
+                    }
+                } while (page.size() == SEARCH_INDEX_LOAD_PAGE_SIZE);
+            } catch (final RuntimeException e) {
+                searchIndex.abortLoad();
+                throw e;
+            }
+            searchIndex.finishLoad();
+
+            LOGGER.info("Loaded {} extensions into the extension search index in {} ms",
+                    new Object[]{searchIndex.size(), System.currentTimeMillis() - startTime});
+        }
+    }
+
     private BundleEntity getOrCreateExtensionBundle(final String bucketId, final String groupId, final String artifactId,
                                                     final BundleType bundleType, final long currentTime) {
 
@@ -384,7 +463,7 @@ public class StandardExtensionService implements ExtensionService {
     }
 
     private void persistBundleVersionContent(final BundleType bundleType, final BundleEntity bundle, final BundleVersionEntity bundleVersion,
-                                             final File extensionWorkingFile, final boolean overwriteBundleVersion) throws IOException {
+                                             final File extensionWorkingFile, final boolean overwriteBundleVersion) {
 
         final BundleVersionCoordinate versionCoordinate = new StandardBundleVersionCoordinate.Builder()
                 .bucketId(bundle.getBucketId())
@@ -397,19 +476,18 @@ public class StandardExtensionService implements ExtensionService {
         final BundlePersistenceContext context = new StandardBundlePersistenceContext.Builder()
                 .coordinate(versionCoordinate)
                 .bundleSize(bundleVersion.getContentSize())
+                .sha256(bundleVersion.getSha256Hex())
                 .author(bundleVersion.getCreatedBy())
                 .timestamp(bundleVersion.getCreated().getTime())
                 .build();
 
-        try (final InputStream in = new FileInputStream(extensionWorkingFile);
-             final InputStream bufIn = new BufferedInputStream(in)) {
-            if (overwriteBundleVersion) {
-                bundlePersistenceProvider.updateBundleVersion(context, bufIn);
-                LOGGER.debug("Bundle version updated in persistence provider - {}", new Object[]{versionCoordinate.toString()});
-            } else {
-                bundlePersistenceProvider.createBundleVersion(context, bufIn);
-                LOGGER.debug("Bundle version created in persistence provider - {}", new Object[]{versionCoordinate.toString()});
-            }
+        // hand over the working file itself so the provider can move it into place rather than reading it again
+        if (overwriteBundleVersion) {
+            bundlePersistenceProvider.updateBundleVersion(context, extensionWorkingFile);
+            LOGGER.debug("Bundle version updated in persistence provider - {}", new Object[]{versionCoordinate.toString()});
+        } else {
+            bundlePersistenceProvider.createBundleVersion(context, extensionWorkingFile);
+            LOGGER.debug("Bundle version created in persistence provider - {}", new Object[]{versionCoordinate.toString()});
         }
     }
 
@@ -435,6 +513,18 @@ public class StandardExtensionService implements ExtensionService {
         return bundleEntities.stream().map(b -> ExtensionMappings.map(null, b)).collect(Collectors.toList());
     }
 
+    @Override
+    public ResultPage<Bundle> getBundles(final Set<String> bucketIdentifiers, final BundleFilterParams filterParams,
+                                         final QueryParameters queryParameters) {
+        if (bucketIdentifiers == null) {
+            throw new IllegalArgumentException("Bucket identifiers cannot be null");
+        }
+
+        final ResultPage<BundleEntity> bundleEntities = metadataService.getBundles(bucketIdentifiers,
+                filterParams == null ? BundleFilterParams.empty() : filterParams, queryParameters);
+        return bundleEntities.map(b -> ExtensionMappings.map(null, b));
+    }
+
     @Override
     public List<Bundle> getBundlesByBucket(final String bucketIdentifier) {
         if (StringUtils.isBlank(bucketIdentifier)) {
@@ -465,6 +555,9 @@ public class StandardExtensionService implements ExtensionService {
 
         // delete the bundle from the database
         metadataService.deleteBundle(bundle.getIdentifier());
+        afterCommit(() -> searchIndex.applyChange(index -> index.removeBundle(bundle.getIdentifier())));
+        afterCommit(() -> extensionDocsCache.invalidateBundle(bundle.getIdentifier()));
+        afterCommit(tagCounts::unload);
 
         // delete all content associated with the bundle in the persistence provider
         final BundleCoordinate bundleCoordinate = new StandardBundleCoordinate.Builder()
@@ -500,6 +593,18 @@ public class StandardExtensionService implements ExtensionService {
         return sortedVersions;
     }
 
+    @Override
+    public ResultPage<BundleVersionMetadata> getBundleVersions(final Set<String> bucketIdentifiers, final BundleVersionFilterParams filterParams,
+                                                               final QueryParameters queryParameters) {
+        if (bucketIdentifiers == null) {
+            throw new IllegalArgumentException("Bucket identifiers cannot be null");
+        }
+
+        final ResultPage<BundleVersionEntity> bundleVersionEntities = metadataService.getBundleVersions(bucketIdentifiers,
+                filterParams == null ? BundleVersionFilterParams.empty() : filterParams, queryParameters);
+        return bundleVersionEntities.map(bv -> ExtensionMappings.map(bv));
+    }
+
     @Override
     public SortedSet<BundleVersionMetadata> getBundleVersions(final String bundleIdentifier) {
         if (StringUtils.isBlank(bundleIdentifier)) {
@@ -630,6 +735,9 @@ public class StandardExtensionService implements ExtensionService {
         // delete from the metadata db
         final String extensionBundleVersionId = bundleVersion.getVersionMetadata().getId();
         metadataService.deleteBundleVersion(extensionBundleVersionId);
+        afterCommit(() -> searchIndex.applyChange(index -> index.removeBundleVersion(extensionBundleVersionId)));
+        afterCommit(() -> extensionDocsCache.invalidateBundleVersion(extensionBundleVersionId));
+        afterCommit(tagCounts::unload);
 
         // delete content associated with the bundle version in the persistence provider
         final BundleVersionCoordinate versionCoordinate = getVersionCoordinate(bundleVersion);
@@ -651,6 +759,18 @@ public class StandardExtensionService implements ExtensionService {
         return getExtensionMetadata(extensionEntities);
     }
 
+    @Override
+    public ResultPage<ExtensionMetadata> getExtensionMetadata(final Set<String> bucketIdentifiers, final ExtensionFilterParams filterParams,
+                                                              final QueryParameters queryParameters) {
+        if (bucketIdentifiers == null) {
+            throw new IllegalArgumentException("Bucket identifiers cannot be null");
+        }
+
+        // keep the order of the page rather than re-sorting by display name
+        final ResultPage<ExtensionEntity> extensionEntities = metadataService.getExtensions(bucketIdentifiers, filterParams, queryParameters);
+        return extensionEntities.map(e -> ExtensionMappings.mapToMetadata(e, extensionSerializer));
+    }
+
     @Override
     public SortedSet<ExtensionMetadata> getExtensionMetadata(final Set<String> bucketIdentifiers, final ProvidedServiceAPI serviceAPI) {
         if (bucketIdentifiers == null) {
@@ -670,6 +790,89 @@ public class StandardExtensionService implements ExtensionService {
         return getExtensionMetadata(extensionEntities);
     }
 
+    @Override
+    public ExtensionSearchResults searchExtensions(final Set<String> bucketIdentifiers, final String query,
+                                                   final ExtensionFilterParams filterParams, final int offset, final int limit) {
+        if (bucketIdentifiers == null) {
+            throw new IllegalArgumentException("Bucket identifiers cannot be null");
+        }
+
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS_LIMIT);
+        }
+
+        if (!searchIndex.isLoaded()) {
+            loadSearchIndex();
+        }
+
+        final ExtensionSearchResults results = searchIndex.search(bucketIdentifiers, query, filterParams, offset, limit);
+        populateBucketNames(results);
+        return results;
+    }
+
+    // buckets can be renamed after their extensions were indexed, so the names are looked up for each page of results
+    private void populateBucketNames(final ExtensionSearchResults results) {
+        final List<BundleInfo> bundleInfos = results.getResults().stream()
+                .map(r -> r.getExtension().getBundleInfo())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (bundleInfos.isEmpty()) {
+            return;
+        }
+
+        final Set<String> bucketIds = bundleInfos.stream().map(BundleInfo::getBucketId).collect(Collectors.toSet());
+        final Map<String, String> bucketNames = metadataService.getBuckets(bucketIds).stream()
+                .collect(Collectors.toMap(BucketEntity::getId, BucketEntity::getName));
+        bundleInfos.forEach(b -> b.setBucketName(bucketNames.getOrDefault(b.getBucketId(), b.getBucketName())));
+    }
+
+    // counts loaded while the transaction commits may or may not include the new extensions, in which case they are reloaded
+    private void addTagCountsAfterCommit(final Collection<ExtensionEntity> extensionEntities) {
+        final List<Set<String>> extensionTags = extensionEntities.stream().map(ExtensionEntity::getTags).collect(Collectors.toList());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            extensionTags.forEach(tagCounts::add);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            private long generation;
+
+            @Override
+            public void beforeCommit(final boolean readOnly) {
+                generation = tagCounts.getGeneration();
+            }
+
+            @Override
+            public void afterCommit() {
+                tagCounts.add(extensionTags, generation);
+            }
+        });
+    }
+
+    // the search index and tag counts must only reflect committed changes, otherwise a rolled back change would stay in them
+    private void afterCommit(final Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public void evictBucket(final String bucketIdentifier) {
+        afterCommit(() -> searchIndex.applyChange(index -> index.removeBucket(bucketIdentifier)));
+        afterCommit(tagCounts::unload);
+    }
+
     private SortedSet<ExtensionMetadata> getExtensionMetadata(List<ExtensionEntity> extensionEntities) {
         // map to extension metadata and sort by extension name
         final SortedSet<ExtensionMetadata> extensions = new TreeSet<>();
@@ -739,6 +942,27 @@ public class StandardExtensionService implements ExtensionService {
     @Override
     public void writeExtensionDocs(final BundleVersion bundleVersion, final String name, final OutputStream outputStream)
             throws IOException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+
+        final byte[] gzippedDocs = getGzippedExtensionDocs(bundleVersion, name);
+        try (final InputStream docsIn = new GZIPInputStream(new ByteArrayInputStream(gzippedDocs))) {
+            IOUtils.copy(docsIn, outputStream);
+        }
+    }
+
+    @Override
+    public void writeGzippedExtensionDocs(final BundleVersion bundleVersion, final String name, final OutputStream outputStream)
+            throws IOException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+
+        outputStream.write(getGzippedExtensionDocs(bundleVersion, name));
+    }
+
+    private byte[] getGzippedExtensionDocs(final BundleVersion bundleVersion, final String name) throws IOException {
         if (bundleVersion == null) {
             throw new IllegalArgumentException("Bundle version cannot be null");
         }
@@ -751,20 +975,32 @@ public class StandardExtensionService implements ExtensionService {
             throw new IllegalArgumentException("Extension name cannot be null or blank");
         }
 
-        if (outputStream == null) {
-            throw new IllegalArgumentException("Output stream cannot be null");
+        // the docs of an extension never change for a given bundle version, so they are only rendered and compressed
+        // on first request, and clients that do not accept gzip are sent the decompressed copy
+        final String bundleVersionId = bundleVersion.getVersionMetadata().getId();
+        final byte[] cachedDocs = extensionDocsCache.get(bundleVersionId, name);
+        if (cachedDocs != null) {
+            return cachedDocs;
         }
 
-        final ExtensionEntity entity = metadataService.getExtensionByName(bundleVersion.getVersionMetadata().getId(), name);
+        final ExtensionEntity entity = metadataService.getExtensionByName(bundleVersionId, name);
         if (entity == null) {
             LOGGER.warn("The specified extension [{}] does not exist in the specified bundle version [{}].",
-                    new Object[]{name, bundleVersion.getVersionMetadata().getId()});
+                    new Object[]{name, bundleVersionId});
             throw new ResourceNotFoundException("The specified extension does not exist in this registry.");
         }
 
-        final ExtensionMetadata extensionMetadata = ExtensionMappings.mapToMetadata(entity, extensionSerializer);
         final Extension extension = ExtensionMappings.map(entity, extensionSerializer);
-        extensionDocWriter.write(extensionMetadata, extension, outputStream);
+        final ExtensionMetadata extensionMetadata = ExtensionMappings.mapToMetadata(entity, extension);
+
+        final ByteArrayOutputStream gzippedDocs = new ByteArrayOutputStream();
+        try (final OutputStream docsOut = new GZIPOutputStream(gzippedDocs)) {
+            extensionDocWriter.write(extensionMetadata, extension, docsOut);
+        }
+
+        final String bundleId = bundleVersion.getBundle() == null ? null : bundleVersion.getBundle().getIdentifier();
+        extensionDocsCache.put(bundleId, bundleVersionId, name, gzippedDocs.toByteArray());
+        return gzippedDocs.toByteArray();
     }
 
     @Override
@@ -811,9 +1047,12 @@ public class StandardExtensionService implements ExtensionService {
 
     @Override
     public SortedSet<TagCount> getExtensionTags() {
-        final SortedSet<TagCount> tagCounts = new TreeSet<>();
-        metadataService.getAllExtensionTags().forEach(tc -> tagCounts.add(ExtensionMappings.map(tc)));
-        return tagCounts;
+        synchronized (tagCounts) {
+            if (!tagCounts.isLoaded()) {
+                tagCounts.load(metadataService.getAllExtensionTags());
+            }
+            return tagCounts.getTagCounts();
+        }
     }
 
     // ------ Extension Repository Methods -------
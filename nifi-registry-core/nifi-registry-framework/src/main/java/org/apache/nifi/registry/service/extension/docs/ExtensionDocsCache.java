@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service.extension.docs;
+
+import org.apache.nifi.registry.metrics.CacheMetrics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A least-recently-used cache of rendered extension documentation, bounded by the total size of the cached documents.
+ * Documents are kept gzip compressed, so they can be served as is to clients that accept gzip.
+ *
+ * The documentation of an extension never changes for a given bundle version, so entries only have to be evicted when
+ * the bundle version, or the bundle, is deleted.
+ */
+public class ExtensionDocsCache {
+
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private final long maxBytes;
+    private final Map<Key, byte[]> docs = new LinkedHashMap<>(16, 0.75f, true);
+    private final CacheMetrics metrics;
+    private long totalBytes;
+
+    public ExtensionDocsCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public ExtensionDocsCache(final long maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Max bytes must be greater than zero");
+        }
+        this.maxBytes = maxBytes;
+        this.metrics = CacheMetrics.register("extension-docs", this, ExtensionDocsCache::size);
+    }
+
+    /**
+     * @param bundleVersionIdentifier the bundle version identifier
+     * @param extensionName the fully qualified name of the extension
+     * @return the gzip compressed documentation, or null if it is not cached
+     */
+    public synchronized byte[] get(final String bundleVersionIdentifier, final String extensionName) {
+        return metrics.recordGet(docs.get(new Key(null, bundleVersionIdentifier, extensionName)));
+    }
+
+    /**
+     * Caches the gzip compressed documentation, evicting the least recently used documents until the cache is within its bound.
+     * Documents larger than the bound are not cached.
+     */
+    public synchronized void put(final String bundleIdentifier, final String bundleVersionIdentifier, final String extensionName,
+                                 final byte[] gzippedDocs) {
+        if (gzippedDocs.length > maxBytes) {
+            return;
+        }
+
+        final byte[] previous = docs.put(new Key(bundleIdentifier, bundleVersionIdentifier, extensionName), gzippedDocs);
+        if (previous != null) {
+            totalBytes -= previous.length;
+        }
+        totalBytes += gzippedDocs.length;
+
+        final Iterator<byte[]> eldest = docs.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Evicts the documentation of every extension in the given bundle version.
+     */
+    public synchronized void invalidateBundleVersion(final String bundleVersionIdentifier) {
+        invalidate(key -> key.bundleVersionIdentifier.equals(bundleVersionIdentifier));
+    }
+
+    /**
+     * Evicts the documentation of every extension in every version of the given bundle.
+     */
+    public synchronized void invalidateBundle(final String bundleIdentifier) {
+        invalidate(key -> bundleIdentifier.equals(key.bundleIdentifier));
+    }
+
+    public synchronized int size() {
+        return docs.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void invalidate(final Predicate<Key> predicate) {
+        final Iterator<Map.Entry<Key, byte[]>> entries = docs.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<Key, byte[]> entry = entries.next();
+            if (predicate.test(entry.getKey())) {
+                totalBytes -= entry.getValue().length;
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * The bundle identifier is only kept to support invalidating a whole bundle, the bundle version identifier and
+     * extension name identify the documentation on their own.
+     */
+    private static class Key {
+        private final String bundleIdentifier;
+        private final String bundleVersionIdentifier;
+        private final String extensionName;
+
+        private Key(final String bundleIdentifier, final String bundleVersionIdentifier, final String extensionName) {
+            this.bundleIdentifier = bundleIdentifier;
+            this.bundleVersionIdentifier = Objects.requireNonNull(bundleVersionIdentifier);
+            this.extensionName = Objects.requireNonNull(extensionName);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return bundleVersionIdentifier.equals(key.bundleVersionIdentifier)
+                    && extensionName.equals(key.extensionName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bundleVersionIdentifier, extensionName);
+        }
+    }
+}
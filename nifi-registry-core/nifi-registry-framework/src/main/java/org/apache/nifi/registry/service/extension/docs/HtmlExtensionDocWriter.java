@@ -50,10 +50,13 @@ import static org.apache.nifi.registry.service.extension.docs.DocumentationConst
 @Service
 public class HtmlExtensionDocWriter implements ExtensionDocWriter {
 
+    // the factory is only used to create writers, which is safe to do concurrently once it is configured
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
     @Override
     public void write(final ExtensionMetadata extensionMetadata, final Extension extension, final OutputStream outputStream) throws IOException {
         try {
-            final XMLStreamWriter xmlStreamWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, "UTF-8");
+            final XMLStreamWriter xmlStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, "UTF-8");
             xmlStreamWriter.writeDTD("<!DOCTYPE html>");
             xmlStreamWriter.writeStartElement("html");
             xmlStreamWriter.writeAttribute("lang", "en");
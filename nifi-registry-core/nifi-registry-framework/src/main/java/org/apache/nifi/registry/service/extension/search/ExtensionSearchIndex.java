@@ -0,0 +1,500 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service.extension.search;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.nifi.registry.extension.bundle.BundleInfo;
+import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
+import org.apache.nifi.registry.extension.component.ExtensionMetadata;
+import org.apache.nifi.registry.extension.component.ExtensionSearchResult;
+import org.apache.nifi.registry.extension.component.ExtensionSearchResults;
+import org.apache.nifi.registry.extension.component.manifest.Extension;
+import org.apache.nifi.registry.extension.component.manifest.Property;
+import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory inverted index over the extensions in the registry, used for ranked full-text search with facet counts.
+ *
+ * Each extension is indexed under the terms of its name, display name, description, tags, property names and provided
+ * service APIs. A match on a more specific field, such as the display name, weighs more than a match on the description,
+ * and a match on a term that few extensions have weighs more than a match on a common term. All terms of a query must
+ * match, either completely or as a prefix of an indexed term.
+ */
+public class ExtensionSearchIndex {
+
+    static final double DISPLAY_NAME_WEIGHT = 5.0;
+    static final double NAME_WEIGHT = 3.0;
+    static final double TAG_WEIGHT = 3.0;
+    static final double PROVIDED_SERVICE_API_WEIGHT = 2.0;
+    static final double PROPERTY_NAME_WEIGHT = 1.5;
+    static final double DESCRIPTION_WEIGHT = 1.0;
+
+    // a query term that only matches the start of an indexed term, such as while a user is still typing, counts for less
+    static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern CAMEL_CASE_BOUNDARY = Pattern.compile("(?<=\\p{Ll})(?=\\p{Lu})|(?<=\\p{Lu})(?=\\p{Lu}\\p{Ll})");
+
+    private static final Comparator<ScoredExtension> RELEVANCE_ORDER = Comparator
+            .comparingDouble((ScoredExtension s) -> s.score).reversed()
+            .thenComparing(s -> s.extension.metadata.getDisplayName(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(s -> s.extension.id);
+
+    // term -> extension id -> weight of the term in the extension
+    private final NavigableMap<String, Map<String, Double>> postings = new TreeMap<>();
+    private final Map<String, IndexedExtension> extensions = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock readLock = lock.readLock();
+    private final Lock writeLock = lock.writeLock();
+
+    private volatile boolean loaded = false;
+
+    // changes committed while the index is loading, which the pages already read by the load may not reflect
+    private final Object loadLock = new Object();
+    private final List<Consumer<ExtensionSearchIndex>> pendingChanges = new ArrayList<>();
+    private boolean loading = false;
+
+    /**
+     * @return true once the index has been populated with all existing extensions
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Clears the index before it is populated with all existing extensions. Changes applied with
+     * {@link #applyChange(Consumer)} from now on are held until {@link #finishLoad()}.
+     */
+    public void startLoad() {
+        synchronized (loadLock) {
+            clear();
+            pendingChanges.clear();
+            loading = true;
+        }
+    }
+
+    /**
+     * Applies the changes held during the load, in the order they were committed, and marks the index as loaded.
+     */
+    public void finishLoad() {
+        synchronized (loadLock) {
+            pendingChanges.forEach(change -> change.accept(this));
+            pendingChanges.clear();
+            loading = false;
+            loaded = true;
+        }
+    }
+
+    /**
+     * Discards a load that did not complete, so that the next search starts a new one.
+     */
+    public void abortLoad() {
+        synchronized (loadLock) {
+            pendingChanges.clear();
+            loading = false;
+            clear();
+        }
+    }
+
+    /**
+     * Applies a committed change to the index. The change is held until the load finishes if the index is loading,
+     * since the load may already have read past the changed extensions, and ignored if the index has not been loaded,
+     * since the load will read the committed state. Adding an extension replaces any entry the load made for it, so
+     * applying a change the load already read has no further effect.
+     *
+     * @param change the change to apply
+     */
+    public void applyChange(final Consumer<ExtensionSearchIndex> change) {
+        synchronized (loadLock) {
+            if (loading) {
+                pendingChanges.add(change);
+            } else if (loaded) {
+                change.accept(this);
+            }
+        }
+    }
+
+    /**
+     * Adds an extension to the index, replacing any previous entry with the same id.
+     *
+     * @param extensionId the id of the extension
+     * @param bundleVersionId the id of the bundle version containing the extension
+     * @param metadata the metadata of the extension, including the bundle info, which is returned in search results
+     * @param extension the full extension, used to index the property names
+     */
+    public void add(final String extensionId, final String bundleVersionId, final ExtensionMetadata metadata, final Extension extension) {
+        final Map<String, Double> termWeights = new HashMap<>();
+        addTerms(termWeights, metadata.getDisplayName(), DISPLAY_NAME_WEIGHT);
+        addTerms(termWeights, metadata.getName(), NAME_WEIGHT);
+        addTerms(termWeights, metadata.getDescription(), DESCRIPTION_WEIGHT);
+
+        final Set<String> tags = new HashSet<>();
+        if (metadata.getTags() != null) {
+            for (final String tag : metadata.getTags()) {
+                if (!StringUtils.isBlank(tag)) {
+                    tags.add(normalizeTag(tag));
+                    addTerms(termWeights, tag, TAG_WEIGHT);
+                }
+            }
+        }
+
+        if (metadata.getProvidedServiceAPIs() != null) {
+            for (final ProvidedServiceAPI serviceAPI : metadata.getProvidedServiceAPIs()) {
+                addTerms(termWeights, serviceAPI.getClassName(), PROVIDED_SERVICE_API_WEIGHT);
+            }
+        }
+
+        if (extension != null && extension.getProperties() != null) {
+            for (final Property property : extension.getProperties()) {
+                addTerms(termWeights, property.getName(), PROPERTY_NAME_WEIGHT);
+                addTerms(termWeights, property.getDisplayName(), PROPERTY_NAME_WEIGHT);
+            }
+        }
+
+        final IndexedExtension indexedExtension = new IndexedExtension(extensionId, bundleVersionId, metadata, tags, termWeights.keySet());
+
+        writeLock.lock();
+        try {
+            removeExtension(extensionId);
+
+            extensions.put(extensionId, indexedExtension);
+            termWeights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(extensionId, weight));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeBundleVersion(final String bundleVersionId) {
+        remove(e -> bundleVersionId.equals(e.bundleVersionId));
+    }
+
+    public void removeBundle(final String bundleId) {
+        remove(e -> bundleId.equals(e.getBundleInfo().getBundleId()));
+    }
+
+    public void removeBucket(final String bucketId) {
+        remove(e -> bucketId.equals(e.getBundleInfo().getBucketId()));
+    }
+
+    public void clear() {
+        writeLock.lock();
+        try {
+            extensions.clear();
+            postings.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        readLock.lock();
+        try {
+            return extensions.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param bucketIdentifiers the buckets to search within
+     * @param query the text to search for, or blank to match every extension
+     * @param filterParams the optional filter params, tags are OR'd and everything else is AND'd
+     * @param offset the index of the first result to return
+     * @param limit the maximum number of results to return
+     * @return the requested page of results ordered by relevance, along with facet counts over all matching extensions
+     */
+    public ExtensionSearchResults search(final Set<String> bucketIdentifiers, final String query, final ExtensionFilterParams filterParams,
+                                         final int offset, final int limit) {
+        final List<ScoredExtension> matches = new ArrayList<>();
+        final Map<String, Integer> bundleTypeCounts = new TreeMap<>();
+        final Map<String, Integer> extensionTypeCounts = new TreeMap<>();
+        final Map<String, Integer> tagCounts = new TreeMap<>();
+
+        readLock.lock();
+        try {
+            final Map<String, Double> scores = score(query);
+            for (final Map.Entry<String, Double> entry : scores.entrySet()) {
+                final IndexedExtension extension = extensions.get(entry.getKey());
+                if (extension == null || !bucketIdentifiers.contains(extension.getBundleInfo().getBucketId()) || !matches(extension, filterParams)) {
+                    continue;
+                }
+
+                matches.add(new ScoredExtension(extension, entry.getValue()));
+
+                final BundleInfo bundleInfo = extension.getBundleInfo();
+                if (bundleInfo.getBundleType() != null) {
+                    bundleTypeCounts.merge(bundleInfo.getBundleType().name(), 1, Integer::sum);
+                }
+                if (extension.metadata.getType() != null) {
+                    extensionTypeCounts.merge(extension.metadata.getType().name(), 1, Integer::sum);
+                }
+                extension.tags.forEach(tag -> tagCounts.merge(tag, 1, Integer::sum));
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        matches.sort(RELEVANCE_ORDER);
+
+        final List<ExtensionSearchResult> page = new ArrayList<>();
+        for (int i = offset; i < matches.size() && i < offset + limit; i++) {
+            final ScoredExtension match = matches.get(i);
+            final ExtensionSearchResult result = new ExtensionSearchResult();
+            result.setExtension(copy(match.extension.metadata));
+            result.setScore(match.score);
+            page.add(result);
+        }
+
+        final ExtensionSearchResults results = new ExtensionSearchResults();
+        results.setQuery(query);
+        results.setFilterParams(filterParams);
+        results.setOffset(offset);
+        results.setLimit(limit);
+        results.setTotalResults(matches.size());
+        results.setResults(page);
+        results.setBundleTypeCounts(bundleTypeCounts);
+        results.setExtensionTypeCounts(extensionTypeCounts);
+        results.setTagCounts(tagCounts);
+        return results;
+    }
+
+    /**
+     * @return the score of every extension matching all terms of the query, or every extension with a score of zero if the query is blank
+     */
+    private Map<String, Double> score(final String query) {
+        final Collection<String> queryTerms = tokenize(query, false);
+        if (queryTerms.isEmpty()) {
+            final Map<String, Double> scores = new HashMap<>();
+            extensions.keySet().forEach(id -> scores.put(id, 0.0));
+            return scores;
+        }
+
+        Map<String, Double> scores = null;
+        for (final String queryTerm : queryTerms) {
+            final Map<String, Double> termScores = new HashMap<>();
+
+            final Map<String, Double> exactPostings = postings.get(queryTerm);
+            if (exactPostings != null) {
+                final double idf = idf(exactPostings.size());
+                exactPostings.forEach((id, weight) -> termScores.put(id, weight * idf));
+            }
+
+            final Map<String, Map<String, Double>> prefixPostings = postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false);
+            for (final Map<String, Double> termPostings : prefixPostings.values()) {
+                final double idf = idf(termPostings.size());
+                termPostings.forEach((id, weight) -> termScores.merge(id, weight * idf * PREFIX_MATCH_FACTOR, Math::max));
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                // every term of the query has to match
+                scores.keySet().retainAll(termScores.keySet());
+                for (final Map.Entry<String, Double> entry : scores.entrySet()) {
+                    entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                }
+            }
+
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+
+        return scores;
+    }
+
+    private double idf(final int documentFrequency) {
+        return Math.log(1.0 + ((double) extensions.size() / documentFrequency));
+    }
+
+    private boolean matches(final IndexedExtension extension, final ExtensionFilterParams filterParams) {
+        if (filterParams == null) {
+            return true;
+        }
+
+        if (filterParams.getBundleType() != null && filterParams.getBundleType() != extension.getBundleInfo().getBundleType()) {
+            return false;
+        }
+
+        if (filterParams.getExtensionType() != null && filterParams.getExtensionType() != extension.metadata.getType()) {
+            return false;
+        }
+
+        final Set<String> tags = filterParams.getTags();
+        if (tags != null && !tags.isEmpty()) {
+            return tags.stream().anyMatch(tag -> extension.tags.contains(normalizeTag(tag)));
+        }
+
+        return true;
+    }
+
+    private void remove(final Predicate<IndexedExtension> predicate) {
+        writeLock.lock();
+        try {
+            final List<String> extensionIds = new ArrayList<>();
+            extensions.values().stream().filter(predicate).forEach(e -> extensionIds.add(e.id));
+            extensionIds.forEach(this::removeExtension);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // must be called while holding the write lock
+    private void removeExtension(final String extensionId) {
+        final IndexedExtension existing = extensions.remove(extensionId);
+        if (existing == null) {
+            return;
+        }
+
+        for (final String term : existing.terms) {
+            final Map<String, Double> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(extensionId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(final Map<String, Double> termWeights, final String text, final double weight) {
+        for (final String term : tokenize(text, true)) {
+            termWeights.merge(term, weight, Double::sum);
+        }
+    }
+
+    /**
+     * Splits text into lower case terms on any character that is not a letter or digit, so that a class name such as
+     * org.apache.nifi.processors.standard.PutFile produces the terms org, apache, nifi, processors, standard and putfile.
+     * When indexing, camel case words are additionally split into their parts, producing put and file in the example above.
+     */
+    static Collection<String> tokenize(final String text, final boolean splitCamelCase) {
+        if (StringUtils.isBlank(text)) {
+            return Collections.emptyList();
+        }
+
+        final Set<String> terms = new LinkedHashSet<>();
+        for (final String word : TERM_SEPARATOR.split(text)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            terms.add(word.toLowerCase(Locale.ROOT));
+
+            if (splitCamelCase) {
+                final String[] parts = CAMEL_CASE_BOUNDARY.split(word);
+                if (parts.length > 1) {
+                    for (final String part : parts) {
+                        terms.add(part.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return terms;
+    }
+
+    // tags are matched the same way they are stored in the metadata database
+    private static String normalizeTag(final String tag) {
+        return tag.trim().toLowerCase();
+    }
+
+    private static ExtensionMetadata copy(final ExtensionMetadata metadata) {
+        final ExtensionMetadata copy = new ExtensionMetadata();
+        copy.setName(metadata.getName());
+        copy.setDisplayName(metadata.getDisplayName());
+        copy.setType(metadata.getType());
+        copy.setDescription(metadata.getDescription());
+        copy.setDeprecationNotice(metadata.getDeprecationNotice());
+        copy.setTags(metadata.getTags());
+        copy.setRestricted(metadata.getRestricted());
+        copy.setProvidedServiceAPIs(metadata.getProvidedServiceAPIs());
+        copy.setBundleInfo(copy(metadata.getBundleInfo()));
+        copy.setHasAdditionalDetails(metadata.getHasAdditionalDetails());
+        return copy;
+    }
+
+    // results get the current bucket name filled in by the caller, so they must not share the bundle info of the index
+    private static BundleInfo copy(final BundleInfo bundleInfo) {
+        if (bundleInfo == null) {
+            return null;
+        }
+
+        final BundleInfo copy = new BundleInfo();
+        copy.setBucketId(bundleInfo.getBucketId());
+        copy.setBucketName(bundleInfo.getBucketName());
+        copy.setBundleId(bundleInfo.getBundleId());
+        copy.setBundleType(bundleInfo.getBundleType());
+        copy.setGroupId(bundleInfo.getGroupId());
+        copy.setArtifactId(bundleInfo.getArtifactId());
+        copy.setVersion(bundleInfo.getVersion());
+        copy.setSystemApiVersion(bundleInfo.getSystemApiVersion());
+        return copy;
+    }
+
+    private static class IndexedExtension {
+        private final String id;
+        private final String bundleVersionId;
+        private final ExtensionMetadata metadata;
+        private final Set<String> tags;
+        private final Set<String> terms;
+
+        private IndexedExtension(final String id, final String bundleVersionId, final ExtensionMetadata metadata,
+                                 final Set<String> tags, final Set<String> terms) {
+            this.id = id;
+            this.bundleVersionId = bundleVersionId;
+            this.metadata = metadata;
+            this.tags = tags;
+            this.terms = terms;
+        }
+
+        private BundleInfo getBundleInfo() {
+            return metadata.getBundleInfo();
+        }
+    }
+
+    private static class ScoredExtension {
+        private final IndexedExtension extension;
+        private final double score;
+
+        private ScoredExtension(final IndexedExtension extension, final double score) {
+            this.extension = extension;
+            this.score = score;
+        }
+    }
+}
@@ -168,13 +168,8 @@ public class ExtensionMappings {
     // -- Map Extension
 
     public static ExtensionEntity map(final Extension extension, final Serializer<Extension> extensionSerializer) {
-        final String extensionContent;
-        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            extensionSerializer.serialize(extension, out);
-            extensionContent = new String(out.toByteArray(), StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            throw new SerializationException("Unable to serialize extension", e);
-        }
+        final String extensionContent = serialize(extension, extensionSerializer);
+        final String extensionSummary = serialize(summarize(extension), extensionSerializer);
 
         final ExtensionEntity entity = new ExtensionEntity();
         entity.setName(extension.getName());
@@ -195,6 +190,7 @@ public class ExtensionMappings {
 
         entity.setExtensionType(extension.getType());
         entity.setContent(extensionContent);
+        entity.setSummary(extensionSummary);
 
         if (extension.getTags() != null) {
             entity.setTags(extension.getTags().stream().collect(Collectors.toSet()));
@@ -222,7 +218,44 @@ public class ExtensionMappings {
     }
 
     public static Extension map(final ExtensionEntity entity, final Serializer<Extension> extensionSerializer) {
-        final byte[] content = entity.getContent().getBytes(StandardCharsets.UTF_8);
+        return deserialize(entity.getContent(), extensionSerializer);
+    }
+
+    /**
+     * Creates the serialized summary of an extension from its serialized content, for extensions that were stored
+     * before summaries were.
+     */
+    public static String mapToSummary(final String content, final Serializer<Extension> extensionSerializer) {
+        return serialize(summarize(deserialize(content, extensionSerializer)), extensionSerializer);
+    }
+
+    /**
+     * Creates a copy of the given extension containing only the fields needed for ExtensionMetadata, which is stored
+     * alongside the full content so that listing extensions does not require reading and deserializing the full content.
+     */
+    private static Extension summarize(final Extension extension) {
+        final Extension summary = new Extension();
+        summary.setName(extension.getName());
+        summary.setType(extension.getType());
+        summary.setDescription(extension.getDescription());
+        summary.setDeprecationNotice(extension.getDeprecationNotice());
+        summary.setRestricted(extension.getRestricted());
+        summary.setProvidedServiceAPIs(extension.getProvidedServiceAPIs());
+        summary.setTags(extension.getTags());
+        return summary;
+    }
+
+    private static String serialize(final Extension extension, final Serializer<Extension> extensionSerializer) {
+        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            extensionSerializer.serialize(extension, out);
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SerializationException("Unable to serialize extension", e);
+        }
+    }
+
+    private static Extension deserialize(final String serializedExtension, final Serializer<Extension> extensionSerializer) {
+        final byte[] content = serializedExtension.getBytes(StandardCharsets.UTF_8);
         try (final ByteArrayInputStream input = new ByteArrayInputStream(content)) {
             return extensionSerializer.deserialize(input);
         } catch (IOException e) {
@@ -233,8 +266,16 @@ public class ExtensionMappings {
     // -- Map ExtensionMetadata
 
     public static ExtensionMetadata mapToMetadata(final ExtensionEntity entity, final Serializer<Extension> extensionSerializer) {
-        final Extension extension = map(entity, extensionSerializer);
+        // the summary is much smaller than the content and has every field the metadata needs
+        final Extension extension = deserialize(entity.getSummary(), extensionSerializer);
+        return mapToMetadata(entity, extension);
+    }
 
+    /**
+     * Maps the given entity to ExtensionMetadata using an extension that was already deserialized from the entity, so
+     * callers that need both the metadata and the full extension only deserialize once.
+     */
+    public static ExtensionMetadata mapToMetadata(final ExtensionEntity entity, final Extension extension) {
         final BundleInfo bundleInfo = new BundleInfo();
         bundleInfo.setBucketId(entity.getBucketId());
         bundleInfo.setBucketName(entity.getBucketName());
@@ -79,17 +79,17 @@ public class FlowMappings {
     }
 
     public static VersionedFlowSnapshotMetadata map(final BucketEntity bucketEntity, final FlowSnapshotEntity flowSnapshotEntity) {
+        return map(bucketEntity == null ? null : bucketEntity.getId(), flowSnapshotEntity);
+    }
+
+    public static VersionedFlowSnapshotMetadata map(final String bucketIdentifier, final FlowSnapshotEntity flowSnapshotEntity) {
         final VersionedFlowSnapshotMetadata metadata = new VersionedFlowSnapshotMetadata();
         metadata.setFlowIdentifier(flowSnapshotEntity.getFlowId());
         metadata.setVersion(flowSnapshotEntity.getVersion());
         metadata.setComments(flowSnapshotEntity.getComments());
         metadata.setTimestamp(flowSnapshotEntity.getCreated().getTime());
         metadata.setAuthor(flowSnapshotEntity.getCreatedBy());
-
-        if (bucketEntity != null) {
-            metadata.setBucketIdentifier(bucketEntity.getId());
-        }
-
+        metadata.setBucketIdentifier(bucketIdentifier);
         return metadata;
     }
 
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.tracing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A span-style trace of a single registry operation that accumulates the time spent in each phase of the operation on
+ * the current thread, so that a slow operation can be attributed to lock contention, the metadata database,
+ * serialization or the persistence providers.
+ *
+ * Traces do not nest. Only the outermost operation on a thread is traced and phases recorded while no operation is
+ * being traced are ignored.
+ */
+public final class OperationTrace {
+
+    public enum Phase {
+        LOCK_WAIT("lock wait"),
+        METADATA("metadata"),
+        SERIALIZATION("serialization"),
+        PROVIDER("provider");
+
+        private final String description;
+
+        Phase(final String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private static final ThreadLocal<OperationTrace> CURRENT = new ThreadLocal<>();
+
+    private final String operation;
+    private final long startNanos;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long elapsedNanos = -1;
+
+    private OperationTrace(final String operation) {
+        this.operation = operation;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts tracing the given operation on the current thread.
+     *
+     * @param operation the name of the operation
+     * @return the trace, or null if an operation is already being traced on this thread
+     */
+    public static OperationTrace begin(final String operation) {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+
+        final OperationTrace trace = new OperationTrace(operation);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Adds the given duration to a phase of the operation being traced on the current thread, if any.
+     */
+    public static void record(final Phase phase, final long nanos) {
+        final OperationTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    /**
+     * Adds the time since the given {@link System#nanoTime()} to a phase of the operation being traced, if any.
+     */
+    public static void recordSince(final Phase phase, final long startNanos) {
+        record(phase, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Stops the trace and detaches it from the current thread.
+     *
+     * @return the duration of the operation in nanoseconds
+     */
+    public long end() {
+        CURRENT.remove();
+        elapsedNanos = System.nanoTime() - startNanos;
+        return elapsedNanos;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the time recorded for the given phase, in nanoseconds
+     */
+    public long getPhaseNanos(final Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return the operation and the milliseconds spent in each phase, e.g.
+     *         "createFlowSnapshot took 1520 ms [lock wait: 1200 ms, metadata: 35 ms, serialization: 20 ms, provider: 250 ms, other: 15 ms]"
+     */
+    @Override
+    public String toString() {
+        final long totalNanos = elapsedNanos < 0 ? System.nanoTime() - startNanos : elapsedNanos;
+
+        final StringBuilder builder = new StringBuilder(operation)
+                .append(" took ").append(TimeUnit.NANOSECONDS.toMillis(totalNanos)).append(" ms [");
+
+        long otherNanos = totalNanos;
+        for (final Phase phase : Phase.values()) {
+            final long nanos = phaseNanos[phase.ordinal()];
+            otherNanos -= nanos;
+            builder.append(phase.getDescription()).append(": ").append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms, ");
+        }
+
+        return builder.append("other: ").append(TimeUnit.NANOSECONDS.toMillis(Math.max(otherNanos, 0))).append(" ms]").toString();
+    }
+
+}
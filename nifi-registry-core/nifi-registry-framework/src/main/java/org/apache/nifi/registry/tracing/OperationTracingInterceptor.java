@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traces each invocation, logging the per-phase timings of every operation at debug level, and of operations that
+ * take longer than the slow operation threshold at warn level.
+ */
+public class OperationTracingInterceptor implements MethodInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationTracingInterceptor.class);
+
+    private final long slowOperationThresholdNanos;
+
+    /**
+     * @param slowOperationThresholdMillis the duration above which operations are logged as slow, or 0 to not log
+     *                                     slow operations
+     */
+    public OperationTracingInterceptor(final long slowOperationThresholdMillis) {
+        this.slowOperationThresholdNanos = slowOperationThresholdMillis > 0
+                ? TimeUnit.MILLISECONDS.toNanos(slowOperationThresholdMillis)
+                : Long.MAX_VALUE;
+    }
+
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        final OperationTrace trace = OperationTrace.begin(invocation.getMethod().getName());
+        if (trace == null) {
+            return invocation.proceed();
+        }
+
+        try {
+            return invocation.proceed();
+        } finally {
+            final long elapsedNanos = trace.end();
+            if (elapsedNanos > slowOperationThresholdNanos) {
+                LOGGER.warn("Slow operation: {}", trace);
+            } else if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Operation: {}", trace);
+            }
+        }
+    }
+
+}
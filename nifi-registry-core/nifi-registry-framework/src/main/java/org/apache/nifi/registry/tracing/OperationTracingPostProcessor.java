@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.tracing;
+
+import org.apache.nifi.registry.properties.NiFiRegistryProperties;
+import org.apache.nifi.registry.service.RegistryService;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+/**
+ * Traces the operations of the {@link RegistryService}, except for those that hand their results to the caller while
+ * they run, since the time those take depends on how fast the client reads the response.
+ *
+ * The advice is placed before the existing advisors so that the trace also covers beginning and committing the
+ * transaction.
+ */
+@Component
+public class OperationTracingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    static final StaticMethodMatcher TRACED_METHODS = new StaticMethodMatcher() {
+        @Override
+        public boolean matches(final Method method, final Class<?> targetClass) {
+            for (final Class<?> parameterType : method.getParameterTypes()) {
+                if (Consumer.class.isAssignableFrom(parameterType) || OutputStream.class.isAssignableFrom(parameterType)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    };
+
+    public OperationTracingPostProcessor(final ObjectProvider<NiFiRegistryProperties> properties) {
+        final NiFiRegistryProperties registryProperties = properties.getIfAvailable();
+        final long thresholdMillis = registryProperties == null
+                ? NiFiRegistryProperties.DEFAULT_TRACE_SLOW_OPERATION_THRESHOLD_MS
+                : registryProperties.getTraceSlowOperationThresholdMillis();
+
+        this.advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(RegistryService.class::isAssignableFrom, TRACED_METHODS),
+                new OperationTracingInterceptor(thresholdMillis));
+        setBeforeExistingAdvisors(true);
+    }
+
+}
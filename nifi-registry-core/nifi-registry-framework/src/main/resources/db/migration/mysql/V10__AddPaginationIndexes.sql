@@ -0,0 +1,31 @@
+-- Licensed to the Apache Software Foundation (ASF) under one or more
+-- contributor license agreements.  See the NOTICE file distributed with
+-- this work for additional information regarding copyright ownership.
+-- The ASF licenses this file to You under the Apache License, Version 2.0
+-- (the "License"); you may not use this file except in compliance with
+-- the License.  You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+-- Indexes on the sort keys of the paged list queries, so a page can be read by seeking to the key of the previous page
+-- and reading rows in order until the page is full, rather than sorting every matching row for each page.
+--
+-- InnoDB appends the primary key to every secondary index, so the unique index on BUCKET(NAME) already orders buckets by
+-- (NAME, ID). BUCKET_ITEM(NAME) is too long to index in full, and a prefix index cannot provide the order, so items
+-- sorted by name are still sorted for each page on MySQL.
+
+CREATE INDEX IDX__BUCKET_CREATED_ID ON BUCKET (CREATED, ID);
+
+CREATE INDEX IDX__BUCKET_ITEM_CREATED_ID ON BUCKET_ITEM (CREATED, ID);
+CREATE INDEX IDX__BUCKET_ITEM_MODIFIED_ID ON BUCKET_ITEM (MODIFIED, ID);
+
+CREATE INDEX IDX__BUNDLE_GROUP_ARTIFACT_ID ON BUNDLE (GROUP_ID, ARTIFACT_ID, ID);
+
+CREATE INDEX IDX__EXTENSION_NAME_ID ON EXTENSION (NAME, ID);
+CREATE INDEX IDX__EXTENSION_DISPLAY_NAME_ID ON EXTENSION (DISPLAY_NAME, ID);
@@ -0,0 +1,25 @@
+-- Licensed to the Apache Software Foundation (ASF) under one or more
+-- contributor license agreements.  See the NOTICE file distributed with
+-- this work for additional information regarding copyright ownership.
+-- The ASF licenses this file to You under the Apache License, Version 2.0
+-- (the "License"); you may not use this file except in compliance with
+-- the License.  You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+-- Lookups by FLOW_SNAPSHOT(FLOW_ID, VERSION), BUNDLE(BUCKET_ID, GROUP_ID, ARTIFACT_ID), BUNDLE_VERSION(BUNDLE_ID, VERSION)
+-- and EXTENSION(BUNDLE_VERSION_ID, NAME) are already served by their primary key and unique constraints, and listing the
+-- items of a bucket is served by the index InnoDB creates for FK__BUCKET_ITEM_BUCKET_ID.
+-- The indexes below cover the remaining hot queries, whose leading column is not the leading column of an existing key.
+
+-- Filtering extensions by tag, and counting extensions per tag
+CREATE INDEX IDX__EXTENSION_TAG_TAG ON EXTENSION_TAG (TAG, EXTENSION_ID);
+
+-- Finding the extensions that implement a given service API
+CREATE INDEX IDX__EXTENSION_PROVIDED_SERVICE_API_CLASS_GAV ON EXTENSION_PROVIDED_SERVICE_API (CLASS_NAME, GROUP_ID, ARTIFACT_ID, VERSION);
@@ -35,15 +35,21 @@ import org.apache.nifi.registry.extension.bundle.BundleVersionFilterParams;
 import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
 import org.apache.nifi.registry.extension.component.manifest.ExtensionType;
 import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
+import org.apache.nifi.registry.params.SortOrder;
 import org.apache.nifi.registry.service.MetadataService;
+import org.apache.nifi.registry.service.QueryParameters;
+import org.apache.nifi.registry.service.ResultPage;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -163,6 +169,56 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         assertEquals(6, buckets.size());
     }
 
+    @Test
+    public void testGetBucketsPagedWithDuplicateNames() {
+        final List<BucketEntity> buckets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final BucketEntity bucket = new BucketEntity();
+            bucket.setId(UUID.randomUUID().toString());
+            bucket.setName("Paged Bucket");
+            bucket.setCreated(new Date());
+            buckets.add(bucket);
+        }
+        metadataService.createBuckets(buckets);
+
+        final Set<String> bucketIds = new HashSet<>();
+        buckets.forEach(b -> bucketIds.add(b.getId()));
+
+        // every bucket has the same name so pages can only be told apart by the id in the cursor
+        final List<String> pagedIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            final QueryParameters queryParameters = new QueryParameters.Builder().numRows(2).after(cursor).build();
+            final ResultPage<BucketEntity> page = metadataService.getBuckets(bucketIds, queryParameters);
+            assertTrue(page.getItems().size() <= 2);
+            page.getItems().forEach(b -> pagedIds.add(b.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(5, pagedIds.size());
+        assertEquals(bucketIds, new HashSet<>(pagedIds));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetBucketsPagedWithUnknownSortField() {
+        final QueryParameters queryParameters = new QueryParameters.Builder().numRows(2).addSort("description", SortOrder.ASC).build();
+        metadataService.getBuckets(new HashSet<>(Arrays.asList("1", "2")), queryParameters);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetBucketsPagedWithCursorFromDifferentSort() {
+        final QueryParameters firstPage = new QueryParameters.Builder().numRows(1).build();
+        final ResultPage<BucketEntity> page = metadataService.getBuckets(new HashSet<>(Arrays.asList("1", "2")), firstPage);
+        assertNotNull(page.getNextCursor());
+
+        final QueryParameters secondPage = new QueryParameters.Builder()
+                .numRows(1)
+                .addSort("created", SortOrder.DESC)
+                .after(page.getNextCursor())
+                .build();
+        metadataService.getBuckets(new HashSet<>(Arrays.asList("1", "2")), secondPage);
+    }
+
     //----------------- BucketItems ---------------------------------
 
     @Test
@@ -186,6 +242,22 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         items.stream().forEach(i -> assertNotNull(i.getBucketName()));
     }
 
+    @Test
+    public void testGetBucketItemsPagedByName() {
+        final List<BucketItemEntity> allItems = metadataService.getBucketItems(new HashSet<>(Arrays.asList("1", "2")));
+
+        final QueryParameters firstPage = new QueryParameters.Builder().numRows(2).build();
+        final ResultPage<BucketItemEntity> page1 = metadataService.getBucketItems(new HashSet<>(Arrays.asList("1", "2")), firstPage);
+        assertEquals(2, page1.getItems().size());
+        assertTrue(page1.hasNext());
+        assertTrue(page1.getItems().get(0).getName().compareTo(page1.getItems().get(1).getName()) <= 0);
+
+        final QueryParameters secondPage = new QueryParameters.Builder().numRows(2).after(page1.getNextCursor()).build();
+        final ResultPage<BucketItemEntity> page2 = metadataService.getBucketItems(new HashSet<>(Arrays.asList("1", "2")), secondPage);
+        assertEquals(allItems.size() - 2, page2.getItems().size());
+        assertFalse(page2.hasNext());
+    }
+
     @Test
     public void testGetItemsWithCounts() {
         final List<BucketItemEntity> items = metadataService.getBucketItems(new HashSet<>(Arrays.asList("1", "2")));
@@ -222,6 +294,34 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         items.stream().forEach(i -> assertNotNull(i.getBucketName()));
     }
 
+    @Test
+    public void testGetBucketItemsInPagesWithCounts() {
+        final Set<String> bucketIds = new HashSet<>(Arrays.asList("1", "2", "3"));
+        final List<BucketItemEntity> items = new ArrayList<>();
+        String cursor = null;
+        do {
+            final QueryParameters queryParameters = new QueryParameters.Builder().numRows(2).after(cursor).build();
+            final ResultPage<BucketItemEntity> page = metadataService.getBucketItems(bucketIds, queryParameters);
+            items.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // same items as the list based retrieval
+        final List<BucketItemEntity> expectedItems = metadataService.getBucketItems(bucketIds);
+        assertEquals(expectedItems.size(), items.size());
+        expectedItems.forEach(e -> assertTrue(items.stream().anyMatch(i -> i.getId().equals(e.getId()))));
+
+        final FlowEntity flowEntity = (FlowEntity) items.stream().filter(i -> i.getId().equals("1")).findFirst().orElse(null);
+        assertNotNull(flowEntity);
+        assertEquals(3, flowEntity.getSnapshotCount());
+
+        final BundleEntity bundleEntity = (BundleEntity) items.stream().filter(i -> i.getId().equals("eb1")).findFirst().orElse(null);
+        assertNotNull(bundleEntity);
+        assertEquals(1, bundleEntity.getVersionCount());
+
+        items.forEach(i -> assertNotNull(i.getBucketName()));
+    }
+
     //----------------- Flows ---------------------------------
 
     @Test
@@ -264,6 +364,53 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         assertEquals(flow.getType(), createdFlow.getType());
     }
 
+    @Test
+    public void testCreateBucketsFlowsAndSnapshotsInBatches() {
+        final List<BucketEntity> buckets = new ArrayList<>();
+        final List<FlowEntity> flows = new ArrayList<>();
+        final List<FlowSnapshotEntity> snapshots = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            final BucketEntity bucket = new BucketEntity();
+            bucket.setId(UUID.randomUUID().toString());
+            bucket.setName("Batch Bucket " + i);
+            bucket.setCreated(new Date());
+            buckets.add(bucket);
+
+            final FlowEntity flow = new FlowEntity();
+            flow.setId(UUID.randomUUID().toString());
+            flow.setBucketId(bucket.getId());
+            flow.setName("Batch Flow " + i);
+            flow.setCreated(new Date());
+            flow.setModified(new Date());
+            flow.setType(BucketItemEntityType.FLOW);
+            flows.add(flow);
+
+            for (int version = 1; version <= DatabaseMetadataService.BATCH_SIZE + 1; version++) {
+                final FlowSnapshotEntity snapshot = new FlowSnapshotEntity();
+                snapshot.setFlowId(flow.getId());
+                snapshot.setVersion(version);
+                snapshot.setCreated(new Date());
+                snapshot.setCreatedBy("user1");
+                snapshots.add(snapshot);
+            }
+        }
+
+        metadataService.createBuckets(buckets);
+        metadataService.createFlows(flows);
+        metadataService.createFlowSnapshots(snapshots);
+
+        for (final FlowEntity flow : flows) {
+            final BucketEntity createdBucket = metadataService.getBucketById(flow.getBucketId());
+            assertNotNull(createdBucket);
+
+            final FlowEntity createdFlow = metadataService.getFlowByIdWithSnapshotCounts(flow.getId());
+            assertNotNull(createdFlow);
+            assertEquals(flow.getName(), createdFlow.getName());
+            assertEquals(DatabaseMetadataService.BATCH_SIZE + 1, createdFlow.getSnapshotCount());
+        }
+    }
+
     @Test
     public void testGetFlowByIdWithSnapshotCount() {
        final FlowEntity flowEntity = metadataService.getFlowByIdWithSnapshotCounts("1");
@@ -347,6 +494,61 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         assertNull(entity);
     }
 
+    @Test
+    public void testGetSnapshotsPaged() {
+        final FlowEntity flow = new FlowEntity();
+        flow.setId(UUID.randomUUID().toString());
+        flow.setBucketId("1");
+        flow.setName("Paged Flow");
+        flow.setCreated(new Date());
+        flow.setModified(new Date());
+        flow.setType(BucketItemEntityType.FLOW);
+        metadataService.createFlow(flow);
+
+        final int numVersions = 250;
+        final List<FlowSnapshotEntity> snapshots = new ArrayList<>();
+        for (int version = 1; version <= numVersions; version++) {
+            final FlowSnapshotEntity snapshot = new FlowSnapshotEntity();
+            snapshot.setFlowId(flow.getId());
+            snapshot.setVersion(version);
+            snapshot.setCreated(new Date());
+            snapshot.setCreatedBy("user1");
+            snapshots.add(snapshot);
+        }
+        metadataService.createFlowSnapshots(snapshots);
+
+        // newest to oldest by default
+        int expectedVersion = numVersions;
+        int numPages = 0;
+        String cursor = null;
+        do {
+            final QueryParameters queryParameters = new QueryParameters.Builder().numRows(100).after(cursor).build();
+            final ResultPage<FlowSnapshotEntity> page = metadataService.getSnapshots(flow.getId(), queryParameters);
+            for (final FlowSnapshotEntity snapshot : page.getItems()) {
+                assertEquals(expectedVersion--, snapshot.getVersion().intValue());
+            }
+            cursor = page.getNextCursor();
+            numPages++;
+        } while (cursor != null);
+
+        assertEquals(0, expectedVersion);
+        assertEquals(3, numPages);
+
+        // oldest to newest when sorted ascending
+        final QueryParameters ascending = new QueryParameters.Builder().numRows(100).addSort("version", SortOrder.ASC).build();
+        final ResultPage<FlowSnapshotEntity> firstPage = metadataService.getSnapshots(flow.getId(), ascending);
+        assertEquals(100, firstPage.getItems().size());
+        assertEquals(1, firstPage.getItems().get(0).getVersion().intValue());
+
+        final QueryParameters ascendingNext = new QueryParameters.Builder()
+                .numRows(100)
+                .addSort("version", SortOrder.ASC)
+                .after(firstPage.getNextCursor())
+                .build();
+        final ResultPage<FlowSnapshotEntity> secondPage = metadataService.getSnapshots(flow.getId(), ascendingNext);
+        assertEquals(101, secondPage.getItems().get(0).getVersion().intValue());
+    }
+
     @Test
     public void testCreateFlowSnapshot() {
         final FlowSnapshotEntity flowSnapshot = new FlowSnapshotEntity();
@@ -381,6 +583,51 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         assertNull(latest);
     }
 
+    @Test
+    public void testGetLatestSnapshots() {
+        final Set<String> bucketIds = new HashSet<>(Arrays.asList("1", "2"));
+        final Set<String> flowIds = new HashSet<>(Arrays.asList("1", "2", "3", "DOES-NOT-EXIST"));
+
+        final Map<String, List<FlowSnapshotEntity>> latest = metadataService.getLatestSnapshots(bucketIds, flowIds);
+        assertEquals(1, latest.size());
+
+        final List<FlowSnapshotEntity> bucketOneSnapshots = latest.get("1");
+        assertNotNull(bucketOneSnapshots);
+        assertEquals(1, bucketOneSnapshots.size());
+        assertEquals("1", bucketOneSnapshots.get(0).getFlowId());
+        assertEquals(3, bucketOneSnapshots.get(0).getVersion().intValue());
+        assertEquals("This is flow 1 snapshot 3", bucketOneSnapshots.get(0).getComments());
+    }
+
+    @Test
+    public void testGetLatestSnapshotsWithMoreFlowsThanBatchSize() {
+        final Set<String> flowIds = new HashSet<>();
+        for (int i = 0; i < DatabaseMetadataService.BATCH_SIZE * 2; i++) {
+            flowIds.add(UUID.randomUUID().toString());
+        }
+        flowIds.add("1");
+
+        final Map<String, List<FlowSnapshotEntity>> latest = metadataService.getLatestSnapshots(Collections.singleton("1"), flowIds);
+        assertEquals(1, latest.size());
+        assertEquals(1, latest.get("1").size());
+        assertEquals("1", latest.get("1").get(0).getFlowId());
+        assertEquals(3, latest.get("1").get(0).getVersion().intValue());
+    }
+
+    @Test
+    public void testGetLatestSnapshotsForBucket() {
+        final Map<String, List<FlowSnapshotEntity>> latest = metadataService.getLatestSnapshots(Collections.singleton("1"), null);
+        assertEquals(1, latest.size());
+        assertEquals(1, latest.get("1").size());
+        assertEquals(3, latest.get("1").get(0).getVersion().intValue());
+    }
+
+    @Test
+    public void testGetLatestSnapshotsOutsideOfBuckets() {
+        final Map<String, List<FlowSnapshotEntity>> latest = metadataService.getLatestSnapshots(Collections.singleton("2"), Collections.singleton("1"));
+        assertTrue(latest.isEmpty());
+    }
+
     @Test
     public void testGetFlowSnapshots() {
         final List<FlowSnapshotEntity> flowSnapshots = metadataService.getSnapshots( "1");
@@ -406,6 +653,41 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         assertNull(deletedEntity);
     }
 
+    @Test
+    public void testCreateAndGetFlowSnapshotGroupHashes() {
+        final Map<String, String> groupHashes = new HashMap<>();
+        groupHashes.put("group1", "hash1");
+        groupHashes.put("group2", "hash2");
+        metadataService.createFlowSnapshotGroupHashes("1", 1, groupHashes);
+
+        assertEquals(groupHashes, metadataService.getFlowSnapshotGroupHashes("1", 1));
+        assertEquals("hash1", metadataService.getFlowSnapshotGroupHash("1", 1, "group1"));
+        assertEquals("hash2", metadataService.getFlowSnapshotGroupHash("1", 1, "group2"));
+    }
+
+    @Test
+    public void testGetFlowSnapshotGroupHashesWhenNotStored() {
+        metadataService.createFlowSnapshotGroupHashes("1", 1, Collections.singletonMap("group1", "hash1"));
+
+        // a group that is not in the snapshot
+        assertNull(metadataService.getFlowSnapshotGroupHash("1", 1, "DOES-NOT-EXIST"));
+
+        // a snapshot without stored hashes, e.g. one created before hashes were stored
+        assertTrue(metadataService.getFlowSnapshotGroupHashes("1", 2).isEmpty());
+        assertNull(metadataService.getFlowSnapshotGroupHash("1", 2, "group1"));
+    }
+
+    @Test
+    public void testDeleteFlowSnapshotDeletesGroupHashes() {
+        metadataService.createFlowSnapshotGroupHashes("1", 1, Collections.singletonMap("group1", "hash1"));
+
+        final FlowSnapshotEntity entity = metadataService.getFlowSnapshot("1", 1);
+        metadataService.deleteFlowSnapshot(entity);
+
+        assertTrue(metadataService.getFlowSnapshotGroupHashes("1", 1).isEmpty());
+        assertNull(metadataService.getFlowSnapshotGroupHash("1", 1, "group1"));
+    }
+
     //----------------- Extension Bundles ---------------------------------
 
     @Test
@@ -688,6 +970,43 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         assertEquals(0, versionEntities7.size());
     }
 
+    @Test
+    public void testGetExtensionBundleVersionsInPagesInBundleAndVersionOrder() {
+        final String bundleId = "eb1";
+        final String[] versions = {"1.1.0", "0.9.0", "1.0.1"};
+        for (final String version : versions) {
+            final BundleVersionEntity bundleVersion = new BundleVersionEntity();
+            bundleVersion.setId(UUID.randomUUID().toString());
+            bundleVersion.setBundleId(bundleId);
+            bundleVersion.setVersion(version);
+            bundleVersion.setCreated(new Date());
+            bundleVersion.setCreatedBy("user1");
+            bundleVersion.setSha256Hex("123456789");
+            bundleVersion.setSha256Supplied(true);
+            bundleVersion.setContentSize(1024);
+            metadataService.createBundleVersion(bundleVersion);
+        }
+
+        final Set<String> bucketIds = new HashSet<>(Arrays.asList("1", "2", "3"));
+        final List<BundleVersionEntity> bundleVersions = new ArrayList<>();
+        String cursor = null;
+        do {
+            final QueryParameters queryParameters = new QueryParameters.Builder().numRows(2).after(cursor).build();
+            final ResultPage<BundleVersionEntity> page = metadataService.getBundleVersions(bucketIds, BundleVersionFilterParams.empty(), queryParameters);
+            assertTrue(page.getItems().size() <= 2);
+            bundleVersions.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(6, bundleVersions.size());
+
+        for (int i = 1; i < bundleVersions.size(); i++) {
+            final BundleVersionEntity previous = bundleVersions.get(i - 1);
+            final BundleVersionEntity current = bundleVersions.get(i);
+            final int bundleComparison = previous.getBundleId().compareTo(current.getBundleId());
+            assertTrue(bundleComparison < 0 || (bundleComparison == 0 && previous.getVersion().compareTo(current.getVersion()) < 0));
+        }
+    }
+
     @Test
     public void testGetExtensionBundleVersionByBundleIdAndVersion() {
         final BundleVersionEntity bundleVersion = metadataService.getBundleVersion("eb1", "1.0.0");
@@ -888,6 +1207,65 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         assertEquals(extension.getContent(), retrievedExtension.getContent());
     }
 
+    @Test
+    public void testCreateExtensionsInBatches() {
+        final List<ExtensionEntity> extensions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final String extensionId = "batch-" + i;
+
+            final ExtensionRestrictionEntity restrictionEntity = new ExtensionRestrictionEntity();
+            restrictionEntity.setId(UUID.randomUUID().toString());
+            restrictionEntity.setExtensionId(extensionId);
+            restrictionEntity.setRequiredPermission("read filesystem");
+            restrictionEntity.setExplanation("Reads filesystem");
+
+            final ExtensionProvidedServiceApiEntity serviceApiEntity = new ExtensionProvidedServiceApiEntity();
+            serviceApiEntity.setId(UUID.randomUUID().toString());
+            serviceApiEntity.setExtensionId(extensionId);
+            serviceApiEntity.setClassName("com.foo.BatchService");
+            serviceApiEntity.setGroupId("com.foo");
+            serviceApiEntity.setArtifactId("foo-nar");
+            serviceApiEntity.setVersion("1.0.0");
+
+            final ExtensionEntity extension = new ExtensionEntity();
+            extension.setId(extensionId);
+            extension.setBundleVersionId("eb1-v1");
+            extension.setName("com.example.BatchService" + i);
+            extension.setDisplayName("BatchService" + i);
+            extension.setExtensionType(ExtensionType.CONTROLLER_SERVICE);
+            extension.setTags(new HashSet<>(Arrays.asList("Batch", " batch ", "tag" + i)));
+            extension.setProvidedServiceApis(Collections.singleton(serviceApiEntity));
+            extension.setRestrictions(Collections.singleton(restrictionEntity));
+            extension.setContent("{ \"name\" : \"com.example.BatchService" + i + "\", \"type\" : \"CONTROLLER_SERVICE\" }");
+            extensions.add(extension);
+        }
+
+        metadataService.createExtensions(extensions);
+
+        assertEquals(5, metadataService.getExtensionsByBundleVersionId("eb1-v1").size());
+
+        final ExtensionEntity retrievedExtension = metadataService.getExtensionById("batch-1");
+        assertNotNull(retrievedExtension);
+        assertEquals("com.example.BatchService1", retrievedExtension.getName());
+        assertEquals(ExtensionType.CONTROLLER_SERVICE, retrievedExtension.getExtensionType());
+
+        final TagCountEntity batchTag = metadataService.getAllExtensionTags().stream()
+                .filter(t -> t.getTag().equals("batch"))
+                .findFirst()
+                .orElse(null);
+        assertNotNull(batchTag);
+        assertEquals(3, batchTag.getCount());
+
+        final ProvidedServiceAPI serviceAPI = new ProvidedServiceAPI();
+        serviceAPI.setClassName("com.foo.BatchService");
+        serviceAPI.setGroupId("com.foo");
+        serviceAPI.setArtifactId("foo-nar");
+        serviceAPI.setVersion("1.0.0");
+
+        final Set<String> bucketIds = new HashSet<>(Arrays.asList("1", "2", "3"));
+        assertEquals(3, metadataService.getExtensionsByProvidedServiceApi(bucketIds, serviceAPI).size());
+    }
+
     @Test
     public void testGetExtensionById() {
         final ExtensionEntity extension = metadataService.getExtensionById("e1");
@@ -978,6 +1356,30 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         assertEquals(3, extensions.size());
     }
 
+    @Test
+    public void testGetExtensionsReturnsSummaryInsteadOfContent() {
+        final ExtensionEntity extension = new ExtensionEntity();
+        extension.setId("4");
+        extension.setBundleVersionId("eb1-v1");
+        extension.setName("com.example.FooBarProcessor");
+        extension.setDisplayName("FooBarProcessor");
+        extension.setExtensionType(ExtensionType.PROCESSOR);
+        extension.setContent("{ \"name\" : \"com.example.FooBarProcessor\", \"type\" : \"PROCESSOR\", \"properties\" : [ ] }");
+        extension.setSummary("{ \"name\" : \"com.example.FooBarProcessor\", \"type\" : \"PROCESSOR\" }");
+        metadataService.createExtension(extension);
+
+        final List<ExtensionEntity> extensions = metadataService.getExtensionsByBundleVersionId("eb1-v1");
+        assertEquals(3, extensions.size());
+        extensions.forEach(e -> assertNull(e.getContent()));
+
+        final ExtensionEntity created = extensions.stream().filter(e -> e.getId().equals("4")).findFirst().get();
+        assertEquals(extension.getSummary(), created.getSummary());
+
+        // the test data populates the summary of existing extensions the same way the V11 migration does
+        final ExtensionEntity existing = extensions.stream().filter(e -> e.getId().equals("e1")).findFirst().get();
+        assertEquals("{ \"name\" : \"org.apache.nifi.ExampleProcessor\", \"type\" : \"PROCESSOR\" }", existing.getSummary());
+    }
+
     @Test
     public void testGetAllExtensionsFilteredWithResult() {
         final Set<String> bucketIds = new HashSet<>();
@@ -1001,6 +1403,38 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         assertEquals(BundleType.NIFI_NAR, entity.getBundleType());
     }
 
+    @Test
+    public void testGetExtensionsInPagesInDisplayNameOrder() {
+        final Set<String> bucketIds = new HashSet<>(Arrays.asList("1", "2", "3"));
+        final List<ExtensionEntity> extensions = new ArrayList<>();
+        String cursor = null;
+        do {
+            final QueryParameters queryParameters = new QueryParameters.Builder()
+                    .numRows(2)
+                    .after(cursor)
+                    .addSort("displayName", SortOrder.ASC)
+                    .build();
+            final ResultPage<ExtensionEntity> page = metadataService.getExtensions(bucketIds, null, queryParameters);
+            extensions.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(3, extensions.size());
+        assertEquals("ExampleProcessor", extensions.get(0).getDisplayName());
+        assertEquals("ExampleProcessorRestricted", extensions.get(1).getDisplayName());
+        assertEquals("ExampleService", extensions.get(2).getDisplayName());
+        extensions.forEach(e -> assertNull(e.getContent()));
+
+        final ExtensionFilterParams filterParams = new ExtensionFilterParams.Builder()
+                .extensionType(ExtensionType.CONTROLLER_SERVICE)
+                .build();
+
+        final QueryParameters queryParameters = new QueryParameters.Builder().numRows(2).addSort("displayName", SortOrder.ASC).build();
+        final ResultPage<ExtensionEntity> filteredExtensions = metadataService.getExtensions(bucketIds, filterParams, queryParameters);
+        assertEquals(1, filteredExtensions.getItems().size());
+        assertEquals("e3", filteredExtensions.getItems().get(0).getId());
+        assertFalse(filteredExtensions.hasNext());
+    }
+
     @Test
     public void testGetAllExtensionsFilteredWithNoResult() {
         final Set<String> bucketIds = new HashSet<>();
@@ -1040,6 +1474,21 @@ public class TestDatabaseMetadataService extends DatabaseBaseTest {
         assertEquals(2, extensions.size());
     }
 
+    @Test
+    public void testGetExtensionsWithContentPages() {
+        final List<ExtensionEntity> firstPage = metadataService.getExtensionsWithContent(null, 2);
+        assertEquals(2, firstPage.size());
+        assertEquals("e1", firstPage.get(0).getId());
+        assertEquals("e2", firstPage.get(1).getId());
+        assertNotNull(firstPage.get(0).getContent());
+
+        final List<ExtensionEntity> secondPage = metadataService.getExtensionsWithContent("e2", 2);
+        assertEquals(1, secondPage.size());
+        assertEquals("e3", secondPage.get(0).getId());
+
+        assertEquals(0, metadataService.getExtensionsWithContent("e3", 2).size());
+    }
+
     @Test
     public void testGetExtensionsByBundleVersionIdDoesNotExist() {
         final List<ExtensionEntity> extensions = metadataService.getExtensionsByBundleVersionId("does-not-exist");
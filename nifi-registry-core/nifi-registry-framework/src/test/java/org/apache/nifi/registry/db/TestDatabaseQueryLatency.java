@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.db;
+
+import org.apache.nifi.registry.db.entity.BucketItemEntityType;
+import org.apache.nifi.registry.db.entity.ExtensionEntity;
+import org.apache.nifi.registry.db.entity.ExtensionProvidedServiceApiEntity;
+import org.apache.nifi.registry.db.entity.FlowEntity;
+import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
+import org.apache.nifi.registry.extension.component.manifest.ExtensionType;
+import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
+import org.apache.nifi.registry.service.MetadataService;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Seeds a larger synthetic data set than the common test data and verifies that the hot metadata queries are
+ * served by the indexes added for them.
+ *
+ * The queries are also timed against a generous latency bound, but since wall-clock timings depend on the machine
+ * running the build, the bound is only asserted when the {@value #LATENCY_ASSERTIONS_PROPERTY} system property is
+ * set to true, e.g. mvn test -Dtest=TestDatabaseQueryLatency -Dnifi.registry.test.latency.assertions=true
+ */
+public class TestDatabaseQueryLatency extends DatabaseBaseTest {
+
+    private static final int NUM_FLOWS = 2000;
+    private static final int NUM_EXTENSIONS = 1000;
+    private static final int NUM_TAGS = 50;
+
+    private static final String LATENCY_ASSERTIONS_PROPERTY = "nifi.registry.test.latency.assertions";
+
+    private static final int ITERATIONS = 20;
+    private static final long MAX_AVERAGE_MILLIS = 200;
+
+    private static final Set<String> BUCKET_IDS = new HashSet<>(Arrays.asList("1", "2", "3"));
+
+    @Autowired
+    private MetadataService metadataService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setup() {
+        final List<FlowEntity> flows = new ArrayList<>();
+        for (int i = 0; i < NUM_FLOWS; i++) {
+            final FlowEntity flow = new FlowEntity();
+            flow.setId(UUID.randomUUID().toString());
+            flow.setBucketId(i % 2 == 0 ? "2" : "3");
+            flow.setName("Synthetic Flow " + i);
+            flow.setCreated(new Date());
+            flow.setModified(new Date());
+            flow.setType(BucketItemEntityType.FLOW);
+            flows.add(flow);
+        }
+        metadataService.createFlows(flows);
+
+        final List<ExtensionEntity> extensions = new ArrayList<>();
+        for (int i = 0; i < NUM_EXTENSIONS; i++) {
+            final String extensionId = "synthetic-" + i;
+
+            final ExtensionProvidedServiceApiEntity serviceApiEntity = new ExtensionProvidedServiceApiEntity();
+            serviceApiEntity.setId(UUID.randomUUID().toString());
+            serviceApiEntity.setExtensionId(extensionId);
+            serviceApiEntity.setClassName("com.example.SyntheticService" + (i % NUM_TAGS));
+            serviceApiEntity.setGroupId("com.example");
+            serviceApiEntity.setArtifactId("synthetic-api-nar");
+            serviceApiEntity.setVersion("1.0.0");
+
+            final ExtensionEntity extension = new ExtensionEntity();
+            extension.setId(extensionId);
+            extension.setBundleVersionId(i % 2 == 0 ? "eb1-v1" : "eb2-v1");
+            extension.setName("com.example.SyntheticExtension" + i);
+            extension.setDisplayName("SyntheticExtension" + i);
+            extension.setExtensionType(ExtensionType.CONTROLLER_SERVICE);
+            extension.setTags(new HashSet<>(Arrays.asList("synthetic", "tag" + (i % NUM_TAGS))));
+            extension.setProvidedServiceApis(Collections.singleton(serviceApiEntity));
+            extension.setRestrictions(Collections.emptySet());
+            extension.setContent("{ \"name\" : \"com.example.SyntheticExtension" + i + "\", \"type\" : \"CONTROLLER_SERVICE\" }");
+            extensions.add(extension);
+        }
+        metadataService.createExtensions(extensions);
+    }
+
+    @Test
+    public void testBucketItemsByBucket() {
+        assertIndexExists("BUCKET_ITEM", "IDX__BUCKET_ITEM_BUCKET_ID");
+        assertWithinBound("bucket items by bucket", () -> assertTrue(metadataService.getBucketItems("2").size() >= NUM_FLOWS / 2));
+        assertWithinBound("bucket items by buckets", () -> assertTrue(metadataService.getBucketItems(BUCKET_IDS).size() >= NUM_FLOWS));
+    }
+
+    @Test
+    public void testLatestFlowSnapshot() {
+        assertWithinBound("latest flow snapshot", () -> metadataService.getLatestSnapshot("1"));
+    }
+
+    @Test
+    public void testExtensionsByTag() {
+        assertIndexExists("EXTENSION_TAG", "IDX__EXTENSION_TAG_TAG");
+        assertUsesIndex("SELECT extension_id FROM EXTENSION_TAG WHERE tag = 'tag7'", "IDX__EXTENSION_TAG_TAG");
+
+        final ExtensionFilterParams filterParams = new ExtensionFilterParams.Builder().tag("tag7").build();
+        assertWithinBound("extensions by tag", () ->
+                assertEquals(NUM_EXTENSIONS / NUM_TAGS, metadataService.getExtensions(BUCKET_IDS, filterParams).size()));
+        assertWithinBound("extension tag counts", () -> assertTrue(metadataService.getAllExtensionTags().size() > NUM_TAGS));
+    }
+
+    @Test
+    public void testExtensionsByProvidedServiceApi() {
+        assertIndexExists("EXTENSION_PROVIDED_SERVICE_API", "IDX__EXTENSION_PROVIDED_SERVICE_API_CLASS_GAV");
+        assertUsesIndex("SELECT extension_id FROM EXTENSION_PROVIDED_SERVICE_API WHERE class_name = 'com.example.SyntheticService7' "
+                + "AND group_id = 'com.example' AND artifact_id = 'synthetic-api-nar' AND version = '1.0.0'",
+                "IDX__EXTENSION_PROVIDED_SERVICE_API_CLASS_GAV");
+
+        final ProvidedServiceAPI serviceAPI = new ProvidedServiceAPI();
+        serviceAPI.setClassName("com.example.SyntheticService7");
+        serviceAPI.setGroupId("com.example");
+        serviceAPI.setArtifactId("synthetic-api-nar");
+        serviceAPI.setVersion("1.0.0");
+
+        assertWithinBound("extensions by provided service api", () ->
+                assertEquals(NUM_EXTENSIONS / NUM_TAGS, metadataService.getExtensionsByProvidedServiceApi(BUCKET_IDS, serviceAPI).size()));
+    }
+
+    @Test
+    public void testExtensionsByBundleVersion() {
+        assertWithinBound("extensions by bundle version", () ->
+                assertTrue(metadataService.getExtensionsByBundleVersionId("eb1-v1").size() >= NUM_EXTENSIONS / 2));
+    }
+
+    @Test
+    public void testPaginationIndexes() {
+        assertIndexExists("BUCKET", "IDX__BUCKET_NAME_ID");
+        assertIndexExists("BUCKET", "IDX__BUCKET_CREATED_ID");
+        assertIndexExists("BUCKET_ITEM", "IDX__BUCKET_ITEM_NAME_ID");
+        assertIndexExists("BUCKET_ITEM", "IDX__BUCKET_ITEM_CREATED_ID");
+        assertIndexExists("BUCKET_ITEM", "IDX__BUCKET_ITEM_MODIFIED_ID");
+        assertIndexExists("BUNDLE", "IDX__BUNDLE_GROUP_ARTIFACT_ID");
+        assertIndexExists("EXTENSION", "IDX__EXTENSION_NAME_ID");
+        assertIndexExists("EXTENSION", "IDX__EXTENSION_DISPLAY_NAME_ID");
+    }
+
+    private void assertIndexExists(final String tableName, final String indexName) {
+        final Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = ? AND INDEX_NAME = ?",
+                Integer.class, tableName, indexName);
+        assertTrue("Expected index " + indexName + " on " + tableName, count != null && count > 0);
+    }
+
+    private void assertUsesIndex(final String sql, final String indexName) {
+        final String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertTrue("Expected a lookup using " + indexName + " but plan was: " + plan, plan.contains(indexName));
+    }
+
+    private void assertWithinBound(final String description, final Runnable query) {
+        // the query always runs once so its result is checked, which also warms up the statement for the timed runs
+        query.run();
+
+        if (!Boolean.getBoolean(LATENCY_ASSERTIONS_PROPERTY)) {
+            return;
+        }
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.run();
+        }
+        final long averageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / ITERATIONS;
+        assertTrue("Average time for " + description + " was " + averageMillis + "ms", averageMillis <= MAX_AVERAGE_MILLIS);
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.db.migration;
+
+import org.apache.nifi.registry.db.DatabaseBaseTest;
+import org.apache.nifi.registry.extension.component.manifest.Extension;
+import org.apache.nifi.registry.extension.component.manifest.ExtensionType;
+import org.apache.nifi.registry.serialization.ExtensionSerializer;
+import org.apache.nifi.registry.serialization.Serializer;
+import org.apache.nifi.registry.service.mapper.ExtensionMappings;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestExtensionSummaryBackfill extends DatabaseBaseTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Serializer<Extension> extensionSerializer;
+
+    @Before
+    public void setup() {
+        extensionSerializer = new ExtensionSerializer();
+    }
+
+    @Test
+    public void testBackfillPopulatesMissingSummariesAcrossPages() {
+        clearSummary("e1", "org.apache.nifi.ExampleProcessor", ExtensionType.PROCESSOR);
+        clearSummary("e2", "org.apache.nifi.ExampleProcessorRestricted", ExtensionType.PROCESSOR);
+
+        final int count = new ExtensionSummaryBackfill(jdbcTemplate, extensionSerializer, 1).backfill();
+        assertEquals(2, count);
+
+        assertEquals("org.apache.nifi.ExampleProcessor", getSummary("e1").getName());
+        assertEquals("org.apache.nifi.ExampleProcessorRestricted", getSummary("e2").getName());
+        assertEquals(ExtensionType.PROCESSOR, getSummary("e2").getType());
+    }
+
+    @Test
+    public void testBackfillWithNoMissingSummaries() {
+        final int count = new ExtensionSummaryBackfill(jdbcTemplate, extensionSerializer).backfill();
+        assertEquals(0, count);
+    }
+
+    private void clearSummary(final String id, final String name, final ExtensionType type) {
+        final Extension extension = new Extension();
+        extension.setName(name);
+        extension.setType(type);
+        extension.setDescription("Description of " + name);
+
+        final String content = ExtensionMappings.map(extension, extensionSerializer).getContent();
+        jdbcTemplate.update("UPDATE EXTENSION SET CONTENT = ?, SUMMARY = NULL WHERE ID = ?", content, id);
+        assertNull(jdbcTemplate.queryForObject("SELECT SUMMARY FROM EXTENSION WHERE ID = ?", String.class, id));
+    }
+
+    private Extension getSummary(final String id) {
+        final String summary = jdbcTemplate.queryForObject("SELECT SUMMARY FROM EXTENSION WHERE ID = ?", String.class, id);
+        return extensionSerializer.deserialize(new ByteArrayInputStream(summary.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
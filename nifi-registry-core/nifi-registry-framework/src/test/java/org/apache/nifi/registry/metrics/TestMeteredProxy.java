@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Closeable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestMeteredProxy {
+
+    private static final String METRIC = "test.operations";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testRecordsEachOperation() {
+        final Greeter greeter = (Greeter) MeteredProxy.create(new StandardGreeter(), METRIC, Tags.of("provider", "test"), meterRegistry);
+
+        assertEquals("Hello, a", greeter.greet("a"));
+        assertEquals("Hello, b", greeter.greet("b"));
+
+        final Timer timer = meterRegistry.get(METRIC)
+                .tag("provider", "test")
+                .tag(MeteredProxy.OPERATION_TAG, "greet")
+                .tag(MeteredProxy.EXCEPTION_TAG, "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    public void testRecordsAndRethrowsExceptions() {
+        final Greeter greeter = (Greeter) MeteredProxy.create(new StandardGreeter(), METRIC, Tags.empty(), meterRegistry);
+
+        try {
+            greeter.greet(null);
+            fail("Should have thrown");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Name is required", e.getMessage());
+        }
+
+        final Timer timer = meterRegistry.get(METRIC)
+                .tag(MeteredProxy.OPERATION_TAG, "greet")
+                .tag(MeteredProxy.EXCEPTION_TAG, "IllegalArgumentException")
+                .timer();
+        assertEquals(1, timer.count());
+        assertNull(meterRegistry.find(METRIC).tag(MeteredProxy.EXCEPTION_TAG, "none").timer());
+    }
+
+    @Test
+    public void testImplementsAllInterfacesOfTarget() throws Exception {
+        final Object proxy = MeteredProxy.create(new StandardGreeter(), METRIC, Tags.empty(), meterRegistry);
+
+        assertTrue(proxy instanceof Greeter);
+        assertTrue(proxy instanceof Closeable);
+        ((Closeable) proxy).close();
+        assertEquals(1, meterRegistry.get(METRIC).tag(MeteredProxy.OPERATION_TAG, "close").timer().count());
+    }
+
+    public interface Greeter {
+        String greet(String name);
+    }
+
+    private static class StandardGreeter implements Greeter, Closeable {
+        @Override
+        public String greet(final String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("Name is required");
+            }
+            return "Hello, " + name;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
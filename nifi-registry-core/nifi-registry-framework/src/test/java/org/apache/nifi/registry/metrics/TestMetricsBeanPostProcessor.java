@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.nifi.registry.db.entity.BucketEntity;
+import org.apache.nifi.registry.extension.BundlePersistenceProvider;
+import org.apache.nifi.registry.flow.FlowPersistenceProvider;
+import org.apache.nifi.registry.service.MetadataService;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestMetricsBeanPostProcessor {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MetricsBeanPostProcessor postProcessor;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        postProcessor = new MetricsBeanPostProcessor(meterRegistry);
+    }
+
+    @Test
+    public void testWrapsMetadataService() {
+        final BucketEntity bucket = new BucketEntity();
+        final MetadataService metadataService = mock(MetadataService.class);
+        when(metadataService.getBucketById("1")).thenReturn(bucket);
+
+        final Object wrapped = postProcessor.postProcessAfterInitialization(metadataService, "metadataService");
+        assertNotSame(metadataService, wrapped);
+        assertTrue(wrapped instanceof MetadataService);
+
+        assertSame(bucket, ((MetadataService) wrapped).getBucketById("1"));
+        assertEquals(1, meterRegistry.get(MetricsBeanPostProcessor.METADATA_OPERATIONS)
+                .tag(MeteredProxy.OPERATION_TAG, "getBucketById")
+                .timer().count());
+    }
+
+    @Test
+    public void testWrapsFlowPersistenceProvider() {
+        final byte[] content = new byte[] {1, 2, 3};
+        final FlowPersistenceProvider provider = mock(FlowPersistenceProvider.class);
+        when(provider.getFlowContent("b1", "f1", 1)).thenReturn(content);
+
+        final Object wrapped = postProcessor.postProcessAfterInitialization(provider, "flowPersistenceProvider");
+        assertNotSame(provider, wrapped);
+        assertTrue(wrapped instanceof FlowPersistenceProvider);
+
+        assertArrayEquals(content, ((FlowPersistenceProvider) wrapped).getFlowContent("b1", "f1", 1));
+        assertEquals(1, meterRegistry.get(MetricsBeanPostProcessor.PROVIDER_OPERATIONS)
+                .tag("provider", "flow")
+                .tag(MeteredProxy.OPERATION_TAG, "getFlowContent")
+                .timer().count());
+    }
+
+    @Test
+    public void testWrapsBundlePersistenceProvider() {
+        final BundlePersistenceProvider provider = mock(BundlePersistenceProvider.class);
+
+        final Object wrapped = postProcessor.postProcessAfterInitialization(provider, "bundlePersistenceProvider");
+        assertNotSame(provider, wrapped);
+        assertTrue(wrapped instanceof BundlePersistenceProvider);
+
+        ((BundlePersistenceProvider) wrapped).deleteBundleVersion(null);
+        verify(provider).deleteBundleVersion(null);
+        assertEquals(1, meterRegistry.get(MetricsBeanPostProcessor.PROVIDER_OPERATIONS)
+                .tag("provider", "bundle")
+                .tag(MeteredProxy.OPERATION_TAG, "deleteBundleVersion")
+                .timer().count());
+    }
+
+    @Test
+    public void testLeavesOtherBeansAlone() {
+        final Object bean = new Object();
+        assertSame(bean, postProcessor.postProcessAfterInitialization(bean, "other"));
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+}
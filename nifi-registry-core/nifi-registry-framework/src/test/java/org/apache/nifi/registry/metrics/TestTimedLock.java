@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestTimedLock {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testRecordsWaits() {
+        final TimedLock lock = new TimedLock(new ReentrantLock(), "test", meterRegistry);
+
+        lock.lock();
+        lock.unlock();
+        assertTrue(lock.tryLock());
+        lock.unlock();
+
+        // tryLock without a timeout never waits, so only the lock() call is recorded
+        assertEquals(1, meterRegistry.get(TimedLock.LOCK_WAIT).tag("lock", "test").timer().count());
+    }
+
+    @Test
+    public void testRecordsTimedTryLock() throws InterruptedException {
+        final TimedLock lock = new TimedLock(new ReentrantLock(), "test", meterRegistry);
+
+        assertTrue(lock.tryLock(1, TimeUnit.SECONDS));
+        lock.unlock();
+
+        assertEquals(1, meterRegistry.get(TimedLock.LOCK_WAIT).tag("lock", "test").timer().count());
+    }
+
+}
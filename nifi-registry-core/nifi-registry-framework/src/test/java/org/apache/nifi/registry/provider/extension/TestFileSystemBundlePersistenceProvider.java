@@ -16,6 +16,7 @@
  */
 package org.apache.nifi.registry.provider.extension;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.nifi.registry.extension.BundleCoordinate;
 import org.apache.nifi.registry.extension.BundlePersistenceContext;
@@ -25,6 +26,7 @@ import org.apache.nifi.registry.extension.BundleVersionCoordinate;
 import org.apache.nifi.registry.extension.BundleVersionType;
 import org.apache.nifi.registry.provider.ProviderConfigurationContext;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -37,14 +39,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.mockito.Mockito.when;
 
 public class TestFileSystemBundlePersistenceProvider {
 
     static final String EXTENSION_STORAGE_DIR = "target/extension_storage";
+    static final String EXTENSION_CONTENT_DIR = "target/extension_content";
 
     static final ProviderConfigurationContext CONFIGURATION_CONTEXT = new ProviderConfigurationContext() {
         @Override
@@ -140,6 +146,155 @@ public class TestFileSystemBundlePersistenceProvider {
         }
     }
 
+    @Test
+    public void testCreateAndUpdateFromFile() throws IOException {
+        final BundleVersionType type = BundleVersionType.NIFI_NAR;
+        final BundleVersionCoordinate versionCoordinate = getVersionCoordinate("b1", "g1", "a1", "1.0.0", type);
+        final BundlePersistenceContext context = getPersistenceContext(versionCoordinate);
+
+        final String content1 = "g1-a1-1.0.0";
+        final File contentFile1 = writeWorkingFile(content1);
+        fileSystemBundleProvider.createBundleVersion(context, contentFile1);
+        verifyBundleVersion(bundleStorageDir, versionCoordinate, content1);
+
+        // the working file should have been moved into place rather than copied
+        Assert.assertFalse(contentFile1.exists());
+
+        // creating again should fail and leave the working file alone
+        final File contentFile2 = writeWorkingFile("new content");
+        try {
+            fileSystemBundleProvider.createBundleVersion(context, contentFile2);
+            Assert.fail("Should have thrown exception");
+        } catch (BundlePersistenceException e) {
+            // expected
+        }
+        Assert.assertTrue(contentFile2.exists());
+        verifyBundleVersion(bundleStorageDir, versionCoordinate, content1);
+
+        fileSystemBundleProvider.updateBundleVersion(context, contentFile2);
+        verifyBundleVersion(bundleStorageDir, versionCoordinate, "new content");
+        Assert.assertFalse(contentFile2.exists());
+    }
+
+    @Test
+    public void testIdenticalContentIsStoredOnce() throws IOException {
+        final File bundleContentDir = new File(EXTENSION_CONTENT_DIR);
+        if (bundleContentDir.exists()) {
+            org.apache.commons.io.FileUtils.deleteDirectory(bundleContentDir);
+        }
+
+        final Map<String,String> props = new HashMap<>(CONFIGURATION_CONTEXT.getProperties());
+        props.put(FileSystemBundlePersistenceProvider.BUNDLE_CONTENT_DIR_PROP, EXTENSION_CONTENT_DIR);
+
+        final BundlePersistenceProvider dedupBundleProvider = new FileSystemBundlePersistenceProvider();
+        dedupBundleProvider.onConfigured(() -> props);
+
+        final BundleVersionType type = BundleVersionType.NIFI_NAR;
+        final String content = "g1-a1-1.0.0";
+        final BundleVersionCoordinate versionCoordinate1 = getVersionCoordinate("b1", "g1", "a1", "1.0.0", type);
+        final BundleVersionCoordinate versionCoordinate2 = getVersionCoordinate("b2", "g1", "a1", "1.0.0", type);
+        createBundleVersion(dedupBundleProvider, versionCoordinate1, content);
+        createBundleVersion(dedupBundleProvider, versionCoordinate2, content);
+        verifyBundleVersion(bundleStorageDir, versionCoordinate1, content);
+        verifyBundleVersion(bundleStorageDir, versionCoordinate2, content);
+
+        final File bundleFile1 = FileSystemBundlePersistenceProvider.getBundleFile(
+                FileSystemBundlePersistenceProvider.getBundleVersionDirectory(bundleStorageDir, versionCoordinate1), versionCoordinate1);
+        final File bundleFile2 = FileSystemBundlePersistenceProvider.getBundleFile(
+                FileSystemBundlePersistenceProvider.getBundleVersionDirectory(bundleStorageDir, versionCoordinate2), versionCoordinate2);
+
+        // skip the remaining checks if the file system did not support hard links, in which case the content is copied
+        Assume.assumeTrue(FileSystemBundlePersistenceProvider.getContentReferenceFile(bundleFile1).exists());
+
+        final String sha256 = DigestUtils.sha256Hex(content);
+        final File blobFile = FileSystemBundlePersistenceProvider.getBlobFile(bundleContentDir, sha256);
+        Assert.assertTrue(blobFile.exists());
+        Assert.assertTrue(Files.isSameFile(blobFile.toPath(), bundleFile1.toPath()));
+        Assert.assertTrue(Files.isSameFile(blobFile.toPath(), bundleFile2.toPath()));
+
+        // the content remains while another version references it
+        dedupBundleProvider.deleteBundleVersion(versionCoordinate1);
+        Assert.assertFalse(bundleFile1.exists());
+        Assert.assertTrue(blobFile.exists());
+        verifyBundleVersion(bundleStorageDir, versionCoordinate2, content);
+
+        dedupBundleProvider.deleteAllBundleVersions(getBundleCoordinate("b2", "g1", "a1"));
+        Assert.assertFalse(bundleFile2.exists());
+        Assert.assertFalse(blobFile.exists());
+    }
+
+    @Test
+    public void testUpdateReplacesDeduplicatedContent() throws IOException {
+        final File bundleContentDir = new File(EXTENSION_CONTENT_DIR);
+        if (bundleContentDir.exists()) {
+            org.apache.commons.io.FileUtils.deleteDirectory(bundleContentDir);
+        }
+
+        final Map<String,String> props = new HashMap<>(CONFIGURATION_CONTEXT.getProperties());
+        props.put(FileSystemBundlePersistenceProvider.BUNDLE_CONTENT_DIR_PROP, EXTENSION_CONTENT_DIR);
+
+        final BundlePersistenceProvider dedupBundleProvider = new FileSystemBundlePersistenceProvider();
+        dedupBundleProvider.onConfigured(() -> props);
+
+        final BundleVersionCoordinate versionCoordinate = getVersionCoordinate("b1", "g1", "a1", "1.0.0", BundleVersionType.NIFI_NAR);
+        final String content1 = "g1-a1-1.0.0";
+        final String content2 = "new content";
+        createBundleVersion(dedupBundleProvider, versionCoordinate, content1);
+        updateBundleVersion(dedupBundleProvider, versionCoordinate, content2);
+        verifyBundleVersion(bundleStorageDir, versionCoordinate, content2);
+
+        // only the bundle file and its content reference remain, the new content was moved over the old one
+        final File bundleVersionDir = FileSystemBundlePersistenceProvider.getBundleVersionDirectory(bundleStorageDir, versionCoordinate);
+        final File bundleFile = FileSystemBundlePersistenceProvider.getBundleFile(bundleVersionDir, versionCoordinate);
+        for (final File file : bundleVersionDir.listFiles()) {
+            Assert.assertFalse(file.getName(), file.getName().endsWith(".tmp"));
+        }
+
+        // skip the remaining checks if the file system did not support hard links, in which case the content is copied
+        Assume.assumeTrue(FileSystemBundlePersistenceProvider.getContentReferenceFile(bundleFile).exists());
+
+        // the replaced content is released once nothing references it
+        Assert.assertFalse(FileSystemBundlePersistenceProvider.getBlobFile(bundleContentDir, DigestUtils.sha256Hex(content1)).exists());
+
+        final File blobFile = FileSystemBundlePersistenceProvider.getBlobFile(bundleContentDir, DigestUtils.sha256Hex(content2));
+        Assert.assertTrue(Files.isSameFile(blobFile.toPath(), bundleFile.toPath()));
+        Assert.assertEquals(Arrays.asList(DigestUtils.sha256Hex(content2), blobFile.getAbsolutePath()), Files.readAllLines(
+                FileSystemBundlePersistenceProvider.getContentReferenceFile(bundleFile).toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDeleteReleasesContentWhenContentDirectoryNoLongerConfigured() throws IOException {
+        final File bundleContentDir = new File(EXTENSION_CONTENT_DIR);
+        if (bundleContentDir.exists()) {
+            org.apache.commons.io.FileUtils.deleteDirectory(bundleContentDir);
+        }
+
+        final Map<String,String> props = new HashMap<>(CONFIGURATION_CONTEXT.getProperties());
+        props.put(FileSystemBundlePersistenceProvider.BUNDLE_CONTENT_DIR_PROP, EXTENSION_CONTENT_DIR);
+
+        final BundlePersistenceProvider dedupBundleProvider = new FileSystemBundlePersistenceProvider();
+        dedupBundleProvider.onConfigured(() -> props);
+
+        final BundleVersionCoordinate versionCoordinate = getVersionCoordinate("b1", "g1", "a1", "1.0.0", BundleVersionType.NIFI_NAR);
+        final String content = "g1-a1-1.0.0";
+        createBundleVersion(dedupBundleProvider, versionCoordinate, content);
+
+        final File bundleFile = FileSystemBundlePersistenceProvider.getBundleFile(
+                FileSystemBundlePersistenceProvider.getBundleVersionDirectory(bundleStorageDir, versionCoordinate), versionCoordinate);
+
+        // skip the remaining checks if the file system did not support hard links, in which case the content is copied
+        Assume.assumeTrue(FileSystemBundlePersistenceProvider.getContentReferenceFile(bundleFile).exists());
+
+        final File blobFile = FileSystemBundlePersistenceProvider.getBlobFile(bundleContentDir, DigestUtils.sha256Hex(content));
+        Assert.assertTrue(blobFile.exists());
+
+        // the provider without a content directory finds the content through the location recorded in the reference
+        fileSystemBundleProvider.deleteBundleVersion(versionCoordinate);
+        Assert.assertFalse(bundleFile.exists());
+        Assert.assertFalse(FileSystemBundlePersistenceProvider.getContentReferenceFile(bundleFile).exists());
+        Assert.assertFalse(blobFile.exists());
+    }
+
     @Test
     public void testCreateAndGet() throws IOException {
         final String bucketId = "b1";
@@ -285,6 +440,15 @@ public class TestFileSystemBundlePersistenceProvider {
         }
     }
 
+    private static File writeWorkingFile(final String content) throws IOException {
+        final File workingDir = new File("target/extension_working");
+        org.apache.commons.io.FileUtils.forceMkdir(workingDir);
+
+        final File workingFile = new File(workingDir, UUID.randomUUID().toString());
+        org.apache.commons.io.FileUtils.writeStringToFile(workingFile, content, StandardCharsets.UTF_8);
+        return workingFile;
+    }
+
     private static BundlePersistenceContext getPersistenceContext(final BundleVersionCoordinate versionCoordinate) {
         final BundlePersistenceContext context = Mockito.mock(BundlePersistenceContext.class);
         when(context.getCoordinate()).thenReturn(versionCoordinate);
@@ -27,11 +27,16 @@ import org.apache.nifi.registry.metadata.FlowSnapshotMetadata;
 import org.apache.nifi.registry.service.MetadataService;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -46,8 +51,16 @@ public class TestFlowMetadataSynchronizer {
     private List<BucketMetadata> metadata;
     private FlowMetadataSynchronizer synchronizer;
 
+    @Captor
+    private ArgumentCaptor<Collection<BucketEntity>> bucketsCaptor;
+    @Captor
+    private ArgumentCaptor<Collection<FlowEntity>> flowsCaptor;
+    @Captor
+    private ArgumentCaptor<Collection<FlowSnapshotEntity>> snapshotsCaptor;
+
     @Before
     public void setup() {
+        MockitoAnnotations.initMocks(this);
         metadataService = mock(MetadataService.class);
         metadataAwareflowPersistenceProvider = mock(MetadataAwareFlowPersistenceProvider.class);
         standardFlowPersistenceProvider = mock(FlowPersistenceProvider.class);
@@ -90,9 +103,17 @@ public class TestFlowMetadataSynchronizer {
         when(metadataService.getAllBuckets()).thenReturn(Collections.emptyList());
 
         synchronizer.synchronize();
-        verify(metadataService, times(1)).createBucket(any(BucketEntity.class));
-        verify(metadataService, times(1)).createFlow(any(FlowEntity.class));
-        verify(metadataService, times(2)).createFlowSnapshot(any(FlowSnapshotEntity.class));
+        verify(metadataService, times(1)).createBuckets(bucketsCaptor.capture());
+        verify(metadataService, times(1)).createFlows(flowsCaptor.capture());
+        verify(metadataService, times(1)).createFlowSnapshots(snapshotsCaptor.capture());
+        verify(metadataService, times(0)).createBucket(any(BucketEntity.class));
+        verify(metadataService, times(0)).createFlow(any(FlowEntity.class));
+        verify(metadataService, times(0)).createFlowSnapshot(any(FlowSnapshotEntity.class));
+
+        assertEquals(1, bucketsCaptor.getValue().size());
+        assertEquals(1, flowsCaptor.getValue().size());
+        assertEquals(2, snapshotsCaptor.getValue().size());
+        assertEquals("1", flowsCaptor.getValue().iterator().next().getBucketId());
     }
 
     @Test
@@ -105,6 +126,9 @@ public class TestFlowMetadataSynchronizer {
         verify(metadataService, times(0)).createBucket(any(BucketEntity.class));
         verify(metadataService, times(0)).createFlow(any(FlowEntity.class));
         verify(metadataService, times(0)).createFlowSnapshot(any(FlowSnapshotEntity.class));
+        verify(metadataService, times(0)).createBuckets(any());
+        verify(metadataService, times(0)).createFlows(any());
+        verify(metadataService, times(0)).createFlowSnapshots(any());
     }
 
     @Test
@@ -116,5 +140,8 @@ public class TestFlowMetadataSynchronizer {
         verify(metadataService, times(0)).createBucket(any(BucketEntity.class));
         verify(metadataService, times(0)).createFlow(any(FlowEntity.class));
         verify(metadataService, times(0)).createFlowSnapshot(any(FlowSnapshotEntity.class));
+        verify(metadataService, times(0)).createBuckets(any());
+        verify(metadataService, times(0)).createFlows(any());
+        verify(metadataService, times(0)).createFlowSnapshots(any());
     }
 }
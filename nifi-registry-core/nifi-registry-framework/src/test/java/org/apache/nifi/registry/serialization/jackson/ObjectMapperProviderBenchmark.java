@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.serialization.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.nifi.registry.flow.VersionedProcessGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a serialize and deserialize round-trip of the process group from a stored snapshot with the shared mapper,
+ * compared to the mapper configured with JAXB annotation introspection as it was previously. The process group is
+ * repeated as child groups to measure large flows, and setup fails if the two mappers do not produce identical bytes.
+ *
+ * Run from the module directory with:
+ *
+ *   mvn test-compile exec:java -Dexec.mainClass=org.apache.nifi.registry.serialization.jackson.ObjectMapperProviderBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectMapperProviderBenchmark {
+
+    @Param({"ver2.snapshot", "ver3.snapshot"})
+    private String snapshot;
+
+    /**
+     * The number of copies of the snapshot's process group to nest under the root group.
+     */
+    @Param({"1", "500"})
+    private int copies;
+
+    private ObjectMapper jaxbMapper;
+    private ObjectMapper mapper;
+    private VersionedProcessGroup flow;
+
+    @Setup
+    public void setup() throws IOException {
+        jaxbMapper = TestObjectMapperProvider.createJaxbMapper();
+        mapper = ObjectMapperProvider.getMapper();
+
+        final JsonNode content = jaxbMapper.readTree(new File("src/test/resources/serialization", snapshot)).get("content");
+        final JsonNode processGroup = content.has("flowSnapshot") ? content.get("flowSnapshot").get("flowContents") : content;
+
+        flow = new VersionedProcessGroup();
+        flow.setIdentifier("root");
+        flow.setName("root");
+        for (int i = 0; i < copies; i++) {
+            final VersionedProcessGroup copy = jaxbMapper.treeToValue(processGroup, VersionedProcessGroup.class);
+            copy.setIdentifier(copy.getIdentifier() + "-" + i);
+            copy.setGroupIdentifier(flow.getIdentifier());
+            flow.getProcessGroups().add(copy);
+        }
+
+        if (!Arrays.equals(jaxbMapper.writeValueAsBytes(flow), mapper.writeValueAsBytes(flow))) {
+            throw new IllegalStateException("The shared mapper does not produce the same output as the JAXB configured mapper for " + snapshot);
+        }
+    }
+
+    @Benchmark
+    public VersionedProcessGroup roundTripWithJaxbAnnotations() throws IOException {
+        return roundTrip(jaxbMapper);
+    }
+
+    @Benchmark
+    public VersionedProcessGroup roundTripWithSharedMapper() throws IOException {
+        return roundTrip(mapper);
+    }
+
+    private VersionedProcessGroup roundTrip(final ObjectMapper objectMapper) throws IOException {
+        final byte[] serialized = objectMapper.writeValueAsBytes(flow);
+        return objectMapper.readValue(serialized, VersionedProcessGroup.class);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(ObjectMapperProviderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.serialization.jackson;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
+import org.apache.nifi.registry.bucket.Bucket;
+import org.apache.nifi.registry.extension.bundle.Bundle;
+import org.apache.nifi.registry.extension.bundle.BundleType;
+import org.apache.nifi.registry.extension.bundle.BundleVersion;
+import org.apache.nifi.registry.extension.bundle.BundleVersionMetadata;
+import org.apache.nifi.registry.extension.component.manifest.Extension;
+import org.apache.nifi.registry.flow.VersionedFlow;
+import org.apache.nifi.registry.flow.VersionedFlowSnapshot;
+import org.apache.nifi.registry.flow.VersionedProcessGroup;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestObjectMapperProvider {
+
+    private ObjectMapper jaxbMapper;
+    private ObjectMapper mapper;
+
+    @Before
+    public void setup() {
+        jaxbMapper = createJaxbMapper();
+        mapper = ObjectMapperProvider.getMapper();
+    }
+
+    /**
+     * @return a mapper configured the way ObjectMapperProvider configured it when it introspected JAXB annotations
+     */
+    static ObjectMapper createJaxbMapper() {
+        final ObjectMapper jaxbMapper = new ObjectMapper();
+        jaxbMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        jaxbMapper.setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+        jaxbMapper.setAnnotationIntrospector(new JaxbAnnotationIntrospector(jaxbMapper.getTypeFactory()));
+        jaxbMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        jaxbMapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+        return jaxbMapper;
+    }
+
+    @Test
+    public void testFlowSnapshotOutputMatchesJaxbMapper() throws IOException {
+        final JsonNode content = jaxbMapper.readTree(new File("src/test/resources/serialization/ver3.snapshot")).get("content");
+        final VersionedFlowSnapshot snapshot = jaxbMapper.treeToValue(content.get("flowSnapshot"), VersionedFlowSnapshot.class);
+
+        final VersionedFlow flow = new VersionedFlow();
+        flow.setIdentifier("flow1");
+        flow.setName("Flow 1");
+        flow.setBucketIdentifier("bucket1");
+        snapshot.setFlow(flow);
+
+        final Bucket bucket = new Bucket();
+        bucket.setIdentifier("bucket1");
+        bucket.setName("Bucket 1");
+        snapshot.setBucket(bucket);
+
+        final String json = assertSameOutput(snapshot);
+        assertFalse(json.contains("\"latest\""));
+        assertSameOutput(mapper.readValue(json, VersionedFlowSnapshot.class));
+    }
+
+    @Test
+    public void testProcessGroupOutputMatchesJaxbMapper() throws IOException {
+        final JsonNode content = jaxbMapper.readTree(new File("src/test/resources/serialization/ver2.snapshot")).get("content");
+        final VersionedProcessGroup processGroup = jaxbMapper.treeToValue(content, VersionedProcessGroup.class);
+
+        final String json = assertSameOutput(processGroup);
+        assertSameOutput(mapper.readValue(json, VersionedProcessGroup.class));
+    }
+
+    @Test
+    public void testExtensionOutputMatchesJaxbMapper() throws IOException {
+        final Extension extension = jaxbMapper.readValue(new File("src/test/resources/extensions/ConsumeKafkaRecord_1_0.json"), Extension.class);
+
+        final String json = assertSameOutput(extension);
+        assertTrue(json.contains("\"tag\""));
+        assertTrue(json.contains("\"property\""));
+        assertSameOutput(mapper.readValue(json, Extension.class));
+    }
+
+    @Test
+    public void testBundleVersionOutputMatchesJaxbMapper() throws IOException {
+        final Bundle bundle = new Bundle();
+        bundle.setIdentifier("bundle1");
+        bundle.setName("nifi-example-nar");
+        bundle.setBucketIdentifier("bucket1");
+        bundle.setBundleType(BundleType.MINIFI_CPP);
+        bundle.setGroupId("org.apache.nifi");
+        bundle.setArtifactId("nifi-example-nar");
+        bundle.setVersionCount(1);
+
+        final BundleVersionMetadata versionMetadata = new BundleVersionMetadata();
+        versionMetadata.setId("version1");
+        versionMetadata.setBundleId("bundle1");
+        versionMetadata.setBucketId("bucket1");
+        versionMetadata.setVersion("1.0.0");
+        versionMetadata.setSha256Supplied(true);
+
+        final BundleVersion bundleVersion = new BundleVersion();
+        bundleVersion.setBundle(bundle);
+        bundleVersion.setVersionMetadata(versionMetadata);
+
+        final String json = assertSameOutput(bundleVersion);
+        assertTrue(json.contains("\"" + BundleType.MINIFI_CPP.toString() + "\""));
+        assertFalse(json.contains("\"filename\""));
+
+        final BundleVersion deserialized = mapper.readValue(json, BundleVersion.class);
+        assertEquals(BundleType.MINIFI_CPP, deserialized.getBundle().getBundleType());
+        assertSameOutput(deserialized);
+    }
+
+    private String assertSameOutput(final Object value) throws IOException {
+        final String expected = jaxbMapper.writerWithDefaultPrettyPrinter().writeValueAsString(value);
+        final String actual = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(value);
+        assertEquals(expected, actual);
+        return actual;
+    }
+
+}
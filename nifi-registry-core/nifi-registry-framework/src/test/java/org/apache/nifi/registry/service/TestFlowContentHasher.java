@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service;
+
+import org.apache.nifi.registry.flow.VersionedProcessGroup;
+import org.apache.nifi.registry.flow.VersionedProcessor;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class TestFlowContentHasher {
+
+    private final FlowContentHasher hasher = new FlowContentHasher();
+
+    @Test
+    public void testIdenticalFlowsHaveIdenticalHashes() {
+        final Map<String, String> hashesA = hasher.hashProcessGroups(createFlow("value"));
+        final Map<String, String> hashesB = hasher.hashProcessGroups(createFlow("value"));
+
+        assertEquals(3, hashesA.size());
+        assertEquals(hashesA, hashesB);
+    }
+
+    @Test
+    public void testChangeOnlyAffectsGroupsOnPathToRoot() {
+        final VersionedProcessGroup flowA = createFlow("value");
+        final VersionedProcessGroup flowB = createFlow("value");
+
+        final VersionedProcessor processor = flowB.getProcessGroups().stream()
+                .filter(g -> g.getIdentifier().equals("child-1"))
+                .findFirst().get()
+                .getProcessors().iterator().next();
+        processor.getProperties().put("property", "changed");
+
+        final Map<String, String> hashesA = hasher.hashProcessGroups(flowA);
+        final Map<String, String> hashesB = hasher.hashProcessGroups(flowB);
+
+        assertNotEquals(hashesA.get("root"), hashesB.get("root"));
+        assertNotEquals(hashesA.get("child-1"), hashesB.get("child-1"));
+        assertEquals(hashesA.get("child-2"), hashesB.get("child-2"));
+    }
+
+    @Test
+    public void testGroupFieldChangeChangesHash() {
+        final VersionedProcessGroup flowA = createFlow("value");
+        final VersionedProcessGroup flowB = createFlow("value");
+        flowB.setComments("new comments");
+
+        final String hashA = hasher.hashProcessGroups(flowA).get("root");
+        final String hashB = hasher.hashProcessGroups(flowB).get("root");
+
+        assertNotNull(hashA);
+        assertNotEquals(hashA, hashB);
+    }
+
+    private VersionedProcessGroup createFlow(final String propertyValue) {
+        final VersionedProcessGroup root = createGroup("root");
+        final VersionedProcessGroup child1 = createGroup("child-1");
+        final VersionedProcessGroup child2 = createGroup("child-2");
+
+        child1.getProcessors().add(createProcessor("processor-1", propertyValue));
+        child2.getProcessors().add(createProcessor("processor-2", propertyValue));
+
+        root.getProcessGroups().add(child1);
+        root.getProcessGroups().add(child2);
+        return root;
+    }
+
+    private VersionedProcessGroup createGroup(final String identifier) {
+        final VersionedProcessGroup group = new VersionedProcessGroup();
+        group.setIdentifier(identifier);
+        group.setName(identifier);
+        return group;
+    }
+
+    private VersionedProcessor createProcessor(final String identifier, final String propertyValue) {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("property", propertyValue);
+
+        final VersionedProcessor processor = new VersionedProcessor();
+        processor.setIdentifier(identifier);
+        processor.setName(identifier);
+        processor.setProperties(properties);
+        return processor;
+    }
+}
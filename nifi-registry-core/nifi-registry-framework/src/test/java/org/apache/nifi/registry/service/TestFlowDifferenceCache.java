@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service;
+
+import org.apache.nifi.registry.db.entity.FlowSnapshotEntity;
+import org.apache.nifi.registry.diff.ComponentDifference;
+import org.apache.nifi.registry.diff.ComponentDifferenceGroup;
+import org.apache.nifi.registry.diff.VersionedFlowDifference;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+public class TestFlowDifferenceCache {
+
+    @Test
+    public void testEvictsLeastRecentlyUsedWhenOverMaxEntries() {
+        final FlowDifferenceCache cache = new FlowDifferenceCache(2, Long.MAX_VALUE);
+        cache.put(snapshot(1), snapshot(2), difference("a"));
+        cache.put(snapshot(2), snapshot(3), difference("b"));
+
+        // reading the first difference makes the second the least recently used
+        assertNotNull(cache.get(snapshot(1), snapshot(2)));
+        cache.put(snapshot(3), snapshot(4), difference("c"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(snapshot(1), snapshot(2)));
+        assertNull(cache.get(snapshot(2), snapshot(3)));
+        assertNotNull(cache.get(snapshot(3), snapshot(4)));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedWhenOverMaxSize() {
+        final long differenceSize = FlowDifferenceCache.estimateSize(difference("a"));
+        final FlowDifferenceCache cache = new FlowDifferenceCache(100, differenceSize * 2);
+        cache.put(snapshot(1), snapshot(2), difference("a"));
+        cache.put(snapshot(2), snapshot(3), difference("b"));
+        cache.put(snapshot(3), snapshot(4), difference("c"));
+
+        assertEquals(2, cache.size());
+        assertEquals(differenceSize * 2, cache.estimatedSize());
+        assertNull(cache.get(snapshot(1), snapshot(2)));
+
+        cache.invalidate("flow1", 3);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    public void testDoesNotCacheDifferenceLargerThanMaxSize() {
+        final FlowDifferenceCache cache = new FlowDifferenceCache(100, FlowDifferenceCache.estimateSize(difference("a")) - 1);
+        cache.put(snapshot(1), snapshot(2), difference("a"));
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(snapshot(1), snapshot(2)));
+    }
+
+    @Test
+    public void testReturnsCopies() {
+        final FlowDifferenceCache cache = new FlowDifferenceCache(100, Long.MAX_VALUE);
+        final VersionedFlowDifference difference = difference("a");
+        cache.put(snapshot(1), snapshot(2), difference);
+
+        // modifying the difference that was put or a difference that was returned does not modify the cached difference
+        difference.getComponentDifferenceGroups().clear();
+        final VersionedFlowDifference first = cache.get(snapshot(1), snapshot(2));
+        assertEquals(1, first.getComponentDifferenceGroups().size());
+        first.getComponentDifferenceGroups().iterator().next().getDifferences().clear();
+
+        final VersionedFlowDifference second = cache.get(snapshot(1), snapshot(2));
+        assertNotSame(first, second);
+        assertEquals(1, second.getComponentDifferenceGroups().iterator().next().getDifferences().size());
+    }
+
+    private static FlowSnapshotEntity snapshot(final int version) {
+        final FlowSnapshotEntity snapshot = new FlowSnapshotEntity();
+        snapshot.setFlowId("flow1");
+        snapshot.setVersion(version);
+        snapshot.setCreated(new Date(1000L * version));
+        return snapshot;
+    }
+
+    private static VersionedFlowDifference difference(final String componentId) {
+        final ComponentDifference componentDifference = new ComponentDifference();
+        componentDifference.setDifferenceType("PROPERTY_CHANGED");
+        componentDifference.setValueA("old");
+        componentDifference.setValueB("new");
+
+        final ComponentDifferenceGroup group = new ComponentDifferenceGroup();
+        group.setComponentId(componentId);
+        group.setComponentType("Processor");
+        group.getDifferences().add(componentDifference);
+
+        final VersionedFlowDifference difference = new VersionedFlowDifference();
+        difference.setFlowId("flow1");
+        difference.setComponentDifferenceGroups(new HashSet<>(Collections.singleton(group)));
+        return difference;
+    }
+}
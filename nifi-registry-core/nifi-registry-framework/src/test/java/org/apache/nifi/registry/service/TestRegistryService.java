@@ -22,6 +22,7 @@ import org.apache.nifi.registry.db.entity.FlowEntity;
 import org.apache.nifi.registry.db.entity.FlowSnapshotEntity;
 import org.apache.nifi.registry.diff.ComponentDifference;
 import org.apache.nifi.registry.diff.ComponentDifferenceGroup;
+import org.apache.nifi.registry.diff.ProcessGroupChange;
 import org.apache.nifi.registry.diff.VersionedFlowDifference;
 import org.apache.nifi.registry.exception.ResourceNotFoundException;
 import org.apache.nifi.registry.extension.BundlePersistenceProvider;
@@ -31,6 +32,7 @@ import org.apache.nifi.registry.flow.VersionedFlowSnapshot;
 import org.apache.nifi.registry.flow.VersionedFlowSnapshotMetadata;
 import org.apache.nifi.registry.flow.VersionedProcessGroup;
 import org.apache.nifi.registry.flow.VersionedProcessor;
+import org.apache.nifi.registry.properties.NiFiRegistryProperties;
 import org.apache.nifi.registry.serialization.FlowContent;
 import org.apache.nifi.registry.serialization.FlowContentSerializer;
 import org.apache.nifi.registry.service.alias.RegistryUrlAliasService;
@@ -55,15 +57,20 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
@@ -97,7 +104,7 @@ public class TestRegistryService {
         validator = validatorFactory.getValidator();
 
         registryService = new RegistryService(metadataService, flowPersistenceProvider, bundlePersistenceProvider,
-                flowContentSerializer, extensionService, validator, registryUrlAliasService);
+                flowContentSerializer, extensionService, validator, registryUrlAliasService, new NiFiRegistryProperties());
     }
 
     // ---------------------- Test Bucket methods ---------------------------------------------
@@ -1126,6 +1133,35 @@ public class TestRegistryService {
         registryService.getFlowSnapshot(existingBucket.getId(), existingSnapshot.getFlowId(), existingSnapshot.getVersion());
     }
 
+    @Test
+    public void testGetFlowSnapshotTagWithoutLoadingContent() {
+        final BucketEntity existingBucket = createBucketEntity("b1");
+        final FlowEntity existingFlow = createFlowEntity(existingBucket.getId());
+        final FlowSnapshotEntity existingSnapshot = createFlowSnapshotEntity(existingFlow.getId());
+        existingFlow.setSnapshotCount(10);
+
+        when(metadataService.getBucketById(existingBucket.getId())).thenReturn(existingBucket);
+        when(metadataService.getFlowByIdWithSnapshotCounts(existingFlow.getId())).thenReturn(existingFlow);
+        when(metadataService.getFlowSnapshot(existingFlow.getId(), existingSnapshot.getVersion())).thenReturn(existingSnapshot);
+
+        final Map<String, String> groupHashes = new HashMap<>();
+        groupHashes.put("pg1", "hash1");
+        when(metadataService.getFlowSnapshotGroupHashes(existingFlow.getId(), existingSnapshot.getVersion())).thenReturn(groupHashes);
+
+        final String tag = registryService.getFlowSnapshotTag(existingBucket.getId(), existingFlow.getId(), existingSnapshot.getVersion());
+        assertEquals(tag, registryService.getFlowSnapshotTag(existingBucket.getId(), existingFlow.getId(), existingSnapshot.getVersion()));
+
+        // the snapshot is returned with the flow metadata, so renaming the flow changes the tag
+        existingFlow.setName("Renamed Flow");
+        final String renamedTag = registryService.getFlowSnapshotTag(existingBucket.getId(), existingFlow.getId(), existingSnapshot.getVersion());
+        assertNotEquals(tag, renamedTag);
+
+        groupHashes.put("pg1", "hash2");
+        assertNotEquals(renamedTag, registryService.getFlowSnapshotTag(existingBucket.getId(), existingFlow.getId(), existingSnapshot.getVersion()));
+
+        verify(flowPersistenceProvider, times(0)).getFlowContent(anyString(), anyString(), anyInt());
+    }
+
     @Test
     public void testGetSnapshotExists() {
         final BucketEntity existingBucket = createBucketEntity("b1");
@@ -1249,6 +1285,8 @@ public class TestRegistryService {
     // -----------------Test Flow Diff Service Method---------------------
     @Test
     public void testGetDiffReturnsRemovedComponentChanges() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+
         when(flowPersistenceProvider.getFlowContent(
                 anyString(), anyString(), anyInt()
         )).thenReturn(new byte[10], new byte[10]);
@@ -1260,7 +1298,7 @@ public class TestRegistryService {
         when(flowContentSerializer.deserializeProcessGroup(eq(2),any())).thenReturn(pgA, pgB);
 
         final VersionedFlowDifference diff = registryService.getFlowDiff(
-                "bucketIdentifier", "flowIdentifier", 1, 2);
+                existingFlow.getBucketId(), existingFlow.getId(), 1, 2);
 
         assertNotNull(diff);
         Optional<ComponentDifferenceGroup> removedComponent = diff.getComponentDifferenceGroups().stream()
@@ -1272,6 +1310,8 @@ public class TestRegistryService {
 
     @Test
     public void testGetDiffReturnsChangesInChronologicalOrder() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+
         when(flowPersistenceProvider.getFlowContent(
                 anyString(), anyString(), anyInt()
         )).thenReturn(new byte[10], new byte[10]);
@@ -1284,7 +1324,7 @@ public class TestRegistryService {
 
         // getFlowDiff orders the changes in ascending order of version number regardless of param order
         final VersionedFlowDifference diff = registryService.getFlowDiff(
-                "bucketIdentifier", "flowIdentifier", 2,1);
+                existingFlow.getBucketId(), existingFlow.getId(), 2,1);
 
         assertNotNull(diff);
         Optional<ComponentDifferenceGroup> nameChangedComponent = diff.getComponentDifferenceGroups().stream()
@@ -1299,6 +1339,203 @@ public class TestRegistryService {
         assertEquals("ProcessorFirstV2", nameChangeDifference.getValueB());
     }
 
+    @Test
+    public void testGetDiffIsCachedUntilSnapshotDeleted() {
+        final BucketEntity existingBucket = createBucketEntity("b1");
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots(existingBucket.getId());
+        final FlowSnapshotEntity existingSnapshot = metadataService.getFlowSnapshot(existingFlow.getId(), 1);
+
+        when(flowPersistenceProvider.getFlowContent(
+                anyString(), anyString(), anyInt()
+        )).thenReturn(new byte[10]);
+
+        when(flowContentSerializer.readDataModelVersion(any(InputStream.class))).thenReturn(2);
+        when(flowContentSerializer.isProcessGroupVersion(eq(2))).thenReturn(true);
+        when(flowContentSerializer.deserializeProcessGroup(eq(2),any())).thenReturn(createVersionedProcessGroupA(), createVersionedProcessGroupB());
+
+        final VersionedFlowDifference first = registryService.getFlowDiff(existingBucket.getId(), existingFlow.getId(), 1, 2);
+        final VersionedFlowDifference second = registryService.getFlowDiff(existingBucket.getId(), existingFlow.getId(), 2, 1);
+        assertEquals(first.getComponentDifferenceGroups(), second.getComponentDifferenceGroups());
+        verify(flowPersistenceProvider, times(2)).getFlowContent(anyString(), anyString(), anyInt());
+
+        // the cached difference is copied, so modifying a returned difference does not modify the cached one
+        assertNotSame(first, second);
+        second.getComponentDifferenceGroups().clear();
+        final VersionedFlowDifference cached = registryService.getFlowDiff(existingBucket.getId(), existingFlow.getId(), 1, 2);
+        assertEquals(first.getComponentDifferenceGroups(), cached.getComponentDifferenceGroups());
+        verify(flowPersistenceProvider, times(2)).getFlowContent(anyString(), anyString(), anyInt());
+
+        // deleting one of the versions evicts the cached difference
+        registryService.deleteFlowSnapshot(existingBucket.getId(), existingFlow.getId(), existingSnapshot.getVersion());
+
+        final VersionedFlowDifference third = registryService.getFlowDiff(existingBucket.getId(), existingFlow.getId(), 1, 2);
+        assertNotSame(first, third);
+        verify(flowPersistenceProvider, times(4)).getFlowContent(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testGetDiffIsNotCachedAcrossRecreatedSnapshot() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+
+        when(flowPersistenceProvider.getFlowContent(
+                anyString(), anyString(), anyInt()
+        )).thenReturn(new byte[10]);
+
+        when(flowContentSerializer.readDataModelVersion(any(InputStream.class))).thenReturn(2);
+        when(flowContentSerializer.isProcessGroupVersion(eq(2))).thenReturn(true);
+        when(flowContentSerializer.deserializeProcessGroup(eq(2),any())).thenReturn(createVersionedProcessGroupA(), createVersionedProcessGroupB());
+
+        final VersionedFlowDifference first = registryService.getFlowDiff(existingFlow.getBucketId(), existingFlow.getId(), 1, 2);
+
+        // version 2 was deleted and re-created without the cache being invalidated, e.g. by a concurrent transaction
+        final FlowSnapshotEntity recreatedSnapshot = createFlowSnapshotEntity(existingFlow.getId());
+        recreatedSnapshot.setVersion(2);
+        recreatedSnapshot.setCreated(new Date(metadataService.getFlowSnapshot(existingFlow.getId(), 2).getCreated().getTime() + 1000));
+        when(metadataService.getFlowSnapshot(existingFlow.getId(), 2)).thenReturn(recreatedSnapshot);
+
+        final VersionedFlowDifference second = registryService.getFlowDiff(existingFlow.getBucketId(), existingFlow.getId(), 1, 2);
+        assertNotSame(first, second);
+        verify(flowPersistenceProvider, times(4)).getFlowContent(anyString(), anyString(), anyInt());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetDiffWhenFlowNotInBucket() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+
+        final BucketEntity otherBucket = createBucketEntity("b2");
+        when(metadataService.getBucketById(otherBucket.getId())).thenReturn(otherBucket);
+
+        registryService.getFlowDiff(otherBucket.getId(), existingFlow.getId(), 1, 2);
+    }
+
+    @Test
+    public void testGetDiffTagChangesWhenSnapshotRecreated() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+
+        final String tag = registryService.getFlowDiffTag(existingFlow.getBucketId(), existingFlow.getId(), 1, 2);
+        assertEquals(tag, registryService.getFlowDiffTag(existingFlow.getBucketId(), existingFlow.getId(), 2, 1));
+
+        final FlowSnapshotEntity recreatedSnapshot = createFlowSnapshotEntity(existingFlow.getId());
+        recreatedSnapshot.setVersion(2);
+        recreatedSnapshot.setCreated(new Date(metadataService.getFlowSnapshot(existingFlow.getId(), 2).getCreated().getTime() + 1000));
+        when(metadataService.getFlowSnapshot(existingFlow.getId(), 2)).thenReturn(recreatedSnapshot);
+
+        assertNotEquals(tag, registryService.getFlowDiffTag(existingFlow.getBucketId(), existingFlow.getId(), 1, 2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetDiffTagWhenFlowNotInBucket() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+
+        final BucketEntity otherBucket = createBucketEntity("b2");
+        when(metadataService.getBucketById(otherBucket.getId())).thenReturn(otherBucket);
+
+        registryService.getFlowDiffTag(otherBucket.getId(), existingFlow.getId(), 1, 2);
+    }
+
+    @Test(expected = ResourceNotFoundException.class)
+    public void testGetDiffTagWhenSnapshotDoesNotExist() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+        registryService.getFlowDiffTag(existingFlow.getBucketId(), existingFlow.getId(), 1, 3);
+    }
+
+    @Test
+    public void testGetProcessGroupChangeWhenStoredHashesMatch() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+        when(metadataService.getFlowSnapshotGroupHash(existingFlow.getId(), 1, "pg1")).thenReturn("hash1");
+        when(metadataService.getFlowSnapshotGroupHash(existingFlow.getId(), 2, "pg1")).thenReturn("hash1");
+
+        final ProcessGroupChange change = registryService.getProcessGroupChange(existingFlow.getBucketId(), existingFlow.getId(), "pg1", 1, 2);
+        assertEquals(existingFlow.getBucketId(), change.getBucketId());
+        assertEquals(existingFlow.getId(), change.getFlowId());
+        assertEquals("pg1", change.getProcessGroupId());
+        assertFalse(change.isChanged());
+
+        // the stored hashes are enough to answer, so the flow contents are never read
+        verify(flowPersistenceProvider, times(0)).getFlowContent(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testGetProcessGroupChangeWhenStoredHashesDiffer() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+        when(metadataService.getFlowSnapshotGroupHash(existingFlow.getId(), 1, "pg1")).thenReturn("hash1");
+        when(metadataService.getFlowSnapshotGroupHash(existingFlow.getId(), 2, "pg1")).thenReturn("hash2");
+
+        // the versions are put in ascending order regardless of the order they are given in
+        final ProcessGroupChange change = registryService.getProcessGroupChange(existingFlow.getBucketId(), existingFlow.getId(), "pg1", 2, 1);
+        assertEquals(1, change.getVersionA());
+        assertEquals(2, change.getVersionB());
+        assertTrue(change.isChanged());
+    }
+
+    @Test
+    public void testGetProcessGroupChangeWhenGroupOnlyInOneVersion() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+        when(metadataService.getFlowSnapshotGroupHash(existingFlow.getId(), 1, "pg1")).thenReturn("hash1");
+        when(metadataService.getFlowSnapshotGroupHashes(existingFlow.getId(), 2)).thenReturn(Collections.singletonMap("pg2", "hash2"));
+
+        final ProcessGroupChange change = registryService.getProcessGroupChange(existingFlow.getBucketId(), existingFlow.getId(), "pg1", 1, 2);
+        assertTrue(change.isChanged());
+        verify(flowPersistenceProvider, times(0)).getFlowContent(anyString(), anyString(), anyInt());
+    }
+
+    @Test(expected = ResourceNotFoundException.class)
+    public void testGetProcessGroupChangeWhenGroupInNeitherVersion() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+        when(metadataService.getFlowSnapshotGroupHashes(existingFlow.getId(), 1)).thenReturn(Collections.singletonMap("pg2", "hash2"));
+        when(metadataService.getFlowSnapshotGroupHashes(existingFlow.getId(), 2)).thenReturn(Collections.singletonMap("pg2", "hash2"));
+
+        registryService.getProcessGroupChange(existingFlow.getBucketId(), existingFlow.getId(), "pg1", 1, 2);
+    }
+
+    @Test
+    public void testGetProcessGroupChangeWithoutStoredHashes() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+
+        // snapshots created before hashes were stored are hashed from their contents
+        when(flowPersistenceProvider.getFlowContent(anyString(), anyString(), anyInt())).thenReturn(new byte[10]);
+        when(flowContentSerializer.readDataModelVersion(any(InputStream.class))).thenReturn(2);
+        when(flowContentSerializer.isProcessGroupVersion(eq(2))).thenReturn(true);
+        when(flowContentSerializer.deserializeProcessGroup(eq(2), any())).thenReturn(
+                createVersionedProcessGroupA(), createVersionedProcessGroupB(),
+                createVersionedProcessGroupA(), createVersionedProcessGroupB());
+
+        final ProcessGroupChange unchanged = registryService.getProcessGroupChange(existingFlow.getBucketId(), existingFlow.getId(), "ID-pg2", 1, 2);
+        assertFalse(unchanged.isChanged());
+
+        // ID-pg1 is removed in the second version
+        final ProcessGroupChange removed = registryService.getProcessGroupChange(existingFlow.getBucketId(), existingFlow.getId(), "ID-pg1", 1, 2);
+        assertTrue(removed.isChanged());
+
+        // the computed hashes are stored the first time each snapshot is hashed
+        verify(metadataService, times(1)).createFlowSnapshotGroupHashes(eq(existingFlow.getId()), eq(1), anyMap());
+        verify(metadataService, times(1)).createFlowSnapshotGroupHashes(eq(existingFlow.getId()), eq(2), anyMap());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetProcessGroupChangeWhenFlowNotInBucket() {
+        final FlowEntity existingFlow = stubFlowWithTwoSnapshots("b1");
+        final BucketEntity otherBucket = createBucketEntity("b2");
+        when(metadataService.getBucketById(otherBucket.getId())).thenReturn(otherBucket);
+
+        registryService.getProcessGroupChange(otherBucket.getId(), existingFlow.getId(), "pg1", 1, 2);
+    }
+
+    private FlowEntity stubFlowWithTwoSnapshots(final String bucketId) {
+        final BucketEntity existingBucket = createBucketEntity(bucketId);
+        final FlowEntity existingFlow = createFlowEntity(existingBucket.getId());
+
+        final FlowSnapshotEntity snapshot1 = createFlowSnapshotEntity(existingFlow.getId());
+        final FlowSnapshotEntity snapshot2 = createFlowSnapshotEntity(existingFlow.getId());
+        snapshot2.setVersion(2);
+
+        when(metadataService.getBucketById(existingBucket.getId())).thenReturn(existingBucket);
+        when(metadataService.getFlowById(existingFlow.getId())).thenReturn(existingFlow);
+        when(metadataService.getFlowSnapshot(existingFlow.getId(), 1)).thenReturn(snapshot1);
+        when(metadataService.getFlowSnapshot(existingFlow.getId(), 2)).thenReturn(snapshot2);
+        return existingFlow;
+    }
+
     private VersionedProcessGroup createVersionedProcessGroupA() {
         VersionedProcessGroup root = new VersionedProcessGroup();
         root.setProcessGroups(new HashSet<>(Arrays.asList(createProcessGroup("ID-pg1"), createProcessGroup("ID-pg2"))));
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service.extension;
+
+import org.apache.nifi.registry.db.entity.TagCountEntity;
+import org.apache.nifi.registry.extension.component.TagCount;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestExtensionTagCounts {
+
+    @Test
+    public void testAddIgnoredUntilLoaded() {
+        final ExtensionTagCounts tagCounts = new ExtensionTagCounts();
+        tagCounts.add(Arrays.asList("tag1", "tag2"));
+        assertFalse(tagCounts.isLoaded());
+        assertTrue(tagCounts.getTagCounts().isEmpty());
+    }
+
+    @Test
+    public void testAddAfterLoad() {
+        final ExtensionTagCounts tagCounts = new ExtensionTagCounts();
+        tagCounts.load(Arrays.asList(createEntity("tag1", 2), createEntity("tag2", 1)));
+        assertTrue(tagCounts.isLoaded());
+
+        // tags are normalized and only counted once per extension
+        tagCounts.add(Arrays.asList("TAG1", " tag1 ", "tag3", ""));
+
+        final List<TagCount> counts = Arrays.asList(tagCounts.getTagCounts().toArray(new TagCount[0]));
+        assertEquals(3, counts.size());
+        assertEquals("tag1", counts.get(0).getTag());
+        assertEquals(3, counts.get(0).getCount());
+        assertEquals("tag2", counts.get(1).getTag());
+        assertEquals(1, counts.get(1).getCount());
+        assertEquals("tag3", counts.get(2).getTag());
+        assertEquals(1, counts.get(2).getCount());
+    }
+
+    @Test
+    public void testAddForGenerationBeforeCommit() {
+        final ExtensionTagCounts tagCounts = new ExtensionTagCounts();
+        tagCounts.load(Collections.singletonList(createEntity("tag1", 2)));
+        final long generation = tagCounts.getGeneration();
+
+        tagCounts.add(Arrays.asList(Collections.singleton("tag1"), Collections.singleton("Tag1")), generation);
+
+        assertTrue(tagCounts.isLoaded());
+        assertEquals(4, tagCounts.getTagCounts().first().getCount());
+    }
+
+    @Test
+    public void testAddUnloadsWhenReloadedDuringCommit() {
+        final ExtensionTagCounts tagCounts = new ExtensionTagCounts();
+        tagCounts.load(Collections.singletonList(createEntity("tag1", 2)));
+        final long generation = tagCounts.getGeneration();
+
+        // counts loaded while the transaction was committing may already include the new extension
+        tagCounts.load(Collections.singletonList(createEntity("tag1", 3)));
+        tagCounts.add(Collections.singletonList(Collections.singleton("tag1")), generation);
+
+        assertFalse(tagCounts.isLoaded());
+    }
+
+    @Test
+    public void testUnload() {
+        final ExtensionTagCounts tagCounts = new ExtensionTagCounts();
+        tagCounts.load(Collections.singletonList(createEntity("tag1", 2)));
+        tagCounts.unload();
+
+        assertFalse(tagCounts.isLoaded());
+        final SortedSet<TagCount> counts = tagCounts.getTagCounts();
+        assertTrue(counts.isEmpty());
+    }
+
+    private TagCountEntity createEntity(final String tag, final int count) {
+        final TagCountEntity entity = new TagCountEntity();
+        entity.setTag(tag);
+        entity.setCount(count);
+        return entity;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service.extension.docs;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TestExtensionDocsCache {
+
+    @Test
+    public void testGetAfterPut() {
+        final ExtensionDocsCache cache = new ExtensionDocsCache();
+        final byte[] docs = "<html>docs</html>".getBytes(StandardCharsets.UTF_8);
+
+        assertNull(cache.get("v1", "org.apache.nifi.ExampleProcessor"));
+        cache.put("b1", "v1", "org.apache.nifi.ExampleProcessor", docs);
+
+        assertArrayEquals(docs, cache.get("v1", "org.apache.nifi.ExampleProcessor"));
+        assertNull(cache.get("v2", "org.apache.nifi.ExampleProcessor"));
+        assertNull(cache.get("v1", "org.apache.nifi.OtherProcessor"));
+        assertEquals(docs.length, cache.getTotalBytes());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedWhenOverMaxBytes() {
+        final ExtensionDocsCache cache = new ExtensionDocsCache(30);
+        cache.put("b1", "v1", "e1", new byte[10]);
+        cache.put("b1", "v1", "e2", new byte[10]);
+        cache.put("b1", "v1", "e3", new byte[10]);
+
+        // access e1 so that e2 becomes the least recently used
+        assertNotNull(cache.get("v1", "e1"));
+
+        cache.put("b1", "v1", "e4", new byte[10]);
+        assertEquals(3, cache.size());
+        assertEquals(30, cache.getTotalBytes());
+        assertNull(cache.get("v1", "e2"));
+        assertNotNull(cache.get("v1", "e1"));
+        assertNotNull(cache.get("v1", "e4"));
+    }
+
+    @Test
+    public void testDoesNotCacheDocsLargerThanMaxBytes() {
+        final ExtensionDocsCache cache = new ExtensionDocsCache(10);
+        cache.put("b1", "v1", "e1", new byte[11]);
+        assertNull(cache.get("v1", "e1"));
+        assertEquals(0, cache.getTotalBytes());
+    }
+
+    @Test
+    public void testInvalidate() {
+        final ExtensionDocsCache cache = new ExtensionDocsCache();
+        cache.put("b1", "v1", "e1", new byte[10]);
+        cache.put("b1", "v2", "e1", new byte[10]);
+        cache.put("b2", "v3", "e1", new byte[10]);
+
+        cache.invalidateBundleVersion("v1");
+        assertNull(cache.get("v1", "e1"));
+        assertNotNull(cache.get("v2", "e1"));
+
+        cache.invalidateBundle("b1");
+        assertNull(cache.get("v2", "e1"));
+        assertNotNull(cache.get("v3", "e1"));
+        assertEquals(1, cache.size());
+        assertEquals(10, cache.getTotalBytes());
+    }
+}
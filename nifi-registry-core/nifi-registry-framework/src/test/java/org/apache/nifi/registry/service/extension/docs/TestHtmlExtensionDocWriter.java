@@ -56,6 +56,7 @@ public class TestHtmlExtensionDocWriter {
 
         final ExtensionEntity entity = new ExtensionEntity();
         entity.setContent(serializedExtension);
+        entity.setSummary(serializedExtension);
         entity.setBucketId(UUID.randomUUID().toString());
         entity.setBucketName("My Bucket");
         entity.setGroupId("org.apache.nifi");
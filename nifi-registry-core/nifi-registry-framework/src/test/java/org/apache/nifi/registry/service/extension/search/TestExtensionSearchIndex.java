@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.service.extension.search;
+
+import org.apache.nifi.registry.extension.bundle.BundleInfo;
+import org.apache.nifi.registry.extension.bundle.BundleType;
+import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
+import org.apache.nifi.registry.extension.component.ExtensionMetadata;
+import org.apache.nifi.registry.extension.component.ExtensionSearchResults;
+import org.apache.nifi.registry.extension.component.manifest.Extension;
+import org.apache.nifi.registry.extension.component.manifest.ExtensionType;
+import org.apache.nifi.registry.extension.component.manifest.Property;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestExtensionSearchIndex {
+
+    private static final Set<String> ALL_BUCKETS = new HashSet<>(Arrays.asList("b1", "b2"));
+
+    private ExtensionSearchIndex index;
+
+    @Before
+    public void setup() {
+        index = new ExtensionSearchIndex();
+        index.add("e1", "bv1", createMetadata("org.apache.nifi.processors.standard.PutFile", ExtensionType.PROCESSOR,
+                "Writes the contents of a FlowFile to the local file system", "b1", "bundle1", "put", "local", "files"),
+                createExtension("Directory", "Conflict Resolution Strategy"));
+        index.add("e2", "bv1", createMetadata("org.apache.nifi.processors.standard.GetFile", ExtensionType.PROCESSOR,
+                "Creates FlowFiles from files in a directory", "b1", "bundle1", "get", "local", "files"),
+                createExtension("Input Directory", "Recurse Subdirectories"));
+        index.add("e3", "bv2", createMetadata("org.apache.nifi.processors.aws.s3.PutS3Object", ExtensionType.PROCESSOR,
+                "Puts FlowFiles to an Amazon S3 Bucket", "b2", "bundle2", "amazon", "s3", "put"),
+                createExtension("Bucket", "Object Key"));
+        index.add("e4", "bv2", createMetadata("org.apache.nifi.processors.aws.credentials.AWSCredentialsProviderService", ExtensionType.CONTROLLER_SERVICE,
+                "Defines credentials for Amazon Web Services processors", "b2", "bundle2", "aws", "credentials"),
+                createExtension("Access Key ID", "Secret Access Key"));
+    }
+
+    @Test
+    public void testTagMatchesRankAboveDescriptionMatches() {
+        final ExtensionSearchResults results = index.search(ALL_BUCKETS, "amazon", null, 0, 10);
+        assertEquals(Arrays.asList("PutS3Object", "AWSCredentialsProviderService"), getDisplayNames(results));
+        assertTrue(results.getResults().get(0).getScore() > 0);
+    }
+
+    @Test
+    public void testAllTermsMustMatch() {
+        assertEquals(Collections.singletonList("PutS3Object"), getDisplayNames(index.search(ALL_BUCKETS, "put amazon", null, 0, 10)));
+        assertEquals(Collections.emptyList(), getDisplayNames(index.search(ALL_BUCKETS, "put credentials", null, 0, 10)));
+    }
+
+    @Test
+    public void testPrefixAndPropertyNameMatches() {
+        assertEquals(Collections.singletonList("AWSCredentialsProviderService"), getDisplayNames(index.search(ALL_BUCKETS, "secr", null, 0, 10)));
+        assertEquals(Arrays.asList("GetFile", "PutFile"), getDisplayNames(index.search(ALL_BUCKETS, "director", null, 0, 10)));
+    }
+
+    @Test
+    public void testOnlySearchesGivenBuckets() {
+        final ExtensionSearchResults results = index.search(Collections.singleton("b2"), "put", null, 0, 10);
+        assertEquals(Collections.singletonList("PutS3Object"), getDisplayNames(results));
+    }
+
+    @Test
+    public void testResultsDoNotShareBundleInfoWithIndex() {
+        final ExtensionSearchResults first = index.search(Collections.singleton("b2"), "put", null, 0, 10);
+        first.getResults().get(0).getExtension().getBundleInfo().setBucketName("Renamed");
+
+        final ExtensionSearchResults second = index.search(Collections.singleton("b2"), "put", null, 0, 10);
+        assertNotEquals("Renamed", second.getResults().get(0).getExtension().getBundleInfo().getBucketName());
+    }
+
+    @Test
+    public void testFiltersAndFacets() {
+        final ExtensionFilterParams filterParams = new ExtensionFilterParams.Builder()
+                .extensionType(ExtensionType.PROCESSOR)
+                .tag("PUT")
+                .build();
+
+        final ExtensionSearchResults results = index.search(ALL_BUCKETS, null, filterParams, 0, 10);
+        assertEquals(2, results.getTotalResults());
+        assertEquals(Integer.valueOf(2), results.getExtensionTypeCounts().get(ExtensionType.PROCESSOR.name()));
+        assertEquals(Integer.valueOf(2), results.getBundleTypeCounts().get(BundleType.NIFI_NAR.name()));
+        assertEquals(Integer.valueOf(2), results.getTagCounts().get("put"));
+        assertEquals(Integer.valueOf(1), results.getTagCounts().get("amazon"));
+    }
+
+    @Test
+    public void testPagination() {
+        final ExtensionSearchResults firstPage = index.search(ALL_BUCKETS, "", null, 0, 3);
+        assertEquals(4, firstPage.getTotalResults());
+        assertEquals(3, firstPage.getResults().size());
+
+        final ExtensionSearchResults secondPage = index.search(ALL_BUCKETS, "", null, 3, 3);
+        assertEquals(4, secondPage.getTotalResults());
+        assertEquals(1, secondPage.getResults().size());
+    }
+
+    @Test
+    public void testRemove() {
+        index.removeBundleVersion("bv1");
+        assertEquals(2, index.size());
+        assertEquals(Collections.singletonList("PutS3Object"), getDisplayNames(index.search(ALL_BUCKETS, "put", null, 0, 10)));
+
+        index.removeBucket("b2");
+        assertEquals(0, index.size());
+        assertEquals(0, index.search(ALL_BUCKETS, "put", null, 0, 10).getTotalResults());
+    }
+
+    @Test
+    public void testChangesDuringLoadAreAppliedWhenLoadFinishes() {
+        // nothing is applied before the index is loaded, since the load reads the committed state
+        index.applyChange(i -> i.removeBundleVersion("bv1"));
+        assertEquals(4, index.size());
+
+        index.startLoad();
+        index.add("e3", "bv2", createMetadata("org.apache.nifi.processors.aws.s3.PutS3Object", ExtensionType.PROCESSOR,
+                "Puts FlowFiles to an Amazon S3 Bucket", "b2", "bundle2", "amazon", "s3", "put"), null);
+
+        // a bundle version deleted after the load read it, and one created after the load read past it
+        index.applyChange(i -> i.removeBundleVersion("bv2"));
+        index.applyChange(i -> i.add("e5", "bv3", createMetadata("org.apache.nifi.processors.standard.PutSFTP", ExtensionType.PROCESSOR,
+                "Sends FlowFiles to an SFTP server", "b1", "bundle3", "put", "remote"), null));
+        assertEquals(1, index.size());
+        assertFalse(index.isLoaded());
+
+        index.finishLoad();
+        assertTrue(index.isLoaded());
+        assertEquals(Collections.singletonList("PutSFTP"), getDisplayNames(index.search(ALL_BUCKETS, "put", null, 0, 10)));
+
+        // once loaded, changes are applied immediately
+        index.applyChange(i -> i.removeBucket("b1"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testAbortedLoadDiscardsChanges() {
+        index.startLoad();
+        index.applyChange(i -> i.add("e5", "bv3", createMetadata("org.apache.nifi.processors.standard.PutSFTP", ExtensionType.PROCESSOR,
+                "Sends FlowFiles to an SFTP server", "b1", "bundle3", "put", "remote"), null));
+        index.abortLoad();
+        assertFalse(index.isLoaded());
+        assertEquals(0, index.size());
+
+        index.startLoad();
+        index.finishLoad();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testTokenize() {
+        assertEquals(Arrays.asList("org", "apache", "nifi", "putfile", "put", "file"),
+                new ArrayList<>(ExtensionSearchIndex.tokenize("org.apache.nifi.PutFile", true)));
+        assertEquals(Arrays.asList("awscredentialsproviderservice", "aws", "credentials", "provider", "service"),
+                new ArrayList<>(ExtensionSearchIndex.tokenize("AWSCredentialsProviderService", true)));
+        assertEquals(Collections.singletonList("putfile"), new ArrayList<>(ExtensionSearchIndex.tokenize("PutFile", false)));
+    }
+
+    private List<String> getDisplayNames(final ExtensionSearchResults results) {
+        return results.getResults().stream()
+                .map(r -> r.getExtension().getDisplayName())
+                .collect(Collectors.toList());
+    }
+
+    private ExtensionMetadata createMetadata(final String name, final ExtensionType type, final String description,
+                                             final String bucketId, final String bundleId, final String... tags) {
+        final BundleInfo bundleInfo = new BundleInfo();
+        bundleInfo.setBucketId(bucketId);
+        bundleInfo.setBundleId(bundleId);
+        bundleInfo.setBundleType(BundleType.NIFI_NAR);
+
+        final ExtensionMetadata metadata = new ExtensionMetadata();
+        metadata.setName(name);
+        metadata.setDisplayName(name.substring(name.lastIndexOf('.') + 1));
+        metadata.setType(type);
+        metadata.setDescription(description);
+        metadata.setTags(Arrays.asList(tags));
+        metadata.setBundleInfo(bundleInfo);
+        return metadata;
+    }
+
+    private Extension createExtension(final String... propertyNames) {
+        final Extension extension = new Extension();
+        extension.setProperties(Arrays.stream(propertyNames).map(name -> {
+            final Property property = new Property();
+            property.setName(name);
+            return property;
+        }).collect(Collectors.toList()));
+        return extension;
+    }
+}
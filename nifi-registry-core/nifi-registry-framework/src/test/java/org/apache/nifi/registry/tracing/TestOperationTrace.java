@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.nifi.registry.metrics.TimedLock;
+import org.apache.nifi.registry.tracing.OperationTrace.Phase;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestOperationTrace {
+
+    private OperationTrace trace;
+
+    @After
+    public void teardown() {
+        if (trace != null) {
+            trace.end();
+        }
+    }
+
+    @Test
+    public void testRecordsPhasesOfCurrentOperation() {
+        trace = OperationTrace.begin("createFlowSnapshot");
+        assertNotNull(trace);
+
+        OperationTrace.record(Phase.METADATA, TimeUnit.MILLISECONDS.toNanos(5));
+        OperationTrace.record(Phase.METADATA, TimeUnit.MILLISECONDS.toNanos(7));
+        OperationTrace.record(Phase.PROVIDER, TimeUnit.MILLISECONDS.toNanos(30));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(12), trace.getPhaseNanos(Phase.METADATA));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(30), trace.getPhaseNanos(Phase.PROVIDER));
+        assertEquals(0, trace.getPhaseNanos(Phase.SERIALIZATION));
+
+        trace.end();
+        final String summary = trace.toString();
+        assertTrue(summary, summary.startsWith("createFlowSnapshot took "));
+        assertTrue(summary, summary.contains("metadata: 12 ms, serialization: 0 ms, provider: 30 ms"));
+        trace = null;
+    }
+
+    @Test
+    public void testDoesNotNestOperations() {
+        trace = OperationTrace.begin("getFlow");
+        assertNotNull(trace);
+        assertNull(OperationTrace.begin("getBucket"));
+
+        trace.end();
+        trace = OperationTrace.begin("getBucket");
+        assertNotNull(trace);
+        assertEquals("getBucket", trace.getOperation());
+    }
+
+    @Test
+    public void testIgnoresPhasesOutsideOfOperation() {
+        OperationTrace.record(Phase.PROVIDER, TimeUnit.SECONDS.toNanos(1));
+
+        trace = OperationTrace.begin("getFlow");
+        assertEquals(0, trace.getPhaseNanos(Phase.PROVIDER));
+    }
+
+    @Test
+    public void testTimedLockRecordsLockWait() throws InterruptedException {
+        final ReentrantLock lock = new ReentrantLock();
+        final TimedLock timedLock = new TimedLock(lock, "test", new SimpleMeterRegistry());
+
+        // hold the lock on another thread so acquiring it has to wait
+        final Thread holder = new Thread(() -> {
+            lock.lock();
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        holder.start();
+        while (!lock.isLocked()) {
+            Thread.yield();
+        }
+
+        trace = OperationTrace.begin("updateFlow");
+        timedLock.lock();
+        timedLock.unlock();
+        holder.join();
+
+        assertTrue(trace.getPhaseNanos(Phase.LOCK_WAIT) > 0);
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.tracing;
+
+import org.apache.nifi.registry.extension.bundle.BundleVersion;
+import org.apache.nifi.registry.extension.bundle.BundleVersionFilterParams;
+import org.apache.nifi.registry.service.QueryParameters;
+import org.apache.nifi.registry.service.RegistryService;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestOperationTracingPostProcessor {
+
+    @Test
+    public void testTracesOperations() throws NoSuchMethodException {
+        assertTraced(true, "getBucket", String.class);
+        assertTraced(true, "getLatestFlowSnapshotMetadata", String.class);
+        assertTraced(true, "getBucketItems", Set.class, QueryParameters.class);
+        assertTraced(true, "getBundleVersions", Set.class, BundleVersionFilterParams.class, QueryParameters.class);
+    }
+
+    @Test
+    public void testDoesNotTraceOperationsThatStreamToTheCaller() throws NoSuchMethodException {
+        assertTraced(false, "writeBundleVersionContent", BundleVersion.class, OutputStream.class);
+        assertTraced(false, "writeExtensionDocs", BundleVersion.class, String.class, OutputStream.class);
+    }
+
+    private static void assertTraced(final boolean expected, final String methodName, final Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        final Method method = RegistryService.class.getMethod(methodName, parameterTypes);
+        final boolean traced = OperationTracingPostProcessor.TRACED_METHODS.matches(method, RegistryService.class);
+        if (expected) {
+            assertTrue(methodName + " should be traced", traced);
+        } else {
+            assertFalse(methodName + " should not be traced", traced);
+        }
+    }
+}
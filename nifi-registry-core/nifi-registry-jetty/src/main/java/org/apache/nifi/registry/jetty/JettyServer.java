@@ -18,12 +18,20 @@ package org.apache.nifi.registry.jetty;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.nifi.registry.jetty.headers.ContentSecurityPolicyFilter;
+import org.apache.nifi.registry.jetty.headers.RequestIdFilter;
 import org.apache.nifi.registry.jetty.headers.StrictTransportSecurityFilter;
 import org.apache.nifi.registry.jetty.headers.XFrameOptionsFilter;
 import org.apache.nifi.registry.jetty.headers.XSSProtectionFilter;
+import org.apache.nifi.registry.jetty.qos.BulkTransferQoSFilter;
 import org.apache.nifi.registry.properties.NiFiRegistryProperties;
 import org.apache.nifi.registry.security.crypto.CryptoKeyProvider;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
 import org.eclipse.jetty.annotations.AnnotationConfiguration;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.jmx.MBeanContainer;
+import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.HttpConfiguration;
@@ -33,6 +41,7 @@ import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.HandlerCollection;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.servlet.DefaultServlet;
 import org.eclipse.jetty.servlet.FilterHolder;
 import org.eclipse.jetty.servlet.ServletHolder;
@@ -50,6 +59,7 @@ import javax.servlet.Filter;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
 import java.net.MalformedURLException;
 import java.net.NetworkInterface;
@@ -100,6 +110,9 @@ public class JettyServer {
         this.docsLocation = docsLocation;
         this.server = new Server(threadPool);
 
+        // expose the thread pool, connectors and handlers over JMX
+        server.addBean(new MBeanContainer(ManagementFactory.getPlatformMBeanServer()));
+
         // enable the annotation based configuration to ensure the jsp container is initialized properly
         final Configuration.ClassList classlist = Configuration.ClassList.setServerDefault(server);
         classlist.addBefore(JettyWebXmlConfiguration.class.getName(), AnnotationConfiguration.class.getName());
@@ -157,8 +170,18 @@ public class JettyServer {
 
             logger.info("Configuring Jetty for HTTP on port: " + port);
 
-            // create the connector
-            final ServerConnector http = new ServerConnector(server, new HttpConnectionFactory(httpConfiguration));
+            // create the connector, accepting h2c alongside http/1.1 when http2 is enabled
+            final List<ConnectionFactory> connectionFactories = new ArrayList<>();
+            connectionFactories.add(new HttpConnectionFactory(httpConfiguration));
+            if (properties.isWebHttp2Enabled()) {
+                logger.info("Enabling HTTP/2 cleartext (h2c) on port: " + port);
+
+                final HTTP2CServerConnectionFactory h2c = new HTTP2CServerConnectionFactory(httpConfiguration);
+                h2c.setMaxConcurrentStreams(properties.getWebHttp2MaxConcurrentStreams());
+                connectionFactories.add(h2c);
+            }
+
+            final ServerConnector http = new ServerConnector(server, connectionFactories.toArray(new ConnectionFactory[0]));
 
             // set host and port
             if (StringUtils.isNotBlank(properties.getHttpHost())) {
@@ -188,9 +211,26 @@ public class JettyServer {
             httpsConfiguration.addCustomizer(new SecureRequestCustomizer());
 
             // build the connector
-            final ServerConnector https = new ServerConnector(server,
-                    new SslConnectionFactory(createSslContextFactory(), "http/1.1"),
-                    new HttpConnectionFactory(httpsConfiguration));
+            final HttpConnectionFactory http11 = new HttpConnectionFactory(httpsConfiguration);
+            final ALPNServerConnectionFactory alpn = properties.isWebHttp2Enabled() ? createAlpnConnectionFactory(http11) : null;
+
+            final ServerConnector https;
+            if (alpn == null) {
+                https = new ServerConnector(server,
+                        new SslConnectionFactory(createSslContextFactory(false), http11.getProtocol()),
+                        http11);
+            } else {
+                logger.info("Enabling HTTP/2 (h2) over ALPN on port: " + port);
+
+                final HTTP2ServerConnectionFactory h2 = new HTTP2ServerConnectionFactory(httpsConfiguration);
+                h2.setMaxConcurrentStreams(properties.getWebHttp2MaxConcurrentStreams());
+
+                https = new ServerConnector(server,
+                        new SslConnectionFactory(createSslContextFactory(true), alpn.getProtocol()),
+                        alpn,
+                        h2,
+                        http11);
+            }
 
             // set host and port
             if (StringUtils.isNotBlank(properties.getHttpsHost())) {
@@ -203,9 +243,31 @@ public class JettyServer {
         }
     }
 
-    private SslContextFactory createSslContextFactory() {
+    /**
+     * Creates the ALPN negotiation for h2 with a fallback to http/1.1. ALPN needs a JVM specific processor, which
+     * Jetty only provides for Java 9 and later, so null is returned when none is available and HTTPS stays on http/1.1.
+     */
+    private ALPNServerConnectionFactory createAlpnConnectionFactory(final HttpConnectionFactory http11) {
+        try {
+            final ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory("h2", http11.getProtocol());
+            alpn.setDefaultProtocol(http11.getProtocol());
+            return alpn;
+        } catch (final IllegalStateException e) {
+            logger.warn(NiFiRegistryProperties.WEB_HTTP2_ENABLED + " is true but ALPN is not available on this JVM; "
+                    + "HTTPS will only accept HTTP/1.1: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private SslContextFactory createSslContextFactory(final boolean http2) {
         final SslContextFactory.Server contextFactory = new SslContextFactory.Server();
 
+        // h2 blacklists the weaker cipher suites, so prefer the ones it accepts when negotiating
+        if (http2) {
+            contextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+            contextFactory.setUseCipherSuitesOrder(true);
+        }
+
         // if needClientAuth is false then set want to true so we can optionally use certs
         if (properties.getNeedClientAuth()) {
             logger.info("Setting Jetty's SSLContextFactory needClientAuth to true");
@@ -286,6 +348,8 @@ public class JettyServer {
         logger.info("Adding {} object to ServletContext with key 'nifi-registry.key'", masterKeyProvider.getClass().getSimpleName());
         webApiContext.setAttribute("nifi-registry.key", masterKeyProvider);
 
+        addBulkTransferFilter(webApiContext);
+
         // there is an issue scanning the asm repackaged jar so narrow down what we are scanning
         webApiContext.setAttribute("org.eclipse.jetty.server.webapp.WebInfIncludeJarPattern", ".*/spring-[^/]*\\.jar$");
 
@@ -297,7 +361,50 @@ public class JettyServer {
         handlers.addHandler(webUiContext);
         handlers.addHandler(webApiContext);
         handlers.addHandler(webDocsContext);
-        server.setHandler(handlers);
+        server.setHandler(createCompressionHandler(handlers));
+    }
+
+    private void addBulkTransferFilter(final WebAppContext webappContext) {
+        final int maxRequests = properties.getWebBulkTransferMaxRequests();
+        final int maxWaitMillis = properties.getWebBulkTransferMaxWaitMillis();
+        if (maxRequests >= properties.getWebThreads()) {
+            logger.warn("{} is not lower than {}, so bulk transfers may still occupy every Jetty thread",
+                    NiFiRegistryProperties.WEB_BULK_TRANSFER_MAX_REQUESTS, NiFiRegistryProperties.WEB_THREADS);
+        }
+        logger.info("Limiting bulk transfers to {} concurrent requests, waiting up to {} ms for a slot", maxRequests, maxWaitMillis);
+
+        // waiting transfers are suspended rather than parked on a thread, so the filter must be allowed to go async
+        final FilterHolder holder = new FilterHolder(BulkTransferQoSFilter.class);
+        holder.setName(BulkTransferQoSFilter.class.getSimpleName());
+        holder.setAsyncSupported(true);
+        holder.setInitParameter("maxRequests", String.valueOf(maxRequests));
+        holder.setInitParameter("suspendMs", String.valueOf(maxWaitMillis));
+        webappContext.addFilter(holder, "/*", EnumSet.allOf(DispatcherType.class));
+    }
+
+    private Handler createCompressionHandler(final Handler handler) {
+        if (!properties.isWebCompressionEnabled()) {
+            logger.info("Response compression is disabled");
+            return handler;
+        }
+
+        final int minSize = properties.getWebCompressionMinSize();
+        final Set<String> mimeTypes = properties.getWebCompressionMimeTypes();
+        final int level = properties.getWebCompressionLevel();
+        logger.info("Compressing responses of at least {} bytes with level {} for types {}", new Object[] {minSize, level, mimeTypes});
+
+        final GzipHandler gzipHandler = new GzipHandler();
+        gzipHandler.setMinGzipSize(minSize);
+        gzipHandler.setIncludedMimeTypes(mimeTypes.toArray(new String[0]));
+        gzipHandler.setCompressionLevel(level);
+
+        // creating a flow version responds with the full snapshot, so compress POST and PUT responses as well
+        gzipHandler.setIncludedMethods("GET", "POST", "PUT");
+
+        // request bodies are not inflated here, the REST API only accepts compressed bodies on the endpoints that opt in
+
+        gzipHandler.setHandler(handler);
+        return gzipHandler;
     }
 
     private WebAppContext loadWar(final File warFile, final String contextPath)
@@ -338,9 +445,9 @@ public class JettyServer {
         // configure the max form size (3x the default)
         webappContext.setMaxFormContentSize(600000);
 
-        // add HTTP security headers to all responses
+        // identify each request in the logs, and add HTTP security headers to all responses
         final String ALL_PATHS = "/*";
-        ArrayList<Class<? extends Filter>> filters = new ArrayList<>(Arrays.asList(XFrameOptionsFilter.class, ContentSecurityPolicyFilter.class, XSSProtectionFilter.class));
+        ArrayList<Class<? extends Filter>> filters = new ArrayList<>(Arrays.asList(RequestIdFilter.class, XFrameOptionsFilter.class, ContentSecurityPolicyFilter.class, XSSProtectionFilter.class));
         if(properties.isHTTPSConfigured()) {
             filters.add(StrictTransportSecurityFilter.class);
         }
@@ -364,6 +471,7 @@ public class JettyServer {
     private void addFilters(Class<? extends Filter> clazz, String path, WebAppContext webappContext) {
         FilterHolder holder = new FilterHolder(clazz);
         holder.setName(clazz.getSimpleName());
+        holder.setAsyncSupported(true);
         webappContext.addFilter(holder, path, EnumSet.allOf(DispatcherType.class));
     }
 
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.jetty.qos;
+
+import org.eclipse.jetty.servlets.QoSFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * A filter that limits how many bulk transfers (bundle uploads, bundle downloads and flow snapshot imports) are
+ * processed at once. These requests block on the persistence providers for as long as the content takes to move,
+ * so without a limit a burst of them can occupy every Jetty thread and starve the metadata endpoints.
+ *
+ * Transfers over the limit are suspended without holding a thread until a slot frees up, and are rejected with a
+ * 503 if they wait longer than the configured suspend time. All other requests pass straight through.
+ *
+ * The limit is configured through the {@link QoSFilter} init parameters, maxRequests and suspendMs.
+ */
+public class BulkTransferQoSFilter extends QoSFilter {
+
+    private static final String SEGMENT = "/[^/]+";
+
+    // POST /buckets/{bucketId}/bundles/{bundleType}
+    private static final Pattern BUNDLE_UPLOAD = Pattern.compile("/buckets" + SEGMENT + "/bundles" + SEGMENT + "/?");
+
+    // POST /buckets/{bucketId}/flows/{flowId}/versions
+    private static final Pattern SNAPSHOT_IMPORT = Pattern.compile("/buckets" + SEGMENT + "/flows" + SEGMENT + "/versions/?");
+
+    // GET /bundles/{bundleId}/versions/{version}/content
+    private static final Pattern BUNDLE_DOWNLOAD = Pattern.compile("/bundles" + SEGMENT + "/versions" + SEGMENT + "/content/?");
+
+    // GET /extension-repository/{bucketName}/{groupId}/{artifactId}/{version}/content
+    private static final Pattern EXTENSION_REPO_DOWNLOAD = Pattern.compile("/extension-repository(" + SEGMENT + "){4}/content/?");
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+
+        if (isBulkTransfer((HttpServletRequest) request)) {
+            super.doFilter(request, response, chain);
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * @param request the request
+     * @return true if the request uploads or downloads bundle or flow content
+     */
+    static boolean isBulkTransfer(final HttpServletRequest request) {
+        final String requestUri = request.getRequestURI();
+        final String contextPath = request.getContextPath();
+        if (requestUri == null) {
+            return false;
+        }
+
+        final String path = (contextPath != null && requestUri.startsWith(contextPath))
+                ? requestUri.substring(contextPath.length())
+                : requestUri;
+
+        final String method = request.getMethod();
+        if ("POST".equalsIgnoreCase(method)) {
+            return BUNDLE_UPLOAD.matcher(path).matches() || SNAPSHOT_IMPORT.matcher(path).matches();
+        } else if ("GET".equalsIgnoreCase(method)) {
+            return BUNDLE_DOWNLOAD.matcher(path).matches() || EXTENSION_REPO_DOWNLOAD.matcher(path).matches();
+        }
+
+        return false;
+    }
+
+}
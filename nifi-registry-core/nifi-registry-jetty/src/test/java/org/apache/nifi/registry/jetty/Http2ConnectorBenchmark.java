@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.jetty;
+
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.http.HttpClientTransportOverHTTP;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.SecureRequestCustomizer;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the latency of a burst of concurrent small metadata requests, as issued by the nodes of a NiFi cluster,
+ * against connectors serving HTTP/1.1 and HTTP/2, both in cleartext and over TLS, and logs the number of connections
+ * the server accepted for each.
+ *
+ * The h2 case negotiates HTTP/2 through ALPN, which Jetty only supports on Java 9 and later. On Java 8 that case fails
+ * in its setup and the remaining cases still run.
+ *
+ * Run from the module directory with:
+ *
+ *   mvn test-compile exec:java -Dexec.mainClass=org.apache.nifi.registry.jetty.Http2ConnectorBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Http2ConnectorBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(Http2ConnectorBenchmark.class);
+
+    private static final int RESPONSE_SIZE = 2 * 1024;
+
+    private static final String KEYSTORE = "/keys/registry-ks.jks";
+    private static final String KEYSTORE_PASSWORD = "password";
+
+    /**
+     * The protocol to serve, where https is HTTP/1.1 over TLS and h2 is HTTP/2 over TLS.
+     */
+    @Param({"http/1.1", "h2c", "https", "h2"})
+    private String protocol;
+
+    /**
+     * The number of requests in flight at once, similar to the concurrent calls a cluster makes when syncing flows.
+     */
+    @Param({"16", "128"})
+    private int concurrentRequests;
+
+    private Server server;
+    private ConnectionStatistics connectionStatistics;
+    private HttpClient client;
+    private String uri;
+
+    @Setup
+    public void setup() throws Exception {
+        final byte[] body = new byte[RESPONSE_SIZE];
+        Arrays.fill(body, (byte) 'a');
+
+        server = new Server();
+
+        final HttpConfiguration httpConfiguration = new HttpConfiguration();
+        final HttpConnectionFactory http11 = new HttpConnectionFactory(httpConfiguration);
+        final ConnectionFactory[] connectionFactories;
+        switch (protocol) {
+            case "h2c":
+                final HTTP2CServerConnectionFactory h2c = new HTTP2CServerConnectionFactory(httpConfiguration);
+                h2c.setMaxConcurrentStreams(concurrentRequests);
+                connectionFactories = new ConnectionFactory[] {http11, h2c};
+                break;
+            case "https":
+                httpConfiguration.addCustomizer(new SecureRequestCustomizer());
+                connectionFactories = new ConnectionFactory[] {
+                        new SslConnectionFactory(createServerSslContextFactory(), http11.getProtocol()), http11};
+                break;
+            case "h2":
+                httpConfiguration.addCustomizer(new SecureRequestCustomizer());
+                final ALPNServerConnectionFactory alpn = createAlpnConnectionFactory(http11);
+                final HTTP2ServerConnectionFactory h2 = new HTTP2ServerConnectionFactory(httpConfiguration);
+                h2.setMaxConcurrentStreams(concurrentRequests);
+                connectionFactories = new ConnectionFactory[] {
+                        new SslConnectionFactory(createServerSslContextFactory(), alpn.getProtocol()), alpn, h2, http11};
+                break;
+            default:
+                connectionFactories = new ConnectionFactory[] {http11};
+                break;
+        }
+
+        final ServerConnector connector = new ServerConnector(server, connectionFactories);
+        connector.setHost("localhost");
+        connector.setPort(0);
+        connectionStatistics = new ConnectionStatistics();
+        connector.addBean(connectionStatistics);
+        server.addConnector(connector);
+
+        final ServletContextHandler context = new ServletContextHandler();
+        context.addServlet(new ServletHolder(new HttpServlet() {
+            @Override
+            protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+                response.setContentType("application/json");
+                response.setContentLength(body.length);
+                response.getOutputStream().write(body);
+            }
+        }), "/nifi-registry-api/buckets/*");
+        server.setHandler(context);
+        server.start();
+
+        final boolean secure = "https".equals(protocol) || "h2".equals(protocol);
+        final SslContextFactory clientSslContextFactory = secure ? createClientSslContextFactory() : null;
+        if ("h2c".equals(protocol) || "h2".equals(protocol)) {
+            client = new HttpClient(new HttpClientTransportOverHTTP2(new HTTP2Client()), clientSslContextFactory);
+        } else {
+            client = new HttpClient(new HttpClientTransportOverHTTP(), clientSslContextFactory);
+        }
+        client.setMaxConnectionsPerDestination(concurrentRequests);
+        client.setMaxRequestsQueuedPerDestination(concurrentRequests * 2);
+        client.start();
+
+        uri = (secure ? "https" : "http") + "://localhost:" + connector.getLocalPort() + "/nifi-registry-api/buckets/";
+    }
+
+    private static ALPNServerConnectionFactory createAlpnConnectionFactory(final HttpConnectionFactory http11) {
+        try {
+            final ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory("h2", http11.getProtocol());
+            alpn.setDefaultProtocol(http11.getProtocol());
+            return alpn;
+        } catch (final IllegalStateException e) {
+            throw new IllegalStateException("The h2 case requires ALPN, which is not available on this JVM", e);
+        }
+    }
+
+    private static SslContextFactory createServerSslContextFactory() {
+        final SslContextFactory.Server contextFactory = new SslContextFactory.Server();
+        contextFactory.setKeyStorePath(Http2ConnectorBenchmark.class.getResource(KEYSTORE).toExternalForm());
+        contextFactory.setKeyStorePassword(KEYSTORE_PASSWORD);
+        contextFactory.setKeyManagerPassword(KEYSTORE_PASSWORD);
+        contextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+        contextFactory.setUseCipherSuitesOrder(true);
+        return contextFactory;
+    }
+
+    private static SslContextFactory createClientSslContextFactory() {
+        // the test keystore is self-signed for registry, so trust it without checking the host name
+        final SslContextFactory.Client contextFactory = new SslContextFactory.Client(true);
+        contextFactory.setEndpointIdentificationAlgorithm(null);
+        return contextFactory;
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        logger.info("{} with {} concurrent requests: {} connections accepted, {} max open",
+                protocol, concurrentRequests, connectionStatistics.getConnectionsTotal(), connectionStatistics.getConnectionsMax());
+
+        client.stop();
+        server.stop();
+    }
+
+    @Benchmark
+    public int concurrentMetadataRequests() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(concurrentRequests);
+        final AtomicInteger failures = new AtomicInteger();
+
+        for (int i = 0; i < concurrentRequests; i++) {
+            client.newRequest(uri + i).send(new BufferingResponseListener(RESPONSE_SIZE * 2) {
+                @Override
+                public void onComplete(final Result result) {
+                    if (result.isFailed() || result.getResponse().getStatus() != 200) {
+                        failures.incrementAndGet();
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        if (!latch.await(30, TimeUnit.SECONDS) || failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " " + protocol + " requests failed");
+        }
+        return concurrentRequests;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(Http2ConnectorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
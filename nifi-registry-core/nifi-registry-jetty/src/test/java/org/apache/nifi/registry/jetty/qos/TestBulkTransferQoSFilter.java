@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.jetty.qos;
+
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestBulkTransferQoSFilter {
+
+    private static final String CONTEXT_PATH = "/nifi-registry-api";
+
+    @Test
+    public void testBundleUploadIsBulkTransfer() {
+        assertTrue(BulkTransferQoSFilter.isBulkTransfer(request("POST", "/buckets/b1/bundles/nifi-nar")));
+        assertFalse(BulkTransferQoSFilter.isBulkTransfer(request("GET", "/buckets/b1/bundles")));
+    }
+
+    @Test
+    public void testSnapshotImportIsBulkTransfer() {
+        assertTrue(BulkTransferQoSFilter.isBulkTransfer(request("POST", "/buckets/b1/flows/f1/versions")));
+        assertFalse(BulkTransferQoSFilter.isBulkTransfer(request("GET", "/buckets/b1/flows/f1/versions")));
+        assertFalse(BulkTransferQoSFilter.isBulkTransfer(request("GET", "/buckets/b1/flows/f1/versions/latest/metadata")));
+    }
+
+    @Test
+    public void testContentDownloadsAreBulkTransfers() {
+        assertTrue(BulkTransferQoSFilter.isBulkTransfer(request("GET", "/bundles/bundle1/versions/1.0.0/content")));
+        assertTrue(BulkTransferQoSFilter.isBulkTransfer(request("GET", "/extension-repository/b1/org.apache/nifi-foo-nar/1.0.0/content")));
+        assertFalse(BulkTransferQoSFilter.isBulkTransfer(request("GET", "/bundles/bundle1/versions/1.0.0")));
+        assertFalse(BulkTransferQoSFilter.isBulkTransfer(request("GET", "/extension-repository/b1/org.apache/nifi-foo-nar/1.0.0/sha256")));
+    }
+
+    @Test
+    public void testMetadataRequestsAreNotBulkTransfers() {
+        assertFalse(BulkTransferQoSFilter.isBulkTransfer(request("GET", "/buckets")));
+        assertFalse(BulkTransferQoSFilter.isBulkTransfer(request("POST", "/buckets")));
+        assertFalse(BulkTransferQoSFilter.isBulkTransfer(request("GET", "/items")));
+    }
+
+    private HttpServletRequest request(final String method, final String path) {
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getMethod()).thenReturn(method);
+        when(request.getContextPath()).thenReturn(CONTEXT_PATH);
+        when(request.getRequestURI()).thenReturn(CONTEXT_PATH + path);
+        return request;
+    }
+
+}
@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Properties;
 import java.util.Set;
 
@@ -38,6 +39,23 @@ public class NiFiRegistryProperties extends Properties {
     public static final String WEB_HTTPS_HOST = "nifi.registry.web.https.host";
     public static final String WEB_WORKING_DIR = "nifi.registry.web.jetty.working.directory";
     public static final String WEB_THREADS = "nifi.registry.web.jetty.threads";
+    public static final String WEB_COMPRESSION_ENABLED = "nifi.registry.web.compression.enabled";
+    public static final String WEB_COMPRESSION_MIN_SIZE = "nifi.registry.web.compression.min.size";
+    public static final String WEB_COMPRESSION_MIME_TYPES = "nifi.registry.web.compression.mime.types";
+    public static final String WEB_COMPRESSION_LEVEL = "nifi.registry.web.compression.level";
+    public static final String WEB_COMPRESSION_REQUEST_ENABLED = "nifi.registry.web.compression.request.enabled";
+    public static final String WEB_COMPRESSION_REQUEST_MAX_SIZE = "nifi.registry.web.compression.request.max.size";
+    public static final String WEB_HTTP2_ENABLED = "nifi.registry.web.http2.enabled";
+    public static final String WEB_HTTP2_MAX_CONCURRENT_STREAMS = "nifi.registry.web.http2.max.concurrent.streams";
+    public static final String WEB_BULK_TRANSFER_MAX_REQUESTS = "nifi.registry.web.bulk.transfer.max.concurrent.requests";
+    public static final String WEB_BULK_TRANSFER_MAX_WAIT_MS = "nifi.registry.web.bulk.transfer.max.wait.ms";
+
+    // Flow difference cache properties
+    public static final String FLOW_DIFF_CACHE_MAX_ENTRIES = "nifi.registry.flow.diff.cache.max.entries";
+    public static final String FLOW_DIFF_CACHE_MAX_SIZE = "nifi.registry.flow.diff.cache.max.size";
+
+    // Tracing properties
+    public static final String TRACE_SLOW_OPERATION_THRESHOLD_MS = "nifi.registry.trace.slow.operation.threshold.ms";
 
     public static final String SECURITY_KEYSTORE = "nifi.registry.security.keystore";
     public static final String SECURITY_KEYSTORE_TYPE = "nifi.registry.security.keystoreType";
@@ -95,6 +113,17 @@ public class NiFiRegistryProperties extends Properties {
     public static final String DEFAULT_SECURITY_IDENTITY_PROVIDER_CONFIGURATION_FILE = "./conf/identity-providers.xml";
     public static final String DEFAULT_AUTHENTICATION_EXPIRATION = "12 hours";
     public static final String DEFAULT_EXTENSIONS_WORKING_DIR = "./work/extensions";
+    public static final int DEFAULT_WEB_COMPRESSION_MIN_SIZE = 1024;
+    public static final String DEFAULT_WEB_COMPRESSION_MIME_TYPES =
+            "application/json,application/xml,text/html,text/plain,text/css,text/javascript,application/javascript";
+    public static final int DEFAULT_WEB_COMPRESSION_LEVEL = 6;
+    public static final long DEFAULT_WEB_COMPRESSION_REQUEST_MAX_SIZE = 100L * 1024 * 1024;
+    public static final int DEFAULT_WEB_HTTP2_MAX_CONCURRENT_STREAMS = 128;
+    public static final int DEFAULT_WEB_BULK_TRANSFER_MAX_REQUESTS = 20;
+    public static final int DEFAULT_WEB_BULK_TRANSFER_MAX_WAIT_MS = 60000;
+    public static final int DEFAULT_FLOW_DIFF_CACHE_MAX_ENTRIES = 100;
+    public static final long DEFAULT_FLOW_DIFF_CACHE_MAX_SIZE = 32L * 1024 * 1024;
+    public static final long DEFAULT_TRACE_SLOW_OPERATION_THRESHOLD_MS = 1000;
 
     public int getWebThreads() {
         int webThreads = 200;
@@ -106,6 +135,184 @@ public class NiFiRegistryProperties extends Properties {
         return webThreads;
     }
 
+    public boolean isWebCompressionEnabled() {
+        return !"false".equalsIgnoreCase(getProperty(WEB_COMPRESSION_ENABLED));
+    }
+
+    /**
+     * @return the smallest response, in bytes, that is worth compressing
+     */
+    public int getWebCompressionMinSize() {
+        int minSize = DEFAULT_WEB_COMPRESSION_MIN_SIZE;
+        final String rawMinSize = getProperty(WEB_COMPRESSION_MIN_SIZE);
+        if (StringUtils.isNotBlank(rawMinSize)) {
+            try {
+                minSize = Integer.parseInt(rawMinSize.trim());
+            } catch (final NumberFormatException nfe) {
+                logger.warn(String.format("%s must be an integer value. Defaulting to %s", WEB_COMPRESSION_MIN_SIZE, minSize));
+            }
+        }
+        return minSize;
+    }
+
+    public Set<String> getWebCompressionMimeTypes() {
+        final String rawMimeTypes = getProperty(WEB_COMPRESSION_MIME_TYPES, DEFAULT_WEB_COMPRESSION_MIME_TYPES);
+        final Set<String> mimeTypes = new LinkedHashSet<>();
+        for (final String mimeType : rawMimeTypes.split(",")) {
+            if (StringUtils.isNotBlank(mimeType)) {
+                mimeTypes.add(mimeType.trim());
+            }
+        }
+        return mimeTypes;
+    }
+
+    /**
+     * @return the deflate compression level, from 1 (fastest) to 9 (smallest)
+     */
+    public int getWebCompressionLevel() {
+        int level = DEFAULT_WEB_COMPRESSION_LEVEL;
+        final String rawLevel = getProperty(WEB_COMPRESSION_LEVEL);
+        if (StringUtils.isNotBlank(rawLevel)) {
+            try {
+                final int configuredLevel = Integer.parseInt(rawLevel.trim());
+                if (configuredLevel >= 1 && configuredLevel <= 9) {
+                    level = configuredLevel;
+                } else {
+                    logger.warn(String.format("%s must be between 1 and 9. Defaulting to %s", WEB_COMPRESSION_LEVEL, level));
+                }
+            } catch (final NumberFormatException nfe) {
+                logger.warn(String.format("%s must be an integer value. Defaulting to %s", WEB_COMPRESSION_LEVEL, level));
+            }
+        }
+        return level;
+    }
+
+    /**
+     * @return whether flow snapshots may be uploaded with Content-Encoding: gzip, which is disabled by default
+     */
+    public boolean isWebRequestCompressionEnabled() {
+        return "true".equalsIgnoreCase(StringUtils.trim(getProperty(WEB_COMPRESSION_REQUEST_ENABLED)));
+    }
+
+    /**
+     * @return the largest request body, in bytes, that a gzip compressed request may inflate to
+     */
+    public long getWebRequestCompressionMaxSize() {
+        long maxSize = DEFAULT_WEB_COMPRESSION_REQUEST_MAX_SIZE;
+        final String rawMaxSize = getProperty(WEB_COMPRESSION_REQUEST_MAX_SIZE);
+        if (StringUtils.isNotBlank(rawMaxSize)) {
+            try {
+                final long configuredMaxSize = Long.parseLong(rawMaxSize.trim());
+                if (configuredMaxSize > 0) {
+                    maxSize = configuredMaxSize;
+                } else {
+                    logger.warn(String.format("%s must be greater than zero. Defaulting to %s", WEB_COMPRESSION_REQUEST_MAX_SIZE, maxSize));
+                }
+            } catch (final NumberFormatException nfe) {
+                logger.warn(String.format("%s must be an integer value. Defaulting to %s", WEB_COMPRESSION_REQUEST_MAX_SIZE, maxSize));
+            }
+        }
+        return maxSize;
+    }
+
+    /**
+     * @return true if the configured connector should also accept HTTP/2, negotiated through ALPN for HTTPS
+     * or as cleartext h2c for HTTP
+     */
+    public boolean isWebHttp2Enabled() {
+        return "true".equalsIgnoreCase(getProperty(WEB_HTTP2_ENABLED));
+    }
+
+    /**
+     * @return the number of concurrent streams a client may open on a single HTTP/2 connection
+     */
+    public int getWebHttp2MaxConcurrentStreams() {
+        return getPositiveIntegerProperty(WEB_HTTP2_MAX_CONCURRENT_STREAMS, DEFAULT_WEB_HTTP2_MAX_CONCURRENT_STREAMS);
+    }
+
+    /**
+     * @return the number of bundle uploads, bundle downloads and flow snapshot imports that may hold a Jetty thread at
+     * once, so that slow transfers cannot take every thread away from the metadata endpoints
+     */
+    public int getWebBulkTransferMaxRequests() {
+        return getPositiveIntegerProperty(WEB_BULK_TRANSFER_MAX_REQUESTS, DEFAULT_WEB_BULK_TRANSFER_MAX_REQUESTS);
+    }
+
+    /**
+     * @return how long, in milliseconds, a bulk transfer may wait for a free slot before it is rejected with a 503
+     */
+    public int getWebBulkTransferMaxWaitMillis() {
+        return getPositiveIntegerProperty(WEB_BULK_TRANSFER_MAX_WAIT_MS, DEFAULT_WEB_BULK_TRANSFER_MAX_WAIT_MS);
+    }
+
+    /**
+     * @return the number of computed flow differences that are kept in memory
+     */
+    public int getFlowDiffCacheMaxEntries() {
+        return getPositiveIntegerProperty(FLOW_DIFF_CACHE_MAX_ENTRIES, DEFAULT_FLOW_DIFF_CACHE_MAX_ENTRIES);
+    }
+
+    /**
+     * @return the estimated memory, in bytes, that the computed flow differences kept in memory may use
+     */
+    public long getFlowDiffCacheMaxSize() {
+        long maxSize = DEFAULT_FLOW_DIFF_CACHE_MAX_SIZE;
+        final String rawMaxSize = getProperty(FLOW_DIFF_CACHE_MAX_SIZE);
+        if (StringUtils.isNotBlank(rawMaxSize)) {
+            try {
+                final long configuredMaxSize = Long.parseLong(rawMaxSize.trim());
+                if (configuredMaxSize > 0) {
+                    maxSize = configuredMaxSize;
+                } else {
+                    logger.warn(String.format("%s must be greater than zero. Defaulting to %s", FLOW_DIFF_CACHE_MAX_SIZE, maxSize));
+                }
+            } catch (final NumberFormatException nfe) {
+                logger.warn(String.format("%s must be an integer value. Defaulting to %s", FLOW_DIFF_CACHE_MAX_SIZE, maxSize));
+            }
+        }
+        return maxSize;
+    }
+
+    /**
+     * @return the duration, in milliseconds, above which registry operations are logged with a breakdown of where the
+     * time was spent, or 0 if slow operations should not be logged
+     */
+    public long getTraceSlowOperationThresholdMillis() {
+        long threshold = DEFAULT_TRACE_SLOW_OPERATION_THRESHOLD_MS;
+        final String rawThreshold = getProperty(TRACE_SLOW_OPERATION_THRESHOLD_MS);
+        if (StringUtils.isNotBlank(rawThreshold)) {
+            try {
+                final long configuredThreshold = Long.parseLong(rawThreshold.trim());
+                if (configuredThreshold >= 0) {
+                    threshold = configuredThreshold;
+                } else {
+                    logger.warn(String.format("%s must not be negative. Defaulting to %s", TRACE_SLOW_OPERATION_THRESHOLD_MS, threshold));
+                }
+            } catch (final NumberFormatException nfe) {
+                logger.warn(String.format("%s must be an integer value. Defaulting to %s", TRACE_SLOW_OPERATION_THRESHOLD_MS, threshold));
+            }
+        }
+        return threshold;
+    }
+
+    private int getPositiveIntegerProperty(final String key, final int defaultValue) {
+        int value = defaultValue;
+        final String rawValue = getProperty(key);
+        if (StringUtils.isNotBlank(rawValue)) {
+            try {
+                final int configuredValue = Integer.parseInt(rawValue.trim());
+                if (configuredValue > 0) {
+                    value = configuredValue;
+                } else {
+                    logger.warn(String.format("%s must be greater than 0. Defaulting to %s", key, value));
+                }
+            } catch (final NumberFormatException nfe) {
+                logger.warn(String.format("%s must be an integer value. Defaulting to %s", key, value));
+            }
+        }
+        return value;
+    }
+
     public Integer getPort() {
         return getPropertyAsInteger(WEB_HTTP_PORT);
     }
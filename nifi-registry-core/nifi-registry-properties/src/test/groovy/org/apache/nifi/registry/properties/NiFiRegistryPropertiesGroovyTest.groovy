@@ -118,4 +118,136 @@ class NiFiRegistryPropertiesGroovyTest extends GroovyTestCase {
         assert emptyProperties.getPropertyKeys() == [] as Set
     }
 
+    @Test
+    void testShouldProvideCompressionDefaults() throws Exception {
+        // Arrange
+        NiFiRegistryProperties properties = new NiFiRegistryProperties()
+
+        // Act
+        boolean enabled = properties.isWebCompressionEnabled()
+        int minSize = properties.getWebCompressionMinSize()
+        Set<String> mimeTypes = properties.getWebCompressionMimeTypes()
+        int level = properties.getWebCompressionLevel()
+        logger.info("Compression enabled: ${enabled}, min size: ${minSize}, level: ${level}, mime types: ${mimeTypes}")
+
+        // Assert
+        assert enabled
+        assert minSize == NiFiRegistryProperties.DEFAULT_WEB_COMPRESSION_MIN_SIZE
+        assert mimeTypes.contains("application/json")
+        assert level == NiFiRegistryProperties.DEFAULT_WEB_COMPRESSION_LEVEL
+    }
+
+    @Test
+    void testShouldParseCompressionProperties() throws Exception {
+        // Arrange
+        NiFiRegistryProperties properties = new NiFiRegistryProperties()
+        properties.setProperty(NiFiRegistryProperties.WEB_COMPRESSION_ENABLED, "false")
+        properties.setProperty(NiFiRegistryProperties.WEB_COMPRESSION_MIN_SIZE, " 2048 ")
+        properties.setProperty(NiFiRegistryProperties.WEB_COMPRESSION_MIME_TYPES, "application/json, text/html,,")
+        properties.setProperty(NiFiRegistryProperties.WEB_COMPRESSION_LEVEL, "12")
+
+        // Act
+        boolean enabled = properties.isWebCompressionEnabled()
+        int minSize = properties.getWebCompressionMinSize()
+        Set<String> mimeTypes = properties.getWebCompressionMimeTypes()
+        int level = properties.getWebCompressionLevel()
+
+        // Assert
+        assert !enabled
+        assert minSize == 2048
+        assert mimeTypes == ["application/json", "text/html"] as Set
+        assert level == NiFiRegistryProperties.DEFAULT_WEB_COMPRESSION_LEVEL
+    }
+
+    @Test
+    void testShouldParseRequestCompressionProperties() throws Exception {
+        // Arrange
+        NiFiRegistryProperties defaultProperties = new NiFiRegistryProperties()
+        NiFiRegistryProperties properties = new NiFiRegistryProperties()
+        properties.setProperty(NiFiRegistryProperties.WEB_COMPRESSION_REQUEST_ENABLED, " true ")
+        properties.setProperty(NiFiRegistryProperties.WEB_COMPRESSION_REQUEST_MAX_SIZE, "1048576")
+        NiFiRegistryProperties invalidProperties = new NiFiRegistryProperties()
+        invalidProperties.setProperty(NiFiRegistryProperties.WEB_COMPRESSION_REQUEST_MAX_SIZE, "0")
+
+        // Act
+        boolean defaultEnabled = defaultProperties.isWebRequestCompressionEnabled()
+        boolean enabled = properties.isWebRequestCompressionEnabled()
+        long maxSize = properties.getWebRequestCompressionMaxSize()
+        long invalidMaxSize = invalidProperties.getWebRequestCompressionMaxSize()
+
+        // Assert
+        assert !defaultEnabled
+        assert enabled
+        assert maxSize == 1048576
+        assert invalidMaxSize == NiFiRegistryProperties.DEFAULT_WEB_COMPRESSION_REQUEST_MAX_SIZE
+    }
+
+    @Test
+    void testShouldParseHttp2Properties() throws Exception {
+        // Arrange
+        NiFiRegistryProperties defaultProperties = new NiFiRegistryProperties()
+        NiFiRegistryProperties properties = new NiFiRegistryProperties()
+        properties.setProperty(NiFiRegistryProperties.WEB_HTTP2_ENABLED, "TRUE")
+        properties.setProperty(NiFiRegistryProperties.WEB_HTTP2_MAX_CONCURRENT_STREAMS, " 256 ")
+        NiFiRegistryProperties invalidProperties = new NiFiRegistryProperties()
+        invalidProperties.setProperty(NiFiRegistryProperties.WEB_HTTP2_MAX_CONCURRENT_STREAMS, "0")
+
+        // Act & Assert
+        assert !defaultProperties.isWebHttp2Enabled()
+        assert defaultProperties.getWebHttp2MaxConcurrentStreams() == NiFiRegistryProperties.DEFAULT_WEB_HTTP2_MAX_CONCURRENT_STREAMS
+        assert properties.isWebHttp2Enabled()
+        assert properties.getWebHttp2MaxConcurrentStreams() == 256
+        assert invalidProperties.getWebHttp2MaxConcurrentStreams() == NiFiRegistryProperties.DEFAULT_WEB_HTTP2_MAX_CONCURRENT_STREAMS
+    }
+
+    @Test
+    void testShouldParseBulkTransferProperties() throws Exception {
+        // Arrange
+        NiFiRegistryProperties defaultProperties = new NiFiRegistryProperties()
+        NiFiRegistryProperties properties = new NiFiRegistryProperties()
+        properties.setProperty(NiFiRegistryProperties.WEB_BULK_TRANSFER_MAX_REQUESTS, "5")
+        properties.setProperty(NiFiRegistryProperties.WEB_BULK_TRANSFER_MAX_WAIT_MS, "not a number")
+
+        // Act & Assert
+        assert defaultProperties.getWebBulkTransferMaxRequests() == NiFiRegistryProperties.DEFAULT_WEB_BULK_TRANSFER_MAX_REQUESTS
+        assert defaultProperties.getWebBulkTransferMaxWaitMillis() == NiFiRegistryProperties.DEFAULT_WEB_BULK_TRANSFER_MAX_WAIT_MS
+        assert properties.getWebBulkTransferMaxRequests() == 5
+        assert properties.getWebBulkTransferMaxWaitMillis() == NiFiRegistryProperties.DEFAULT_WEB_BULK_TRANSFER_MAX_WAIT_MS
+    }
+
+    @Test
+    void testShouldParseFlowDiffCacheProperties() throws Exception {
+        // Arrange
+        NiFiRegistryProperties defaultProperties = new NiFiRegistryProperties()
+        NiFiRegistryProperties properties = new NiFiRegistryProperties()
+        properties.setProperty(NiFiRegistryProperties.FLOW_DIFF_CACHE_MAX_ENTRIES, "500")
+        properties.setProperty(NiFiRegistryProperties.FLOW_DIFF_CACHE_MAX_SIZE, "1048576")
+        NiFiRegistryProperties invalidProperties = new NiFiRegistryProperties()
+        invalidProperties.setProperty(NiFiRegistryProperties.FLOW_DIFF_CACHE_MAX_ENTRIES, "0")
+        invalidProperties.setProperty(NiFiRegistryProperties.FLOW_DIFF_CACHE_MAX_SIZE, "not a number")
+
+        // Act & Assert
+        assert defaultProperties.getFlowDiffCacheMaxEntries() == NiFiRegistryProperties.DEFAULT_FLOW_DIFF_CACHE_MAX_ENTRIES
+        assert defaultProperties.getFlowDiffCacheMaxSize() == NiFiRegistryProperties.DEFAULT_FLOW_DIFF_CACHE_MAX_SIZE
+        assert properties.getFlowDiffCacheMaxEntries() == 500
+        assert properties.getFlowDiffCacheMaxSize() == 1048576L
+        assert invalidProperties.getFlowDiffCacheMaxEntries() == NiFiRegistryProperties.DEFAULT_FLOW_DIFF_CACHE_MAX_ENTRIES
+        assert invalidProperties.getFlowDiffCacheMaxSize() == NiFiRegistryProperties.DEFAULT_FLOW_DIFF_CACHE_MAX_SIZE
+    }
+
+    @Test
+    void testShouldParseSlowOperationThreshold() throws Exception {
+        // Arrange
+        NiFiRegistryProperties defaultProperties = new NiFiRegistryProperties()
+        NiFiRegistryProperties disabledProperties = new NiFiRegistryProperties()
+        disabledProperties.setProperty(NiFiRegistryProperties.TRACE_SLOW_OPERATION_THRESHOLD_MS, "0")
+        NiFiRegistryProperties invalidProperties = new NiFiRegistryProperties()
+        invalidProperties.setProperty(NiFiRegistryProperties.TRACE_SLOW_OPERATION_THRESHOLD_MS, "-5")
+
+        // Act & Assert
+        assert defaultProperties.getTraceSlowOperationThresholdMillis() == NiFiRegistryProperties.DEFAULT_TRACE_SLOW_OPERATION_THRESHOLD_MS
+        assert disabledProperties.getTraceSlowOperationThresholdMillis() == 0
+        assert invalidProperties.getTraceSlowOperationThresholdMillis() == NiFiRegistryProperties.DEFAULT_TRACE_SLOW_OPERATION_THRESHOLD_MS
+    }
+
 }
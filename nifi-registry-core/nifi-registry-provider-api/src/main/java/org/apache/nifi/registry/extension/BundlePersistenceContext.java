@@ -31,6 +31,13 @@ public interface BundlePersistenceContext {
      */
     long getSize();
 
+    /**
+     * @return the hex encoded SHA-256 digest of the bundle content, or null if it is not known
+     */
+    default String getSha256() {
+        return null;
+    }
+
     /**
      * @return the timestamp the bundle was created
      */
@@ -18,6 +18,10 @@ package org.apache.nifi.registry.extension;
 
 import org.apache.nifi.registry.provider.Provider;
 
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
@@ -47,6 +51,44 @@ public interface BundlePersistenceProvider extends Provider {
      */
     void updateBundleVersion(BundlePersistenceContext context, InputStream contentStream) throws BundlePersistenceException;
 
+    /**
+     * Persists the binary content of a version of an extension bundle from a file that was already written to local disk.
+     *
+     * The provider may take ownership of the file, for example by moving it into its storage, so callers should not
+     * rely on the file existing after this method returns. The default implementation reads the file as a stream and
+     * delegates to {@link #createBundleVersion(BundlePersistenceContext, InputStream)}.
+     *
+     * @param context the context about the bundle version being persisted
+     * @param contentFile the file containing the binary content to persist
+     * @throws BundlePersistenceException if an error occurs storing the content, or if content already exists for version coordinate
+     */
+    default void createBundleVersion(final BundlePersistenceContext context, final File contentFile) throws BundlePersistenceException {
+        try (final InputStream in = new BufferedInputStream(new FileInputStream(contentFile))) {
+            createBundleVersion(context, in);
+        } catch (IOException e) {
+            throw new BundlePersistenceException("Unable to read extension bundle content from " + contentFile.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Updates the binary content for a version of an extension bundle from a file that was already written to local disk.
+     *
+     * The provider may take ownership of the file, for example by moving it into its storage, so callers should not
+     * rely on the file existing after this method returns. The default implementation reads the file as a stream and
+     * delegates to {@link #updateBundleVersion(BundlePersistenceContext, InputStream)}.
+     *
+     * @param context the context about the bundle version being updated
+     * @param contentFile the file containing the updated binary content
+     * @throws BundlePersistenceException if an error occurs storing the content
+     */
+    default void updateBundleVersion(final BundlePersistenceContext context, final File contentFile) throws BundlePersistenceException {
+        try (final InputStream in = new BufferedInputStream(new FileInputStream(contentFile))) {
+            updateBundleVersion(context, in);
+        } catch (IOException e) {
+            throw new BundlePersistenceException("Unable to read extension bundle content from " + contentFile.getAbsolutePath(), e);
+        }
+    }
+
     /**
      * Writes the binary content of the bundle specified by the bucket-group-artifact-version to the provided OutputStream.
      *
@@ -63,6 +63,15 @@ public class NiFiRegistryApiApplication extends SpringBootServletInitializer {
 
         // Enable Actuator Endpoints
         defaultProperties.setProperty("management.endpoints.web.expose", "*");
+        defaultProperties.setProperty("management.endpoints.web.exposure.include", "health,info,metrics,prometheus");
+
+        // Logback is loaded by the Jetty class loader rather than the webapp's, so its metrics cannot be bound
+        defaultProperties.setProperty("spring.autoconfigure.exclude",
+                "org.springframework.boot.actuate.autoconfigure.metrics.LogbackMetricsAutoConfiguration");
+
+        // Publish histograms for the REST resource methods and the registry's own operations so percentiles can be aggregated
+        defaultProperties.setProperty("management.metrics.distribution.percentiles-histogram.http.server.requests", "true");
+        defaultProperties.setProperty("management.metrics.distribution.percentiles-histogram.nifi.registry", "true");
 
         // Run Jersey as a filter instead of a servlet so that requests can be forwarded to other handlers (e.g., actuator)
         defaultProperties.setProperty("spring.jersey.type", "filter");
@@ -28,6 +28,7 @@ import org.apache.nifi.registry.web.api.ExtensionResource;
 import org.apache.nifi.registry.web.api.FlowResource;
 import org.apache.nifi.registry.web.api.ItemResource;
 import org.apache.nifi.registry.web.api.TenantResource;
+import org.apache.nifi.registry.web.compression.GzipRequestInterceptor;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.ServerProperties;
@@ -54,6 +55,9 @@ public class NiFiRegistryResourceConfig extends ResourceConfig {
         // register filters
         register(HttpMethodOverrideFilter.class);
 
+        // register the interceptor that inflates compressed request bodies for the endpoints that accept them
+        register(GzipRequestInterceptor.class);
+
         // register the exception mappers & jackson object mapper resolver
         packages("org.apache.nifi.registry.web.mapper");
 
@@ -18,20 +18,33 @@ package org.apache.nifi.registry.web.api;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
+import org.apache.nifi.registry.authorization.Permissions;
 import org.apache.nifi.registry.event.EventService;
 import org.apache.nifi.registry.hook.Event;
+import org.apache.nifi.registry.params.SortParameter;
+import org.apache.nifi.registry.service.QueryParameters;
+import org.apache.nifi.registry.service.ResultPage;
+import org.apache.nifi.registry.web.mapper.JsonStreamingOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriBuilderException;
 import javax.ws.rs.core.UriInfo;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class ApplicationResource {
 
@@ -45,6 +58,25 @@ public class ApplicationResource {
     public static final String FORWARDED_PORT_HTTP_HEADER = "X-Forwarded-Port";
     public static final String FORWARDED_CONTEXT_HTTP_HEADER = "X-Forwarded-Context";
 
+    public static final String GZIP_ENCODING = "gzip";
+    public static final String GZIP_ENTITY_TAG_SUFFIX = "-gzip";
+
+    public static final String LIMIT_PARAM = "limit";
+    public static final String AFTER_PARAM = "after";
+    public static final String SORT_PARAM = "sort";
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+
+    // the number of results read at a time when a full list is written to the client
+    static final int STREAMING_PAGE_LIMIT = 500;
+
+    public static final String LIMIT_PARAM_DESCRIPTION = "The maximum number of results to return, between 1 and 1000. " +
+            "Defaults to " + DEFAULT_PAGE_LIMIT + " when 'after' or 'sort' is specified, otherwise all results are returned. " +
+            "When more results are available the response includes a Link header with rel=\"next\" for the next page.";
+    public static final String AFTER_PARAM_DESCRIPTION = "The opaque cursor of the last result of the previous page, " +
+            "taken from the Link header of the previous response.";
+    public static final String SORT_PARAM_DESCRIPTION = "The field to sort on in the form \"field:asc\" or \"field:desc\". " +
+            "Cursors are only valid for the sort they were returned with.";
+
     public static final String NON_GUARANTEED_ENDPOINT = "\n\nNOTE: This endpoint is subject to change as NiFi Registry and its REST API evolve.";
 
     private static final Logger logger = LoggerFactory.getLogger(ApplicationResource.class);
@@ -55,6 +87,9 @@ public class ApplicationResource {
     @Context
     private UriInfo uriInfo;
 
+    @Context
+    private Request request;
+
     private final EventService eventService;
 
     public ApplicationResource(final EventService eventService) {
@@ -148,6 +183,210 @@ public class ApplicationResource {
         return response.cacheControl(cacheControl);
     }
 
+    /**
+     * Edit the response headers to allow private caching of a response that must be revalidated before it is reused,
+     * for responses that carry an entity tag.
+     *
+     * @param response response
+     * @return builder
+     */
+    protected Response.ResponseBuilder revalidate(final Response.ResponseBuilder response) {
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return response.cacheControl(cacheControl);
+    }
+
+    /**
+     * Evaluates the conditional headers of the current request against the given entity tag.
+     *
+     * @param entityTag the current entity tag of the requested resource
+     * @return a 304 Not Modified response builder if the client already has the current representation, otherwise null
+     */
+    protected Response.ResponseBuilder evaluatePreconditions(final EntityTag entityTag) {
+        return request.evaluatePreconditions(entityTag);
+    }
+
+    /**
+     * Creates a strong entity tag for a representation that also carries the current user's permissions, so that a
+     * change in permissions results in a new tag.
+     *
+     * @param tag the tag of the representation itself
+     * @param permissions the permissions included in the representation
+     * @return the entity tag
+     */
+    protected EntityTag createEntityTag(final String tag, final Permissions permissions) {
+        final StringBuilder value = new StringBuilder(tag).append('-')
+                .append(permissions.getCanRead() ? 'r' : '_')
+                .append(permissions.getCanWrite() ? 'w' : '_')
+                .append(permissions.getCanDelete() ? 'd' : '_');
+        return new EntityTag(value.toString());
+    }
+
+    /**
+     * Generates a response for a representation identified by the given entity tag, or a 304 Not Modified response if
+     * the client already has the current representation. Either way the client is asked to revalidate before reusing
+     * its copy.
+     *
+     * @param entityTag the current entity tag of the representation
+     * @param entity supplies the representation, only called when it has to be sent
+     * @return the response to be built
+     */
+    protected Response.ResponseBuilder generateConditionalResponse(final EntityTag entityTag, final Supplier<?> entity) {
+        final Response.ResponseBuilder notModified = evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return revalidate(notModified);
+        }
+
+        return revalidate(Response.ok(entity.get())).tag(entityTag);
+    }
+
+    /**
+     * Generates a response for an immutable representation identified by the given strong entity tag, or a 304 Not
+     * Modified response if the client already has the current representation. Clients that accept gzip are sent the
+     * pre-compressed representation, when there is one, which the server's response compression passes through untouched
+     * because the content encoding is already set. The compressed representation is a different sequence of bytes, so
+     * it is identified by its own entity tag.
+     *
+     * @param entityTag the entity tag of the representation
+     * @param representation writes the uncompressed representation
+     * @param gzippedRepresentation writes the gzip compressed representation, or null if there is none
+     * @return the response to be built
+     */
+    protected Response.ResponseBuilder generateImmutableResponse(final EntityTag entityTag, final StreamingOutput representation,
+                                                                 final StreamingOutput gzippedRepresentation) {
+        final boolean gzip = gzippedRepresentation != null && acceptsGzip();
+        final EntityTag representationTag = gzip ? new EntityTag(entityTag.getValue() + GZIP_ENTITY_TAG_SUFFIX) : entityTag;
+
+        final Response.ResponseBuilder notModified = evaluatePreconditions(representationTag);
+        if (notModified != null) {
+            return revalidate(notModified).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        final Response.ResponseBuilder response = gzip
+                ? Response.ok(gzippedRepresentation).encoding(GZIP_ENCODING)
+                : Response.ok(representation);
+        return revalidate(response).tag(representationTag).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * @return true if the Accept-Encoding header of the current request allows a gzip encoded response
+     */
+    protected boolean acceptsGzip() {
+        final String acceptEncoding = httpServletRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (StringUtils.isBlank(acceptEncoding)) {
+            return false;
+        }
+
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] codingParts = coding.split(";");
+            if (!GZIP_ENCODING.equalsIgnoreCase(codingParts[0].trim())) {
+                continue;
+            }
+
+            // a quality of zero means the client explicitly refuses the encoding
+            for (int i = 1; i < codingParts.length; i++) {
+                final String parameter = codingParts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (final NumberFormatException nfe) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Creates the parameters for a paged list request.
+     *
+     * @param limit the requested limit, or null
+     * @param after the cursor of the previous page, or null
+     * @param sort the requested sort in the form field:order, or null
+     * @return the query parameters, or null if none of the paging parameters were specified and the full list should be returned
+     */
+    protected QueryParameters getPageParameters(final Integer limit, final String after, final String sort) {
+        if (limit == null && after == null && sort == null) {
+            return null;
+        }
+
+        final QueryParameters.Builder builder = new QueryParameters.Builder()
+                .numRows(limit == null ? DEFAULT_PAGE_LIMIT : limit)
+                .after(after);
+
+        if (sort != null) {
+            builder.addSort(SortParameter.fromString(sort));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Adds a Link header with rel="next" pointing at the page after the given page, if there is one. The link repeats
+     * the current request with the 'after' parameter set to the page's cursor.
+     *
+     * @param response the response being built for the page
+     * @param page the page of results
+     * @return the response builder
+     */
+    protected Response.ResponseBuilder addNextPageLink(final Response.ResponseBuilder response, final ResultPage<?> page) {
+        if (!page.hasNext()) {
+            return response;
+        }
+
+        final List<String> queryParts = new ArrayList<>();
+        final String rawQuery = uriInfo.getRequestUri().getRawQuery();
+        if (rawQuery != null) {
+            for (final String queryPart : rawQuery.split("&")) {
+                if (!queryPart.isEmpty() && !queryPart.equals(AFTER_PARAM) && !queryPart.startsWith(AFTER_PARAM + "=")) {
+                    queryParts.add(queryPart);
+                }
+            }
+        }
+
+        // the cursor is base64url so it never needs encoding
+        queryParts.add(AFTER_PARAM + "=" + page.getNextCursor());
+
+        final URI nextUri = UriBuilder.fromUri(getBaseUri())
+                .path(uriInfo.getPath(false))
+                .replaceQuery(String.join("&", queryParts))
+                .build();
+        return response.link(nextUri, "next");
+    }
+
+    /**
+     * Creates a source of every result of a paged query that reads one page at a time. Each page is read by its own call
+     * to the page reader, so when that is a call to the registry service the page is read in its own transaction and the
+     * connection is released before any of its results are written to the client.
+     *
+     * @param sort the sort to read the results in, or null for the default sort of the query
+     * @param pageReader reads the page for the given query parameters
+     * @param <T> the type of result
+     * @return the source of the results
+     */
+    protected <T> JsonStreamingOutput.ElementSource<T> readInPages(final SortParameter sort,
+                                                                   final Function<QueryParameters, ResultPage<T>> pageReader) {
+        return consumer -> {
+            String after = null;
+            do {
+                final QueryParameters.Builder builder = new QueryParameters.Builder()
+                        .numRows(STREAMING_PAGE_LIMIT)
+                        .after(after);
+                if (sort != null) {
+                    builder.addSort(sort);
+                }
+
+                final ResultPage<T> page = pageReader.apply(builder.build());
+                page.getItems().forEach(consumer);
+                after = page.getNextCursor();
+            } while (after != null);
+        };
+    }
+
     /**
      * Generates an OK response with the specified content.
      *
@@ -19,14 +19,18 @@ package org.apache.nifi.registry.web.api;
 import org.apache.nifi.registry.authorization.Resource;
 import org.apache.nifi.registry.bucket.BucketItem;
 import org.apache.nifi.registry.event.EventService;
+import org.apache.nifi.registry.flow.VersionedFlowSnapshotMetadata;
 import org.apache.nifi.registry.security.authorization.AuthorizableLookup;
 import org.apache.nifi.registry.security.authorization.RequestAction;
 import org.apache.nifi.registry.security.authorization.resource.Authorizable;
 import org.apache.nifi.registry.security.authorization.resource.ResourceType;
 import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.web.security.PermissionsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.ws.rs.core.EntityTag;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -55,6 +59,25 @@ public class AuthorizableApplicationResource extends ApplicationResource {
         authorizeBucketAccess(actionType, bucketItem.getBucketIdentifier());
     }
 
+    /**
+     * Creates the entity tag of a version of a flow. The content of a version never changes, so clients can revalidate
+     * it with a strong entity tag instead of downloading it again. The tag includes the bucket permissions because they
+     * are returned with the version.
+     */
+    protected EntityTag getFlowSnapshotEntityTag(final RegistryService registryService, final PermissionsService permissionsService,
+                                                 final String bucketId, final String flowId, final Integer version) {
+        final String snapshotTag = registryService.getFlowSnapshotTag(bucketId, flowId, version);
+        return createEntityTag(snapshotTag, permissionsService.getBucketPermissions(bucketId));
+    }
+
+    /**
+     * Creates the entity tag of the latest version of a flow. A weak entity tag is enough for clients polling for a new
+     * version, since it only changes when a new version is created.
+     */
+    protected EntityTag getLatestFlowSnapshotMetadataEntityTag(final RegistryService registryService, final VersionedFlowSnapshotMetadata latest) {
+        return new EntityTag(registryService.getFlowSnapshotMetadataTag(latest), true);
+    }
+
     protected Set<String> getAuthorizedBucketIds(RequestAction actionType) {
         return authorizationService
                 .getAuthorizedResources(actionType, ResourceType.Bucket)
@@ -26,6 +26,7 @@ import io.swagger.annotations.Extension;
 import io.swagger.annotations.ExtensionProperty;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.nifi.registry.bucket.BucketItem;
+import org.apache.nifi.registry.diff.ProcessGroupChange;
 import org.apache.nifi.registry.diff.VersionedFlowDifference;
 import org.apache.nifi.registry.event.EventFactory;
 import org.apache.nifi.registry.event.EventService;
@@ -35,7 +36,10 @@ import org.apache.nifi.registry.flow.VersionedFlowSnapshotMetadata;
 import org.apache.nifi.registry.security.authorization.RequestAction;
 import org.apache.nifi.registry.security.authorization.user.NiFiUserUtils;
 import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.QueryParameters;
 import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.service.ResultPage;
+import org.apache.nifi.registry.web.compression.GzipRequestBody;
 import org.apache.nifi.registry.web.link.LinkService;
 import org.apache.nifi.registry.web.security.PermissionsService;
 import org.slf4j.Logger;
@@ -53,6 +57,8 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.List;
@@ -157,6 +163,40 @@ public class BucketFlowResource extends AuthorizableApplicationResource {
         return Response.status(Response.Status.OK).entity(flows).build();
     }
 
+    @GET
+    @Path("versions/latest/metadata")
+    @Consumes(MediaType.WILDCARD)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(
+            value = "Get latest bucket flow versions metadata",
+            notes = "Gets the metadata for the latest version of every flow in the given bucket with a single request. " +
+                    "Flows without any versions are not included.",
+            response = VersionedFlowSnapshotMetadata.class,
+            responseContainer = "List",
+            extensions = {
+                    @Extension(name = "access-policy", properties = {
+                            @ExtensionProperty(name = "action", value = "read"),
+                            @ExtensionProperty(name = "resource", value = "/buckets/{bucketId}") })
+            }
+    )
+    @ApiResponses({
+            @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401),
+            @ApiResponse(code = 403, message = HttpStatusMessages.MESSAGE_403),
+            @ApiResponse(code = 404, message = HttpStatusMessages.MESSAGE_404),
+            @ApiResponse(code = 409, message = HttpStatusMessages.MESSAGE_409) })
+    public Response getLatestFlowVersionsMetadata(
+            @PathParam("bucketId")
+            @ApiParam("The bucket identifier")
+            final String bucketId) {
+
+        authorizeBucketAccess(RequestAction.READ, bucketId);
+
+        final List<VersionedFlowSnapshotMetadata> latest = registryService.getLatestFlowSnapshotMetadataForBucket(bucketId);
+        linkService.populateLinks(latest);
+
+        return Response.status(Response.Status.OK).entity(latest).build();
+    }
+
     @GET
     @Path("{flowId}")
     @Consumes(MediaType.WILDCARD)
@@ -292,6 +332,7 @@ public class BucketFlowResource extends AuthorizableApplicationResource {
             @ApiResponse(code = 403, message = HttpStatusMessages.MESSAGE_403),
             @ApiResponse(code = 404, message = HttpStatusMessages.MESSAGE_404),
             @ApiResponse(code = 409, message = HttpStatusMessages.MESSAGE_409) })
+    @GzipRequestBody
     public Response createFlowVersion(
             @PathParam("bucketId")
             @ApiParam("The bucket identifier")
@@ -330,7 +371,8 @@ public class BucketFlowResource extends AuthorizableApplicationResource {
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(
             value = "Get bucket flow versions",
-            notes = "Gets summary information for all versions of a flow. Versions are ordered newest->oldest.",
+            notes = "Gets summary information for all versions of a flow. Versions are ordered newest->oldest " +
+                    "unless sorted by version:asc, and can be paged with limit and after.",
             response = VersionedFlowSnapshotMetadata.class,
             responseContainer = "List",
             extensions = {
@@ -340,6 +382,7 @@ public class BucketFlowResource extends AuthorizableApplicationResource {
             }
     )
     @ApiResponses({
+            @ApiResponse(code = 400, message = HttpStatusMessages.MESSAGE_400),
             @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401),
             @ApiResponse(code = 403, message = HttpStatusMessages.MESSAGE_403),
             @ApiResponse(code = 404, message = HttpStatusMessages.MESSAGE_404),
@@ -350,10 +393,27 @@ public class BucketFlowResource extends AuthorizableApplicationResource {
                 final String bucketId,
             @PathParam("flowId")
             @ApiParam("The flow identifier")
-                final String flowId) {
+                final String flowId,
+            @QueryParam(LIMIT_PARAM)
+            @ApiParam(LIMIT_PARAM_DESCRIPTION)
+                final Integer limit,
+            @QueryParam(AFTER_PARAM)
+            @ApiParam(AFTER_PARAM_DESCRIPTION)
+                final String after,
+            @QueryParam(SORT_PARAM)
+            @ApiParam(SORT_PARAM_DESCRIPTION)
+                final String sort) {
 
         authorizeBucketAccess(RequestAction.READ, bucketId);
 
+        final QueryParameters pageParameters = getPageParameters(limit, after, sort);
+        if (pageParameters != null) {
+            final ResultPage<VersionedFlowSnapshotMetadata> page = registryService.getFlowSnapshots(bucketId, flowId, pageParameters);
+            linkService.populateLinks(page.getItems());
+
+            return addNextPageLink(Response.status(Response.Status.OK).entity(page.getItems()), page).build();
+        }
+
         final SortedSet<VersionedFlowSnapshotMetadata> snapshots = registryService.getFlowSnapshots(bucketId, flowId);
         if (snapshots != null ) {
             linkService.populateLinks(snapshots);
@@ -392,10 +452,13 @@ public class BucketFlowResource extends AuthorizableApplicationResource {
         authorizeBucketAccess(RequestAction.READ, bucketId);
 
         final VersionedFlowSnapshotMetadata latestMetadata = registryService.getLatestFlowSnapshotMetadata(bucketId, flowId);
-        final VersionedFlowSnapshot lastSnapshot = registryService.getFlowSnapshot(bucketId, flowId, latestMetadata.getVersion());
-        populateLinksAndPermissions(lastSnapshot);
 
-        return Response.status(Response.Status.OK).entity(lastSnapshot).build();
+        final EntityTag entityTag = getFlowSnapshotEntityTag(registryService, permissionsService, bucketId, flowId, latestMetadata.getVersion());
+        return generateConditionalResponse(entityTag, () -> {
+            final VersionedFlowSnapshot lastSnapshot = registryService.getFlowSnapshot(bucketId, flowId, latestMetadata.getVersion());
+            populateLinksAndPermissions(lastSnapshot);
+            return lastSnapshot;
+        }).build();
     }
 
     @GET
@@ -428,9 +491,12 @@ public class BucketFlowResource extends AuthorizableApplicationResource {
         authorizeBucketAccess(RequestAction.READ, bucketId);
 
         final VersionedFlowSnapshotMetadata latest = registryService.getLatestFlowSnapshotMetadata(bucketId, flowId);
-        linkService.populateLinks(latest);
 
-        return Response.status(Response.Status.OK).entity(latest).build();
+        final EntityTag entityTag = getLatestFlowSnapshotMetadataEntityTag(registryService, latest);
+        return generateConditionalResponse(entityTag, () -> {
+            linkService.populateLinks(latest);
+            return latest;
+        }).build();
     }
 
     @GET
@@ -465,10 +531,12 @@ public class BucketFlowResource extends AuthorizableApplicationResource {
                 final Integer versionNumber) {
         authorizeBucketAccess(RequestAction.READ, bucketId);
 
-        final VersionedFlowSnapshot snapshot = registryService.getFlowSnapshot(bucketId, flowId, versionNumber);
-        populateLinksAndPermissions(snapshot);
-
-        return Response.status(Response.Status.OK).entity(snapshot).build();
+        final EntityTag entityTag = getFlowSnapshotEntityTag(registryService, permissionsService, bucketId, flowId, versionNumber);
+        return generateConditionalResponse(entityTag, () -> {
+            final VersionedFlowSnapshot snapshot = registryService.getFlowSnapshot(bucketId, flowId, versionNumber);
+            populateLinksAndPermissions(snapshot);
+            return snapshot;
+        }).build();
     }
 
     @GET
@@ -477,7 +545,8 @@ public class BucketFlowResource extends AuthorizableApplicationResource {
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(
             value = "Get bucket flow diff",
-            notes = "Computes the differences between two given versions of a flow.",
+            notes = "Computes the differences between two given versions of a flow. The response carries a strong ETag " +
+                    "so clients can revalidate with If-None-Match and receive a 304 when they already have the result.",
             response = VersionedFlowDifference.class,
             extensions = {
                     @Extension(name = "access-policy", properties = {
@@ -505,7 +574,51 @@ public class BucketFlowResource extends AuthorizableApplicationResource {
             @ApiParam("The second version number")
             final Integer versionNumberB) {
         authorizeBucketAccess(RequestAction.READ, bucketId);
-        VersionedFlowDifference result = registryService.getFlowDiff(bucketId, flowId, versionNumberA, versionNumberB);
+
+        // the differences between two versions never change, so clients can revalidate with a strong entity tag
+        final EntityTag entityTag = new EntityTag(registryService.getFlowDiffTag(bucketId, flowId, versionNumberA, versionNumberB));
+        return generateConditionalResponse(entityTag, () -> registryService.getFlowDiff(bucketId, flowId, versionNumberA, versionNumberB)).build();
+    }
+
+    @GET
+    @Path("{flowId}/diff/{versionA: \\d+}/{versionB: \\d+}/process-groups/{processGroupId}")
+    @Consumes(MediaType.WILDCARD)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(
+            value = "Get bucket flow process group change",
+            notes = "Determines whether a process group, or anything nested within it, changed between two given versions of a flow. " +
+                    "Uses the content hashes stored with each version instead of computing a full diff.",
+            response = ProcessGroupChange.class,
+            extensions = {
+                    @Extension(name = "access-policy", properties = {
+                            @ExtensionProperty(name = "action", value = "read"),
+                            @ExtensionProperty(name = "resource", value = "/buckets/{bucketId}") })
+            }
+    )
+    @ApiResponses({
+            @ApiResponse(code = 400, message = HttpStatusMessages.MESSAGE_400),
+            @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401),
+            @ApiResponse(code = 403, message = HttpStatusMessages.MESSAGE_403),
+            @ApiResponse(code = 404, message = HttpStatusMessages.MESSAGE_404),
+            @ApiResponse(code = 409, message = HttpStatusMessages.MESSAGE_409)})
+    public Response getProcessGroupChange(
+            @PathParam("bucketId")
+            @ApiParam("The bucket identifier")
+            final String bucketId,
+            @PathParam("flowId")
+            @ApiParam("The flow identifier")
+            final String flowId,
+            @PathParam("versionA")
+            @ApiParam("The first version number")
+            final Integer versionNumberA,
+            @PathParam("versionB")
+            @ApiParam("The second version number")
+            final Integer versionNumberB,
+            @PathParam("processGroupId")
+            @ApiParam("The process group identifier")
+            final String processGroupId) {
+        authorizeBucketAccess(RequestAction.READ, bucketId);
+        final ProcessGroupChange result = registryService.getProcessGroupChange(bucketId, flowId, processGroupId, versionNumberA, versionNumberB);
         return Response.status(Response.Status.OK).entity(result).build();
     }
 
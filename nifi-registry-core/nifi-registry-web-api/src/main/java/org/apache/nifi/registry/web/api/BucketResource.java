@@ -34,7 +34,9 @@ import org.apache.nifi.registry.security.authorization.RequestAction;
 import org.apache.nifi.registry.security.authorization.exception.AccessDeniedException;
 import org.apache.nifi.registry.security.authorization.resource.Authorizable;
 import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.QueryParameters;
 import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.service.ResultPage;
 import org.apache.nifi.registry.web.link.LinkService;
 import org.apache.nifi.registry.web.security.PermissionsService;
 import org.slf4j.Logger;
@@ -51,6 +53,7 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -128,12 +131,24 @@ public class BucketResource extends AuthorizableApplicationResource {
     @ApiOperation(
             value = "Get all buckets",
             notes = "The returned list will include only buckets for which the user is authorized." +
-                    "If the user is not authorized for any buckets, this returns an empty list.",
+                    "If the user is not authorized for any buckets, this returns an empty list. " +
+                    "Buckets can be sorted by name or created, and paged with limit and after.",
             response = Bucket.class,
             responseContainer = "List"
     )
-    @ApiResponses({ @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401) })
-    public Response getBuckets() {
+    @ApiResponses({
+            @ApiResponse(code = 400, message = HttpStatusMessages.MESSAGE_400),
+            @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401) })
+    public Response getBuckets(
+            @QueryParam(LIMIT_PARAM)
+            @ApiParam(LIMIT_PARAM_DESCRIPTION)
+                final Integer limit,
+            @QueryParam(AFTER_PARAM)
+            @ApiParam(AFTER_PARAM_DESCRIPTION)
+                final String after,
+            @QueryParam(SORT_PARAM)
+            @ApiParam(SORT_PARAM_DESCRIPTION)
+                final String sort) {
 
         // Note: We don't explicitly check for access to (READ, /buckets) because
         // a user might have access to individual buckets without top-level access.
@@ -150,6 +165,15 @@ public class BucketResource extends AuthorizableApplicationResource {
             return Response.status(Response.Status.OK).entity(new ArrayList<BucketItem>()).build();
         }
 
+        final QueryParameters pageParameters = getPageParameters(limit, after, sort);
+        if (pageParameters != null) {
+            final ResultPage<Bucket> page = registryService.getBuckets(authorizedBucketIds, pageParameters);
+            permissionsService.populateBucketPermissions(page.getItems());
+            linkService.populateLinks(page.getItems());
+
+            return addNextPageLink(Response.status(Response.Status.OK).entity(page.getItems()), page).build();
+        }
+
         final List<Bucket> buckets = registryService.getBuckets(authorizedBucketIds);
         permissionsService.populateBucketPermissions(buckets);
         linkService.populateLinks(buckets);
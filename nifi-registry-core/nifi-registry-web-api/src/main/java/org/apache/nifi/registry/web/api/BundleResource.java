@@ -35,8 +35,11 @@ import org.apache.nifi.registry.extension.bundle.BundleVersionMetadata;
 import org.apache.nifi.registry.extension.component.ExtensionMetadata;
 import org.apache.nifi.registry.security.authorization.RequestAction;
 import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.QueryParameters;
 import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.service.ResultPage;
 import org.apache.nifi.registry.web.link.LinkService;
+import org.apache.nifi.registry.web.mapper.JsonStreamingOutput;
 import org.apache.nifi.registry.web.security.PermissionsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -48,6 +51,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
@@ -92,11 +96,14 @@ public class BundleResource extends AuthorizableApplicationResource {
             value = "Get all bundles",
             notes = "Gets the metadata for all bundles across all authorized buckets with optional filters applied. " +
                     "The returned results will include only items from buckets for which the user is authorized. " +
-                    "If the user is not authorized to any buckets, an empty list will be returned. " + NON_GUARANTEED_ENDPOINT,
+                    "If the user is not authorized to any buckets, an empty list will be returned. " +
+                    "Bundles can be sorted by groupId or modified, and paged with limit and after. " + NON_GUARANTEED_ENDPOINT,
             response = Bundle.class,
             responseContainer = "List"
     )
-    @ApiResponses({ @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401) })
+    @ApiResponses({
+            @ApiResponse(code = 400, message = HttpStatusMessages.MESSAGE_400),
+            @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401) })
     public Response getBundles(
             @QueryParam("bucketName")
             @ApiParam("Optional bucket name to filter results. The value may be an exact match, or a wildcard, " +
@@ -109,7 +116,16 @@ public class BundleResource extends AuthorizableApplicationResource {
             @QueryParam("artifactId")
             @ApiParam("Optional artifactId to filter results. The value may be an exact match, or a wildcard, " +
                     "such as 'nifi-%' to select all bundles where the artifactId starts with 'nifi-'.")
-                final String artifactId) {
+                final String artifactId,
+            @QueryParam(LIMIT_PARAM)
+            @ApiParam(LIMIT_PARAM_DESCRIPTION)
+                final Integer limit,
+            @QueryParam(AFTER_PARAM)
+            @ApiParam(AFTER_PARAM_DESCRIPTION)
+                final String after,
+            @QueryParam(SORT_PARAM)
+            @ApiParam(SORT_PARAM_DESCRIPTION)
+                final String sort) {
 
         final Set<String> authorizedBucketIds = getAuthorizedBucketIds(RequestAction.READ);
         if (authorizedBucketIds == null || authorizedBucketIds.isEmpty()) {
@@ -119,6 +135,15 @@ public class BundleResource extends AuthorizableApplicationResource {
 
         final BundleFilterParams filterParams = BundleFilterParams.of(bucketName, groupId, artifactId);
 
+        final QueryParameters pageParameters = getPageParameters(limit, after, sort);
+        if (pageParameters != null) {
+            final ResultPage<Bundle> page = registryService.getBundles(authorizedBucketIds, filterParams, pageParameters);
+            permissionsService.populateItemPermissions(page.getItems());
+            linkService.populateLinks(page.getItems());
+
+            return addNextPageLink(Response.status(Response.Status.OK).entity(page.getItems()), page).build();
+        }
+
         List<Bundle> bundles = registryService.getBundles(authorizedBucketIds, filterParams);
         if (bundles == null) {
             bundles = Collections.emptyList();
@@ -234,9 +259,16 @@ public class BundleResource extends AuthorizableApplicationResource {
             return Response.status(Response.Status.OK).entity(new ArrayList<>()).build();
         }
 
+        // write the versions a page at a time so memory use does not grow with the number of versions, and no connection
+        // is held while the client reads
         final BundleVersionFilterParams filterParams = BundleVersionFilterParams.of(groupId, artifactId, version);
-        final SortedSet<BundleVersionMetadata> bundleVersions = registryService.getBundleVersions(authorizedBucketIds, filterParams);
-        linkService.populateLinks(bundleVersions);
+        final JsonStreamingOutput.ElementSource<BundleVersionMetadata> pages = readInPages(null,
+                pageParameters -> registryService.getBundleVersions(authorizedBucketIds, filterParams, pageParameters));
+        final StreamingOutput bundleVersions = JsonStreamingOutput.<BundleVersionMetadata>array(consumer ->
+                pages.forEach(bundleVersion -> {
+                    linkService.populateLinks(bundleVersion);
+                    consumer.accept(bundleVersion);
+                }));
 
         return Response.status(Response.Status.OK).entity(bundleVersions).build();
     }
@@ -343,9 +375,10 @@ public class BundleResource extends AuthorizableApplicationResource {
         final Bundle bundle = getBundleWithBucketReadAuthorization(bundleId);
         final BundleVersion bundleVersion = registryService.getBundleVersion(bundle.getBucketIdentifier(), bundleId, version);
 
+        // the content of a bundle version is identified by its SHA-256
+        final EntityTag entityTag = new EntityTag(bundleVersion.getVersionMetadata().getSha256());
         final StreamingOutput streamingOutput = (output) -> registryService.writeBundleVersionContent(bundleVersion, output);
-
-        return Response.ok(streamingOutput)
+        return generateImmutableResponse(entityTag, streamingOutput, null)
                 .header(CONTENT_DISPOSITION_HEADER,"attachment; filename = " + bundleVersion.getFilename())
                 .build();
     }
@@ -502,8 +535,10 @@ public class BundleResource extends AuthorizableApplicationResource {
         final Bundle bundle = getBundleWithBucketReadAuthorization(bundleId);
         final BundleVersion bundleVersion = registryService.getBundleVersion(bundle.getBucketIdentifier(), bundleId, version);
 
+        final EntityTag entityTag = new EntityTag(registryService.getExtensionDocsTag(bundleVersion, name));
         final StreamingOutput streamingOutput = (output) -> registryService.writeExtensionDocs(bundleVersion, name, output);
-        return Response.ok(streamingOutput).build();
+        final StreamingOutput gzippedOutput = (output) -> registryService.writeGzippedExtensionDocs(bundleVersion, name, output);
+        return generateImmutableResponse(entityTag, streamingOutput, gzippedOutput).build();
     }
 
     @GET
@@ -540,8 +575,9 @@ public class BundleResource extends AuthorizableApplicationResource {
         final Bundle bundle = getBundleWithBucketReadAuthorization(bundleId);
         final BundleVersion bundleVersion = registryService.getBundleVersion(bundle.getBucketIdentifier(), bundleId, version);
 
+        final EntityTag entityTag = new EntityTag(registryService.getExtensionDocsTag(bundleVersion, name));
         final StreamingOutput streamingOutput = (output) -> registryService.writeAdditionalDetailsDocs(bundleVersion, name, output);
-        return Response.ok(streamingOutput).build();
+        return generateImmutableResponse(entityTag, streamingOutput, null).build();
     }
 
     /**
@@ -51,6 +51,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Link;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
@@ -430,8 +431,11 @@ public class ExtensionRepoResource extends AuthorizableApplicationResource {
         authorizeBucketAccess(RequestAction.READ, bucket.getIdentifier());
 
         final BundleVersion bundleVersion = registryService.getBundleVersion(bucket.getIdentifier(), groupId, artifactId, version);
+
+        final EntityTag entityTag = new EntityTag(registryService.getExtensionDocsTag(bundleVersion, name));
         final StreamingOutput streamingOutput = (output) -> registryService.writeExtensionDocs(bundleVersion, name, output);
-        return Response.ok(streamingOutput).build();
+        final StreamingOutput gzippedOutput = (output) -> registryService.writeGzippedExtensionDocs(bundleVersion, name, output);
+        return generateImmutableResponse(entityTag, streamingOutput, gzippedOutput).build();
     }
 
     @GET
@@ -476,8 +480,10 @@ public class ExtensionRepoResource extends AuthorizableApplicationResource {
         authorizeBucketAccess(RequestAction.READ, bucket.getIdentifier());
 
         final BundleVersion bundleVersion = registryService.getBundleVersion(bucket.getIdentifier(), groupId, artifactId, version);
+
+        final EntityTag entityTag = new EntityTag(registryService.getExtensionDocsTag(bundleVersion, name));
         final StreamingOutput streamingOutput = (output) -> registryService.writeAdditionalDetailsDocs(bundleVersion, name, output);
-        return Response.ok(streamingOutput).build();
+        return generateImmutableResponse(entityTag, streamingOutput, null).build();
     }
 
     @GET
@@ -518,9 +524,11 @@ public class ExtensionRepoResource extends AuthorizableApplicationResource {
         authorizeBucketAccess(RequestAction.READ, bucket.getIdentifier());
 
         final BundleVersion bundleVersion = registryService.getBundleVersion(bucket.getIdentifier(), groupId, artifactId, version);
-        final StreamingOutput streamingOutput = (output) -> registryService.writeBundleVersionContent(bundleVersion, output);
 
-        return Response.ok(streamingOutput)
+        // the content of a bundle version is identified by its SHA-256
+        final EntityTag entityTag = new EntityTag(bundleVersion.getVersionMetadata().getSha256());
+        final StreamingOutput streamingOutput = (output) -> registryService.writeBundleVersionContent(bundleVersion, output);
+        return generateImmutableResponse(entityTag, streamingOutput, null)
                 .header(CONTENT_DISPOSITION_HEADER,"attachment; filename = " + bundleVersion.getFilename())
                 .build();
     }
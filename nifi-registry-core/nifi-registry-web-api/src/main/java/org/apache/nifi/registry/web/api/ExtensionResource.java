@@ -28,13 +28,21 @@ import org.apache.nifi.registry.extension.bundle.BundleTypeValues;
 import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
 import org.apache.nifi.registry.extension.component.ExtensionMetadata;
 import org.apache.nifi.registry.extension.component.ExtensionMetadataContainer;
+import org.apache.nifi.registry.extension.component.ExtensionMetadataPage;
+import org.apache.nifi.registry.extension.component.ExtensionSearchResult;
+import org.apache.nifi.registry.extension.component.ExtensionSearchResults;
 import org.apache.nifi.registry.extension.component.TagCount;
 import org.apache.nifi.registry.extension.component.manifest.ExtensionType;
 import org.apache.nifi.registry.extension.component.manifest.ProvidedServiceAPI;
+import org.apache.nifi.registry.params.SortOrder;
+import org.apache.nifi.registry.params.SortParameter;
 import org.apache.nifi.registry.security.authorization.RequestAction;
 import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.QueryParameters;
 import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.service.ResultPage;
 import org.apache.nifi.registry.web.link.LinkService;
+import org.apache.nifi.registry.web.mapper.JsonStreamingOutput;
 import org.springframework.stereotype.Component;
 
 import javax.ws.rs.Consumes;
@@ -44,8 +52,10 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.SortedSet;
 
@@ -58,6 +68,8 @@ import java.util.SortedSet;
 )
 public class ExtensionResource extends AuthorizableApplicationResource {
 
+    static final int DEFAULT_SEARCH_LIMIT = 50;
+
     private final RegistryService registryService;
     private final LinkService linkService;
 
@@ -76,7 +88,9 @@ public class ExtensionResource extends AuthorizableApplicationResource {
     @ApiOperation(
             value = "Get all extensions",
             notes = "Gets the metadata for all extensions that match the filter params and are part of bundles located in buckets the " +
-                    "current user is authorized for. If the user is not authorized to any buckets, an empty result set will be returned." +
+                    "current user is authorized for. If the user is not authorized to any buckets, an empty result set will be returned. " +
+                    "Extensions can be sorted by name or displayName, and paged with limit and after, in which case the extensions of the page " +
+                    "are returned in the requested order." +
                     NON_GUARANTEED_ENDPOINT,
             response = ExtensionMetadataContainer.class
     )
@@ -95,7 +109,16 @@ public class ExtensionResource extends AuthorizableApplicationResource {
                 final ExtensionType extensionType,
             @QueryParam("tag")
             @ApiParam(value = "The tags to filter on, will be used in an OR statement")
-                final Set<String> tags
+                final Set<String> tags,
+            @QueryParam(LIMIT_PARAM)
+            @ApiParam(LIMIT_PARAM_DESCRIPTION)
+                final Integer limit,
+            @QueryParam(AFTER_PARAM)
+            @ApiParam(AFTER_PARAM_DESCRIPTION)
+                final String after,
+            @QueryParam(SORT_PARAM)
+            @ApiParam(SORT_PARAM_DESCRIPTION)
+                final String sort
             ) {
 
         final Set<String> authorizedBucketIds = getAuthorizedBucketIds(RequestAction.READ);
@@ -110,17 +133,119 @@ public class ExtensionResource extends AuthorizableApplicationResource {
                 .addTags(tags == null ? Collections.emptyList() : tags)
                 .build();
 
-        final SortedSet<ExtensionMetadata> extensionMetadata = registryService.getExtensionMetadata(authorizedBucketIds, filterParams);
-        linkService.populateLinks(extensionMetadata);
+        final QueryParameters pageParameters = getPageParameters(limit, after, sort);
+        if (pageParameters != null) {
+            final ResultPage<ExtensionMetadata> page = registryService.getExtensionMetadata(authorizedBucketIds, filterParams, pageParameters);
+            linkService.populateLinks(page.getItems());
 
-        final ExtensionMetadataContainer container = new ExtensionMetadataContainer();
-        container.setExtensions(extensionMetadata);
-        container.setNumResults(extensionMetadata.size());
-        container.setFilterParams(filterParams);
+            // a page keeps the requested sort, so it is returned in a list rather than the sorted set of the container
+            final ExtensionMetadataPage extensionPage = new ExtensionMetadataPage();
+            extensionPage.setExtensions(page.getItems());
+            extensionPage.setNumResults(page.getItems().size());
+            extensionPage.setFilterParams(filterParams);
+
+            return addNextPageLink(Response.status(Response.Status.OK).entity(extensionPage), page).build();
+        }
+
+        // write the extensions a page at a time so memory use does not grow with the number of extensions, and no
+        // connection is held while the client reads; the fields of the container are written in the same alphabetical
+        // order as the mapper uses, which conveniently puts the count after the extensions
+        final JsonStreamingOutput.ElementSource<ExtensionMetadata> pages = readInPages(new SortParameter("displayName", SortOrder.ASC),
+                pageParameters -> registryService.getExtensionMetadata(authorizedBucketIds, filterParams, pageParameters));
+        final StreamingOutput container = new JsonStreamingOutput(generator -> {
+            // the sorted set of the container keeps one extension per display name, so skip any display name that was
+            // already written; the database collation may order names differently than the set did, so repeats need
+            // not be adjacent
+            final Set<String> writtenDisplayNames = new HashSet<>();
+
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("extensions");
+            final int numResults = JsonStreamingOutput.<ExtensionMetadata>writeElements(generator, consumer ->
+                    pages.forEach(extension -> {
+                        if (writtenDisplayNames.add(extension.getDisplayName())) {
+                            linkService.populateLinks(extension);
+                            consumer.accept(extension);
+                        }
+                    }));
+            generator.writeEndArray();
+            generator.writeObjectField("filterParams", filterParams);
+            generator.writeNumberField("numResults", numResults);
+            generator.writeEndObject();
+        });
 
         return Response.status(Response.Status.OK).entity(container).build();
     }
 
+    @GET
+    @Path("search")
+    @Consumes(MediaType.WILDCARD)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(
+            value = "Search extensions",
+            notes = "Searches the names, descriptions, tags, property names, and provided service APIs of extensions that are part of " +
+                    "bundles located in buckets the current user is authorized for. Results are ordered by relevance and paginated, " +
+                    "and include the number of matching extensions per bundle type, extension type, and tag." +
+                    NON_GUARANTEED_ENDPOINT,
+            response = ExtensionSearchResults.class
+    )
+    @ApiResponses({
+            @ApiResponse(code = 400, message = HttpStatusMessages.MESSAGE_400),
+            @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401),
+            @ApiResponse(code = 403, message = HttpStatusMessages.MESSAGE_403),
+            @ApiResponse(code = 404, message = HttpStatusMessages.MESSAGE_404),
+            @ApiResponse(code = 409, message = HttpStatusMessages.MESSAGE_409) })
+    public Response searchExtensions(
+            @QueryParam("q")
+            @ApiParam(value = "The text to search for, all words must match. If blank, all extensions matching the filter params are returned")
+                final String query,
+            @QueryParam("bundleType")
+            @ApiParam(value = "The type of bundles to return", allowableValues = BundleTypeValues.ALL_VALUES)
+                final BundleType bundleType,
+            @QueryParam("extensionType")
+            @ApiParam(value = "The type of extensions to return")
+                final ExtensionType extensionType,
+            @QueryParam("tag")
+            @ApiParam(value = "The tags to filter on, will be used in an OR statement")
+                final Set<String> tags,
+            @QueryParam("offset")
+            @ApiParam(value = "The index of the first result to return, defaults to 0")
+                final Integer offset,
+            @QueryParam("limit")
+            @ApiParam(value = "The maximum number of results to return, defaults to " + DEFAULT_SEARCH_LIMIT)
+                final Integer limit
+    ) {
+        final ExtensionFilterParams filterParams = new ExtensionFilterParams.Builder()
+                .bundleType(bundleType)
+                .extensionType(extensionType)
+                .addTags(tags == null ? Collections.emptyList() : tags)
+                .build();
+
+        final int resultsOffset = offset == null ? 0 : offset;
+        final int resultsLimit = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+
+        final Set<String> authorizedBucketIds = getAuthorizedBucketIds(RequestAction.READ);
+        if (authorizedBucketIds == null || authorizedBucketIds.isEmpty()) {
+            // not authorized for any bucket, return empty results
+            final ExtensionSearchResults results = new ExtensionSearchResults();
+            results.setQuery(query);
+            results.setFilterParams(filterParams);
+            results.setOffset(resultsOffset);
+            results.setLimit(resultsLimit);
+            results.setResults(new ArrayList<>());
+            results.setBundleTypeCounts(Collections.emptyMap());
+            results.setExtensionTypeCounts(Collections.emptyMap());
+            results.setTagCounts(Collections.emptyMap());
+            return Response.status(Response.Status.OK).entity(results).build();
+        }
+
+        final ExtensionSearchResults results = registryService.searchExtensions(authorizedBucketIds, query, filterParams, resultsOffset, resultsLimit);
+        for (final ExtensionSearchResult result : results.getResults()) {
+            linkService.populateLinks(result.getExtension());
+        }
+
+        return Response.status(Response.Status.OK).entity(results).build();
+    }
+
     @GET
     @Path("provided-service-api")
     @Consumes(MediaType.WILDCARD)
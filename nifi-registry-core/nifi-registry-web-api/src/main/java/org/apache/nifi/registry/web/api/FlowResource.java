@@ -33,19 +33,27 @@ import org.apache.nifi.registry.flow.VersionedFlowSnapshotMetadata;
 import org.apache.nifi.registry.security.authorization.RequestAction;
 import org.apache.nifi.registry.security.authorization.exception.AccessDeniedException;
 import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.QueryParameters;
 import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.service.ResultPage;
 import org.apache.nifi.registry.web.link.LinkService;
 import org.apache.nifi.registry.web.security.PermissionsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 
@@ -58,6 +66,9 @@ import java.util.SortedSet;
 )
 public class FlowResource extends AuthorizableApplicationResource {
 
+    // the most flows the latest version metadata can be requested for at once
+    static final int MAX_LATEST_METADATA_FLOW_IDS = 10000;
+
     private final RegistryService registryService;
     private final LinkService linkService;
     private final PermissionsService permissionsService;
@@ -89,6 +100,53 @@ public class FlowResource extends AuthorizableApplicationResource {
         return Response.status(Response.Status.OK).entity(fields).build();
     }
 
+    @POST
+    @Path("versions/latest/metadata")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(
+            value = "Get latest flow versions metadata",
+            notes = "Gets the metadata for the latest version of each of the given flows with a single request, so that clients " +
+                    "tracking many flows don't need to poll each one separately. Flows that don't exist, have no versions, or " +
+                    "are located in a bucket the user is not authorized to read are not included. At most " +
+                    MAX_LATEST_METADATA_FLOW_IDS + " flows may be requested at once.",
+            nickname = "globalGetLatestFlowVersionsMetadata",
+            response = VersionedFlowSnapshotMetadata.class,
+            responseContainer = "List",
+            extensions = {
+                    @Extension(name = "access-policy", properties = {
+                            @ExtensionProperty(name = "action", value = "read"),
+                            @ExtensionProperty(name = "resource", value = "/buckets/{bucketId}") })
+            }
+    )
+    @ApiResponses({
+            @ApiResponse(code = 400, message = HttpStatusMessages.MESSAGE_400),
+            @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401),
+            @ApiResponse(code = 409, message = HttpStatusMessages.MESSAGE_409) })
+    public Response getLatestFlowVersionsMetadata(
+            @ApiParam(value = "The flow identifiers", required = true)
+            final Set<String> flowIds) {
+
+        if (flowIds == null) {
+            throw new BadRequestException("Flow identifiers in body cannot be null");
+        }
+
+        if (flowIds.size() > MAX_LATEST_METADATA_FLOW_IDS) {
+            throw new BadRequestException("No more than " + MAX_LATEST_METADATA_FLOW_IDS + " flow identifiers may be requested at once");
+        }
+
+        // like the items endpoint, flows in buckets the user can't read are filtered out rather than failing the request
+        final Set<String> authorizedBucketIds = getAuthorizedBucketIds(RequestAction.READ);
+        if (authorizedBucketIds == null || authorizedBucketIds.isEmpty() || flowIds.isEmpty()) {
+            return Response.status(Response.Status.OK).entity(new ArrayList<VersionedFlowSnapshotMetadata>()).build();
+        }
+
+        final List<VersionedFlowSnapshotMetadata> latest = registryService.getLatestFlowSnapshotMetadata(authorizedBucketIds, flowIds);
+        linkService.populateLinks(latest);
+
+        return Response.status(Response.Status.OK).entity(latest).build();
+    }
+
     @GET
     @Path("{flowId}")
     @Consumes(MediaType.WILDCARD)
@@ -136,7 +194,8 @@ public class FlowResource extends AuthorizableApplicationResource {
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(
             value = "Get flow versions",
-            notes = "Gets summary information for all versions of a given flow. Versions are ordered newest->oldest.",
+            notes = "Gets summary information for all versions of a given flow. Versions are ordered newest->oldest " +
+                    "unless sorted by version:asc, and can be paged with limit and after.",
             nickname = "globalGetFlowVersions",
             response = VersionedFlowSnapshotMetadata.class,
             responseContainer = "List",
@@ -147,6 +206,7 @@ public class FlowResource extends AuthorizableApplicationResource {
             }
     )
     @ApiResponses({
+            @ApiResponse(code = 400, message = HttpStatusMessages.MESSAGE_400),
             @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401),
             @ApiResponse(code = 403, message = HttpStatusMessages.MESSAGE_403),
             @ApiResponse(code = 404, message = HttpStatusMessages.MESSAGE_404),
@@ -154,7 +214,16 @@ public class FlowResource extends AuthorizableApplicationResource {
     public Response getFlowVersions(
             @PathParam("flowId")
             @ApiParam("The flow identifier")
-            final String flowId) {
+            final String flowId,
+            @QueryParam(LIMIT_PARAM)
+            @ApiParam(LIMIT_PARAM_DESCRIPTION)
+            final Integer limit,
+            @QueryParam(AFTER_PARAM)
+            @ApiParam(AFTER_PARAM_DESCRIPTION)
+            final String after,
+            @QueryParam(SORT_PARAM)
+            @ApiParam(SORT_PARAM_DESCRIPTION)
+            final String sort) {
 
         final VersionedFlow flow = registryService.getFlow(flowId);
 
@@ -165,6 +234,14 @@ public class FlowResource extends AuthorizableApplicationResource {
 
         authorizeBucketAccess(RequestAction.READ, bucketId);
 
+        final QueryParameters pageParameters = getPageParameters(limit, after, sort);
+        if (pageParameters != null) {
+            final ResultPage<VersionedFlowSnapshotMetadata> page = registryService.getFlowSnapshots(bucketId, flowId, pageParameters);
+            linkService.populateLinks(page.getItems());
+
+            return addNextPageLink(Response.status(Response.Status.OK).entity(page.getItems()), page).build();
+        }
+
         final SortedSet<VersionedFlowSnapshotMetadata> snapshots = registryService.getFlowSnapshots(bucketId, flowId);
         if (snapshots != null ) {
             linkService.populateLinks(snapshots);
@@ -211,9 +288,12 @@ public class FlowResource extends AuthorizableApplicationResource {
 
         authorizeBucketAccess(RequestAction.READ, bucketId);
 
-        final VersionedFlowSnapshot snapshot = registryService.getFlowSnapshot(bucketId, flowId, versionNumber);
-        populateLinksAndPermissions(snapshot);
-        return Response.status(Response.Status.OK).entity(snapshot).build();
+        final EntityTag entityTag = getFlowSnapshotEntityTag(registryService, permissionsService, bucketId, flowId, versionNumber);
+        return generateConditionalResponse(entityTag, () -> {
+            final VersionedFlowSnapshot snapshot = registryService.getFlowSnapshot(bucketId, flowId, versionNumber);
+            populateLinksAndPermissions(snapshot);
+            return snapshot;
+        }).build();
     }
 
     @GET
@@ -250,10 +330,12 @@ public class FlowResource extends AuthorizableApplicationResource {
 
         authorizeBucketAccess(RequestAction.READ, bucketId);
 
-        final VersionedFlowSnapshot lastSnapshot = registryService.getFlowSnapshot(bucketId, flowId, latestMetadata.getVersion());
-        populateLinksAndPermissions(lastSnapshot);
-
-        return Response.status(Response.Status.OK).entity(lastSnapshot).build();
+        final EntityTag entityTag = getFlowSnapshotEntityTag(registryService, permissionsService, bucketId, flowId, latestMetadata.getVersion());
+        return generateConditionalResponse(entityTag, () -> {
+            final VersionedFlowSnapshot lastSnapshot = registryService.getFlowSnapshot(bucketId, flowId, latestMetadata.getVersion());
+            populateLinksAndPermissions(lastSnapshot);
+            return lastSnapshot;
+        }).build();
     }
 
     @GET
@@ -290,8 +372,11 @@ public class FlowResource extends AuthorizableApplicationResource {
 
         authorizeBucketAccess(RequestAction.READ, bucketId);
 
-        linkService.populateLinks(latestMetadata);
-        return Response.status(Response.Status.OK).entity(latestMetadata).build();
+        final EntityTag entityTag = getLatestFlowSnapshotMetadataEntityTag(registryService, latestMetadata);
+        return generateConditionalResponse(entityTag, () -> {
+            linkService.populateLinks(latestMetadata);
+            return latestMetadata;
+        }).build();
     }
 
     // override the base implementation so we can provide a different error message that doesn't include the bucket id
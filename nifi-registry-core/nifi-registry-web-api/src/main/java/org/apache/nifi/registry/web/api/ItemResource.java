@@ -29,8 +29,11 @@ import org.apache.nifi.registry.event.EventService;
 import org.apache.nifi.registry.field.Fields;
 import org.apache.nifi.registry.security.authorization.RequestAction;
 import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.QueryParameters;
 import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.service.ResultPage;
 import org.apache.nifi.registry.web.link.LinkService;
+import org.apache.nifi.registry.web.mapper.JsonStreamingOutput;
 import org.apache.nifi.registry.web.security.PermissionsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,14 +45,17 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 @Component
 @Path("/items")
@@ -89,12 +95,24 @@ public class ItemResource extends AuthorizableApplicationResource {
     @ApiOperation(
             value = "Get all items",
             notes = "Get items across all buckets. The returned items will include only items from buckets for which the user is authorized. " +
-                    "If the user is not authorized to any buckets, an empty list will be returned.",
+                    "If the user is not authorized to any buckets, an empty list will be returned. Items can be sorted by name, created, " +
+                    "or modified, and paged with limit and after.",
             response = BucketItem.class,
             responseContainer = "List"
     )
-    @ApiResponses({ @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401) })
-    public Response getItems() {
+    @ApiResponses({
+            @ApiResponse(code = 400, message = HttpStatusMessages.MESSAGE_400),
+            @ApiResponse(code = 401, message = HttpStatusMessages.MESSAGE_401) })
+    public Response getItems(
+            @QueryParam(LIMIT_PARAM)
+            @ApiParam(LIMIT_PARAM_DESCRIPTION)
+                final Integer limit,
+            @QueryParam(AFTER_PARAM)
+            @ApiParam(AFTER_PARAM_DESCRIPTION)
+                final String after,
+            @QueryParam(SORT_PARAM)
+            @ApiParam(SORT_PARAM_DESCRIPTION)
+                final String sort) {
 
         // Note: We don't explicitly check for access to (READ, /buckets) or
         // (READ, /items ) because a user might have access to individual buckets
@@ -110,14 +128,13 @@ public class ItemResource extends AuthorizableApplicationResource {
             return Response.status(Response.Status.OK).entity(new ArrayList<BucketItem>()).build();
         }
 
-        List<BucketItem> items = registryService.getBucketItems(authorizedBucketIds);
-        if (items == null) {
-            items = Collections.emptyList();
+        final QueryParameters pageParameters = getPageParameters(limit, after, sort);
+        if (pageParameters != null) {
+            final ResultPage<BucketItem> page = registryService.getBucketItems(authorizedBucketIds, pageParameters);
+            return createItemsPageResponse(page);
         }
-        permissionsService.populateItemPermissions(items);
-        linkService.populateLinks(items);
 
-        return Response.status(Response.Status.OK).entity(items).build();
+        return createItemsStreamingResponse(authorizedBucketIds);
     }
 
     @GET
@@ -126,7 +143,7 @@ public class ItemResource extends AuthorizableApplicationResource {
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(
             value = "Get bucket items",
-            notes = "Gets the items located in the given bucket.",
+            notes = "Gets the items located in the given bucket. Items can be sorted by name, created, or modified, and paged with limit and after.",
             response = BucketItem.class,
             responseContainer = "List",
             nickname = "getItemsInBucket",
@@ -144,15 +161,53 @@ public class ItemResource extends AuthorizableApplicationResource {
     public Response getItems(
             @PathParam("bucketId")
             @ApiParam("The bucket identifier")
-            final String bucketId) {
+            final String bucketId,
+            @QueryParam(LIMIT_PARAM)
+            @ApiParam(LIMIT_PARAM_DESCRIPTION)
+                final Integer limit,
+            @QueryParam(AFTER_PARAM)
+            @ApiParam(AFTER_PARAM_DESCRIPTION)
+                final String after,
+            @QueryParam(SORT_PARAM)
+            @ApiParam(SORT_PARAM_DESCRIPTION)
+                final String sort) {
 
         authorizeBucketAccess(RequestAction.READ, bucketId);
 
-        final List<BucketItem> items = registryService.getBucketItems(bucketId);
+        final QueryParameters pageParameters = getPageParameters(limit, after, sort);
+        if (pageParameters != null) {
+            final ResultPage<BucketItem> page = registryService.getBucketItems(bucketId, pageParameters);
+            return createItemsPageResponse(page);
+        }
+
+        // check the bucket exists before the response is started
+        registryService.getBucket(bucketId);
+        return createItemsStreamingResponse(Collections.singleton(bucketId));
+    }
+
+    private Response createItemsStreamingResponse(final Set<String> bucketIds) {
+        // write the items a page at a time so memory use does not grow with the number of items, and no connection is
+        // held while the client reads
+        final JsonStreamingOutput.ElementSource<BucketItem> pages = readInPages(null,
+                pageParameters -> registryService.getBucketItems(bucketIds, pageParameters));
+        final StreamingOutput items = JsonStreamingOutput.<BucketItem>array(consumer -> {
+            final Consumer<BucketItem> permissionsPopulator = permissionsService.createItemPermissionsPopulator();
+            pages.forEach(item -> {
+                permissionsPopulator.accept(item);
+                linkService.populateLinks(item);
+                consumer.accept(item);
+            });
+        });
+
+        return Response.status(Response.Status.OK).entity(items).build();
+    }
+
+    private Response createItemsPageResponse(final ResultPage<BucketItem> page) {
+        final List<BucketItem> items = page.getItems();
         permissionsService.populateItemPermissions(items);
         linkService.populateLinks(items);
 
-        return Response.status(Response.Status.OK).entity(items).build();
+        return addNextPageLink(Response.status(Response.Status.OK).entity(items), page).build();
     }
 
     @GET
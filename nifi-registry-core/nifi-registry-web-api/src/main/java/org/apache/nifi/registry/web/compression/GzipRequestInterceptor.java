@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.web.compression;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.nifi.registry.properties.NiFiRegistryProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Inflates request bodies sent with Content-Encoding: gzip for the resource methods annotated with {@link GzipRequestBody}.
+ *
+ * Compressed request bodies are only accepted when enabled, and are rejected once they inflate past the configured
+ * maximum size, so a small compressed body can not be used to exhaust the server's memory.
+ */
+@Component
+@Provider
+@GzipRequestBody
+public class GzipRequestInterceptor implements ReaderInterceptor {
+
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String IDENTITY_ENCODING = "identity";
+
+    private final boolean enabled;
+    private final long maxInflatedSize;
+
+    @Autowired
+    public GzipRequestInterceptor(final NiFiRegistryProperties properties) {
+        this(properties.isWebRequestCompressionEnabled(), properties.getWebRequestCompressionMaxSize());
+    }
+
+    public GzipRequestInterceptor(final boolean enabled, final long maxInflatedSize) {
+        if (maxInflatedSize < 1) {
+            throw new IllegalArgumentException("Max inflated size must be greater than zero");
+        }
+        this.enabled = enabled;
+        this.maxInflatedSize = maxInflatedSize;
+    }
+
+    @Override
+    public Object aroundReadFrom(final ReaderInterceptorContext context) throws IOException {
+        final String contentEncoding = StringUtils.trim(context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        if (StringUtils.isBlank(contentEncoding) || IDENTITY_ENCODING.equalsIgnoreCase(contentEncoding)) {
+            return context.proceed();
+        }
+
+        if (!enabled || !GZIP_ENCODING.equalsIgnoreCase(contentEncoding)) {
+            throw new BadRequestException("Request bodies with Content-Encoding " + contentEncoding + " are not accepted.");
+        }
+
+        context.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+        context.setInputStream(new MaxSizeInputStream(new GZIPInputStream(context.getInputStream()), maxInflatedSize));
+        return context.proceed();
+    }
+
+    /**
+     * Fails the request, rather than truncating the body, once more than the maximum number of bytes have been read.
+     */
+    private static class MaxSizeInputStream extends FilterInputStream {
+        private final long maxSize;
+        private long bytesRead;
+
+        private MaxSizeInputStream(final InputStream in, final long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value != -1) {
+                addBytesRead(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int bytes = super.read(b, off, len);
+            if (bytes > 0) {
+                addBytesRead(bytes);
+            }
+            return bytes;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            addBytesRead(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void addBytesRead(final long count) {
+            bytesRead += count;
+            if (bytesRead > maxSize) {
+                throw new BadRequestException("The request body exceeds the maximum inflated size of " + maxSize + " bytes.");
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.web.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.nifi.registry.serialization.jackson.ObjectMapperProvider;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * A StreamingOutput that writes JSON with the same mapper as {@link NiFiRegistryJsonProvider}, so that large listings
+ * can be written element by element as they are read rather than collected into memory first.
+ *
+ * The generator is flushed but not closed once the content has been written, so if writing fails part way through the
+ * client receives incomplete JSON rather than a response that looks complete.
+ */
+public class JsonStreamingOutput implements StreamingOutput {
+
+    /**
+     * Writes the content of the response to the generator.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * A source of elements that passes each element to the given consumer in turn.
+     *
+     * @param <T> the type of element
+     */
+    @FunctionalInterface
+    public interface ElementSource<T> {
+        void forEach(Consumer<T> consumer);
+    }
+
+    private final ContentWriter contentWriter;
+
+    public JsonStreamingOutput(final ContentWriter contentWriter) {
+        if (contentWriter == null) {
+            throw new IllegalArgumentException("Content writer cannot be null");
+        }
+        this.contentWriter = contentWriter;
+    }
+
+    /**
+     * Creates an output that writes a JSON array of the elements from the given source.
+     *
+     * @param elements the source of the elements
+     * @param <T> the type of element
+     * @return the output
+     */
+    public static <T> JsonStreamingOutput array(final ElementSource<T> elements) {
+        return new JsonStreamingOutput(generator -> {
+            generator.writeStartArray();
+            writeElements(generator, elements);
+            generator.writeEndArray();
+        });
+    }
+
+    /**
+     * Writes each element from the given source to the generator as it is produced.
+     *
+     * @param generator the generator to write to
+     * @param elements the source of the elements
+     * @param <T> the type of element
+     * @return the number of elements written
+     * @throws IOException if an element could not be written
+     */
+    public static <T> int writeElements(final JsonGenerator generator, final ElementSource<T> elements) throws IOException {
+        final int[] count = new int[1];
+        try {
+            elements.forEach(element -> {
+                try {
+                    generator.writeObject(element);
+                    count[0]++;
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+
+    @Override
+    public void write(final OutputStream output) throws IOException {
+        final JsonGenerator generator = ObjectMapperProvider.getMapper().getFactory().createGenerator(output);
+        contentWriter.write(generator);
+        generator.flush();
+    }
+
+}
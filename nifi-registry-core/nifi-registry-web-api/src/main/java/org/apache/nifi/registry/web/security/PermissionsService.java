@@ -25,6 +25,10 @@ import org.apache.nifi.registry.service.AuthorizationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
 /**
  * This is a class that Resource classes can utilized to populate fields
  * on model objects returned by the {@link org.apache.nifi.registry.service.RegistryService}
@@ -63,6 +67,30 @@ public class PermissionsService {
         populateItemPermissions(bucketItem, null);
     }
 
+    /**
+     * Creates a consumer that populates the permissions of items handed to it one at a time, such as items being
+     * streamed to a client. The permissions for each bucket are computed once and reused for later items in that bucket.
+     *
+     * @return the consumer that populates item permissions
+     */
+    public Consumer<BucketItem> createItemPermissionsPopulator() {
+        final Permissions topLevelBucketPermissions = authorizationService.getPermissionsForResource(authorizableLookup.getBucketsAuthorizable());
+        final Map<String, Permissions> permissionsByBucketId = new HashMap<>();
+        return bucketItem -> {
+            if (bucketItem == null) {
+                return;
+            }
+
+            final Permissions bucketItemPermissions = permissionsByBucketId.computeIfAbsent(bucketItem.getBucketIdentifier(),
+                    bucketId -> createPermissionsForBucketId(bucketId, topLevelBucketPermissions));
+            bucketItem.setPermissions(bucketItemPermissions);
+        };
+    }
+
+    public Permissions getBucketPermissions(final String bucketId) {
+        return createPermissionsForBucketId(bucketId, null);
+    }
+
     private void populateBucketPermissions(final Bucket bucket, final Permissions knownPermissions) {
 
         if (bucket == null) {
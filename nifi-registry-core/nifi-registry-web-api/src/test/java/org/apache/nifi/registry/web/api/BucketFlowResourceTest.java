@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.web.api;
+
+import org.apache.nifi.registry.authorization.Permissions;
+import org.apache.nifi.registry.event.EventService;
+import org.apache.nifi.registry.flow.VersionedFlowSnapshot;
+import org.apache.nifi.registry.flow.VersionedFlowSnapshotMetadata;
+import org.apache.nifi.registry.security.authorization.AuthorizableLookup;
+import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.web.link.LinkService;
+import org.apache.nifi.registry.web.security.PermissionsService;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BucketFlowResourceTest {
+
+    private RegistryService registryService;
+    private LinkService linkService;
+    private BucketFlowResource bucketFlowResource;
+
+    // whether the client already has the representation with the evaluated entity tag
+    private boolean notModified;
+    private EntityTag evaluatedTag;
+
+    @Before
+    public void setUp() {
+        registryService = mock(RegistryService.class);
+        linkService = mock(LinkService.class);
+
+        final AuthorizationService authorizationService = mock(AuthorizationService.class);
+        when(authorizationService.getAuthorizableLookup()).thenReturn(mock(AuthorizableLookup.class));
+
+        final PermissionsService permissionsService = mock(PermissionsService.class);
+        when(permissionsService.getBucketPermissions("b1")).thenReturn(new Permissions().withCanRead(true));
+
+        bucketFlowResource = new BucketFlowResource(registryService, linkService, permissionsService, authorizationService,
+                mock(EventService.class)) {
+
+            @Override
+            protected Response.ResponseBuilder evaluatePreconditions(final EntityTag entityTag) {
+                evaluatedTag = entityTag;
+                return notModified ? Response.notModified(entityTag) : null;
+            }
+        };
+
+        final VersionedFlowSnapshotMetadata latestMetadata = new VersionedFlowSnapshotMetadata();
+        latestMetadata.setBucketIdentifier("b1");
+        latestMetadata.setFlowIdentifier("f1");
+        latestMetadata.setVersion(2);
+        when(registryService.getLatestFlowSnapshotMetadata("b1", "f1")).thenReturn(latestMetadata);
+        when(registryService.getFlowSnapshotTag("b1", "f1", 2)).thenReturn("snapshot-tag");
+        when(registryService.getFlowSnapshotMetadataTag(latestMetadata)).thenReturn("metadata-tag");
+        when(registryService.getFlowDiffTag("b1", "f1", 1, 2)).thenReturn("diff-tag");
+    }
+
+    @Test
+    public void testGetLatestFlowVersionNotModified() {
+        notModified = true;
+
+        final Response response = bucketFlowResource.getLatestFlowVersion("b1", "f1");
+        assertNotModified(response, new EntityTag("snapshot-tag-r__"));
+        verify(registryService, never()).getFlowSnapshot(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testGetLatestFlowVersionModified() {
+        notModified = false;
+        final VersionedFlowSnapshot snapshot = new VersionedFlowSnapshot();
+        when(registryService.getFlowSnapshot("b1", "f1", 2)).thenReturn(snapshot);
+
+        final Response response = bucketFlowResource.getLatestFlowVersion("b1", "f1");
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertSame(snapshot, response.getEntity());
+        assertEquals(new EntityTag("snapshot-tag-r__"), response.getEntityTag());
+    }
+
+    @Test
+    public void testGetLatestFlowVersionMetadataNotModified() {
+        notModified = true;
+
+        final Response response = bucketFlowResource.getLatestFlowVersionMetadata("b1", "f1");
+        assertNotModified(response, new EntityTag("metadata-tag", true));
+        verify(linkService, never()).populateLinks(any(VersionedFlowSnapshotMetadata.class));
+    }
+
+    @Test
+    public void testGetFlowVersionNotModified() {
+        notModified = true;
+
+        final Response response = bucketFlowResource.getFlowVersion("b1", "f1", 2);
+        assertNotModified(response, new EntityTag("snapshot-tag-r__"));
+        verify(registryService, never()).getFlowSnapshot(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void testGetFlowDiffNotModified() {
+        notModified = true;
+
+        final Response response = bucketFlowResource.getFlowDiff("b1", "f1", 1, 2);
+        assertNotModified(response, new EntityTag("diff-tag"));
+        verify(registryService, never()).getFlowDiff(anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    private void assertNotModified(final Response response, final EntityTag expectedTag) {
+        assertEquals(expectedTag, evaluatedTag);
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+        assertEquals(expectedTag, response.getEntityTag());
+        assertNull(response.getEntity());
+    }
+}
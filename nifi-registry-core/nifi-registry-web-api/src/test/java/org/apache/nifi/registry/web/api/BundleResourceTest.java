@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.web.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.nifi.registry.authorization.Resource;
+import org.apache.nifi.registry.event.EventService;
+import org.apache.nifi.registry.extension.bundle.Bundle;
+import org.apache.nifi.registry.extension.bundle.BundleVersion;
+import org.apache.nifi.registry.extension.bundle.BundleVersionFilterParams;
+import org.apache.nifi.registry.extension.bundle.BundleVersionMetadata;
+import org.apache.nifi.registry.security.authorization.AuthorizableLookup;
+import org.apache.nifi.registry.security.authorization.RequestAction;
+import org.apache.nifi.registry.security.authorization.resource.ResourceType;
+import org.apache.nifi.registry.serialization.jackson.ObjectMapperProvider;
+import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.QueryParameters;
+import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.service.ResultPage;
+import org.apache.nifi.registry.web.link.LinkService;
+import org.apache.nifi.registry.web.security.PermissionsService;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BundleResourceTest {
+
+    private RegistryService registryService;
+    private BundleResource bundleResource;
+
+    private EntityTag evaluatedTag;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        registryService = mock(RegistryService.class);
+        final AuthorizationService authorizationService = mock(AuthorizationService.class);
+
+        final Resource bucketResource = new Resource();
+        bucketResource.setIdentifier("/buckets/b1");
+        when(authorizationService.getAuthorizedResources(RequestAction.READ, ResourceType.Bucket))
+                .thenReturn(Collections.singletonList(bucketResource));
+
+        when(authorizationService.getAuthorizableLookup()).thenReturn(mock(AuthorizableLookup.class));
+        when(registryService.getBundleVersions(any(Set.class), any(BundleVersionFilterParams.class), any(QueryParameters.class)))
+                .thenReturn(new ResultPage<>(Collections.emptyList(), null));
+
+        bundleResource = new BundleResource(registryService, mock(LinkService.class), mock(PermissionsService.class),
+                authorizationService, mock(EventService.class)) {
+
+            // the client already has the representation with the evaluated entity tag
+            @Override
+            protected Response.ResponseBuilder evaluatePreconditions(final EntityTag entityTag) {
+                evaluatedTag = entityTag;
+                return Response.notModified(entityTag);
+            }
+
+            @Override
+            protected boolean acceptsGzip() {
+                return false;
+            }
+        };
+    }
+
+    @Test
+    public void testGetBundleVersionsStreamsJsonArray() throws IOException {
+        when(registryService.getBundleVersions(eq(Collections.singleton("b1")), any(BundleVersionFilterParams.class), any(QueryParameters.class)))
+                .thenAnswer(invocation -> {
+                    final QueryParameters queryParameters = invocation.getArgument(2);
+                    return queryParameters.getAfter() == null
+                            ? new ResultPage<>(Collections.singletonList(createBundleVersion("bv1", "1.0.0")), "c1")
+                            : new ResultPage<>(Collections.singletonList(createBundleVersion("bv2", "2.0.0")), null);
+                });
+
+        final Response response = bundleResource.getBundleVersions("g1", "a1", null);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+        final JsonNode bundleVersions = readStreamedJson(response);
+        assertTrue(bundleVersions.isArray());
+        assertEquals(2, bundleVersions.size());
+        assertEquals("bv1", bundleVersions.get(0).get("id").asText());
+        assertEquals("1.0.0", bundleVersions.get(0).get("version").asText());
+        assertEquals("bv2", bundleVersions.get(1).get("id").asText());
+        assertEquals("2.0.0", bundleVersions.get(1).get("version").asText());
+        verify(registryService, times(2)).getBundleVersions(eq(Collections.singleton("b1")), any(BundleVersionFilterParams.class), any(QueryParameters.class));
+    }
+
+    @Test
+    public void testGetBundleVersionsStreamsEmptyJsonArray() throws IOException {
+        final Response response = bundleResource.getBundleVersions(null, null, null);
+
+        final JsonNode bundleVersions = readStreamedJson(response);
+        assertTrue(bundleVersions.isArray());
+        assertEquals(0, bundleVersions.size());
+    }
+
+    @Test
+    public void testGetBundleVersionContentNotModified() {
+        stubBundleVersion();
+
+        final Response response = bundleResource.getBundleVersionContent("bundle1", "1.0.0");
+        assertNotModified(response, new EntityTag("bundle-sha256"));
+        verify(registryService, never()).writeBundleVersionContent(any(BundleVersion.class), any(OutputStream.class));
+    }
+
+    @Test
+    public void testGetBundleVersionExtensionDocsNotModified() throws IOException {
+        final BundleVersion bundleVersion = stubBundleVersion();
+        when(registryService.getExtensionDocsTag(bundleVersion, "org.apache.nifi.Processor")).thenReturn("docs-tag");
+
+        final Response response = bundleResource.getBundleVersionExtensionDocs("bundle1", "1.0.0", "org.apache.nifi.Processor");
+        assertNotModified(response, new EntityTag("docs-tag"));
+        verify(registryService, never()).writeExtensionDocs(any(BundleVersion.class), anyString(), any(OutputStream.class));
+    }
+
+    @Test
+    public void testGetBundleVersionExtensionAdditionalDetailsDocsNotModified() throws IOException {
+        final BundleVersion bundleVersion = stubBundleVersion();
+        when(registryService.getExtensionDocsTag(bundleVersion, "org.apache.nifi.Processor")).thenReturn("docs-tag");
+
+        final Response response = bundleResource.getBundleVersionExtensionAdditionalDetailsDocs("bundle1", "1.0.0", "org.apache.nifi.Processor");
+        assertNotModified(response, new EntityTag("docs-tag"));
+        verify(registryService, never()).writeAdditionalDetailsDocs(any(BundleVersion.class), anyString(), any(OutputStream.class));
+    }
+
+    private BundleVersion stubBundleVersion() {
+        final Bundle bundle = new Bundle();
+        bundle.setIdentifier("bundle1");
+        bundle.setBucketIdentifier("b1");
+        when(registryService.getBundle("bundle1")).thenReturn(bundle);
+
+        final BundleVersionMetadata versionMetadata = new BundleVersionMetadata();
+        versionMetadata.setSha256("bundle-sha256");
+        final BundleVersion bundleVersion = new BundleVersion();
+        bundleVersion.setVersionMetadata(versionMetadata);
+        when(registryService.getBundleVersion("b1", "bundle1", "1.0.0")).thenReturn(bundleVersion);
+        return bundleVersion;
+    }
+
+    private void assertNotModified(final Response response, final EntityTag expectedTag) {
+        assertEquals(expectedTag, evaluatedTag);
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+        assertEquals(expectedTag, response.getEntityTag());
+        assertNull(response.getEntity());
+    }
+
+    private static JsonNode readStreamedJson(final Response response) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(out);
+        return ObjectMapperProvider.getMapper().readTree(out.toByteArray());
+    }
+
+    private static BundleVersionMetadata createBundleVersion(final String id, final String version) {
+        final BundleVersionMetadata bundleVersion = new BundleVersionMetadata();
+        bundleVersion.setId(id);
+        bundleVersion.setBundleId("bundle1");
+        bundleVersion.setBucketId("b1");
+        bundleVersion.setVersion(version);
+        return bundleVersion;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.web.api;
+
+import org.apache.nifi.registry.bucket.Bucket;
+import org.apache.nifi.registry.event.EventService;
+import org.apache.nifi.registry.extension.bundle.BundleVersion;
+import org.apache.nifi.registry.extension.bundle.BundleVersionMetadata;
+import org.apache.nifi.registry.security.authorization.AuthorizableLookup;
+import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.web.link.LinkService;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExtensionRepoResourceTest {
+
+    private RegistryService registryService;
+    private ExtensionRepoResource extensionRepoResource;
+    private BundleVersion bundleVersion;
+
+    private EntityTag evaluatedTag;
+
+    @Before
+    public void setUp() {
+        registryService = mock(RegistryService.class);
+
+        final AuthorizationService authorizationService = mock(AuthorizationService.class);
+        when(authorizationService.getAuthorizableLookup()).thenReturn(mock(AuthorizableLookup.class));
+
+        // the client already has the representation with the evaluated entity tag
+        extensionRepoResource = new ExtensionRepoResource(registryService, mock(LinkService.class), authorizationService, mock(EventService.class)) {
+
+            @Override
+            protected Response.ResponseBuilder evaluatePreconditions(final EntityTag entityTag) {
+                evaluatedTag = entityTag;
+                return Response.notModified(entityTag);
+            }
+
+            @Override
+            protected boolean acceptsGzip() {
+                return false;
+            }
+        };
+
+        final Bucket bucket = new Bucket();
+        bucket.setIdentifier("b1");
+        bucket.setName("bucket1");
+        when(registryService.getBucketByName("bucket1")).thenReturn(bucket);
+
+        final BundleVersionMetadata versionMetadata = new BundleVersionMetadata();
+        versionMetadata.setSha256("bundle-sha256");
+        bundleVersion = new BundleVersion();
+        bundleVersion.setVersionMetadata(versionMetadata);
+        when(registryService.getBundleVersion("b1", "g1", "a1", "1.0.0")).thenReturn(bundleVersion);
+        when(registryService.getExtensionDocsTag(bundleVersion, "org.apache.nifi.Processor")).thenReturn("docs-tag");
+    }
+
+    @Test
+    public void testGetExtensionDocsNotModified() throws IOException {
+        final Response response = extensionRepoResource.getExtensionRepoVersionExtensionDocs(
+                "bucket1", "g1", "a1", "1.0.0", "org.apache.nifi.Processor");
+        assertNotModified(response, new EntityTag("docs-tag"));
+        verify(registryService, never()).writeExtensionDocs(any(BundleVersion.class), anyString(), any(OutputStream.class));
+    }
+
+    @Test
+    public void testGetExtensionAdditionalDetailsDocsNotModified() throws IOException {
+        final Response response = extensionRepoResource.getExtensionRepoVersionExtensionAdditionalDetailsDocs(
+                "bucket1", "g1", "a1", "1.0.0", "org.apache.nifi.Processor");
+        assertNotModified(response, new EntityTag("docs-tag"));
+        verify(registryService, never()).writeAdditionalDetailsDocs(any(BundleVersion.class), anyString(), any(OutputStream.class));
+    }
+
+    @Test
+    public void testGetContentNotModified() {
+        final Response response = extensionRepoResource.getExtensionRepoVersionContent("bucket1", "g1", "a1", "1.0.0");
+        assertNotModified(response, new EntityTag("bundle-sha256"));
+        verify(registryService, never()).writeBundleVersionContent(any(BundleVersion.class), any(OutputStream.class));
+    }
+
+    private void assertNotModified(final Response response, final EntityTag expectedTag) {
+        assertEquals(expectedTag, evaluatedTag);
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+        assertEquals(expectedTag, response.getEntityTag());
+        assertNull(response.getEntity());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.web.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.nifi.registry.authorization.Resource;
+import org.apache.nifi.registry.event.EventService;
+import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
+import org.apache.nifi.registry.extension.component.ExtensionMetadata;
+import org.apache.nifi.registry.extension.component.manifest.ExtensionType;
+import org.apache.nifi.registry.security.authorization.RequestAction;
+import org.apache.nifi.registry.security.authorization.resource.ResourceType;
+import org.apache.nifi.registry.serialization.jackson.ObjectMapperProvider;
+import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.QueryParameters;
+import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.service.ResultPage;
+import org.apache.nifi.registry.web.link.LinkService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExtensionResourceTest {
+
+    private RegistryService registryService;
+    private ExtensionResource extensionResource;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        registryService = mock(RegistryService.class);
+        final AuthorizationService authorizationService = mock(AuthorizationService.class);
+
+        final Resource bucketResource = new Resource();
+        bucketResource.setIdentifier("/buckets/b1");
+        when(authorizationService.getAuthorizedResources(RequestAction.READ, ResourceType.Bucket))
+                .thenReturn(Collections.singletonList(bucketResource));
+        when(registryService.getExtensionMetadata(any(Set.class), any(ExtensionFilterParams.class), any(QueryParameters.class)))
+                .thenReturn(new ResultPage<>(Collections.emptyList(), null));
+
+        extensionResource = new ExtensionResource(authorizationService, mock(EventService.class), registryService, mock(LinkService.class));
+    }
+
+    @Test
+    public void testGetExtensionsStreamsJsonContainer() throws IOException {
+        when(registryService.getExtensionMetadata(eq(Collections.singleton("b1")), any(ExtensionFilterParams.class), any(QueryParameters.class)))
+                .thenAnswer(invocation -> {
+                    final QueryParameters queryParameters = invocation.getArgument(2);
+                    return queryParameters.getAfter() == null
+                            ? new ResultPage<>(Collections.singletonList(createExtension("org.apache.nifi.ProcessorB", "ProcessorB")), "c1")
+                            : new ResultPage<>(Arrays.asList(
+                                    createExtension("org.apache.nifi.ProcessorA", "ProcessorA"),
+                                    createExtension("org.apache.nifi.other.ProcessorB", "ProcessorB")), null);
+                });
+
+        final Response response = extensionResource.getExtensions(null, ExtensionType.PROCESSOR, null, null, null, null);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+        // the fields are written in the order the mapper uses for the container
+        final JsonNode container = readStreamedJson(response);
+        final Iterator<String> fieldNames = container.fieldNames();
+        assertEquals("extensions", fieldNames.next());
+        assertEquals("filterParams", fieldNames.next());
+        assertEquals("numResults", fieldNames.next());
+
+        // the extensions keep the order in which they were read, and a display name repeated on a later page is skipped
+        final JsonNode extensions = container.get("extensions");
+        assertTrue(extensions.isArray());
+        assertEquals(2, extensions.size());
+        assertEquals("org.apache.nifi.ProcessorB", extensions.get(0).get("name").asText());
+        assertEquals("org.apache.nifi.ProcessorA", extensions.get(1).get("name").asText());
+        assertEquals(2, container.get("numResults").asInt());
+        assertEquals("PROCESSOR", container.get("filterParams").get("extensionType").asText());
+
+        final ArgumentCaptor<QueryParameters> pageParameters = ArgumentCaptor.forClass(QueryParameters.class);
+        verify(registryService, times(2)).getExtensionMetadata(eq(Collections.singleton("b1")), any(ExtensionFilterParams.class),
+                pageParameters.capture());
+        assertEquals("displayName", pageParameters.getValue().getSortParameters().get(0).getFieldName());
+    }
+
+    @Test
+    public void testGetExtensionsStreamsEmptyJsonContainer() throws IOException {
+        final Response response = extensionResource.getExtensions(null, null, null, null, null, null);
+
+        final JsonNode container = readStreamedJson(response);
+        assertTrue(container.get("extensions").isArray());
+        assertEquals(0, container.get("extensions").size());
+        assertEquals(0, container.get("numResults").asInt());
+    }
+
+    private static JsonNode readStreamedJson(final Response response) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(out);
+        return ObjectMapperProvider.getMapper().readTree(out.toByteArray());
+    }
+
+    private static ExtensionMetadata createExtension(final String name, final String displayName) {
+        final ExtensionMetadata extension = new ExtensionMetadata();
+        extension.setName(name);
+        extension.setDisplayName(displayName);
+        extension.setType(ExtensionType.PROCESSOR);
+        return extension;
+    }
+}
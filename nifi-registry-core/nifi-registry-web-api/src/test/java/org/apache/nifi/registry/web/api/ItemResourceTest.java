@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.web.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.nifi.registry.authorization.Resource;
+import org.apache.nifi.registry.bucket.BucketItem;
+import org.apache.nifi.registry.event.EventService;
+import org.apache.nifi.registry.flow.VersionedFlow;
+import org.apache.nifi.registry.security.authorization.RequestAction;
+import org.apache.nifi.registry.security.authorization.resource.ResourceType;
+import org.apache.nifi.registry.serialization.jackson.ObjectMapperProvider;
+import org.apache.nifi.registry.service.AuthorizationService;
+import org.apache.nifi.registry.service.QueryParameters;
+import org.apache.nifi.registry.service.RegistryService;
+import org.apache.nifi.registry.service.ResultPage;
+import org.apache.nifi.registry.web.link.LinkService;
+import org.apache.nifi.registry.web.security.PermissionsService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ItemResourceTest {
+
+    private RegistryService registryService;
+    private ItemResource itemResource;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        registryService = mock(RegistryService.class);
+        final AuthorizationService authorizationService = mock(AuthorizationService.class);
+        final PermissionsService permissionsService = mock(PermissionsService.class);
+
+        final Resource bucketResource = new Resource();
+        bucketResource.setIdentifier("/buckets/b1");
+        when(authorizationService.getAuthorizedResources(RequestAction.READ, ResourceType.Bucket))
+                .thenReturn(Collections.singletonList(bucketResource));
+        when(permissionsService.createItemPermissionsPopulator()).thenReturn(item -> { });
+        when(registryService.getBucketItems(any(Set.class), any(QueryParameters.class)))
+                .thenReturn(new ResultPage<>(Collections.emptyList(), null));
+
+        itemResource = new ItemResource(registryService, mock(LinkService.class), permissionsService,
+                authorizationService, mock(EventService.class));
+    }
+
+    @Test
+    public void testGetItemsStreamsJsonArray() throws IOException {
+        when(registryService.getBucketItems(eq(Collections.singleton("b1")), any(QueryParameters.class))).thenAnswer(invocation -> {
+            final QueryParameters queryParameters = invocation.getArgument(1);
+            return queryParameters.getAfter() == null
+                    ? new ResultPage<>(Collections.singletonList(createFlow("f1", "Flow 1")), "c1")
+                    : new ResultPage<>(Collections.singletonList(createFlow("f2", "Flow 2")), null);
+        });
+
+        final Response response = itemResource.getItems(null, null, null);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+        final JsonNode items = readStreamedJson(response);
+        assertTrue(items.isArray());
+        assertEquals(2, items.size());
+        assertEquals("f1", items.get(0).get("identifier").asText());
+        assertEquals("Flow 1", items.get(0).get("name").asText());
+        assertEquals("b1", items.get(0).get("bucketIdentifier").asText());
+        assertEquals("f2", items.get(1).get("identifier").asText());
+
+        // each page is read by its own call so no transaction spans the writing of the response
+        final ArgumentCaptor<QueryParameters> pageParameters = ArgumentCaptor.forClass(QueryParameters.class);
+        verify(registryService, times(2)).getBucketItems(eq(Collections.singleton("b1")), pageParameters.capture());
+        assertNull(pageParameters.getAllValues().get(0).getAfter());
+        assertEquals("c1", pageParameters.getAllValues().get(1).getAfter());
+    }
+
+    @Test
+    public void testGetItemsStreamsEmptyJsonArray() throws IOException {
+        final Response response = itemResource.getItems(null, null, null);
+
+        final JsonNode items = readStreamedJson(response);
+        assertTrue(items.isArray());
+        assertEquals(0, items.size());
+    }
+
+    private static JsonNode readStreamedJson(final Response response) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(out);
+        return ObjectMapperProvider.getMapper().readTree(out.toByteArray());
+    }
+
+    private static VersionedFlow createFlow(final String identifier, final String name) {
+        final VersionedFlow flow = new VersionedFlow();
+        flow.setIdentifier(identifier);
+        flow.setName(name);
+        flow.setBucketIdentifier("b1");
+        return flow;
+    }
+}
@@ -48,6 +48,7 @@ import org.apache.nifi.registry.extension.bundle.BundleVersionFilterParams;
 import org.apache.nifi.registry.extension.bundle.BundleVersionMetadata;
 import org.apache.nifi.registry.extension.component.ExtensionFilterParams;
 import org.apache.nifi.registry.extension.component.ExtensionMetadataContainer;
+import org.apache.nifi.registry.extension.component.ExtensionMetadataPage;
 import org.apache.nifi.registry.extension.component.TagCount;
 import org.apache.nifi.registry.extension.component.manifest.Extension;
 import org.apache.nifi.registry.extension.component.ExtensionMetadata;
@@ -69,6 +70,8 @@ import org.apache.nifi.registry.flow.VersionedParameterContext;
 import org.apache.nifi.registry.flow.VersionedProcessGroup;
 import org.apache.nifi.registry.flow.VersionedProcessor;
 import org.apache.nifi.registry.flow.VersionedPropertyDescriptor;
+import org.apache.nifi.registry.params.SortOrder;
+import org.apache.nifi.registry.params.SortParameter;
 import org.apache.nifi.registry.util.FileUtils;
 import org.bouncycastle.util.encoders.Hex;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
@@ -81,7 +84,9 @@ import org.slf4j.LoggerFactory;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -91,6 +96,8 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -104,6 +111,7 @@ import java.util.stream.Stream;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -352,6 +360,54 @@ public class UnsecuredNiFiRegistryClientIT extends UnsecuredITBase {
         assertEquals(snapshotFlow.getIdentifier(), latestMetadataWithoutBucket.getFlowIdentifier());
         assertEquals(2, latestMetadataWithoutBucket.getVersion());
 
+        // get latest metadata for many flows, flows without versions or that don't exist are left out
+        final List<VersionedFlowSnapshotMetadata> latestMetadataForFlows = snapshotClient.getLatestMetadata(
+                Arrays.asList(flow1.getIdentifier(), flow2.getIdentifier(), "DOES-NOT-EXIST"));
+        assertNotNull(latestMetadataForFlows);
+        assertEquals(1, latestMetadataForFlows.size());
+        assertEquals(flow1.getIdentifier(), latestMetadataForFlows.get(0).getFlowIdentifier());
+        assertEquals(flow1.getBucketIdentifier(), latestMetadataForFlows.get(0).getBucketIdentifier());
+        assertEquals(2, latestMetadataForFlows.get(0).getVersion());
+
+        final List<VersionedFlowSnapshotMetadata> latestVersionMetadataForFlows = flowClient.getLatestVersionMetadata(
+                Arrays.asList(flow1.getIdentifier(), flow2.getIdentifier()));
+        assertEquals(1, latestVersionMetadataForFlows.size());
+        assertEquals(flow1.getIdentifier(), latestVersionMetadataForFlows.get(0).getFlowIdentifier());
+        assertEquals(2, latestVersionMetadataForFlows.get(0).getVersion());
+
+        assertTrue(snapshotClient.getLatestMetadata(Collections.emptyList()).isEmpty());
+
+        // get latest metadata for more flows than allowed in one request
+        final List<String> tooManyFlowIds = new ArrayList<>();
+        for (int i = 0; i <= FlowResource.MAX_LATEST_METADATA_FLOW_IDS; i++) {
+            tooManyFlowIds.add(UUID.randomUUID().toString());
+        }
+        try {
+            snapshotClient.getLatestMetadata(tooManyFlowIds);
+            fail("Should have thrown exception");
+        } catch (NiFiRegistryException nfe) {
+            assertEquals("Error retrieving latest snapshot metadata: No more than " + FlowResource.MAX_LATEST_METADATA_FLOW_IDS
+                    + " flow identifiers may be requested at once", nfe.getMessage());
+        }
+
+        // get latest metadata for every flow in the bucket
+        final List<VersionedFlowSnapshotMetadata> latestMetadataForBucket = snapshotClient.getLatestMetadataByBucket(flowsBucket.getIdentifier());
+        assertEquals(1, latestMetadataForBucket.size());
+        assertEquals(flow1.getIdentifier(), latestMetadataForBucket.get(0).getFlowIdentifier());
+        assertEquals(2, latestMetadataForBucket.get(0).getVersion());
+
+        final List<VersionedFlowSnapshotMetadata> latestVersionMetadataForBucket = flowClient.getLatestVersionMetadataByBucket(flowsBucket.getIdentifier());
+        assertEquals(1, latestVersionMetadataForBucket.size());
+        assertEquals(flow1.getIdentifier(), latestVersionMetadataForBucket.get(0).getFlowIdentifier());
+
+        // get latest metadata for a bucket that doesn't exist
+        try {
+            snapshotClient.getLatestMetadataByBucket("DOES-NOT-EXIST");
+            fail("Should have thrown exception");
+        } catch (NiFiRegistryException nfe) {
+            assertEquals("Error retrieving latest snapshot metadata: The specified bucket ID does not exist in this registry.", nfe.getMessage());
+        }
+
         // ---------------------- TEST EXTENSIONS ----------------------//
 
         // verify we have no bundles yet
@@ -742,6 +798,33 @@ public class UnsecuredNiFiRegistryClientIT extends UnsecuredITBase {
         assertEquals(1, providedTestServiceApi.getExtensions().size());
         assertEquals("org.apache.nifi.service.TestServiceImpl", providedTestServiceApi.getExtensions().first().getName());
 
+        // page through the extensions one at a time and verify the next link is followed and the requested sort is kept
+        final SortParameter displayNameDesc = new SortParameter("displayName", SortOrder.DESC);
+        final List<ExtensionMetadata> pagedExtensions = new ArrayList<>();
+        extensionClient.iterateExtensions(null, 1, displayNameDesc).forEachRemaining(pagedExtensions::add);
+        assertEquals(
+                allExtensions.getExtensions().stream()
+                        .map(ExtensionMetadata::getDisplayName)
+                        .sorted(Comparator.reverseOrder())
+                        .collect(Collectors.toList()),
+                pagedExtensions.stream().map(ExtensionMetadata::getDisplayName).collect(Collectors.toList()));
+
+        final WebTarget extensionsTarget = jerseyClient.target(createBaseURL()).path("extensions")
+                .queryParam("sort", displayNameDesc.toString());
+
+        final Response firstExtensionPage = extensionsTarget.queryParam("limit", 1).request().get();
+        assertEquals(200, firstExtensionPage.getStatus());
+        final Link firstNextLink = firstExtensionPage.getLink("next");
+        assertNotNull(firstNextLink);
+        assertTrue(firstNextLink.getUri().getRawQuery().contains("limit=1"));
+        assertTrue(firstNextLink.getUri().getRawQuery().contains("after="));
+        assertEquals(1, firstExtensionPage.readEntity(ExtensionMetadataPage.class).getNumResults());
+
+        final Response lastExtensionPage = extensionsTarget.queryParam("limit", pagedExtensions.size()).request().get();
+        assertEquals(200, lastExtensionPage.getStatus());
+        assertNull(lastExtensionPage.getLink("next"));
+        assertEquals(pagedExtensions.size(), lastExtensionPage.readEntity(ExtensionMetadataPage.class).getNumResults());
+
         // ---------------------- TEST ITEMS -------------------------- //
 
         final ItemsClient itemsClient = client.getItemsClient();
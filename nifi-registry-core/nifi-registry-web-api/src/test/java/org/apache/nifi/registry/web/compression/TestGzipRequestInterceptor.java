@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.registry.web.compression;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestGzipRequestInterceptor {
+
+    private static final String BODY = "{\"flowContents\":{}}";
+
+    private MultivaluedMap<String, String> headers;
+    private ReaderInterceptorContext context;
+    private InputStream inputStream;
+
+    @Before
+    public void setup() throws IOException {
+        headers = new MultivaluedHashMap<>();
+        context = mock(ReaderInterceptorContext.class);
+        when(context.getHeaders()).thenReturn(headers);
+        when(context.getInputStream()).thenAnswer(invocation -> inputStream);
+        doAnswer(invocation -> {
+            inputStream = invocation.getArgument(0);
+            return null;
+        }).when(context).setInputStream(any(InputStream.class));
+
+        // proceeding reads the body the way the entity provider would
+        when(context.proceed()).thenAnswer(invocation -> IOUtils.toString(inputStream, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testUncompressedBodyIsReadAsIs() throws IOException {
+        inputStream = new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(BODY, new GzipRequestInterceptor(false, 1024).aroundReadFrom(context));
+    }
+
+    @Test
+    public void testGzipBodyIsInflatedWhenEnabled() throws IOException {
+        inputStream = new ByteArrayInputStream(gzip(BODY));
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        assertEquals(BODY, new GzipRequestInterceptor(true, 1024).aroundReadFrom(context));
+        assertFalse(headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testGzipBodyIsRejectedWhenDisabled() throws IOException {
+        inputStream = new ByteArrayInputStream(gzip(BODY));
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        new GzipRequestInterceptor(false, 1024).aroundReadFrom(context);
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testUnsupportedEncodingIsRejected() throws IOException {
+        inputStream = new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8));
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, "br");
+
+        new GzipRequestInterceptor(true, 1024).aroundReadFrom(context);
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testGzipBodyIsRejectedWhenInflatedPastMaxSize() throws IOException {
+        // a megabyte of zeros compresses to about a kilobyte
+        inputStream = new ByteArrayInputStream(gzip(new String(new char[1024 * 1024]).replace('\0', '0')));
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        new GzipRequestInterceptor(true, 64 * 1024).aroundReadFrom(context);
+    }
+
+    private byte[] gzip(final String content) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (final GZIPOutputStream gzipOut = new GZIPOutputStream(compressed)) {
+            gzipOut.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+}
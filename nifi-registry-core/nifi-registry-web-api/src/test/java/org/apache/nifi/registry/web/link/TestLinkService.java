@@ -16,6 +16,10 @@
  */
 package org.apache.nifi.registry.web.link;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
 import org.apache.nifi.registry.bucket.Bucket;
 import org.apache.nifi.registry.bucket.BucketItem;
 import org.apache.nifi.registry.bucket.BucketItemType;
@@ -30,11 +34,13 @@ import org.apache.nifi.registry.extension.repo.ExtensionRepoGroup;
 import org.apache.nifi.registry.extension.repo.ExtensionRepoVersionSummary;
 import org.apache.nifi.registry.flow.VersionedFlow;
 import org.apache.nifi.registry.flow.VersionedFlowSnapshotMetadata;
+import org.apache.nifi.registry.serialization.jackson.ObjectMapperProvider;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import javax.ws.rs.core.UriBuilder;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -358,4 +364,24 @@ public class TestLinkService {
             Assert.assertEquals(extensionUri + "/docs", i.getLinkDocs().getUri().toString());
         });
     }
+
+    @Test
+    public void testPopulatedLinksSerializeAsBeforeNativeAnnotations() throws IOException {
+        linkService.populateFullLinks(buckets, baseUri);
+        linkService.populateFullLinks(extensionRepoExtensionMetadata, baseUri);
+
+        // the shared mapper writes links through a module rather than the JAXB adapter, so compare against a mapper that uses the adapter
+        final ObjectMapper jaxbMapper = new ObjectMapper();
+        jaxbMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        jaxbMapper.setAnnotationIntrospector(new JaxbAnnotationIntrospector(jaxbMapper.getTypeFactory()));
+        jaxbMapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+
+        final ObjectMapper mapper = ObjectMapperProvider.getMapper();
+        Assert.assertEquals(jaxbMapper.writeValueAsString(buckets), mapper.writeValueAsString(buckets));
+        Assert.assertEquals(jaxbMapper.writeValueAsString(extensionRepoExtensionMetadata), mapper.writeValueAsString(extensionRepoExtensionMetadata));
+
+        final Bucket bucket = mapper.readValue(mapper.writeValueAsString(buckets.get(0)), Bucket.class);
+        Assert.assertEquals(buckets.get(0).getLink().getUri(), bucket.getLink().getUri());
+        Assert.assertEquals(buckets.get(0).getLink().getRel(), bucket.getLink().getRel());
+    }
 }
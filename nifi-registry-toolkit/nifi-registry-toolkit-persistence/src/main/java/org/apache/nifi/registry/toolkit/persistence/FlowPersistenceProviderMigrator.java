@@ -22,6 +22,7 @@ import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.nifi.registry.NiFiRegistry;
 import org.apache.nifi.registry.db.DataSourceFactory;
 import org.apache.nifi.registry.db.DatabaseMetadataService;
@@ -41,39 +42,295 @@ import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Copies all flow content from one FlowPersistenceProvider to another.
+ *
+ * Flows are migrated in parallel on a configurable number of threads, while the versions of a single flow are always
+ * written in order by the same thread. When a checkpoint file is given, each migrated version is recorded there so that
+ * an interrupted migration can be resumed without copying the same content again. In verify mode no content is written,
+ * instead the SHA-256 of every version in the source provider is compared against the target provider.
+ */
 public class FlowPersistenceProviderMigrator {
     private static final Logger log = LoggerFactory.getLogger(FlowPersistenceProviderMigrator.class);
     public static final int PARSE_EXCEPTION = 1;
+    public static final int MIGRATION_EXCEPTION = 2;
+    public static final int VERIFICATION_FAILED = 3;
+
+    public static final int DEFAULT_THREADS = 1;
+    public static final long DEFAULT_PROGRESS_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final String CHECKPOINT_SEPARATOR = " ";
+
+    private final int threads;
+    private final File checkpointFile;
+    private final long progressIntervalMillis;
+
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    private final AtomicLong processedBytes = new AtomicLong();
+    private final AtomicLong lastProgressTime = new AtomicLong();
+
+    public FlowPersistenceProviderMigrator() {
+        this(DEFAULT_THREADS, null);
+    }
+
+    /**
+     * @param threads the number of flows to migrate concurrently
+     * @param checkpointFile the file used to record migrated versions so a migration can be resumed, or null for no checkpointing
+     */
+    public FlowPersistenceProviderMigrator(final int threads, final File checkpointFile) {
+        this(threads, checkpointFile, DEFAULT_PROGRESS_INTERVAL_MILLIS);
+    }
+
+    FlowPersistenceProviderMigrator(final int threads, final File checkpointFile, final long progressIntervalMillis) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1");
+        }
+        this.threads = threads;
+        this.checkpointFile = checkpointFile;
+        this.progressIntervalMillis = progressIntervalMillis;
+    }
 
     public void doMigrate(MetadataService fromMetadata, FlowPersistenceProvider fromProvider, FlowPersistenceProvider toProvider) {
-        for (BucketEntity bucket : fromMetadata.getAllBuckets()) {
-            for (FlowEntity flow : fromMetadata.getFlowsByBucket(bucket.getId())) {
-                for (FlowSnapshotEntity flowSnapshot : fromMetadata.getSnapshots(flow.getId())) {
+        final Map<String, Integer> checkpoints = readCheckpoints();
+        final long startTime = System.nanoTime();
+
+        try (final CheckpointWriter checkpointWriter = new CheckpointWriter(checkpointFile)) {
+            forEachFlow(fromMetadata, (bucket, flow) -> {
+                final Integer lastMigratedVersion = checkpoints.get(flow.getId());
+
+                for (FlowSnapshotEntity flowSnapshot : getOrderedSnapshots(fromMetadata, flow)) {
+                    int version = flowSnapshot.getVersion();
+
+                    if (lastMigratedVersion != null && version <= lastMigratedVersion) {
+                        skippedCount.incrementAndGet();
+                        continue;
+                    }
+
                     StandardFlowSnapshotContext context = new StandardFlowSnapshotContext.Builder(
                             BucketMappings.map(bucket),
                             FlowMappings.map(bucket, flow),
                             FlowMappings.map(bucket, flowSnapshot)).build();
 
-                    int version = flowSnapshot.getVersion();
+                    final byte[] content = fromProvider.getFlowContent(bucket.getId(), flow.getId(), version);
+                    toProvider.saveFlowContent(context, content);
+                    checkpointWriter.write(flow.getId(), version);
 
-                    toProvider.saveFlowContent(context, fromProvider.getFlowContent(bucket.getId(), flow.getId(), version));
+                    log.debug("Migrated flow {} version {}", flow.getName(), version);
+                    recordProgress(content, startTime, "Migrated");
+                }
 
-                    log.info("Migrated flow {} version {}", flow.getName(), version);
+                log.info("Migrated flow {}", flow.getName());
+            });
+        }
+
+        logSummary(startTime, "Migrated");
+    }
+
+    /**
+     * Compares the content of every flow version in the source provider against the target provider.
+     *
+     * @return the number of versions that are missing from either provider or whose content differs
+     */
+    public long doVerify(MetadataService fromMetadata, FlowPersistenceProvider fromProvider, FlowPersistenceProvider toProvider) {
+        final AtomicLong mismatchCount = new AtomicLong();
+        final long startTime = System.nanoTime();
+
+        forEachFlow(fromMetadata, (bucket, flow) -> {
+            for (FlowSnapshotEntity flowSnapshot : getOrderedSnapshots(fromMetadata, flow)) {
+                int version = flowSnapshot.getVersion();
+
+                final byte[] fromContent = fromProvider.getFlowContent(bucket.getId(), flow.getId(), version);
+                final byte[] toContent = toProvider.getFlowContent(bucket.getId(), flow.getId(), version);
+
+                if (fromContent == null) {
+                    mismatchCount.incrementAndGet();
+                    log.error("Flow {} version {} is missing from the source provider", flow.getName(), version);
+                } else if (toContent == null) {
+                    mismatchCount.incrementAndGet();
+                    log.error("Flow {} version {} is missing from the target provider", flow.getName(), version);
+                } else if (!DigestUtils.sha256Hex(fromContent).equals(DigestUtils.sha256Hex(toContent))) {
+                    mismatchCount.incrementAndGet();
+                    log.error("Flow {} version {} has different content in the target provider", flow.getName(), version);
+                }
+
+                recordProgress(fromContent, startTime, "Verified");
+            }
+        });
+
+        logSummary(startTime, "Verified");
+        log.info("Found {} mismatched flow versions", mismatchCount.get());
+        return mismatchCount.get();
+    }
+
+    private void forEachFlow(final MetadataService fromMetadata, final FlowTask flowTask) {
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (BucketEntity bucket : fromMetadata.getAllBuckets()) {
+                for (FlowEntity flow : fromMetadata.getFlowsByBucket(bucket.getId())) {
+                    futures.add(executorService.submit(() -> flowTask.execute(bucket, flow)));
                 }
             }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for flows to be processed", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Unable to process flow", cause);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private List<FlowSnapshotEntity> getOrderedSnapshots(final MetadataService fromMetadata, final FlowEntity flow) {
+        final List<FlowSnapshotEntity> snapshots = new ArrayList<>(fromMetadata.getSnapshots(flow.getId()));
+        snapshots.sort(Comparator.comparing(FlowSnapshotEntity::getVersion));
+        return snapshots;
+    }
+
+    private void recordProgress(final byte[] content, final long startTime, final String action) {
+        final long count = processedCount.incrementAndGet();
+        if (content != null) {
+            processedBytes.addAndGet(content.length);
+        }
+
+        final long now = System.currentTimeMillis();
+        final long lastTime = lastProgressTime.get();
+        if (now - lastTime >= progressIntervalMillis && lastProgressTime.compareAndSet(lastTime, now)) {
+            final double seconds = Math.max(System.nanoTime() - startTime, 1L) / 1_000_000_000.0;
+            log.info("{} {} flow versions ({} bytes) so far, {} versions/second",
+                    action, count, processedBytes.get(), String.format("%.1f", count / seconds));
+        }
+    }
+
+    private void logSummary(final long startTime, final String action) {
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        final double seconds = Math.max(millis, 1L) / 1000.0;
+        log.info("{} {} flow versions ({} bytes) in {} ms, {} versions/second; skipped {} previously migrated versions",
+                action, processedCount.get(), processedBytes.get(), millis,
+                String.format("%.1f", processedCount.get() / seconds), skippedCount.get());
+    }
+
+    private Map<String, Integer> readCheckpoints() {
+        final Map<String, Integer> checkpoints = new ConcurrentHashMap<>();
+        if (checkpointFile == null || !checkpointFile.exists()) {
+            return checkpoints;
+        }
+
+        try {
+            for (String line : Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8)) {
+                final String[] parts = line.trim().split(CHECKPOINT_SEPARATOR);
+                if (parts.length != 2) {
+                    continue;
+                }
+                checkpoints.merge(parts[0], Integer.parseInt(parts[1]), Math::max);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read checkpoint file " + checkpointFile.getAbsolutePath(), e);
+        }
+
+        log.info("Resuming migration with {} flows from checkpoint file {}", checkpoints.size(), checkpointFile.getAbsolutePath());
+        return checkpoints;
+    }
+
+    @FunctionalInterface
+    private interface FlowTask {
+        void execute(BucketEntity bucket, FlowEntity flow);
+    }
+
+    /**
+     * Appends "flowId version" lines to the checkpoint file, flushing after each version so that progress survives a crash.
+     */
+    private static class CheckpointWriter implements AutoCloseable {
+        private final BufferedWriter writer;
+
+        CheckpointWriter(final File checkpointFile) {
+            if (checkpointFile == null) {
+                writer = null;
+                return;
+            }
+
+            try {
+                writer = Files.newBufferedWriter(checkpointFile.toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open checkpoint file " + checkpointFile.getAbsolutePath(), e);
+            }
+        }
+
+        synchronized void write(final String flowId, final int version) {
+            if (writer == null) {
+                return;
+            }
+
+            try {
+                writer.write(flowId + CHECKPOINT_SEPARATOR + version);
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write to checkpoint file", e);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (writer == null) {
+                return;
+            }
+
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Unable to close checkpoint file", e);
+            }
         }
     }
 
     public static void main(String[] args) {
         Options options = new Options();
         options.addOption("t", "to", true, "Providers xml to migrate to.");
+        options.addOption("n", "threads", true, "Number of flows to migrate concurrently (default " + DEFAULT_THREADS + ").");
+        options.addOption("c", "checkpoint", true, "File recording migrated versions, used to resume an interrupted migration.");
+        options.addOption("v", "verify", false, "Compare the checksums of all versions in both providers instead of migrating.");
         CommandLineParser parser = new DefaultParser();
 
         CommandLine commandLine = null;
+        int threads = DEFAULT_THREADS;
         try {
             commandLine = parser.parse(options, args);
-        } catch (ParseException e) {
+            if (commandLine.hasOption('n')) {
+                threads = Integer.parseInt(commandLine.getOptionValue('n'));
+            }
+        } catch (ParseException | NumberFormatException e) {
             log.error("Unable to parse command line.", e);
 
             new HelpFormatter().printHelp("persistence-toolkit [args]", options);
@@ -88,7 +345,21 @@ public class FlowPersistenceProviderMigrator {
         FlowPersistenceProvider fromPersistenceProvider = createFlowPersistenceProvider(fromProperties, dataSource);
         FlowPersistenceProvider toPersistenceProvider = createFlowPersistenceProvider(createToProperties(commandLine, fromProperties), dataSource);
 
-        new FlowPersistenceProviderMigrator().doMigrate(fromMetadataService, fromPersistenceProvider, toPersistenceProvider);
+        File checkpointFile = commandLine.hasOption('c') ? new File(commandLine.getOptionValue('c')) : null;
+        FlowPersistenceProviderMigrator migrator = new FlowPersistenceProviderMigrator(threads, checkpointFile);
+
+        try {
+            if (commandLine.hasOption('v')) {
+                if (migrator.doVerify(fromMetadataService, fromPersistenceProvider, toPersistenceProvider) > 0) {
+                    System.exit(VERIFICATION_FAILED);
+                }
+            } else {
+                migrator.doMigrate(fromMetadataService, fromPersistenceProvider, toPersistenceProvider);
+            }
+        } catch (RuntimeException e) {
+            log.error("Migration failed, re-run with the same checkpoint file to resume.", e);
+            System.exit(MIGRATION_EXCEPTION);
+        }
     }
 
     private static NiFiRegistryProperties createToProperties(CommandLine commandLine, NiFiRegistryProperties fromProperties) {
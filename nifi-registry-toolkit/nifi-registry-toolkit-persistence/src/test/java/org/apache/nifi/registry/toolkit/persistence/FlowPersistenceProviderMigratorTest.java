@@ -25,10 +25,15 @@ import org.apache.nifi.registry.service.MetadataService;
 import org.apache.nifi.registry.service.mapper.BucketMappings;
 import org.apache.nifi.registry.service.mapper.FlowMappings;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.AdditionalMatchers;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
@@ -39,15 +44,21 @@ import java.util.TreeMap;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 public class FlowPersistenceProviderMigratorTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     private MetadataService metadataService;
     private FlowPersistenceProvider fromProvider;
     private FlowPersistenceProvider toProvider;
@@ -112,6 +123,90 @@ public class FlowPersistenceProviderMigratorTest {
         verifyNoMoreInteractions(toProvider);
     }
 
+    @Test
+    public void testParallelMigration() {
+        List<FlowSnapshotEntity> snapshots = new ArrayList<>();
+        for (int b = 0; b < 3; b++) {
+            BucketEntity bucket = createBucket("bucket" + b);
+            for (int f = 0; f < 5; f++) {
+                FlowEntity flow = createFlow(bucket, bucket.getId() + "-flow" + f);
+                for (int v = 1; v <= 4; v++) {
+                    snapshots.add(createSnapshot(flow, v));
+                }
+            }
+        }
+
+        new FlowPersistenceProviderMigrator(4, null).doMigrate(metadataService, fromProvider, toProvider);
+
+        for (FlowSnapshotEntity snapshot : snapshots) {
+            verifyMigrate(snapshot);
+        }
+
+        verifyNoMoreInteractions(toProvider);
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws IOException {
+        BucketEntity bucket1 = createBucket("bucket1");
+        FlowEntity flow1 = createFlow(bucket1, "flow1");
+        FlowEntity flow2 = createFlow(bucket1, "flow2");
+
+        FlowSnapshotEntity flow1Version1 = createSnapshot(flow1, 1);
+        FlowSnapshotEntity flow1Version2 = createSnapshot(flow1, 2);
+        FlowSnapshotEntity flow1Version3 = createSnapshot(flow1, 3);
+        FlowSnapshotEntity flow2Version1 = createSnapshot(flow2, 1);
+
+        File checkpointFile = tempFolder.newFile("checkpoint");
+        Files.write(checkpointFile.toPath(), Arrays.asList("flow1 1", "flow1 2"), StandardCharsets.UTF_8);
+
+        new FlowPersistenceProviderMigrator(2, checkpointFile).doMigrate(metadataService, fromProvider, toProvider);
+
+        verifyNotMigrated(flow1Version1);
+        verifyNotMigrated(flow1Version2);
+        verifyMigrate(flow1Version3);
+        verifyMigrate(flow2Version1);
+        verifyNoMoreInteractions(toProvider);
+
+        List<String> checkpoints = Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8);
+        assertEquals(4, checkpoints.size());
+        assertTrue(checkpoints.contains("flow1 3"));
+        assertTrue(checkpoints.contains("flow2 1"));
+    }
+
+    @Test
+    public void testVerify() {
+        BucketEntity bucket1 = createBucket("bucket1");
+        FlowEntity flow1 = createFlow(bucket1, "flow1");
+        createSnapshot(flow1, 1);
+        createSnapshot(flow1, 2);
+        createSnapshot(flow1, 3);
+
+        when(toProvider.getFlowContent("bucket1", "flow1", 1)).thenReturn(getContent("bucket1", "flow1", 1));
+        when(toProvider.getFlowContent("bucket1", "flow1", 2)).thenReturn(getContent("bucket1", "flow1", 3));
+        when(toProvider.getFlowContent("bucket1", "flow1", 3)).thenReturn(null);
+
+        long mismatches = new FlowPersistenceProviderMigrator(2, null).doVerify(metadataService, fromProvider, toProvider);
+
+        assertEquals(2, mismatches);
+        verify(toProvider, never()).saveFlowContent(any(), any());
+    }
+
+    @Test
+    public void testVerifyWhenSourceContentMissing() {
+        BucketEntity bucket1 = createBucket("bucket1");
+        FlowEntity flow1 = createFlow(bucket1, "flow1");
+        createSnapshot(flow1, 1);
+        createSnapshot(flow1, 2);
+
+        when(fromProvider.getFlowContent("bucket1", "flow1", 2)).thenReturn(null);
+        when(toProvider.getFlowContent("bucket1", "flow1", 1)).thenReturn(getContent("bucket1", "flow1", 1));
+        when(toProvider.getFlowContent("bucket1", "flow1", 2)).thenReturn(getContent("bucket1", "flow1", 2));
+
+        long mismatches = new FlowPersistenceProviderMigrator(2, null).doVerify(metadataService, fromProvider, toProvider);
+
+        assertEquals(1, mismatches);
+    }
+
     private BucketEntity createBucket(String id) {
         BucketEntity bucketEntity = new BucketEntity();
         bucketEntity.setId(id);
@@ -153,4 +248,14 @@ public class FlowPersistenceProviderMigratorTest {
                 FlowMappings.map(bucketEntity, flowSnapshotEntity)).build()),
                 AdditionalMatchers.aryEq(getContent(bucketEntity.getId(), flowSnapshotEntity.getFlowId(), flowSnapshotEntity.getVersion())));
     }
+
+    private void verifyNotMigrated(FlowSnapshotEntity flowSnapshotEntity) {
+        BucketEntity bucketEntity = flowBuckets.get(flowSnapshotEntity.getFlowId());
+        FlowEntity flowEntity = bucketFlows.get(bucketEntity.getId()).get(flowSnapshotEntity.getFlowId());
+        verify(toProvider, never()).saveFlowContent(eq(new StandardFlowSnapshotContext.Builder(
+                BucketMappings.map(bucketEntity),
+                FlowMappings.map(bucketEntity, flowEntity),
+                FlowMappings.map(bucketEntity, flowSnapshotEntity)).build()),
+                any());
+    }
 }